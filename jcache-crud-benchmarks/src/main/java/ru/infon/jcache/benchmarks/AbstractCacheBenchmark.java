@@ -0,0 +1,42 @@
+package ru.infon.jcache.benchmarks;
+
+import org.openjdk.jmh.annotations.TearDown;
+import ru.infon.jcache.core.StoredCacheConfiguration;
+import ru.infon.jcache.memory.spi.MemoryCachingProvider;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+/**
+ * Cache manager over {@link MemoryCachingProvider} shared by benchmark state,
+ * so results don't depend on storage I/O.
+ *
+ * 18.10.2026
+ */
+public abstract class AbstractCacheBenchmark {
+
+    protected static final int KEYS = 100_000;
+
+    private MemoryCachingProvider provider;
+
+    protected Cache<String,Long> createCache(String name, StoredCacheConfiguration<String,Long> configuration) {
+        provider = new MemoryCachingProvider();
+        CacheManager manager = provider.getCacheManager();
+        return manager.createCache(name, configuration.setTypes(String.class, Long.class));
+    }
+
+    protected static String key(int index) {
+        return "key-"+index;
+    }
+
+    protected static void fill(Cache<String,Long> cache, int count) {
+        for (int i = 0; i < count; i++) {
+            cache.put(key(i), (long) i);
+        }
+    }
+
+    @TearDown
+    public void closeProvider() {
+        provider.close();
+    }
+}
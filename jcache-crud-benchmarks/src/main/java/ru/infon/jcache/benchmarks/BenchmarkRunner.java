@@ -0,0 +1,38 @@
+package ru.infon.jcache.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks once per thread count with GC/allocation profiler.
+ * Accepts usual JMH command line options; thread counts are set by
+ * {@code -Dbenchmark.threads=1,4,16} (1,2,4,8 by default),
+ * {@code -Dbenchmark.gc=false} disables profiler.
+ *
+ * 18.10.2026
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        String[] threadCounts = System.getProperty("benchmark.threads", "1,2,4,8").split(",");
+        boolean gcProfiler = Boolean.parseBoolean(System.getProperty("benchmark.gc", "true"));
+        for (String threads : threadCounts) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(Integer.parseInt(threads.trim()));
+            if(commandLine.getIncludes().isEmpty()) {
+                options.include(BenchmarkRunner.class.getPackage().getName()+".*Benchmark");
+            }
+            if(gcProfiler) {
+                options.addProfiler(GCProfiler.class);
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
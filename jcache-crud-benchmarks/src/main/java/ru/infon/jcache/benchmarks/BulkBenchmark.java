@@ -0,0 +1,64 @@
+package ru.infon.jcache.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.infon.jcache.core.StoredCacheConfiguration;
+
+import javax.cache.Cache;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getAll/putAll at several batch sizes; batches are prepared once, picked randomly per call.
+ *
+ * 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkBenchmark extends AbstractCacheBenchmark {
+
+    private static final int BATCHES = 64;
+
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    private Cache<String,Long> cache;
+    private Set<String>[] keyBatches;
+    private Map<String,Long>[] entryBatches;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        cache = createCache("bulk", new StoredCacheConfiguration<String,Long>());
+        fill(cache, KEYS);
+        keyBatches = new Set[BATCHES];
+        entryBatches = new Map[BATCHES];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < BATCHES; i++) {
+            keyBatches[i] = new HashSet<>();
+            entryBatches[i] = new HashMap<>();
+            for (int j = 0; j < batchSize; j++) {
+                int index = random.nextInt(KEYS);
+                keyBatches[i].add(key(index));
+                entryBatches[i].put(key(index), (long) index);
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String,Long> getAll() {
+        return cache.getAll(keyBatches[ThreadLocalRandom.current().nextInt(BATCHES)]);
+    }
+
+    @Benchmark
+    public void putAll() {
+        cache.putAll(entryBatches[ThreadLocalRandom.current().nextInt(BATCHES)]);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.infon.jcache.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.infon.jcache.core.StoredCacheConfiguration;
+
+import javax.cache.Cache;
+import javax.cache.processor.EntryProcessor;
+import javax.cache.processor.EntryProcessorResult;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * invokeAll incrementing every value of batch.
+ *
+ * 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokeAllBenchmark extends AbstractCacheBenchmark {
+
+    private static final int BATCHES = 64;
+
+    private static final EntryProcessor<String,Long,Long> INCREMENT = (entry, arguments) -> {
+        long value = entry.exists()?entry.getValue()+1:0;
+        entry.setValue(value);
+        return value;
+    };
+
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    private Cache<String,Long> cache;
+    private Set<String>[] keyBatches;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        cache = createCache("invoke-all", new StoredCacheConfiguration<String,Long>());
+        fill(cache, KEYS);
+        keyBatches = new Set[BATCHES];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < BATCHES; i++) {
+            keyBatches[i] = new HashSet<>();
+            for (int j = 0; j < batchSize; j++) {
+                keyBatches[i].add(key(random.nextInt(KEYS)));
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, EntryProcessorResult<Long>> invokeAll() {
+        return cache.invokeAll(keyBatches[ThreadLocalRandom.current().nextInt(BATCHES)], INCREMENT);
+    }
+}
@@ -0,0 +1,69 @@
+package ru.infon.jcache.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.infon.jcache.core.StoredCacheConfiguration;
+
+import javax.cache.Cache;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryCreatedListener;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryListenerException;
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * put dispatching created events to synchronous listeners.
+ *
+ * 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerDispatchBenchmark extends AbstractCacheBenchmark {
+
+    @Param({"0", "1", "8"})
+    public int listeners;
+
+    private Cache<String,Long> cache;
+
+    @Setup
+    public void setUp() {
+        StoredCacheConfiguration<String,Long> configuration = new StoredCacheConfiguration<>();
+        for (int i = 0; i < listeners; i++) {
+            configuration.addCacheEntryListenerConfiguration(new MutableCacheEntryListenerConfiguration<>(
+                    FactoryBuilder.factoryOf(new CountingListener()), null, false, true
+            ));
+        }
+        cache = createCache("listeners", configuration);
+    }
+
+    @Benchmark
+    public void put(Blackhole blackhole) {
+        int index = ThreadLocalRandom.current().nextInt(KEYS);
+        cache.put(key(index), (long) index);
+        blackhole.consume(index);
+    }
+
+    public static class CountingListener implements CacheEntryCreatedListener<String,Long>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final LongAdder events = new LongAdder();
+
+        @Override
+        public void onCreated(Iterable<CacheEntryEvent<? extends String, ? extends Long>> cacheEntryEvents)
+                throws CacheEntryListenerException
+        {
+            for (CacheEntryEvent<? extends String, ? extends Long> event : cacheEntryEvents) {
+                events.increment();
+            }
+        }
+    }
+}
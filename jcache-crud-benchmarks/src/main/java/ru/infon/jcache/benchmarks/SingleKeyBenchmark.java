@@ -0,0 +1,58 @@
+package ru.infon.jcache.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.infon.jcache.core.StoredCacheConfiguration;
+
+import javax.cache.Cache;
+import javax.cache.expiry.AccessedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.EternalExpiryPolicy;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single key get/put; access expiry policy adds {@code PolicyExecutor} expire time updates.
+ *
+ * 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingleKeyBenchmark extends AbstractCacheBenchmark {
+
+    @Param({"eternal", "accessed"})
+    public String expiry;
+
+    private Cache<String,Long> cache;
+
+    @Setup
+    public void setUp() {
+        StoredCacheConfiguration<String,Long> configuration = new StoredCacheConfiguration<>();
+        if(expiry.equals("accessed")) {
+            configuration.setExpiryPolicyFactory(AccessedExpiryPolicy.factoryOf(Duration.ONE_HOUR));
+        } else {
+            configuration.setExpiryPolicyFactory(EternalExpiryPolicy.factoryOf());
+        }
+        cache = createCache("single-key", configuration);
+        fill(cache, KEYS);
+    }
+
+    @Benchmark
+    public Long get() {
+        return cache.get(key(ThreadLocalRandom.current().nextInt(KEYS)));
+    }
+
+    @Benchmark
+    public Long getMissing() {
+        return cache.get("missing-"+ThreadLocalRandom.current().nextInt(KEYS));
+    }
+
+    @Benchmark
+    public void put() {
+        int index = ThreadLocalRandom.current().nextInt(KEYS);
+        cache.put(key(index), (long) index);
+    }
+}
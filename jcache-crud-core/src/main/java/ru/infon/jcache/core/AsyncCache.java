@@ -0,0 +1,25 @@
+package ru.infon.jcache.core;
+
+import javax.cache.processor.EntryProcessor;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of main {@link javax.cache.Cache} operations.
+ * Available with {@code cache.unwrap(AsyncCache.class)}.
+ *
+ * 18.10.2026
+ */
+public interface AsyncCache<K,V> {
+
+    CompletableFuture<V> getAsync(K key);
+
+    CompletableFuture<Map<K,V>> getAllAsync(Set<? extends K> keys);
+
+    CompletableFuture<Void> putAsync(K key, V value);
+
+    CompletableFuture<Boolean> removeAsync(K key);
+
+    <T> CompletableFuture<T> invokeAsync(K key, EntryProcessor<K,V,T> entryProcessor, Object... arguments);
+}
@@ -0,0 +1,23 @@
+package ru.infon.jcache.core;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking storage operations. Implemented by {@link CacheStorageSession}
+ * of storages with native asynchronous API, blocking storages are adapted
+ * with {@link ExecutorAsyncStorageSession}.
+ *
+ * 18.10.2026
+ */
+public interface AsyncCacheStorageSession<K,V> {
+
+    CompletableFuture<StorableEntry<K,V>> getAsync(K key);
+
+    CompletableFuture<Collection<StorableEntry<K,V>>> getAllAsync(Set<? extends K> keys);
+
+    CompletableFuture<Void> putAsync(StorableEntry<K,V> entry);
+
+    CompletableFuture<Boolean> removeAsync(K key);
+}
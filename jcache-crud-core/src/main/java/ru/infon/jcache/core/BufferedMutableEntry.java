@@ -0,0 +1,83 @@
+package ru.infon.jcache.core;
+
+import javax.cache.processor.MutableEntry;
+
+/**
+ * Mutable entry recording entry processor mutation instead of writing it,
+ * used to write back mutations of many processors at once.
+ *
+ * 18.10.2026
+ */
+public class BufferedMutableEntry<K, V> implements MutableEntry<K,V> {
+
+    private final K key;
+    private final V originalValue;
+    private V value;
+    private boolean updated;
+    private boolean removed;
+
+    public BufferedMutableEntry(K key, V value) {
+        this.key = key;
+        this.originalValue = value;
+        this.value = value;
+    }
+
+    @Override
+    public boolean exists() {
+        return value!=null;
+    }
+
+    @Override
+    public void remove() {
+        value = null;
+        updated = false;
+        removed = true;
+    }
+
+    @Override
+    public void setValue(V value) {
+        if(value==null) {
+            throw new NullPointerException("value can't be null");
+        }
+        this.value = value;
+        updated = true;
+        removed = false;
+    }
+
+    /**
+     * @return true if value was set by processor
+     */
+    public boolean isUpdated() {
+        return updated;
+    }
+
+    /**
+     * @return true if existing entry was removed by processor
+     */
+    public boolean isRemoved() {
+        return removed && originalValue!=null;
+    }
+
+    public V getOriginalValue() {
+        return originalValue;
+    }
+
+    @Override
+    public K getKey() {
+        return key;
+    }
+
+    @Override
+    public V getValue() {
+        return value;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> clazz) {
+        if (clazz.isAssignableFrom(getClass())) {
+            return clazz.cast(this);
+        }
+
+        throw new IllegalArgumentException("Unwapping to " + clazz + " is not a supported by this implementation");
+    }
+}
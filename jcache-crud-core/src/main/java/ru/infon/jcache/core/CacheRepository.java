@@ -59,6 +59,17 @@ public class CacheRepository implements Iterable<StoredCache<?,?>> {
         return cachesByName;
     }
 
+    public synchronized List<StoredCache<?,?>> getAll(String cacheName) {
+        List<StoredCache<?,?>> cachesByName = new LinkedList<>();
+        List<CacheHash> hashes = cacheRegistry.get(cacheName);
+        if(hashes!=null) {
+            for (CacheHash hash : hashes) {
+                cachesByName.add(caches.get(hash));
+            }
+        }
+        return cachesByName;
+    }
+
     public synchronized <K,V> StoredCache<K,V> get(String cacheName, Class<K> keyType, Class<V> valueType) {
         CacheHash hash;
         if(isFixedTypes || keyType==null || valueType==null) {
@@ -1,5 +1,7 @@
 package ru.infon.jcache.core;
 
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
 import java.net.URI;
 import java.util.Properties;
 
@@ -30,7 +32,25 @@ public abstract class CacheStorage {
             String cacheName, Class<K> keyType, Class<V> valueType
     );
 
+    /**
+     * Opens session storing values serialized with given serializer.
+     * Storages not supporting binary values ignore serializer.
+     * @param valueSerializer - value serializer, null - values are mapped by storage
+     */
+    public <K,V> CacheStorageSession<K,V> openSession(
+            String cacheName, Class<K> keyType, Class<V> valueType,
+            ValueSerializer<V> valueSerializer
+    ) {
+        return openSession(cacheName, keyType, valueType);
+    }
+
     //public abstract <K,V> StorableEntry<K,V> createEntry(K key, V value);
 
     public abstract boolean isFixedTypes();
+
+    /**
+     * Releases connections of storage, called once by cache manager after its caches are closed.
+     */
+    public void close() {
+    }
 }
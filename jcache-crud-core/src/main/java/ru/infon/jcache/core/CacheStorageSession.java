@@ -1,6 +1,12 @@
 package ru.infon.jcache.core;
 
+import ru.infon.jcache.core.processor.FieldUpdate;
+
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -33,12 +39,99 @@ public abstract class CacheStorageSession<K, V> {
     public abstract Collection<StorableEntry<K,V>> getAll(Set<? extends K> keys);
     public abstract Collection<StorableEntry<K,V>> getAll();
 
+    /**
+     * Keys of all stored entries. Default implementation loads all entries,
+     * storage implementations should override it to avoid values transfer.
+     */
+    public Iterable<K> keys() {
+        Collection<StorableEntry<K,V>> entries = getAll();
+        List<K> keys = new ArrayList<>(entries.size());
+        for (StorableEntry<K, V> entry : entries) {
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Iterator over all stored entries, storage implementations should override it
+     * to load entries lazily. Default implementation loads all entries.
+     * @param batchSize - number of entries loaded from storage at once
+     */
+    public Iterator<StorableEntry<K,V>> iterator(int batchSize) {
+        return getAll().iterator();
+    }
+
     public abstract void put(StorableEntry<K, V> entry);
     public abstract void putAll(Collection<StorableEntry<K, V>> map);
 
+    /**
+     * Applies batch of independent writes, every key appears in batch once.
+     * Default implementation uses {@link #putAll} and {@link #removeAll(Set)},
+     * storage implementations may override it to apply batch in one request.
+     * @param entries - entries to store
+     * @param removedKeys - keys to remove
+     */
+    public void writeBatch(Collection<StorableEntry<K, V>> entries, Set<? extends K> removedKeys) {
+        if(!entries.isEmpty()) {
+            putAll(entries);
+        }
+        if(!removedKeys.isEmpty()) {
+            removeAll(removedKeys);
+        }
+    }
+
+    /**
+     * Removes entries of keys which are expired at given time.
+     * Default implementation reads entries with {@link #getAll(Set)}, storage
+     * implementations filtering expired entries out of reads must override it.
+     * @return removed entries
+     */
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        List<StorableEntry<K,V>> expired = new ArrayList<>();
+        Set<K> expiredKeys = new HashSet<>();
+        for (StorableEntry<K, V> entry : getAll(keys)) {
+            if(entry.getExpireTimestamp()!=null && entry.getExpireTimestamp()<=now) {
+                expired.add(entry);
+                expiredKeys.add(entry.getKey());
+            }
+        }
+        if(!expiredKeys.isEmpty()) {
+            removeAll(expiredKeys);
+        }
+        return expired;
+    }
+
     public abstract boolean update(StorableEntry<K, V> entry);
     public abstract void updateExpireTime(StorableEntry<K, V> entry);
 
+    /**
+     * Updates expire timestamps of stored entries, entries which are not stored are skipped.
+     * Default implementation uses {@link #updateExpireTime}, storage implementations
+     * may override it to apply all updates in one request.
+     */
+    public void updateExpireTimes(Collection<StorableEntry<K, V>> entries) {
+        for (StorableEntry<K, V> entry : entries) {
+            updateExpireTime(entry);
+        }
+    }
+
+    /**
+     * @return true if storage applies {@link FieldUpdate}s in place
+     */
+    public boolean supportsFieldUpdates() {
+        return false;
+    }
+
+    /**
+     * Applies field update to stored not expired entry atomically, without reading value.
+     * @param expireTimestamp - new expire timestamp of entry, null - not changed
+     * @return new field value, null if entry is not stored
+     * @throws UnsupportedOperationException if storage doesn't support field updates
+     */
+    public Object applyFieldUpdate(K key, FieldUpdate update, Long expireTimestamp) {
+        throw new UnsupportedOperationException("field updates are not supported by storage");
+    }
+
     public abstract boolean remove(K key);
     public abstract void removeAll(Set<? extends K> keys);
     public abstract void removeAll();
@@ -27,4 +27,12 @@ public class EntryFactory<K,V> {
         return entry;
     }
 
+    public Class<K> getKeyType() {
+        return keyType;
+    }
+
+    public Class<V> getValueType() {
+        return valueType;
+    }
+
 }
@@ -0,0 +1,42 @@
+package ru.infon.jcache.core;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs blocking {@link CacheStorageSession} operations on executor.
+ *
+ * 18.10.2026
+ */
+public class ExecutorAsyncStorageSession<K,V> implements AsyncCacheStorageSession<K,V> {
+
+    private final CacheStorageSession<K,V> storage;
+    private final Executor executor;
+
+    public ExecutorAsyncStorageSession(CacheStorageSession<K,V> storage, Executor executor) {
+        this.storage = storage;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<StorableEntry<K, V>> getAsync(final K key) {
+        return CompletableFuture.supplyAsync(() -> storage.get(key), executor);
+    }
+
+    @Override
+    public CompletableFuture<Collection<StorableEntry<K, V>>> getAllAsync(final Set<? extends K> keys) {
+        return CompletableFuture.supplyAsync(() -> storage.getAll(keys), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(final StorableEntry<K, V> entry) {
+        return CompletableFuture.runAsync(() -> storage.put(entry), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> removeAsync(final K key) {
+        return CompletableFuture.supplyAsync(() -> storage.remove(key), executor);
+    }
+}
@@ -2,6 +2,7 @@ package ru.infon.jcache.core;
 
 import javax.cache.expiry.Duration;
 import javax.cache.expiry.ExpiryPolicy;
+import java.util.function.Consumer;
 
 /**
  * 24.10.2016
@@ -12,10 +13,22 @@ public class PolicyExecutor<K,V> implements ExpiryPolicy {
 
     private final ExpiryPolicy policy;
     private final CacheStorageSession<K,V> storage;
+    private final Consumer<StorableEntry<K,V>> expiredHandler;
 
     public PolicyExecutor(CacheStorageSession<K,V> storage, ExpiryPolicy policy) {
+        this(storage, policy, entry -> {});
+    }
+
+    /**
+     * @param expiredHandler - receives stored entries found expired and removed
+     */
+    public PolicyExecutor(
+            CacheStorageSession<K,V> storage, ExpiryPolicy policy,
+            Consumer<StorableEntry<K,V>> expiredHandler
+    ) {
         this.policy = policy;
         this.storage = storage;
+        this.expiredHandler = expiredHandler;
     }
 
     StorableEntry<K,V> execute(StorableEntry<K,V> cacheEntity, Action action) {
@@ -25,7 +38,9 @@ public class PolicyExecutor<K,V> implements ExpiryPolicy {
         }
 
         if(cacheEntity.isExpired()) {
-            storage.remove(cacheEntity.getKey());
+            if(storage.remove(cacheEntity.getKey())) {
+                expiredHandler.accept(cacheEntity);
+            }
             return null;
         }
 
@@ -74,7 +89,10 @@ public class PolicyExecutor<K,V> implements ExpiryPolicy {
             storage.remove(cacheEntity.getKey());
             return null;
         }
-        storage.updateExpireTime(cacheEntity);
+        if(action==Action.ACCESS) {
+            // created and updated entries are stored with expire time by following write
+            storage.updateExpireTime(cacheEntity);
+        }
 
         return cacheEntity;
     }
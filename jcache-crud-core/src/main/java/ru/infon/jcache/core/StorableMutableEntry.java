@@ -22,7 +22,7 @@ public class StorableMutableEntry<K, V> implements MutableEntry<K,V> {
 
     @Override
     public boolean exists() {
-        return getValue()==null;
+        return getValue()!=null;
     }
 
     @Override
@@ -1,39 +1,83 @@
 package ru.infon.jcache.core;
 
+import ru.infon.jcache.core.bloom.BloomFilterStorageSession;
 import ru.infon.jcache.core.event.CacheEventDispatcher;
 import ru.infon.jcache.core.event.StoredEntryEvent;
+import ru.infon.jcache.core.expiry.ExpiryTrackingStorageSession;
+import ru.infon.jcache.core.expiry.TouchBufferStorageSession;
+import ru.infon.jcache.core.latency.LatencyTracker;
+import ru.infon.jcache.core.latency.LatencyTrackingStorageSession;
+import ru.infon.jcache.core.latency.Operation;
+import ru.infon.jcache.core.lock.StripedKeyLock;
+import ru.infon.jcache.core.management.MBeanServerRegistrationUtility;
+import ru.infon.jcache.core.management.RICacheStatisticsMXBean;
+import ru.infon.jcache.core.near.CopyingNearCache;
+import ru.infon.jcache.core.near.EntryWeigher;
+import ru.infon.jcache.core.near.NearCache;
+import ru.infon.jcache.core.near.NearCacheStorageSession;
+import ru.infon.jcache.core.near.TinyLfuNearCache;
+import ru.infon.jcache.core.offheap.OffHeapNearCache;
+import ru.infon.jcache.core.processor.FieldUpdate;
+import ru.infon.jcache.core.processor.FieldUpdateProcessor;
+import ru.infon.jcache.core.serialization.CompactValueSerializer;
+import ru.infon.jcache.core.serialization.CompressingValueSerializer;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+import ru.infon.jcache.core.writebehind.WriteBehindStorageSession;
 
 import javax.cache.Cache;
 import javax.cache.CacheManager;
 import javax.cache.configuration.CacheEntryListenerConfiguration;
 import javax.cache.configuration.CompleteConfiguration;
 import javax.cache.configuration.Configuration;
-import javax.cache.configuration.MutableConfiguration;
+import javax.cache.configuration.Factory;
 import javax.cache.event.EventType;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.EternalExpiryPolicy;
+import javax.cache.expiry.ExpiryPolicy;
 import javax.cache.integration.CompletionListener;
 import javax.cache.processor.EntryProcessor;
 import javax.cache.processor.EntryProcessorException;
 import javax.cache.processor.EntryProcessorResult;
+import java.io.File;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
 
 /**
  * 14.10.2016
  * @author kostapc
  * 2016 Infon
  */
-public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V> {
+public class StoredCache<K, V> implements Cache<K, V>, AsyncCache<K, V>, StorableEntryHandler<K,V> {
+
+    private static final String BLOOM_FILTER_OBJECT_TYPE = "CacheBloomFilter";
+    private static final String WRITE_BEHIND_OBJECT_TYPE = "CacheWriteBehind";
+    private static final String COMPRESSION_OBJECT_TYPE = "CacheCompression";
+    private static final String STATISTICS_OBJECT_TYPE = "CacheStatistics";
+    private static final String LATENCY_OBJECT_TYPE = "CacheLatency";
+    private static final long NOT_TIMED = Long.MIN_VALUE;
 
     private final String cacheName;
-    private final MutableConfiguration<K, V> configuration;
+    private final StoredCacheConfiguration<K, V> configuration;
     private final StoredCacheManager manager;
     private final ClassLoader classLoader; // TODO: implement classLoader usage
     private final CacheStorageSession<K, V> storage;
+    private final AsyncCacheStorageSession<K, V> asyncStorage;
     private final EntryFactory<K,V> entryFactory;
+    private final ValueSerializer<V> valueSerializer;
 
     private final ProxyStorage<K, V> proxyStorage;
     private final CacheEventDispatcher<K,V> eventsDispatcher;
 
     private final PolicyExecutor<K,V> policyExecutor;
+    // single key mutations are atomic within JVM
+    private final StripedKeyLock keyLocks;
+
+    private final RICacheStatisticsMXBean statistics;
+    private volatile boolean statisticsEnabled;
+    // null if latency histograms disabled
+    private final LatencyTracker latencyTracker;
 
     public StoredCache(
             StoredCacheManager storedCacheManager,
@@ -49,26 +93,140 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
         //as we don't know if the provided configuration is mutable
         if (configuration instanceof CompleteConfiguration) {
             //support use of CompleteConfiguration
-            this.configuration = new MutableConfiguration<>((CompleteConfiguration<K, V>) configuration);
+            this.configuration = new StoredCacheConfiguration<>((CompleteConfiguration<K, V>) configuration);
         } else {
             //support use of Basic Configuration
-            this.configuration = new MutableConfiguration<>((CompleteConfiguration<K, V>) configuration);
+            this.configuration = new StoredCacheConfiguration<>();
             this.configuration.setStoreByValue(configuration.isStoreByValue());
             this.configuration.setTypes(configuration.getKeyType(), configuration.getValueType());
         }
         this.proxyStorage = new ProxyStorage<>(this.configuration);
         this.eventsDispatcher = new CacheEventDispatcher<>(manager);
 
-        this.storage = storedCacheManager.getStorage().openSession(
+        Factory<ValueSerializer<V>> serializerFactory = this.configuration.getValueSerializerFactory();
+        this.valueSerializer = serializerFactory==null?null:serializerFactory.create();
+        ValueSerializer<V> storedValueSerializer = valueSerializer;
+        if(this.configuration.isCompressionEnabled()) {
+            CompressingValueSerializer<V> compressingSerializer = new CompressingValueSerializer<>(
+                    valueSerializer==null?new CompactValueSerializer<V>():valueSerializer,
+                    this.configuration.getCompressionCodecFactory().create(),
+                    this.configuration.getCompressionThreshold()
+            );
+            MBeanServerRegistrationUtility.registerCacheObject(compressingSerializer, this, COMPRESSION_OBJECT_TYPE);
+            storedValueSerializer = compressingSerializer;
+        }
+        CacheStorageSession<K, V> session = storedCacheManager.getStorage().openSession(
                 cacheName,
                 this.configuration.getKeyType(),
-                this.configuration.getValueType()
+                this.configuration.getValueType(),
+                storedValueSerializer
         );
+        CacheStorageSession<K, V> trackedSession = session;
+        if(this.configuration.isLatencyHistogramsEnabled()) {
+            this.latencyTracker = new LatencyTracker(this.configuration.getLatencyWindowMillis());
+            MBeanServerRegistrationUtility.registerCacheObject(latencyTracker, this, LATENCY_OBJECT_TYPE);
+            trackedSession = new LatencyTrackingStorageSession<>(session, latencyTracker);
+        } else {
+            this.latencyTracker = null;
+        }
+        ExpiryPolicy expiryPolicy = this.configuration.getExpiryPolicyFactory().create();
+        this.storage = decorateSession(trackedSession, expiryPolicy);
+        this.asyncStorage = asyncSession(trackedSession, session);
 
-        this.policyExecutor = new PolicyExecutor<>(
-                storage, this.configuration.getExpiryPolicyFactory().create()
-        );
+        this.policyExecutor = new PolicyExecutor<>(storage, expiryPolicy, this::accessExpired);
+        this.keyLocks = new StripedKeyLock(this.configuration.getLockStripes());
         this.entryFactory = storage.getEntryFactory();
+
+        this.statistics = new RICacheStatisticsMXBean(this);
+        setStatisticsEnabled(this.configuration.isStatisticsEnabled());
+    }
+
+    private CacheStorageSession<K,V> decorateSession(CacheStorageSession<K,V> session, ExpiryPolicy expiryPolicy) {
+        // eternal and creation based policies never touch entries
+        if(configuration.isExpiryTouchBufferEnabled() && expiryPolicy.getExpiryForAccess()!=null) {
+            session = new TouchBufferStorageSession<>(
+                    cacheName, session, configuration.getExpiryTouchFlushMillis()
+            );
+        }
+        if(configuration.isWriteBehindEnabled()) {
+            WriteBehindStorageSession<K,V> writeBehindSession = new WriteBehindStorageSession<>(
+                    cacheName, session,
+                    configuration.getWriteBehindBatchSize(),
+                    configuration.getWriteBehindLingerMillis()
+            );
+            MBeanServerRegistrationUtility.registerCacheObject(writeBehindSession, this, WRITE_BEHIND_OBJECT_TYPE);
+            session = writeBehindSession;
+        }
+        if(configuration.isBloomFilterEnabled()) {
+            BloomFilterStorageSession<K,V> bloomFilterSession = new BloomFilterStorageSession<>(
+                    session,
+                    configuration.getBloomFilterExpectedKeys(),
+                    configuration.getBloomFilterFalsePositiveProbability()
+            );
+            MBeanServerRegistrationUtility.registerCacheObject(bloomFilterSession, this, BLOOM_FILTER_OBJECT_TYPE);
+            session = bloomFilterSession;
+        }
+        if(configuration.isOffHeapNearCacheEnabled()) {
+            String directory = configuration.getOffHeapNearCacheDirectory();
+            session = new NearCacheStorageSession<>(session, new OffHeapNearCache<>(
+                    cacheName, session.getEntryFactory(),
+                    configuration.getOffHeapNearCacheCapacity(),
+                    directory==null?null:new File(directory),
+                    valueSerializer==null?new CompactValueSerializer<V>():valueSerializer
+            ));
+        }
+        if(configuration.isNearCacheEnabled()) {
+            Factory<EntryWeigher<K,V>> weigherFactory = configuration.getNearCacheWeigherFactory();
+            NearCache<K,V> nearCache = new TinyLfuNearCache<>(
+                    configuration.getNearCacheMaximumWeight(),
+                    weigherFactory==null?null:weigherFactory.create()
+            );
+            // on-heap near cache shares value instances, off-heap one copies them anyway
+            if(configuration.isStoreByValue() && !CopyingNearCache.isImmutable(configuration.getValueType())) {
+                nearCache = new CopyingNearCache<>(
+                        nearCache, session.getEntryFactory(),
+                        valueSerializer==null?new CompactValueSerializer<V>():valueSerializer
+                );
+            }
+            session = new NearCacheStorageSession<>(session, nearCache);
+        }
+        if(configuration.isExpiryTrackingEnabled() && !(expiryPolicy instanceof EternalExpiryPolicy)) {
+            session = new ExpiryTrackingStorageSession<>(
+                    cacheName, session,
+                    configuration.getExpiryTickMillis(),
+                    configuration.getExpiryTrackingMaximumKeys(),
+                    this::expired
+            );
+        }
+        return session;
+    }
+
+    private void expired(Collection<StorableEntry<K,V>> entries) {
+        if(statisticsEnabled) {
+            statistics.increaseCacheExpiries(entries.size());
+        }
+        for (StorableEntry<K, V> entry : entries) {
+            eventsDispatcher.storeEvent(
+                    new StoredEntryEvent<>(this, entry, EventType.EXPIRED)
+            );
+        }
+        eventsDispatcher.dispatch();
+    }
+
+    private void accessExpired(StorableEntry<K,V> entry) {
+        if(statisticsEnabled) {
+            statistics.increaseCacheExpiries(1);
+        }
+    }
+
+    private AsyncCacheStorageSession<K,V> asyncSession(
+            CacheStorageSession<K,V> trackedSession, CacheStorageSession<K,V> session
+    ) {
+        // decorators are blocking, so native async storage is used only when nothing is placed in front of it
+        if(storage==trackedSession && session instanceof AsyncCacheStorageSession) {
+            return (AsyncCacheStorageSession<K, V>) session;
+        }
+        return new ExecutorAsyncStorageSession<>(storage, manager.getAsyncExecutor());
     }
 
     Class<K> getKeyClass() {
@@ -82,8 +240,15 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
     @Override
     public V get(K key) {
         assertOpened();
-        StorableEntry<K, V> entry = storage.get(key);
+        long start = startTimer();
+        V value = accessed(key, storage.get(key));
+        timed(Operation.GET, start);
+        return value;
+    }
+
+    private V accessed(K key, StorableEntry<K, V> entry) {
         entry = policyExecutor.execute(entry, PolicyExecutor.Action.ACCESS);
+        looked(entry!=null);
         if(entry==null) {
             return null;
         }
@@ -93,8 +258,14 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
     @Override
     public Map<K, V> getAll(Set<? extends K> keys) {
         assertOpened();
+        long start = startTimer();
+        Map<K, V> values = accessed(keys, storage.getAll(keys));
+        timed(Operation.GET_ALL, start);
+        return values;
+    }
+
+    private Map<K, V> accessed(Set<? extends K> keys, Collection<StorableEntry<K, V>> entries) {
         Map<K, V> map = new HashMap<>();
-        Collection<StorableEntry<K, V>> entries = storage.getAll(keys);
         for (StorableEntry<K, V> entry : entries) {
             entry = policyExecutor.execute(entry, PolicyExecutor.Action.ACCESS);
             if(entry==null) {
@@ -102,6 +273,10 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
             }
             map.put(entry.getKey(), entry.getValue());
         }
+        if(statisticsEnabled) {
+            statistics.increaseCacheHits(map.size());
+            statistics.increaseCacheMisses(keys.size()-map.size());
+        }
         // TODO: check is expired entry should be loaded by "loader"
         return proxyStorage.proxytLoadAll(keys, map);
     }
@@ -115,12 +290,28 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
     @Override
     public void put(K key, V value) {
         assertOpened();
-        StorableEntry<K, V> entry = entryFactory.create(key, value);
-        entry = policyExecutor.execute(entry, PolicyExecutor.Action.CREATE);
-        if(entry==null) { // rare case: already expired, not updating
-            return;
+        long start = startTimer();
+        Lock lock = keyLocks.lock(key);
+        try {
+            StorableEntry<K, V> entry = created(key, value);
+            if(entry==null) { // rare case: already expired, not updating
+                return;
+            }
+            storage.put(entry);
+            written(entry);
+        } finally {
+            lock.unlock();
+            timed(Operation.PUT, start);
         }
-        storage.put(entry);
+    }
+
+    private StorableEntry<K, V> created(K key, V value) {
+        StorableEntry<K, V> entry = entryFactory.create(key, value);
+        return policyExecutor.execute(entry, PolicyExecutor.Action.CREATE);
+    }
+
+    private void written(StorableEntry<K, V> entry) {
+        stored(1);
         proxyStorage.proxyWrite(entry);
         eventsDispatcher.storeEvent(
                 new StoredEntryEvent<>(this,entry, EventType.CREATED)
@@ -131,24 +322,31 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
     @Override
     public V getAndPut(K key, V value) {
         assertOpened();
-        V oldValue = get(key);
-        StorableEntry<K, V> entry = entryFactory.create(key, value, oldValue);
-        entry = policyExecutor.execute(entry, PolicyExecutor.Action.UPDATE);
-        if(entry==null) {
+        Lock lock = keyLocks.lock(key);
+        try {
+            V oldValue = get(key);
+            StorableEntry<K, V> entry = entryFactory.create(key, value, oldValue);
+            entry = policyExecutor.execute(entry, PolicyExecutor.Action.UPDATE);
+            if(entry==null) {
+                return oldValue;
+            }
+            storage.update(entry);
+            stored(1);
+            proxyStorage.proxyWrite(entry);
+            eventsDispatcher.storeEvent(
+                    new StoredEntryEvent<>(this, entry, EventType.UPDATED)
+            );
+            eventsDispatcher.dispatch();
             return oldValue;
+        } finally {
+            lock.unlock();
         }
-        storage.update(entry);
-        proxyStorage.proxyWrite(entry);
-        eventsDispatcher.storeEvent(
-                new StoredEntryEvent<>(this, entry, EventType.UPDATED)
-        );
-        eventsDispatcher.dispatch();
-        return oldValue;
     }
 
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
         assertOpened();
+        long start = startTimer();
         Collection<StorableEntry<K, V>> collection = new ArrayList<>(map.size());
         for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
             StorableEntry<K,V> storableEntry = entryFactory.create(
@@ -165,28 +363,55 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
         }
         collection = Collections.unmodifiableCollection(collection);
         storage.putAll(collection);
+        stored(collection.size());
         proxyStorage.proxyWriteAll(collection);
         eventsDispatcher.dispatch();
+        timed(Operation.PUT_ALL, start);
     }
 
     @Override
     public boolean putIfAbsent(K key, V value) {
         assertOpened();
-        if (storage.containsKey(key)) {
-            return false;
+        Lock lock = keyLocks.lock(key);
+        try {
+            if (storage.containsKey(key)) {
+                return false;
+            }
+            put(key, value);
+            return true;
+        } finally {
+            lock.unlock();
         }
-        put(key, value);
-        return true;
     }
 
     @Override
     public boolean remove(K key) {
         assertOpened();
-        boolean result = storage.remove(key);
+        long start = startTimer();
+        Lock lock = keyLocks.lock(key);
+        try {
+            return removed(key, storage.remove(key));
+        } finally {
+            lock.unlock();
+            timed(Operation.REMOVE, start);
+        }
+    }
+
+    private boolean removed(K key, boolean result) {
+        return removed(entryFactory.create(key, null), result);
+    }
+
+    /**
+     * @param entry - removed entry, event carries its value as old value
+     */
+    private boolean removed(StorableEntry<K, V> entry, boolean result) {
         if (result) {
-            proxyStorage.proxyDelete(key);
+            if(statisticsEnabled) {
+                statistics.increaseCacheRemovals(1);
+            }
+            proxyStorage.proxyDelete(entry.getKey());
             eventsDispatcher.storeEvent(
-                    new StoredEntryEvent<>(this, entryFactory.create(key, null), EventType.REMOVED)
+                    new StoredEntryEvent<>(this, entry, EventType.REMOVED)
             );
             eventsDispatcher.dispatch();
         }
@@ -196,98 +421,135 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
     @Override
     public boolean remove(K key, V oldValue) {
         assertOpened();
-        StorableEntry<K, V> value = storage.get(key);
-        if (value == null) {
+        Lock lock = keyLocks.lock(key);
+        try {
+            StorableEntry<K, V> value = storage.get(key);
+            looked(value!=null);
+            if (value == null) {
+                return false;
+            }
+            if (value.getValue().equals(oldValue)) {
+                return removed(value, storage.remove(key));
+            }
             return false;
+        } finally {
+            lock.unlock();
         }
-        if (value.getValue().equals(oldValue)) {
-            remove(key);
-            eventsDispatcher.storeEvent(
-                    new StoredEntryEvent<>(this, value, EventType.REMOVED)
-            );
-            eventsDispatcher.dispatch();
-            return true;
-        }
-        return false;
     }
 
     @Override
     public V getAndRemove(K key) {
         assertOpened();
-        V value = get(key);
-        if (value != null) {
-            remove(key);
+        Lock lock = keyLocks.lock(key);
+        try {
+            V value = get(key);
+            if (value != null) {
+                remove(key);
+            }
+            return value;
+        } finally {
+            lock.unlock();
         }
-        return value;
     }
 
     @Override
     public boolean replace(K key, V oldValue, V newValue) {
         assertOpened();
-        StorableEntry<K, V> entry = storage.get(key);
-        entry = policyExecutor.execute(entry, PolicyExecutor.Action.UPDATE);
-        if (entry == null) {
-            return false;
-        }
-        if (entry.equals(oldValue)) {
-            StorableEntry<K,V> updatedEntry = entryFactory.create(key, newValue);
-            if(storage.update(updatedEntry)) {
+        Lock lock = keyLocks.lock(key);
+        try {
+            StorableEntry<K, V> entry = storage.get(key);
+            entry = policyExecutor.execute(entry, PolicyExecutor.Action.CHECK);
+            looked(entry!=null);
+            if (entry == null || !entry.getValue().equals(oldValue)) {
+                return false;
+            }
+            // read entry may be shared by near cache or write-behind queue, so it is not modified;
+            // new entry keeps stored expire time if policy has no duration for update
+            StorableEntry<K,V> updated = entryFactory.create(key, newValue, entry.getValue());
+            updated.setExpireTimestamp(entry.getExpireTimestamp());
+            entry = policyExecutor.execute(updated, PolicyExecutor.Action.UPDATE);
+            if(entry==null) {
+                return false;
+            }
+            if(storage.update(entry)) {
+                stored(1);
                 eventsDispatcher.storeEvent(
-                        new StoredEntryEvent<>(this,entry, EventType.UPDATED)
+                        new StoredEntryEvent<>(this, entry, EventType.UPDATED)
                 );
+                eventsDispatcher.dispatch();
                 return true;
-            } else {
-                return false;
             }
+            return false;
+        } finally {
+            lock.unlock();
         }
-        return false;
     }
 
     @Override
     public boolean replace(K key, V value) {
         assertOpened();
-        if (!storage.containsKey(key)) {
-            return false;
-        }
-        StorableEntry<K,V> entry = entryFactory.create(key, value);
-        entry = policyExecutor.execute(entry, PolicyExecutor.Action.CREATE);
-        if(entry==null) { // rare case: already expired, not updating
-            return false;
-        }
-        if(storage.update(entry)) {
-            eventsDispatcher.storeEvent(
-                    new StoredEntryEvent<>(this,entry, EventType.UPDATED)
-            );
-            return true;
-        } else {
-            return false;
+        Lock lock = keyLocks.lock(key);
+        try {
+            boolean present = storage.containsKey(key);
+            looked(present);
+            if (!present) {
+                return false;
+            }
+            StorableEntry<K,V> entry = entryFactory.create(key, value);
+            entry = policyExecutor.execute(entry, PolicyExecutor.Action.CREATE);
+            if(entry==null) { // rare case: already expired, not updating
+                return false;
+            }
+            if(storage.update(entry)) {
+                stored(1);
+                eventsDispatcher.storeEvent(
+                        new StoredEntryEvent<>(this,entry, EventType.UPDATED)
+                );
+                return true;
+            } else {
+                return false;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public V getAndReplace(K key, V value) {
         assertOpened();
-        V oldValue = get(key);
-        if(oldValue==null) {
-            return null;
-        }
-        StorableEntry<K,V> entry = entryFactory.create(key, value);
-        entry = policyExecutor.execute(entry, PolicyExecutor.Action.CREATE);
-        if(entry==null) { // rare case: already expired, not updating
+        Lock lock = keyLocks.lock(key);
+        try {
+            V oldValue = get(key);
+            if(oldValue==null) {
+                return null;
+            }
+            StorableEntry<K,V> entry = entryFactory.create(key, value);
+            entry = policyExecutor.execute(entry, PolicyExecutor.Action.CREATE);
+            if(entry==null) { // rare case: already expired, not updating
+                return oldValue;
+            }
+            if(storage.update(entry)) {
+                stored(1);
+                eventsDispatcher.storeEvent(
+                        new StoredEntryEvent<>(this,entry, EventType.UPDATED)
+                );
+            }
             return oldValue;
+        } finally {
+            lock.unlock();
         }
-        if(storage.update(entry)) {
-            eventsDispatcher.storeEvent(
-                    new StoredEntryEvent<>(this,entry, EventType.UPDATED)
-            );
-        }
-        return oldValue;
     }
 
     @Override
     public void removeAll(Set<? extends K> keys) {
         assertOpened();
+        long start = startTimer();
         storage.removeAll(keys);
+        if(statisticsEnabled) {
+            // storage doesn't report which keys were present
+            statistics.increaseCacheRemovals(keys.size());
+        }
+        timed(Operation.REMOVE_ALL, start);
         proxyStorage.proxyDeleteAll(keys);
         for (K key : keys) {
             eventsDispatcher.storeEvent(
@@ -330,9 +592,107 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
             throws EntryProcessorException
     {
         assertOpened();
-        V value = get(key);
-        StorableMutableEntry<K,V> mutableEntry = new StorableMutableEntry<>(this,key,value);
-        return entryProcessor.process(mutableEntry, arguments);
+        long start = startTimer();
+        Lock lock = keyLocks.lock(key);
+        try {
+            if(entryProcessor instanceof FieldUpdateProcessor && isFieldUpdatePushdown()) {
+                Object result = fieldUpdated(key, ((FieldUpdateProcessor<K,V>) entryProcessor).getUpdate());
+                if(result!=null) {
+                    looked(true);
+                    stored(1);
+                    return (T) result;
+                }
+                // entry is not stored, processor may create it
+            }
+            V value = get(key);
+            BufferedMutableEntry<K,V> mutableEntry = new BufferedMutableEntry<>(key, value);
+            T result;
+            try {
+                result = entryProcessor.process(mutableEntry, arguments);
+            } catch (EntryProcessorException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new EntryProcessorException(e);
+            }
+            if(mutableEntry.isRemoved()) {
+                remove(key);
+            } else if(mutableEntry.isUpdated()) {
+                if(value==null) {
+                    put(key, mutableEntry.getValue());
+                } else {
+                    replace(key, mutableEntry.getValue());
+                }
+            }
+            return result;
+        } finally {
+            lock.unlock();
+            timed(Operation.INVOKE, start);
+        }
+    }
+
+    /**
+     * Field updates are applied by storage if no one needs updated value:
+     * no cache writer and no listeners.
+     */
+    private boolean isFieldUpdatePushdown() {
+        return storage.supportsFieldUpdates()
+                && !configuration.isWriteThrough()
+                && !configuration.getCacheEntryListenerConfigurations().iterator().hasNext();
+    }
+
+    /**
+     * @return new field value, null if entry is not stored or expires on update
+     */
+    private Object fieldUpdated(K key, FieldUpdate update) {
+        Duration duration = policyExecutor.getExpiryForUpdate();
+        Long expireTimestamp = null;
+        if(duration!=null) {
+            if(duration.isZero()) {
+                return null;
+            }
+            expireTimestamp = duration.getAdjustedTime(System.currentTimeMillis());
+        }
+        return storage.applyFieldUpdate(key, update, expireTimestamp);
+    }
+
+    @Override
+    public CompletableFuture<V> getAsync(final K key) {
+        assertOpened();
+        return asyncStorage.getAsync(key).thenApplyAsync(
+                entry -> accessed(key, entry), manager.getAsyncCallbackExecutor()
+        );
+    }
+
+    @Override
+    public CompletableFuture<Map<K, V>> getAllAsync(final Set<? extends K> keys) {
+        assertOpened();
+        return asyncStorage.getAllAsync(keys).thenApplyAsync(
+                entries -> accessed(keys, entries), manager.getAsyncCallbackExecutor()
+        );
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(final K key, final V value) {
+        assertOpened();
+        // written under key lock like put, so conditional operations on the key stay atomic
+        return CompletableFuture.runAsync(() -> put(key, value), manager.getAsyncExecutor());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> removeAsync(final K key) {
+        assertOpened();
+        return CompletableFuture.supplyAsync(() -> remove(key), manager.getAsyncExecutor());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> invokeAsync(
+            final K key, final EntryProcessor<K, V, T> entryProcessor, final Object... arguments
+    ) {
+        assertOpened();
+        // processor runs on buffered entry under key lock, mutations are applied like by invoke
+        return CompletableFuture.supplyAsync(
+                () -> invoke(key, entryProcessor, arguments), manager.getAsyncExecutor()
+        );
     }
 
     @Override
@@ -340,21 +700,203 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
             Set<? extends K> keys, final EntryProcessor<K, V, T> entryProcessor, final Object... arguments
     ) {
         assertOpened();
-        Map<K,V> map = getAll(keys);
+        long start = startTimer();
+        // keys are locked for read, processing and write back, like by invoke
+        List<Lock> locks = keyLocks.lockAll(keys);
+        try {
+            Map<K, EntryProcessorResult<T>> results = invokeAllLocked(keys, entryProcessor, arguments);
+            timed(Operation.INVOKE_ALL, start);
+            return results;
+        } finally {
+            StripedKeyLock.unlockAll(locks);
+        }
+    }
+
+    private <T> Map<K, EntryProcessorResult<T>> invokeAllLocked(
+            Set<? extends K> keys, final EntryProcessor<K, V, T> entryProcessor, final Object... arguments
+    ) {
+        Collection<StorableEntry<K, V>> storedEntries = storage.getAll(keys);
+        final Map<K,V> values = accessed(keys, storedEntries);
+        // batch write replaces entries, updated ones keep stored expire time unless policy sets new one
+        Map<K,Long> expireTimestamps = new HashMap<>();
+        for (StorableEntry<K, V> storedEntry : storedEntries) {
+            expireTimestamps.put(storedEntry.getKey(), storedEntry.getExpireTimestamp());
+        }
+        // processors run on fork-join pool, mutations are written back by one batch
+        List<Invocation<K,V,T>> invocations = keys.parallelStream()
+                .map(key -> invocation(key, values.get(key), entryProcessor, arguments))
+                .collect(Collectors.toList());
+
+        List<StorableEntry<K,V>> written = new ArrayList<>();
+        Set<K> removedKeys = new HashSet<>();
+        List<StoredEntryEvent<K,V>> events = new ArrayList<>();
         Map<K, EntryProcessorResult<T>> results = new HashMap<>();
-        for (Map.Entry<K, V> entry : map.entrySet()) {
-            final StorableMutableEntry<K,V> mutableEntry = new StorableMutableEntry<>(this,entry.getKey(),entry.getValue());
-            EntryProcessorResult<T> result = new EntryProcessorResult<T>() {
-                @Override
-                public T get() throws EntryProcessorException {
-                    return entryProcessor.process(mutableEntry, arguments);
+        for (Invocation<K, V, T> invocation : invocations) {
+            BufferedMutableEntry<K,V> mutableEntry = invocation.entry;
+            if(invocation.exception!=null || invocation.result!=null) {
+                results.put(mutableEntry.getKey(), invocation);
+            }
+            if(invocation.exception!=null) {
+                continue;
+            }
+            if(mutableEntry.isRemoved()) {
+                removedKeys.add(mutableEntry.getKey());
+                events.add(new StoredEntryEvent<>(
+                        this, entryFactory.create(mutableEntry.getKey(), null), EventType.REMOVED
+                ));
+            } else if(mutableEntry.isUpdated()) {
+                boolean created = mutableEntry.getOriginalValue()==null;
+                StorableEntry<K,V> entry = entryFactory.create(
+                        mutableEntry.getKey(), mutableEntry.getValue(), mutableEntry.getOriginalValue()
+                );
+                if(!created) {
+                    entry.setExpireTimestamp(expireTimestamps.get(mutableEntry.getKey()));
+                }
+                entry = policyExecutor.execute(
+                        entry, created?PolicyExecutor.Action.CREATE:PolicyExecutor.Action.UPDATE
+                );
+                if(entry==null) { // rare case: already expired, not updating
+                    continue;
                 }
-            };
-            results.put(entry.getKey(), result);
+                written.add(entry);
+                events.add(new StoredEntryEvent<>(
+                        this, entry, created?EventType.CREATED:EventType.UPDATED
+                ));
+            }
+        }
+        if(!written.isEmpty() || !removedKeys.isEmpty()) {
+            storage.writeBatch(written, removedKeys);
+            if(statisticsEnabled) {
+                statistics.increaseCachePuts(written.size());
+                statistics.increaseCacheRemovals(removedKeys.size());
+            }
+            proxyStorage.proxyWriteAll(written);
+            proxyStorage.proxyDeleteAll(removedKeys);
+            for (StoredEntryEvent<K, V> event : events) {
+                eventsDispatcher.storeEvent(event);
+            }
+            eventsDispatcher.dispatch();
         }
         return results;
     }
 
+    private static <K,V,T> Invocation<K,V,T> invocation(
+            K key, V value, EntryProcessor<K, V, T> entryProcessor, Object... arguments
+    ) {
+        Invocation<K,V,T> invocation = new Invocation<>(new BufferedMutableEntry<>(key, value));
+        try {
+            invocation.result = entryProcessor.process(invocation.entry, arguments);
+        } catch (EntryProcessorException e) {
+            invocation.exception = e;
+        } catch (Exception e) {
+            invocation.exception = new EntryProcessorException(e);
+        }
+        return invocation;
+    }
+
+    private static final class Invocation<K,V,T> implements EntryProcessorResult<T> {
+
+        private final BufferedMutableEntry<K,V> entry;
+        private T result;
+        private EntryProcessorException exception;
+
+        private Invocation(BufferedMutableEntry<K,V> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public T get() throws EntryProcessorException {
+            if(exception!=null) {
+                throw exception;
+            }
+            return result;
+        }
+    }
+
+    /*===========================================[ STATISTICS ]==============*/
+
+    /**
+     * Enables statistics gathering and registers statistics bean of this cache.
+     * Counters are kept when statistics are disabled and enabled again.
+     */
+    public synchronized void setStatisticsEnabled(boolean enabled) {
+        if(enabled==statisticsEnabled) {
+            return;
+        }
+        if(enabled) {
+            MBeanServerRegistrationUtility.registerCacheObject(statistics, this, STATISTICS_OBJECT_TYPE);
+        } else {
+            MBeanServerRegistrationUtility.unregisterCacheObject(this, STATISTICS_OBJECT_TYPE);
+        }
+        configuration.setStatisticsEnabled(enabled);
+        statisticsEnabled = enabled;
+    }
+
+    public RICacheStatisticsMXBean getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return latency histograms, null if disabled by configuration
+     */
+    public LatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    /**
+     * @return operation start time, {@link #NOT_TIMED} if statistics and latency histograms are disabled
+     */
+    private long startTimer() {
+        return statisticsEnabled || latencyTracker!=null?System.nanoTime():NOT_TIMED;
+    }
+
+    private void timed(Operation operation, long start) {
+        if(start==NOT_TIMED) {
+            return;
+        }
+        if(latencyTracker!=null) {
+            latencyTracker.record(operation, start);
+        }
+        if(!statisticsEnabled) {
+            return;
+        }
+        long duration = System.nanoTime()-start;
+        switch (operation) {
+            case GET:
+            case GET_ALL:
+                statistics.addGetTimeNano(duration);
+                break;
+            case PUT:
+            case PUT_ALL:
+            case INVOKE_ALL:
+                statistics.addPutTimeNano(duration);
+                break;
+            case REMOVE:
+            case REMOVE_ALL:
+                statistics.addRemoveTimeNano(duration);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void looked(boolean hit) {
+        if(!statisticsEnabled) {
+            return;
+        }
+        if(hit) {
+            statistics.increaseCacheHits(1);
+        } else {
+            statistics.increaseCacheMisses(1);
+        }
+    }
+
+    private void stored(int count) {
+        if(statisticsEnabled) {
+            statistics.increaseCachePuts(count);
+        }
+    }
+
     @Override
     public String getName() {
         return cacheName;
@@ -367,6 +909,21 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
 
     @Override
     public void close() {
+        if(configuration.isBloomFilterEnabled()) {
+            MBeanServerRegistrationUtility.unregisterCacheObject(this, BLOOM_FILTER_OBJECT_TYPE);
+        }
+        if(configuration.isWriteBehindEnabled()) {
+            MBeanServerRegistrationUtility.unregisterCacheObject(this, WRITE_BEHIND_OBJECT_TYPE);
+        }
+        if(configuration.isCompressionEnabled()) {
+            MBeanServerRegistrationUtility.unregisterCacheObject(this, COMPRESSION_OBJECT_TYPE);
+        }
+        if(statisticsEnabled) {
+            MBeanServerRegistrationUtility.unregisterCacheObject(this, STATISTICS_OBJECT_TYPE);
+        }
+        if(latencyTracker!=null) {
+            MBeanServerRegistrationUtility.unregisterCacheObject(this, LATENCY_OBJECT_TYPE);
+        }
         storage.close();
     }
 
@@ -460,12 +1017,31 @@ public class StoredCache<K, V> implements Cache<K, V>, StorableEntryHandler<K,V>
     @Override
     public Iterator<Entry<K, V>> iterator() {
         assertOpened();
-        Collection<StorableEntry<K, V>> values = storage.getAll();
-        List<Entry<K, V>> entries = new ArrayList<>(values.size());
-        for (StorableEntry<K, V> entry : values) {
-            entries.add(entry);
-        }
-        return entries.iterator();
+        final Iterator<StorableEntry<K, V>> entries = storage.iterator(configuration.getIteratorBatchSize());
+        return new Iterator<Entry<K, V>>() {
+            private K lastKey;
+
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                StorableEntry<K, V> entry = entries.next();
+                lastKey = entry.getKey();
+                return entry;
+            }
+
+            @Override
+            public void remove() {
+                if(lastKey==null) {
+                    throw new IllegalStateException("next() was not called or entry already removed");
+                }
+                StoredCache.this.remove(lastKey);
+                lastKey = null;
+            }
+        };
     }
 
     private void assertOpened() {
@@ -0,0 +1,370 @@
+package ru.infon.jcache.core;
+
+import ru.infon.jcache.core.near.EntryWeigher;
+import ru.infon.jcache.core.serialization.CompressionCodec;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import javax.cache.configuration.CompleteConfiguration;
+import javax.cache.configuration.Factory;
+import javax.cache.configuration.MutableConfiguration;
+
+/**
+ * {@link MutableConfiguration} with jcache-crud specific cache settings.
+ * Any {@link CompleteConfiguration} passed to {@link StoredCacheManager#createCache}
+ * is accepted; settings of this class are only applied when an instance of it is used.
+ *
+ * 18.10.2026
+ */
+public class StoredCacheConfiguration<K,V> extends MutableConfiguration<K,V> {
+
+    private static final long serialVersionUID = 4214561735312694839L;
+
+    private long nearCacheMaximumWeight;
+    private Factory<EntryWeigher<K,V>> nearCacheWeigherFactory;
+    private long offHeapNearCacheCapacity;
+    private String offHeapNearCacheDirectory;
+    private long bloomFilterExpectedKeys;
+    private double bloomFilterFalsePositiveProbability = 0.01;
+    private int writeBehindBatchSize;
+    private long writeBehindLingerMillis = 1000;
+    private long expiryTouchFlushMillis;
+    private long expiryTickMillis;
+    private int expiryTrackingMaximumKeys = 1000000;
+    private int iteratorBatchSize = 1000;
+    private Factory<ValueSerializer<V>> valueSerializerFactory;
+    private Factory<CompressionCodec> compressionCodecFactory;
+    private int compressionThreshold = 4096;
+    private int lockStripes = 256;
+    private long latencyWindowMillis;
+
+    public StoredCacheConfiguration() {
+        super();
+    }
+
+    public StoredCacheConfiguration(CompleteConfiguration<K,V> configuration) {
+        super(configuration);
+        if(configuration instanceof StoredCacheConfiguration) {
+            StoredCacheConfiguration<K,V> storedConfiguration = (StoredCacheConfiguration<K,V>) configuration;
+            this.nearCacheMaximumWeight = storedConfiguration.nearCacheMaximumWeight;
+            this.nearCacheWeigherFactory = storedConfiguration.nearCacheWeigherFactory;
+            this.offHeapNearCacheCapacity = storedConfiguration.offHeapNearCacheCapacity;
+            this.offHeapNearCacheDirectory = storedConfiguration.offHeapNearCacheDirectory;
+            this.bloomFilterExpectedKeys = storedConfiguration.bloomFilterExpectedKeys;
+            this.bloomFilterFalsePositiveProbability = storedConfiguration.bloomFilterFalsePositiveProbability;
+            this.writeBehindBatchSize = storedConfiguration.writeBehindBatchSize;
+            this.writeBehindLingerMillis = storedConfiguration.writeBehindLingerMillis;
+            this.expiryTouchFlushMillis = storedConfiguration.expiryTouchFlushMillis;
+            this.expiryTickMillis = storedConfiguration.expiryTickMillis;
+            this.expiryTrackingMaximumKeys = storedConfiguration.expiryTrackingMaximumKeys;
+            this.iteratorBatchSize = storedConfiguration.iteratorBatchSize;
+            this.valueSerializerFactory = storedConfiguration.valueSerializerFactory;
+            this.compressionCodecFactory = storedConfiguration.compressionCodecFactory;
+            this.compressionThreshold = storedConfiguration.compressionThreshold;
+            this.lockStripes = storedConfiguration.lockStripes;
+            this.latencyWindowMillis = storedConfiguration.latencyWindowMillis;
+        }
+    }
+
+    public boolean isNearCacheEnabled() {
+        return nearCacheMaximumWeight>0;
+    }
+
+    public long getNearCacheMaximumWeight() {
+        return nearCacheMaximumWeight;
+    }
+
+    /**
+     * Enables on-heap near cache in front of cache storage.
+     * Values of store-by-value caches are copied on every near cache read and write.
+     * @param maximumWeight - maximum total weight of near cached entries
+     *                      (entries count if no weigher configured), 0 - disabled
+     */
+    public StoredCacheConfiguration<K,V> setNearCacheMaximumWeight(long maximumWeight) {
+        if(maximumWeight<0) {
+            throw new IllegalArgumentException("near cache maximum weight can't be negative: "+maximumWeight);
+        }
+        this.nearCacheMaximumWeight = maximumWeight;
+        return this;
+    }
+
+    public Factory<EntryWeigher<K,V>> getNearCacheWeigherFactory() {
+        return nearCacheWeigherFactory;
+    }
+
+    /**
+     * @param weigherFactory - weigher for near cached entries, null - every entry weights 1
+     */
+    public StoredCacheConfiguration<K,V> setNearCacheWeigherFactory(Factory<EntryWeigher<K,V>> weigherFactory) {
+        this.nearCacheWeigherFactory = weigherFactory;
+        return this;
+    }
+
+    public boolean isOffHeapNearCacheEnabled() {
+        return offHeapNearCacheCapacity>0;
+    }
+
+    public long getOffHeapNearCacheCapacity() {
+        return offHeapNearCacheCapacity;
+    }
+
+    /**
+     * Enables off-heap near cache in front of cache storage.
+     * If on-heap near cache enabled too, it is placed in front of off-heap one.
+     * @param capacity - off-heap memory size in bytes, 0 - disabled
+     */
+    public StoredCacheConfiguration<K,V> setOffHeapNearCacheCapacity(long capacity) {
+        if(capacity<0) {
+            throw new IllegalArgumentException("off-heap near cache capacity can't be negative: "+capacity);
+        }
+        this.offHeapNearCacheCapacity = capacity;
+        return this;
+    }
+
+    public String getOffHeapNearCacheDirectory() {
+        return offHeapNearCacheDirectory;
+    }
+
+    /**
+     * @param directory - directory for memory-mapped off-heap file, null - direct buffers are used
+     */
+    public StoredCacheConfiguration<K,V> setOffHeapNearCacheDirectory(String directory) {
+        this.offHeapNearCacheDirectory = directory;
+        return this;
+    }
+
+    public boolean isBloomFilterEnabled() {
+        return bloomFilterExpectedKeys>0;
+    }
+
+    public long getBloomFilterExpectedKeys() {
+        return bloomFilterExpectedKeys;
+    }
+
+    /**
+     * Enables Bloom filter skipping storage lookups for keys never written.
+     * Filter is valid only if cache storage is not modified by other sessions.
+     * @param expectedKeys - expected number of keys in cache, 0 - disabled
+     */
+    public StoredCacheConfiguration<K,V> setBloomFilterExpectedKeys(long expectedKeys) {
+        if(expectedKeys<0) {
+            throw new IllegalArgumentException("Bloom filter expected keys can't be negative: "+expectedKeys);
+        }
+        this.bloomFilterExpectedKeys = expectedKeys;
+        return this;
+    }
+
+    public double getBloomFilterFalsePositiveProbability() {
+        return bloomFilterFalsePositiveProbability;
+    }
+
+    /**
+     * @param probability - desired Bloom filter false positive probability, 0.01 by default
+     */
+    public StoredCacheConfiguration<K,V> setBloomFilterFalsePositiveProbability(double probability) {
+        if(probability<=0 || probability>=1) {
+            throw new IllegalArgumentException("false positive probability must be in (0..1): "+probability);
+        }
+        this.bloomFilterFalsePositiveProbability = probability;
+        return this;
+    }
+
+    public boolean isWriteBehindEnabled() {
+        return writeBehindBatchSize>0;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    /**
+     * Enables write-behind: writes are queued, coalesced by key and flushed to storage in batches.
+     * Queued writes are lost if application stops without closing cache.
+     * @param batchSize - number of queued keys triggering flush, 0 - disabled
+     */
+    public StoredCacheConfiguration<K,V> setWriteBehindBatchSize(int batchSize) {
+        if(batchSize<0) {
+            throw new IllegalArgumentException("write-behind batch size can't be negative: "+batchSize);
+        }
+        this.writeBehindBatchSize = batchSize;
+        return this;
+    }
+
+    public long getWriteBehindLingerMillis() {
+        return writeBehindLingerMillis;
+    }
+
+    /**
+     * @param lingerMillis - maximum time write is queued before flush, 1000 by default
+     */
+    public StoredCacheConfiguration<K,V> setWriteBehindLingerMillis(long lingerMillis) {
+        if(lingerMillis<=0) {
+            throw new IllegalArgumentException("write-behind linger time must be positive: "+lingerMillis);
+        }
+        this.writeBehindLingerMillis = lingerMillis;
+        return this;
+    }
+
+    public boolean isExpiryTouchBufferEnabled() {
+        return expiryTouchFlushMillis>0;
+    }
+
+    public long getExpiryTouchFlushMillis() {
+        return expiryTouchFlushMillis;
+    }
+
+    /**
+     * Enables buffering of access-time expire timestamp updates, buffer is written to storage
+     * periodically by own flusher thread of cache.
+     * Buffer is used only if expiry policy changes expire time on access.
+     * @param flushMillis - buffered updates flush period,
+     *                    0 - every update is written immediately (default)
+     */
+    public StoredCacheConfiguration<K,V> setExpiryTouchFlushMillis(long flushMillis) {
+        if(flushMillis<0) {
+            throw new IllegalArgumentException("expiry touch flush period can't be negative: "+flushMillis);
+        }
+        this.expiryTouchFlushMillis = flushMillis;
+        return this;
+    }
+
+    public boolean isExpiryTrackingEnabled() {
+        return expiryTickMillis>0;
+    }
+
+    public long getExpiryTickMillis() {
+        return expiryTickMillis;
+    }
+
+    /**
+     * Enables tracking of expire timestamps of entries written through cache, expired entries
+     * are removed in background and reported to expired listeners. Every cache with tracking
+     * runs own ticker thread and keeps tracked keys on heap, see {@link #setExpiryTrackingMaximumKeys}.
+     * Tracking is used only if expiry policy is not eternal.
+     * @param tickMillis - expiration check period, 0 - disabled (default)
+     */
+    public StoredCacheConfiguration<K,V> setExpiryTickMillis(long tickMillis) {
+        if(tickMillis<0) {
+            throw new IllegalArgumentException("expiry tick can't be negative: "+tickMillis);
+        }
+        this.expiryTickMillis = tickMillis;
+        return this;
+    }
+
+    public int getExpiryTrackingMaximumKeys() {
+        return expiryTrackingMaximumKeys;
+    }
+
+    /**
+     * Keys written while tracked keys limit is reached are not tracked: they are
+     * removed on access or by storage itself, without expired events.
+     * @param maximumKeys - maximum number of keys with tracked expire timestamp, 1000000 by default
+     */
+    public StoredCacheConfiguration<K,V> setExpiryTrackingMaximumKeys(int maximumKeys) {
+        if(maximumKeys<=0) {
+            throw new IllegalArgumentException("expiry tracking maximum keys must be positive: "+maximumKeys);
+        }
+        this.expiryTrackingMaximumKeys = maximumKeys;
+        return this;
+    }
+
+    public int getIteratorBatchSize() {
+        return iteratorBatchSize;
+    }
+
+    /**
+     * @param batchSize - number of entries cache iterator loads from storage at once, 1000 by default
+     */
+    public StoredCacheConfiguration<K,V> setIteratorBatchSize(int batchSize) {
+        if(batchSize<=0) {
+            throw new IllegalArgumentException("iterator batch size must be positive: "+batchSize);
+        }
+        this.iteratorBatchSize = batchSize;
+        return this;
+    }
+
+    public Factory<ValueSerializer<V>> getValueSerializerFactory() {
+        return valueSerializerFactory;
+    }
+
+    /**
+     * Values are stored in serialized binary form by storages supporting it and by off-heap near cache.
+     * Serialized values can't be queried by storage.
+     * @param serializerFactory - value serializer, null - storage maps values itself
+     *                          and off-heap near cache uses compact serializer
+     */
+    public StoredCacheConfiguration<K,V> setValueSerializerFactory(Factory<ValueSerializer<V>> serializerFactory) {
+        this.valueSerializerFactory = serializerFactory;
+        return this;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionCodecFactory!=null;
+    }
+
+    public Factory<CompressionCodec> getCompressionCodecFactory() {
+        return compressionCodecFactory;
+    }
+
+    /**
+     * Enables compression of serialized values, values are serialized with compact
+     * serializer if no value serializer configured. Applied by storages supporting binary values.
+     * @param codecFactory - compression codec, e.g. {@link ru.infon.jcache.core.serialization.DeflateCompressionCodec},
+     *                     null - disabled
+     */
+    public StoredCacheConfiguration<K,V> setCompressionCodecFactory(Factory<CompressionCodec> codecFactory) {
+        this.compressionCodecFactory = codecFactory;
+        return this;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    /**
+     * @param threshold - minimum serialized value size in bytes to be compressed, 4096 by default
+     */
+    public StoredCacheConfiguration<K,V> setCompressionThreshold(int threshold) {
+        if(threshold<0) {
+            throw new IllegalArgumentException("compression threshold can't be negative: "+threshold);
+        }
+        this.compressionThreshold = threshold;
+        return this;
+    }
+
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Single key mutations and entry processors are serialized by key lock stripes within JVM.
+     * @param stripes - number of key locks, rounded up to power of two, 256 by default
+     */
+    public StoredCacheConfiguration<K,V> setLockStripes(int stripes) {
+        if(stripes<=0) {
+            throw new IllegalArgumentException("lock stripes count must be positive: "+stripes);
+        }
+        this.lockStripes = stripes;
+        return this;
+    }
+
+    public boolean isLatencyHistogramsEnabled() {
+        return latencyWindowMillis>0;
+    }
+
+    public long getLatencyWindowMillis() {
+        return latencyWindowMillis;
+    }
+
+    /**
+     * Enables latency histograms of cache operations and storage calls,
+     * exposed by {@link ru.infon.jcache.core.management.LatencyHistogramMXBean}.
+     * @param windowMillis - sliding window percentiles are calculated over, 0 - disabled
+     */
+    public StoredCacheConfiguration<K,V> setLatencyWindowMillis(long windowMillis) {
+        if(windowMillis<0) {
+            throw new IllegalArgumentException("latency window can't be negative: "+windowMillis);
+        }
+        this.latencyWindowMillis = windowMillis;
+        return this;
+    }
+}
@@ -28,10 +28,7 @@ import javax.cache.configuration.Configuration;
 import javax.cache.spi.CachingProvider;
 import java.net.URI;
 import java.util.Properties;
-import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,6 +37,9 @@ public class StoredCacheManager implements CacheManager, Executor {
 
     private static final Logger LOGGER = Logger.getLogger("javax.cache");
 
+    private static final int ASYNC_THREADS = Runtime.getRuntime().availableProcessors()*2;
+    private static final int ASYNC_QUEUE_SIZE = 1024;
+
     private final StoredCachingProvider cachingProvider;
 
     private final URI uri;
@@ -51,6 +51,23 @@ public class StoredCacheManager implements CacheManager, Executor {
 
     private volatile boolean isClosed;
     private final ExecutorService executorService = Executors.newFixedThreadPool(1);
+    // bounded: tasks are rejected when queue is full
+    private final ThreadPoolExecutor asyncExecutorService = new ThreadPoolExecutor(
+            ASYNC_THREADS, ASYNC_THREADS, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<Runnable>(ASYNC_QUEUE_SIZE),
+            new ThreadPoolExecutor.AbortPolicy()
+    );
+    // operation submitted by caller is executed by caller thread when queue is full
+    private final Executor asyncExecutor = runnable -> {
+        try {
+            asyncExecutorService.execute(runnable);
+        } catch (RejectedExecutionException e) {
+            if(asyncExecutorService.isShutdown()) {
+                throw e;
+            }
+            runnable.run();
+        }
+    };
 
     /**
      * Constructs a new StoredCacheManager with the specified name.
@@ -79,12 +96,31 @@ public class StoredCacheManager implements CacheManager, Executor {
         this.isClosed = false;
         this.storage = cachingProvider.createStorageObject(uri, properties);
         this.repository = new CacheRepository(storage.isFixedTypes());
+        this.asyncExecutorService.allowCoreThreadTimeOut(true);
     }
 
     CacheStorage getStorage() {
         return storage;
     }
 
+    /**
+     * @return executor for asynchronous operations of blocking storages,
+     * runs operation in caller thread when saturated
+     */
+    Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Completing thread may be I/O thread of asynchronous storage driver,
+     * so continuations are never run by it: when saturated, continuation
+     * fails with {@link RejectedExecutionException}.
+     * @return executor for continuations of asynchronous storage operations
+     */
+    Executor getAsyncCallbackExecutor() {
+        return asyncExecutorService;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -117,11 +153,18 @@ public class StoredCacheManager implements CacheManager, Executor {
 
         //attempt to shutdown (and wait for the cache to shutdown)
         executorService.shutdown();
+        asyncExecutorService.shutdown();
         try {
             executorService.awaitTermination(5, TimeUnit.SECONDS);
+            asyncExecutorService.awaitTermination(5, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             throw new CacheException(e);
         }
+        try {
+            storage.close();
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Error closing storage: " + storage.getUri(), e);
+        }
 
     }
 
@@ -275,8 +318,9 @@ public class StoredCacheManager implements CacheManager, Executor {
         if (cacheName == null) {
             throw new NullPointerException();
         }
-        // TODO: enable statistic
-        //((StoredCache)caches.get(cacheName)).setStatisticsEnabled(enabled);
+        for (StoredCache<?, ?> cache : repository.getAll(cacheName)) {
+            cache.setStatisticsEnabled(enabled);
+        }
     }
 
     /**
@@ -0,0 +1,272 @@
+package ru.infon.jcache.core.bloom;
+
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.management.BloomFilterMXBean;
+import ru.infon.jcache.core.processor.FieldUpdate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Storage session decorator consulting {@link CountingBloomFilter} before any storage lookup.
+ * Filter is built from keys scan on session open and updated on every write made through
+ * this session, so it is valid only while this session is the single writer of the cache.
+ * Bulk removal of keys can't tell which keys really were stored, such keys stay in filter
+ * (producing false positives only) until {@link #rebuild()}.
+ *
+ * 18.10.2026
+ */
+public class BloomFilterStorageSession<K,V> extends CacheStorageSession<K,V> implements BloomFilterMXBean {
+
+    private final CacheStorageSession<K,V> storage;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    // writers share read lock, rebuild takes write lock to not miss concurrent writes
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private volatile CountingBloomFilter filter;
+
+    private final AtomicLong positiveLookups = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicLong filteredLookups = new AtomicLong();
+    private final AtomicLong untrackedRemovals = new AtomicLong();
+
+    public BloomFilterStorageSession(
+            CacheStorageSession<K,V> storage,
+            long expectedInsertions, double falsePositiveProbability
+    ) {
+        super(
+                storage.getCacheStorage(),
+                storage.getEntryFactory().getKeyType(),
+                storage.getEntryFactory().getValueType()
+        );
+        this.storage = storage;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            CountingBloomFilter newFilter = new CountingBloomFilter(expectedInsertions, falsePositiveProbability);
+            for (K key : storage.keys()) {
+                newFilter.add(key);
+            }
+            filter = newFilter;
+            untrackedRemovals.set(0);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private boolean mightContain(K key) {
+        if(filter.mightContain(key)) {
+            positiveLookups.incrementAndGet();
+            return true;
+        }
+        filteredLookups.incrementAndGet();
+        return false;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if(!mightContain(key)) {
+            return false;
+        }
+        boolean result = storage.containsKey(key);
+        if(!result) {
+            falsePositives.incrementAndGet();
+        }
+        return result;
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        if(!mightContain(key)) {
+            return null;
+        }
+        StorableEntry<K,V> entry = storage.get(key);
+        if(entry==null) {
+            falsePositives.incrementAndGet();
+        }
+        return entry;
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        Set<K> presentKeys = new HashSet<>();
+        for (K key : keys) {
+            if(mightContain(key)) {
+                presentKeys.add(key);
+            }
+        }
+        if(presentKeys.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        Collection<StorableEntry<K,V>> entries = storage.getAll(presentKeys);
+        falsePositives.addAndGet(presentKeys.size()-entries.size());
+        return entries;
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        return storage.getAll();
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return storage.keys();
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        return storage.iterator(batchSize);
+    }
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        rebuildLock.readLock().lock();
+        try {
+            filter.add(entry.getKey());
+            storage.put(entry);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        rebuildLock.readLock().lock();
+        try {
+            for (StorableEntry<K, V> entry : entries) {
+                filter.add(entry.getKey());
+            }
+            storage.putAll(entries);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        // update never creates entry, so filter remains valid
+        return storage.update(entry);
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        storage.updateExpireTime(entry);
+    }
+
+    @Override
+    public boolean supportsFieldUpdates() {
+        return storage.supportsFieldUpdates();
+    }
+
+    @Override
+    public Object applyFieldUpdate(K key, FieldUpdate update, Long expireTimestamp) {
+        if(!mightContain(key)) {
+            return null;
+        }
+        // update never creates entry, so filter remains valid
+        return storage.applyFieldUpdate(key, update, expireTimestamp);
+    }
+
+    @Override
+    public boolean remove(K key) {
+        rebuildLock.readLock().lock();
+        try {
+            boolean result = storage.remove(key);
+            if(result) {
+                filter.remove(key);
+            }
+            return result;
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        storage.removeAll(keys);
+        untrackedRemovals.addAndGet(keys.size());
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        rebuildLock.readLock().lock();
+        try {
+            Collection<StorableEntry<K,V>> expired = storage.removeExpired(keys, now);
+            for (StorableEntry<K, V> entry : expired) {
+                filter.remove(entry.getKey());
+            }
+            return expired;
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        rebuildLock.readLock().lock();
+        try {
+            storage.removeAll();
+            filter.clear();
+            untrackedRemovals.set(0);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        storage.close();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return storage.isClosed();
+    }
+
+    @Override
+    public long getApproximateKeyCount() {
+        return filter.getCount();
+    }
+
+    @Override
+    public double getExpectedFalsePositiveProbability() {
+        return filter.getExpectedFalsePositiveProbability();
+    }
+
+    @Override
+    public double getObservedFalsePositiveRate() {
+        long positives = positiveLookups.get();
+        if(positives==0) {
+            return 0;
+        }
+        return (double) falsePositives.get()/positives;
+    }
+
+    @Override
+    public long getFalsePositives() {
+        return falsePositives.get();
+    }
+
+    @Override
+    public long getFilteredLookups() {
+        return filteredLookups.get();
+    }
+
+    @Override
+    public long getUntrackedRemovals() {
+        return untrackedRemovals.get();
+    }
+}
@@ -0,0 +1,116 @@
+package ru.infon.jcache.core.bloom;
+
+import java.util.Arrays;
+
+/**
+ * Counting Bloom filter with 8-bit counters. Supports keys removal:
+ * key must be removed only if it was added before. Saturated counters
+ * are never decremented, so overflow can only produce false positives.
+ *
+ * 18.10.2026
+ */
+public class CountingBloomFilter {
+
+    private static final int MAX_COUNT = 0xff;
+    private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    private final byte[] counters;
+    private final int hashFunctions;
+    private long count;
+
+    /**
+     * @param expectedInsertions - expected number of keys
+     * @param falsePositiveProbability - desired false positive probability, (0..1)
+     */
+    public CountingBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if(expectedInsertions<=0) {
+            throw new IllegalArgumentException("expected insertions must be positive: "+expectedInsertions);
+        }
+        if(falsePositiveProbability<=0 || falsePositiveProbability>=1) {
+            throw new IllegalArgumentException(
+                    "false positive probability must be in (0..1): "+falsePositiveProbability
+            );
+        }
+        double size = -expectedInsertions*Math.log(falsePositiveProbability)/(Math.log(2)*Math.log(2));
+        this.counters = new byte[(int) Math.max(64, Math.min(size, MAX_SIZE))];
+        this.hashFunctions = Math.max(1, (int) Math.round(counters.length/(double)expectedInsertions*Math.log(2)));
+    }
+
+    public synchronized void add(Object key) {
+        int hash = key.hashCode();
+        for (int i = 0; i < hashFunctions; i++) {
+            int index = index(hash, i);
+            int counter = counters[index] & 0xff;
+            if(counter<MAX_COUNT) {
+                counters[index] = (byte) (counter+1);
+            }
+        }
+        count++;
+    }
+
+    /**
+     * @return false if key was definitely not added
+     */
+    public synchronized boolean remove(Object key) {
+        if(!mightContain(key)) {
+            return false;
+        }
+        int hash = key.hashCode();
+        for (int i = 0; i < hashFunctions; i++) {
+            int index = index(hash, i);
+            int counter = counters[index] & 0xff;
+            if(counter<MAX_COUNT) {
+                counters[index] = (byte) (counter-1);
+            }
+        }
+        count--;
+        return true;
+    }
+
+    public synchronized boolean mightContain(Object key) {
+        int hash = key.hashCode();
+        for (int i = 0; i < hashFunctions; i++) {
+            if(counters[index(hash, i)]==0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(counters, (byte) 0);
+        count = 0;
+    }
+
+    /**
+     * @return approximate number of keys in filter
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public int getSize() {
+        return counters.length;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * @return false positive probability for current number of keys
+     */
+    public synchronized double getExpectedFalsePositiveProbability() {
+        double filled = 1-Math.exp(-hashFunctions*(double)Math.max(count, 0)/counters.length);
+        return Math.pow(filled, hashFunctions);
+    }
+
+    // Kirsch-Mitzenmacher double hashing over spread hashCode
+    private int index(int hash, int i) {
+        int h1 = hash*0x9e3779b9;
+        h1 ^= h1 >>> 16;
+        int h2 = (hash ^ (hash >>> 15))*0x85ebca6b;
+        h2 ^= h2 >>> 13;
+        return ((h1+i*(h2 | 1)) & Integer.MAX_VALUE) % counters.length;
+    }
+}
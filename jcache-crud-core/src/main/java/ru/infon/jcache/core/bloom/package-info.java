@@ -0,0 +1,6 @@
+/**
+ * Bloom filter in front of {@link ru.infon.jcache.core.CacheStorageSession}
+ * used to skip storage lookups of keys that were never written.
+ * Enabled per cache with {@link ru.infon.jcache.core.StoredCacheConfiguration}.
+ */
+package ru.infon.jcache.core.bloom;
@@ -65,18 +65,29 @@ public class StoredCacheEntryListenerRegistration<K, V> {
         if(!filter(event)) {
             return;
         }
-        List<CacheEntryEvent<K, V>> events = eventsBulk.get(event.getEventType());
-        if(events==null) {
-            events = new LinkedList<>();
-            eventsBulk.put(event.getEventType(), events);
+        synchronized (this) {
+            List<CacheEntryEvent<K, V>> events = eventsBulk.get(event.getEventType());
+            if(events==null) {
+                events = new LinkedList<>();
+                eventsBulk.put(event.getEventType(), events);
+            }
+            events.add(event);
         }
-        events.add(event);
     }
 
     public void evalute() {
+        // events are stored from cache callers and expiry thread, every event is delivered once
+        Map<EventType, List<CacheEntryEvent<K, V>>> bulk;
+        synchronized (this) {
+            if(eventsBulk.isEmpty()) {
+                return;
+            }
+            bulk = eventsBulk;
+            eventsBulk = new HashMap<>();
+        }
         for (
                 Map.Entry<EventType, List<CacheEntryEvent<K, V>>> eventsEntry :
-                eventsBulk.entrySet())
+                bulk.entrySet())
         {
             EventListenerWrapper<K,V> wrapper = new EventListenerWrapper<>(
                     listener, eventsEntry.getKey(), eventsEntry.getValue()
@@ -105,7 +116,7 @@ public class StoredCacheEntryListenerRegistration<K, V> {
      * @throws CacheEntryListenerException if there is problem executing the listener
      */
     public boolean filter(CacheEntryEvent<? extends K, ? extends V> event) {
-        return filter.evaluate(event);
+        return filter==null || filter.evaluate(event);
     }
 
     /**
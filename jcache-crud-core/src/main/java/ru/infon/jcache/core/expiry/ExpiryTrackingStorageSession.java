@@ -0,0 +1,245 @@
+package ru.infon.jcache.core.expiry;
+
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.processor.FieldUpdate;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Storage session decorator tracking expire timestamps of entries written or touched
+ * through this session with {@link TimingWheel}. Every tick keys due are removed from
+ * storage with one {@link CacheStorageSession#removeExpired} call and removed entries
+ * are passed to expired entries handler. Keys whose expire time was extended by other
+ * session are not removed and no longer tracked. Number of tracked keys is bounded:
+ * keys written while wheel is full are not tracked, they expire on access only.
+ *
+ * 18.10.2026
+ */
+public class ExpiryTrackingStorageSession<K,V> extends CacheStorageSession<K,V> {
+
+    private static final Logger LOGGER = Logger.getLogger("javax.cache");
+
+    private final CacheStorageSession<K,V> storage;
+    private final Consumer<Collection<StorableEntry<K,V>>> expiredHandler;
+    private final TimingWheel<K> wheel;
+    private final ScheduledExecutorService ticker;
+    private final AtomicLong untrackedWrites = new AtomicLong();
+
+    /**
+     * @param name - cache name, used as ticker thread name
+     * @param tickMillis - expiration check period
+     * @param maximumKeys - maximum number of tracked keys
+     * @param expiredHandler - receives entries removed as expired
+     */
+    public ExpiryTrackingStorageSession(
+            String name, CacheStorageSession<K,V> storage, long tickMillis, int maximumKeys,
+            Consumer<Collection<StorableEntry<K,V>>> expiredHandler
+    ) {
+        super(
+                storage.getCacheStorage(),
+                storage.getEntryFactory().getKeyType(),
+                storage.getEntryFactory().getValueType()
+        );
+        this.storage = storage;
+        this.expiredHandler = expiredHandler;
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis(), maximumKeys);
+        final String threadName = "jcache-expiry-"+name;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * removes entries due and passes them to handler
+     */
+    void tick() {
+        long now = System.currentTimeMillis();
+        List<K> due = wheel.advance(now);
+        if(due.isEmpty()) {
+            return;
+        }
+        try {
+            Collection<StorableEntry<K,V>> expired = storage.removeExpired(new HashSet<>(due), now);
+            if(!expired.isEmpty()) {
+                expiredHandler.accept(expired);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, String.format(
+                    "removal of %d expired entries failed; rescheduled", due.size()
+            ), e);
+            for (K key : due) {
+                schedule(key, now);
+            }
+        }
+    }
+
+    public int getTrackedKeys() {
+        return wheel.size();
+    }
+
+    /**
+     * @return number of expiring writes not tracked because wheel was full
+     */
+    public long getUntrackedWrites() {
+        return untrackedWrites.get();
+    }
+
+    private void schedule(K key, long expireTimestamp) {
+        if(!wheel.schedule(key, expireTimestamp)) {
+            untrackedWrites.incrementAndGet();
+        }
+    }
+
+    private void track(StorableEntry<K,V> entry) {
+        if(entry.getExpireTimestamp()==null) {
+            wheel.cancel(entry.getKey());
+        } else {
+            schedule(entry.getKey(), entry.getExpireTimestamp());
+        }
+    }
+
+    private void track(Collection<StorableEntry<K,V>> entries) {
+        for (StorableEntry<K, V> entry : entries) {
+            track(entry);
+        }
+    }
+
+    private void untrack(Set<? extends K> keys) {
+        for (K key : keys) {
+            wheel.cancel(key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return storage.containsKey(key);
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        return storage.get(key);
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        return storage.getAll(keys);
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        return storage.getAll();
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return storage.keys();
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        return storage.iterator(batchSize);
+    }
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        storage.put(entry);
+        track(entry);
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        storage.putAll(entries);
+        track(entries);
+    }
+
+    @Override
+    public void writeBatch(Collection<StorableEntry<K, V>> entries, Set<? extends K> removedKeys) {
+        storage.writeBatch(entries, removedKeys);
+        track(entries);
+        untrack(removedKeys);
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        boolean result = storage.update(entry);
+        if(result && entry.getExpireTimestamp()!=null) {
+            track(entry);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supportsFieldUpdates() {
+        return storage.supportsFieldUpdates();
+    }
+
+    @Override
+    public Object applyFieldUpdate(K key, FieldUpdate update, Long expireTimestamp) {
+        Object result = storage.applyFieldUpdate(key, update, expireTimestamp);
+        if(result!=null && expireTimestamp!=null) {
+            schedule(key, expireTimestamp);
+        }
+        return result;
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        storage.updateExpireTime(entry);
+        track(entry);
+    }
+
+    @Override
+    public void updateExpireTimes(Collection<StorableEntry<K, V>> entries) {
+        storage.updateExpireTimes(entries);
+        track(entries);
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        Collection<StorableEntry<K,V>> expired = storage.removeExpired(keys, now);
+        for (StorableEntry<K, V> entry : expired) {
+            wheel.cancel(entry.getKey());
+        }
+        return expired;
+    }
+
+    @Override
+    public boolean remove(K key) {
+        wheel.cancel(key);
+        return storage.remove(key);
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        untrack(keys);
+        storage.removeAll(keys);
+    }
+
+    @Override
+    public void removeAll() {
+        wheel.clear();
+        storage.removeAll();
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdown();
+        storage.close();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return storage.isClosed();
+    }
+}
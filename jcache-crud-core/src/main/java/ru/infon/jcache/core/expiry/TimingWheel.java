@@ -0,0 +1,206 @@
+package ru.infon.jcache.core.expiry;
+
+import java.util.*;
+
+/**
+ * Hierarchical timing wheel of keys expire timestamps. Every level has {@link #WHEEL_SIZE}
+ * slots, slot of level N spans WHEEL_SIZE^N ticks; when lower level wraps, next slot of
+ * upper level is cascaded down. Scheduling and cancellation are O(1): keys are kept in
+ * intrusive doubly linked slot lists and indexed by key. Keys are never reported before
+ * their expire timestamp, and at most one tick after it. Number of scheduled keys is
+ * bounded, new keys are not scheduled while wheel is full.
+ *
+ * 18.10.2026
+ */
+public class TimingWheel<K> {
+
+    public static final int WHEEL_BITS = 6;
+    public static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    public static final int LEVELS = 4;
+
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS*LEVELS)) - 1;
+
+    private static final class Node<K> {
+        private final K key;
+        private long deadlineTick;
+        private Node<K> prev;
+        private Node<K> next;
+
+        private Node(K key) {
+            this.key = key;
+        }
+    }
+
+    private final long tickMillis;
+    private final int maximumKeys;
+    // [level][slot] -> list sentinel
+    private final Node<K>[][] wheels;
+    private final Map<K,Node<K>> nodes = new HashMap<>();
+    private final Set<K> due = new LinkedHashSet<>();
+    private long currentTick;
+
+    /**
+     * @param tickMillis - tick duration
+     * @param now - current time in milliseconds
+     */
+    public TimingWheel(long tickMillis, long now) {
+        this(tickMillis, now, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param tickMillis - tick duration
+     * @param now - current time in milliseconds
+     * @param maximumKeys - maximum number of scheduled keys
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long now, int maximumKeys) {
+        if(tickMillis<=0) {
+            throw new IllegalArgumentException("tick duration must be positive: "+tickMillis);
+        }
+        if(maximumKeys<=0) {
+            throw new IllegalArgumentException("maximum keys count must be positive: "+maximumKeys);
+        }
+        this.tickMillis = tickMillis;
+        this.maximumKeys = maximumKeys;
+        this.currentTick = now/tickMillis;
+        this.wheels = new Node[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                Node<K> sentinel = new Node<>(null);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                wheels[level][slot] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Schedules key expiration, previous schedule of key is replaced.
+     * @param expireTimestamp - key expire time in milliseconds
+     * @return false if key is not scheduled yet and wheel is full
+     */
+    public synchronized boolean schedule(K key, long expireTimestamp) {
+        Node<K> node = nodes.get(key);
+        if(node==null) {
+            if(nodes.size()>=maximumKeys) {
+                return false;
+            }
+            node = new Node<>(key);
+            nodes.put(key, node);
+        } else {
+            unlink(node);
+        }
+        // rounded up, so key is never reported before expire timestamp
+        node.deadlineTick = expireTimestamp/tickMillis + (expireTimestamp%tickMillis==0?0:1);
+        insert(node);
+        return true;
+    }
+
+    public synchronized void cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if(node!=null) {
+            unlink(node);
+        }
+    }
+
+    public synchronized void clear() {
+        for (Node<K> node : nodes.values()) {
+            node.prev = null;
+            node.next = null;
+        }
+        nodes.clear();
+        due.clear();
+        for (Node<K>[] wheel : wheels) {
+            for (Node<K> sentinel : wheel) {
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Advances wheel to current time.
+     * @return keys expired since previous advance, removed from wheel
+     */
+    public synchronized List<K> advance(long now) {
+        long targetTick = now/tickMillis;
+        while (currentTick<targetTick) {
+            currentTick++;
+            cascade(1);
+            reinsert(wheels[0][(int) (currentTick & WHEEL_MASK)]);
+        }
+        List<K> result = new ArrayList<>(due);
+        due.clear();
+        for (K key : result) {
+            nodes.remove(key);
+        }
+        return result;
+    }
+
+    /**
+     * moves nodes of upper level slot down when lower level wraps
+     */
+    private void cascade(int level) {
+        if(level>=LEVELS || (currentTick & ((1L << (WHEEL_BITS*level))-1))!=0) {
+            return;
+        }
+        cascade(level+1);
+        reinsert(wheels[level][(int) ((currentTick >>> (WHEEL_BITS*level)) & WHEEL_MASK)]);
+    }
+
+    /**
+     * detaches slot list and inserts its nodes again, due ones go to due list
+     */
+    private void reinsert(Node<K> sentinel) {
+        Node<K> node = sentinel.next;
+        if(node==sentinel) {
+            return;
+        }
+        sentinel.prev.next = null;
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        while (node!=null) {
+            Node<K> next = node.next;
+            node.prev = null;
+            node.next = null;
+            insert(node);
+            node = next;
+        }
+    }
+
+    private void insert(Node<K> node) {
+        long delta = node.deadlineTick - currentTick;
+        if(delta<=0) {
+            due.add(node.key);
+            return;
+        }
+        // beyond wheel range: parked in the farthest slot, rescheduled when cascaded
+        long tick = delta>MAX_DELTA ? currentTick + MAX_DELTA : node.deadlineTick;
+        int level = 0;
+        while (level<LEVELS-1 && delta >= (1L << (WHEEL_BITS*(level+1)))) {
+            level++;
+        }
+        Node<K> sentinel = wheels[level][(int) ((tick >>> (WHEEL_BITS*level)) & WHEEL_MASK)];
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    private void unlink(Node<K> node) {
+        if(node.prev==null) {
+            // node is in due list
+            due.remove(node.key);
+            return;
+        }
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+}
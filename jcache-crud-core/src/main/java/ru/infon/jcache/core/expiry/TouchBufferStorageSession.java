@@ -0,0 +1,346 @@
+package ru.infon.jcache.core.expiry;
+
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.processor.FieldUpdate;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Storage session decorator buffering access-time expire timestamp updates.
+ * Repeated touches of a key are collapsed to the last one, buffer is written with
+ * {@link CacheStorageSession#updateExpireTimes} periodically or when it reaches
+ * {@link #MAX_BUFFERED_TOUCHES} keys. Entries read through this session get buffered
+ * expire timestamp, any write of a key discards its buffered touch.
+ * <p>
+ * Writes share read lock of flush lock while flush holds write lock from taking buffered
+ * touches until they are written, so write landing in between never gets its expire
+ * timestamp overwritten by older touch. Touches being flushed stay visible to reads.
+ * </p>
+ *
+ * 18.10.2026
+ */
+public class TouchBufferStorageSession<K,V> extends CacheStorageSession<K,V> {
+
+    private static final Logger LOGGER = Logger.getLogger("javax.cache");
+
+    public static final int MAX_BUFFERED_TOUCHES = 10000;
+
+    private final CacheStorageSession<K,V> storage;
+    private final ScheduledExecutorService flusher;
+    // writers share read lock, flush takes write lock
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    // key -> expire timestamp, both guarded by touches
+    private final Map<K,Long> touches = new HashMap<>();
+    private Map<K,Long> flushing = Collections.emptyMap();
+
+    /**
+     * @param name - cache name, used as flusher thread name
+     * @param flushMillis - touches flush period
+     */
+    public TouchBufferStorageSession(String name, CacheStorageSession<K,V> storage, long flushMillis) {
+        super(
+                storage.getCacheStorage(),
+                storage.getEntryFactory().getKeyType(),
+                storage.getEntryFactory().getValueType()
+        );
+        if(flushMillis<=0) {
+            throw new IllegalArgumentException("touch flush period must be positive: "+flushMillis);
+        }
+        this.storage = storage;
+        final String threadName = "jcache-expiry-touch-"+name;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * writes buffered touches to storage
+     */
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            Map<K,Long> batch;
+            synchronized (touches) {
+                if(touches.isEmpty()) {
+                    return;
+                }
+                batch = new HashMap<>(touches);
+                touches.clear();
+                flushing = batch;
+            }
+            List<StorableEntry<K,V>> entries = new ArrayList<>(batch.size());
+            for (Map.Entry<K, Long> touch : batch.entrySet()) {
+                StorableEntry<K,V> entry = getEntryFactory().create(touch.getKey(), null);
+                entry.setExpireTimestamp(touch.getValue());
+                entries.add(entry);
+            }
+            try {
+                storage.updateExpireTimes(entries);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, String.format(
+                        "flush of %d expire time updates failed; buffered again", batch.size()
+                ), e);
+                synchronized (touches) {
+                    for (Map.Entry<K, Long> touch : batch.entrySet()) {
+                        if(!touches.containsKey(touch.getKey())) {
+                            touches.put(touch.getKey(), touch.getValue());
+                        }
+                    }
+                }
+            } finally {
+                synchronized (touches) {
+                    flushing = Collections.emptyMap();
+                }
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    public int getBufferedTouches() {
+        synchronized (touches) {
+            return touches.size();
+        }
+    }
+
+    private StorableEntry<K,V> touched(StorableEntry<K,V> entry) {
+        if(entry==null) {
+            return null;
+        }
+        Long expireTimestamp;
+        synchronized (touches) {
+            expireTimestamp = touches.get(entry.getKey());
+            if(expireTimestamp==null) {
+                expireTimestamp = flushing.get(entry.getKey());
+            }
+        }
+        if(expireTimestamp!=null) {
+            entry.setExpireTimestamp(expireTimestamp);
+        }
+        return entry;
+    }
+
+    private Collection<StorableEntry<K,V>> touched(Collection<StorableEntry<K,V>> entries) {
+        for (StorableEntry<K, V> entry : entries) {
+            touched(entry);
+        }
+        return entries;
+    }
+
+    private void discard(K key) {
+        synchronized (touches) {
+            touches.remove(key);
+        }
+    }
+
+    private void discardEntries(Collection<StorableEntry<K,V>> entries) {
+        synchronized (touches) {
+            for (StorableEntry<K, V> entry : entries) {
+                touches.remove(entry.getKey());
+            }
+        }
+    }
+
+    private void discardKeys(Set<? extends K> keys) {
+        synchronized (touches) {
+            touches.keySet().removeAll(keys);
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return storage.containsKey(key);
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        return touched(storage.get(key));
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        return touched(storage.getAll(keys));
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        return touched(storage.getAll());
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return storage.keys();
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        final Iterator<StorableEntry<K,V>> entries = storage.iterator(batchSize);
+        return new Iterator<StorableEntry<K, V>>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public StorableEntry<K, V> next() {
+                return touched(entries.next());
+            }
+        };
+    }
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        flushLock.readLock().lock();
+        try {
+            discard(entry.getKey());
+            storage.put(entry);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        flushLock.readLock().lock();
+        try {
+            discardEntries(entries);
+            storage.putAll(entries);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void writeBatch(Collection<StorableEntry<K, V>> entries, Set<? extends K> removedKeys) {
+        flushLock.readLock().lock();
+        try {
+            discardEntries(entries);
+            discardKeys(removedKeys);
+            storage.writeBatch(entries, removedKeys);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        flushLock.readLock().lock();
+        try {
+            discard(entry.getKey());
+            return storage.update(entry);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean supportsFieldUpdates() {
+        return storage.supportsFieldUpdates();
+    }
+
+    @Override
+    public Object applyFieldUpdate(K key, FieldUpdate update, Long expireTimestamp) {
+        flushLock.readLock().lock();
+        try {
+            if(expireTimestamp!=null) {
+                discard(key);
+            }
+            return storage.applyFieldUpdate(key, update, expireTimestamp);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        int size;
+        synchronized (touches) {
+            touches.put(entry.getKey(), entry.getExpireTimestamp());
+            size = touches.size();
+        }
+        if(size>=MAX_BUFFERED_TOUCHES && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    @Override
+    public void updateExpireTimes(Collection<StorableEntry<K, V>> entries) {
+        for (StorableEntry<K, V> entry : entries) {
+            updateExpireTime(entry);
+        }
+    }
+
+    @Override
+    public boolean remove(K key) {
+        flushLock.readLock().lock();
+        try {
+            discard(key);
+            return storage.remove(key);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        flushLock.readLock().lock();
+        try {
+            discardKeys(keys);
+            storage.removeAll(keys);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        // buffered touches may extend expire timestamps
+        flush();
+        return storage.removeExpired(keys, now);
+    }
+
+    @Override
+    public void removeAll() {
+        flushLock.readLock().lock();
+        try {
+            synchronized (touches) {
+                touches.clear();
+            }
+            storage.removeAll();
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flush();
+        } finally {
+            storage.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return storage.isClosed();
+    }
+}
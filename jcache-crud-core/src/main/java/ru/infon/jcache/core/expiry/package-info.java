@@ -0,0 +1,4 @@
+/**
+ * Entries expiration support of {@link ru.infon.jcache.core.CacheStorageSession}.
+ */
+package ru.infon.jcache.core.expiry;
@@ -0,0 +1,123 @@
+package ru.infon.jcache.core.latency;
+
+import java.util.Locale;
+
+/**
+ * Immutable copy of {@link LatencyHistogram} window.
+ *
+ * 18.10.2026
+ */
+public class HistogramSnapshot {
+
+    private static final double NANOS_IN_MICRO = 1000.0;
+
+    private final long[] counts;
+    private final long totalCount;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long max) {
+        this.counts = counts;
+        this.max = max;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.totalCount = total;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return max;
+    }
+
+    /**
+     * @param percentile - 0..100
+     * @return highest value equivalent to value at percentile, 0 if nothing recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if(totalCount==0) {
+            return 0;
+        }
+        double requested = Math.min(Math.max(percentile, 0), 100);
+        long rank = Math.max(1, (long) Math.ceil(requested/100*totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if(seen>=rank) {
+                return Math.min(LatencyHistogram.bucketHighestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public double getMean() {
+        if(totalCount==0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if(counts[i]>0) {
+                long low = LatencyHistogram.bucketLowestValue(i);
+                sum += counts[i]*(low+(LatencyHistogram.bucketHighestValue(i)-low)/2.0);
+            }
+        }
+        return sum/totalCount;
+    }
+
+    /**
+     * Exports snapshot as percentile distribution table in HdrHistogram text format
+     * (values in microseconds), readable by HdrHistogram plotting tools.
+     */
+    public String export() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.ROOT, "%12s %14s %10s %14s%n%n",
+                "Value", "Percentile", "TotalCount", "1/(1-Percentile)"
+        ));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if(counts[i]==0) {
+                continue;
+            }
+            seen += counts[i];
+            double fraction = (double) seen/totalCount;
+            long value = Math.min(LatencyHistogram.bucketHighestValue(i), max);
+            if(seen<totalCount) {
+                builder.append(String.format(Locale.ROOT, "%12.3f %2.12f %10d %14.2f%n",
+                        value/NANOS_IN_MICRO, fraction, seen, 1/(1-fraction)
+                ));
+            } else {
+                builder.append(String.format(Locale.ROOT, "%12.3f %2.12f %10d%n",
+                        value/NANOS_IN_MICRO, fraction, seen
+                ));
+            }
+        }
+        builder.append(String.format(Locale.ROOT,
+                "#[Mean    = %12.3f, StdDeviation   = %12.3f]%n" +
+                "#[Max     = %12.3f, Total count    = %12d]%n" +
+                "#[Buckets = %12d, SubBuckets     = %12d]%n",
+                getMean()/NANOS_IN_MICRO, getStdDeviation()/NANOS_IN_MICRO,
+                max/NANOS_IN_MICRO, totalCount,
+                counts.length, LatencyHistogram.SUB_BUCKETS
+        ));
+        return builder.toString();
+    }
+
+    private double getStdDeviation() {
+        if(totalCount==0) {
+            return 0;
+        }
+        double mean = getMean();
+        double deviations = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if(counts[i]>0) {
+                long low = LatencyHistogram.bucketLowestValue(i);
+                double deviation = low+(LatencyHistogram.bucketHighestValue(i)-low)/2.0-mean;
+                deviations += counts[i]*deviation*deviation;
+            }
+        }
+        return Math.sqrt(deviations/totalCount);
+    }
+}
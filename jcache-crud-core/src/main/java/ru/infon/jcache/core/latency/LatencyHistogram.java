@@ -0,0 +1,120 @@
+package ru.infon.jcache.core.latency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free log-linear histogram of latencies in nanoseconds over sliding time window.
+ * Every power of two range is split into {@link #SUB_BUCKETS} linear buckets, so recorded
+ * values are kept with relative error below 1/{@link #SUB_BUCKETS}; values above
+ * {@link #MAX_VALUE} are counted as maximum. Window is a ring of intervals, interval
+ * outdated by window is replaced by the first recording into it. Recordings racing
+ * with interval replacement may be lost.
+ *
+ * 18.10.2026
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 6;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // ~ 18 minutes
+    public static final long MAX_VALUE = (1L << 40) - 1;
+    static final int BUCKETS = bucketIndex(MAX_VALUE)+1;
+
+    public static final int WINDOW_INTERVALS = 6;
+
+    private final long intervalNanos;
+    private final AtomicReferenceArray<Interval> intervals = new AtomicReferenceArray<>(WINDOW_INTERVALS);
+
+    /**
+     * @param windowMillis - time window percentiles are calculated over
+     */
+    public LatencyHistogram(long windowMillis) {
+        if(windowMillis<=0) {
+            throw new IllegalArgumentException("latency window must be positive: "+windowMillis);
+        }
+        this.intervalNanos = Math.max(1, windowMillis*1_000_000/WINDOW_INTERVALS);
+    }
+
+    static int bucketIndex(long value) {
+        int shift = Math.max(0, 63-Long.numberOfLeadingZeros(value)-SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long bucketLowestValue(int index) {
+        int shift = Math.max(0, (index >> SUB_BUCKET_BITS)-1);
+        return ((long) index-((long) shift << SUB_BUCKET_BITS)) << shift;
+    }
+
+    static long bucketHighestValue(int index) {
+        int shift = Math.max(0, (index >> SUB_BUCKET_BITS)-1);
+        return bucketLowestValue(index)+(1L << shift)-1;
+    }
+
+    /**
+     * @param durationNanos - measured latency
+     * @param nowNanos - {@link System#nanoTime()} of measurement end
+     */
+    public void record(long durationNanos, long nowNanos) {
+        long value = Math.min(Math.max(durationNanos, 0), MAX_VALUE);
+        long epoch = Math.floorDiv(nowNanos, intervalNanos);
+        int slot = (int) Math.floorMod(epoch, (long) WINDOW_INTERVALS);
+        Interval interval = intervals.get(slot);
+        if(interval!=null && interval.epoch>epoch) {
+            // measured a window ago
+            return;
+        }
+        if(interval==null || interval.epoch!=epoch) {
+            Interval fresh = new Interval(epoch);
+            // loser of the race records into interval installed by winner
+            if(!intervals.compareAndSet(slot, interval, fresh)) {
+                interval = intervals.get(slot);
+                if(interval.epoch!=epoch) {
+                    return;
+                }
+            } else {
+                interval = fresh;
+            }
+        }
+        interval.counts.incrementAndGet(bucketIndex(value));
+        interval.max.accumulate(value);
+    }
+
+    /**
+     * @return merged intervals of the window ending now
+     */
+    public HistogramSnapshot snapshot() {
+        long epoch = Math.floorDiv(System.nanoTime(), intervalNanos);
+        long[] counts = new long[BUCKETS];
+        long max = 0;
+        for (int i = 0; i < WINDOW_INTERVALS; i++) {
+            Interval interval = intervals.get(i);
+            if(interval==null || interval.epoch<=epoch-WINDOW_INTERVALS || interval.epoch>epoch) {
+                continue;
+            }
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                counts[bucket] += interval.counts.get(bucket);
+            }
+            max = Math.max(max, interval.max.get());
+        }
+        return new HistogramSnapshot(counts, max);
+    }
+
+    public void reset() {
+        for (int i = 0; i < WINDOW_INTERVALS; i++) {
+            intervals.set(i, null);
+        }
+    }
+
+    private static final class Interval {
+
+        private final long epoch;
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private Interval(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ru.infon.jcache.core.latency;
+
+import ru.infon.jcache.core.management.LatencyHistogramMXBean;
+import ru.infon.jcache.core.management.LatencySummary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps {@link LatencyHistogram} of every {@link Operation}.
+ *
+ * 18.10.2026
+ */
+public class LatencyTracker implements LatencyHistogramMXBean {
+
+    private static final double NANOS_IN_MICRO = 1000.0;
+
+    private final long windowMillis;
+    private final LatencyHistogram[] histograms;
+
+    public LatencyTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+        Operation[] operations = Operation.values();
+        this.histograms = new LatencyHistogram[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            histograms[i] = new LatencyHistogram(windowMillis);
+        }
+    }
+
+    /**
+     * @param startNanos - {@link System#nanoTime()} of operation start
+     */
+    public void record(Operation operation, long startNanos) {
+        long now = System.nanoTime();
+        histograms[operation.ordinal()].record(now-startNanos, now);
+    }
+
+    public HistogramSnapshot snapshot(Operation operation) {
+        return histograms[operation.ordinal()].snapshot();
+    }
+
+    @Override
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    @Override
+    public List<LatencySummary> getSummaries() {
+        List<LatencySummary> summaries = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            HistogramSnapshot snapshot = snapshot(operation);
+            if(snapshot.getTotalCount()>0) {
+                summaries.add(summary(operation, snapshot));
+            }
+        }
+        return summaries;
+    }
+
+    @Override
+    public LatencySummary getSummary(String operation) {
+        Operation op = Operation.forName(operation);
+        return summary(op, snapshot(op));
+    }
+
+    private static LatencySummary summary(Operation operation, HistogramSnapshot snapshot) {
+        return new LatencySummary(
+                operation.getOperationName(), snapshot.getTotalCount(),
+                snapshot.getValueAtPercentile(50)/NANOS_IN_MICRO,
+                snapshot.getValueAtPercentile(90)/NANOS_IN_MICRO,
+                snapshot.getValueAtPercentile(99)/NANOS_IN_MICRO,
+                snapshot.getValueAtPercentile(99.9)/NANOS_IN_MICRO,
+                snapshot.getMaxValue()/NANOS_IN_MICRO
+        );
+    }
+
+    @Override
+    public String exportSnapshot(String operation) {
+        return snapshot(Operation.forName(operation)).export();
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package ru.infon.jcache.core.latency;
+
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.processor.FieldUpdate;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Storage session decorator recording latencies of storage calls to {@link LatencyTracker}.
+ * Scans ({@link #getAll()}, {@link #keys()}, {@link #iterator(int)}) are not tracked.
+ *
+ * 18.10.2026
+ */
+public class LatencyTrackingStorageSession<K,V> extends CacheStorageSession<K,V> {
+
+    private final CacheStorageSession<K,V> storage;
+    private final LatencyTracker tracker;
+
+    public LatencyTrackingStorageSession(CacheStorageSession<K,V> storage, LatencyTracker tracker) {
+        super(
+                storage.getCacheStorage(),
+                storage.getEntryFactory().getKeyType(),
+                storage.getEntryFactory().getValueType()
+        );
+        this.storage = storage;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        long start = System.nanoTime();
+        try {
+            return storage.containsKey(key);
+        } finally {
+            tracker.record(Operation.STORAGE_CONTAINS_KEY, start);
+        }
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        long start = System.nanoTime();
+        try {
+            return storage.get(key);
+        } finally {
+            tracker.record(Operation.STORAGE_GET, start);
+        }
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        long start = System.nanoTime();
+        try {
+            return storage.getAll(keys);
+        } finally {
+            tracker.record(Operation.STORAGE_GET_ALL, start);
+        }
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        return storage.getAll();
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return storage.keys();
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        return storage.iterator(batchSize);
+    }
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        long start = System.nanoTime();
+        try {
+            storage.put(entry);
+        } finally {
+            tracker.record(Operation.STORAGE_PUT, start);
+        }
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        long start = System.nanoTime();
+        try {
+            storage.putAll(entries);
+        } finally {
+            tracker.record(Operation.STORAGE_PUT_ALL, start);
+        }
+    }
+
+    @Override
+    public void writeBatch(Collection<StorableEntry<K, V>> entries, Set<? extends K> removedKeys) {
+        long start = System.nanoTime();
+        try {
+            storage.writeBatch(entries, removedKeys);
+        } finally {
+            tracker.record(Operation.STORAGE_WRITE_BATCH, start);
+        }
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        long start = System.nanoTime();
+        try {
+            return storage.update(entry);
+        } finally {
+            tracker.record(Operation.STORAGE_UPDATE, start);
+        }
+    }
+
+    @Override
+    public boolean supportsFieldUpdates() {
+        return storage.supportsFieldUpdates();
+    }
+
+    @Override
+    public Object applyFieldUpdate(K key, FieldUpdate update, Long expireTimestamp) {
+        long start = System.nanoTime();
+        try {
+            return storage.applyFieldUpdate(key, update, expireTimestamp);
+        } finally {
+            tracker.record(Operation.STORAGE_FIELD_UPDATE, start);
+        }
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        long start = System.nanoTime();
+        try {
+            storage.updateExpireTime(entry);
+        } finally {
+            tracker.record(Operation.STORAGE_UPDATE_EXPIRE_TIME, start);
+        }
+    }
+
+    @Override
+    public void updateExpireTimes(Collection<StorableEntry<K, V>> entries) {
+        long start = System.nanoTime();
+        try {
+            storage.updateExpireTimes(entries);
+        } finally {
+            tracker.record(Operation.STORAGE_UPDATE_EXPIRE_TIME, start);
+        }
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        long start = System.nanoTime();
+        try {
+            return storage.removeExpired(keys, now);
+        } finally {
+            tracker.record(Operation.STORAGE_REMOVE_EXPIRED, start);
+        }
+    }
+
+    @Override
+    public boolean remove(K key) {
+        long start = System.nanoTime();
+        try {
+            return storage.remove(key);
+        } finally {
+            tracker.record(Operation.STORAGE_REMOVE, start);
+        }
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        long start = System.nanoTime();
+        try {
+            storage.removeAll(keys);
+        } finally {
+            tracker.record(Operation.STORAGE_REMOVE_ALL, start);
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        storage.removeAll();
+    }
+
+    @Override
+    public void close() {
+        storage.close();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return storage.isClosed();
+    }
+}
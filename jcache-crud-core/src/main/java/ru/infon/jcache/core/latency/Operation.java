@@ -0,0 +1,50 @@
+package ru.infon.jcache.core.latency;
+
+/**
+ * Cache operations and storage calls latencies are tracked for.
+ *
+ * 18.10.2026
+ */
+public enum Operation {
+
+    GET("get"),
+    GET_ALL("getAll"),
+    PUT("put"),
+    PUT_ALL("putAll"),
+    REMOVE("remove"),
+    REMOVE_ALL("removeAll"),
+    INVOKE("invoke"),
+    INVOKE_ALL("invokeAll"),
+
+    STORAGE_CONTAINS_KEY("storage.containsKey"),
+    STORAGE_GET("storage.get"),
+    STORAGE_GET_ALL("storage.getAll"),
+    STORAGE_PUT("storage.put"),
+    STORAGE_PUT_ALL("storage.putAll"),
+    STORAGE_UPDATE("storage.update"),
+    STORAGE_WRITE_BATCH("storage.writeBatch"),
+    STORAGE_FIELD_UPDATE("storage.applyFieldUpdate"),
+    STORAGE_UPDATE_EXPIRE_TIME("storage.updateExpireTime"),
+    STORAGE_REMOVE("storage.remove"),
+    STORAGE_REMOVE_ALL("storage.removeAll"),
+    STORAGE_REMOVE_EXPIRED("storage.removeExpired");
+
+    private final String operationName;
+
+    Operation(String operationName) {
+        this.operationName = operationName;
+    }
+
+    public String getOperationName() {
+        return operationName;
+    }
+
+    public static Operation forName(String operationName) {
+        for (Operation operation : values()) {
+            if(operation.operationName.equals(operationName)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("unknown operation: "+operationName);
+    }
+}
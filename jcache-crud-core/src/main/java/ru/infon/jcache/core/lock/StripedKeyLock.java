@@ -0,0 +1,94 @@
+package ru.infon.jcache.core.lock;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of reentrant locks, every key is guarded by lock of its hash stripe.
+ * Operations on keys of different stripes don't block each other; keys sharing
+ * stripe are serialized. Locks are held within one JVM only.
+ *
+ * 18.10.2026
+ */
+public class StripedKeyLock {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripes - number of locks, rounded up to power of two
+     */
+    public StripedKeyLock(int stripes) {
+        if(stripes<=0) {
+            throw new IllegalArgumentException("stripes count must be positive: "+stripes);
+        }
+        int size = Integer.highestOneBit(stripes);
+        if(size<stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size-1;
+    }
+
+    public int getStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * @return lock of key stripe, not acquired
+     */
+    public Lock get(Object key) {
+        return stripes[index(key)];
+    }
+
+    private int index(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        hash ^= hash >>> 16;
+        return hash & mask;
+    }
+
+    /**
+     * @return acquired lock of key stripe, caller must unlock it
+     */
+    public Lock lock(Object key) {
+        Lock lock = get(key);
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * Acquires locks of all key stripes in stripe order, so callers locking
+     * overlapping key sets can't deadlock each other.
+     * @return acquired distinct locks, caller must release them by {@link #unlockAll(List)}
+     */
+    public List<Lock> lockAll(Collection<?> keys) {
+        BitSet indexes = new BitSet(stripes.length);
+        for (Object key : keys) {
+            indexes.set(index(key));
+        }
+        List<Lock> locks = new ArrayList<>(indexes.cardinality());
+        for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i+1)) {
+            stripes[i].lock();
+            locks.add(stripes[i]);
+        }
+        return locks;
+    }
+
+    /**
+     * Releases locks acquired by {@link #lockAll(Collection)} in reverse order.
+     */
+    public static void unlockAll(List<Lock> locks) {
+        for (int i = locks.size()-1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+}
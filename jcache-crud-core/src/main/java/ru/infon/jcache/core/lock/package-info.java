@@ -0,0 +1,4 @@
+/**
+ * Key level locking making compound cache operations atomic within one JVM.
+ */
+package ru.infon.jcache.core.lock;
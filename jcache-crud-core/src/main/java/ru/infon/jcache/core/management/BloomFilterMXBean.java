@@ -0,0 +1,41 @@
+package ru.infon.jcache.core.management;
+
+/**
+ * Management interface of storage session Bloom filter.
+ *
+ * 18.10.2026
+ */
+public interface BloomFilterMXBean {
+
+    /**
+     * @return approximate number of keys added to filter
+     */
+    long getApproximateKeyCount();
+
+    /**
+     * @return false positive probability calculated for current keys count
+     */
+    double getExpectedFalsePositiveProbability();
+
+    /**
+     * @return part of filter positive answers not confirmed by storage
+     */
+    double getObservedFalsePositiveRate();
+
+    long getFalsePositives();
+
+    /**
+     * @return number of storage lookups skipped by filter
+     */
+    long getFilteredLookups();
+
+    /**
+     * @return number of bulk removals not reflected in filter since last rebuild
+     */
+    long getUntrackedRemovals();
+
+    /**
+     * rebuilds filter from storage keys scan
+     */
+    void rebuild();
+}
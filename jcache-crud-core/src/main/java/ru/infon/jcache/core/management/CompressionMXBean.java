@@ -0,0 +1,44 @@
+package ru.infon.jcache.core.management;
+
+/**
+ * Management interface of cache values compression.
+ *
+ * 18.10.2026
+ */
+public interface CompressionMXBean {
+
+    /**
+     * @return number of values stored compressed
+     */
+    long getCompressedValues();
+
+    /**
+     * @return number of values stored uncompressed: below threshold or not compressible
+     */
+    long getUncompressedValues();
+
+    long getDecompressedValues();
+
+    /**
+     * @return total size of compressed values before and after compression, 0 if none compressed
+     */
+    double getCompressionRatio();
+
+    /**
+     * @return bytes saved by compression of all compressed values
+     */
+    long getSavedBytes();
+
+    long getCompressionTimeMillis();
+
+    long getDecompressionTimeMillis();
+
+    /**
+     * @return average compression time of value in microseconds, including not compressible values
+     */
+    double getAverageCompressionTimeMicros();
+
+    double getAverageDecompressionTimeMicros();
+
+    void clear();
+}
@@ -0,0 +1,29 @@
+package ru.infon.jcache.core.management;
+
+import java.util.List;
+
+/**
+ * Management interface of per operation latency histograms of cache.
+ * Cache operations are named as {@link javax.cache.Cache} methods,
+ * storage calls are prefixed with "storage.".
+ *
+ * 18.10.2026
+ */
+public interface LatencyHistogramMXBean {
+
+    long getWindowMillis();
+
+    /**
+     * @return percentiles of operations recorded within window
+     */
+    List<LatencySummary> getSummaries();
+
+    LatencySummary getSummary(String operation);
+
+    /**
+     * @return histogram of operation window in HdrHistogram percentile distribution format
+     */
+    String exportSnapshot(String operation);
+
+    void reset();
+}
@@ -0,0 +1,70 @@
+package ru.infon.jcache.core.management;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Latency percentiles of one operation over window, values in microseconds.
+ * Exposed by {@link LatencyHistogramMXBean} as composite data.
+ *
+ * 18.10.2026
+ */
+public class LatencySummary {
+
+    private final String operation;
+    private final long count;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    @ConstructorProperties({"operation", "count", "p50", "p90", "p99", "p999", "max"})
+    public LatencySummary(
+            String operation, long count,
+            double p50, double p90, double p99, double p999, double max
+    ) {
+        this.operation = operation;
+        this.count = count;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getP999() {
+        return p999;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s: count=%d p50=%.1fus p90=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+                operation, count, p50, p90, p99, p999, max
+        );
+    }
+}
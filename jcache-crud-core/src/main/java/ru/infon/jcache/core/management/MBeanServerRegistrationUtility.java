@@ -20,7 +20,9 @@ package ru.infon.jcache.core.management;
 
 import ru.infon.jcache.core.StoredCacheMXBean;
 
+import javax.cache.Cache;
 import javax.cache.CacheException;
+import javax.cache.CacheManager;
 import javax.management.MBeanServer;
 import javax.management.MBeanServerFactory;
 import javax.management.MalformedObjectNameException;
@@ -66,6 +68,44 @@ public final class MBeanServerRegistrationUtility {
     }
 
 
+    /**
+     * Registers additional management bean of cache
+     *
+     * @param mxBean     the management bean
+     * @param cache      the cache bean belongs to
+     * @param objectType type part of bean object name
+     */
+    public static void registerCacheObject(Object mxBean, Cache<?,?> cache, String objectType) {
+        ObjectName objectName = calculateObjectName(cache.getCacheManager(), cache.getName(), objectType);
+        try {
+            if (mBeanServer.queryNames(objectName, null).isEmpty()) {
+                mBeanServer.registerMBean(mxBean, objectName);
+            }
+        } catch (Exception e) {
+            throw new CacheException(String.format(
+                    "Error registering cache MXBean %s. Error was %s",
+                    objectName, e.getMessage()
+            ), e);
+        }
+    }
+
+    /**
+     * Removes management bean registered with {@link #registerCacheObject(Object, Cache, String)}
+     *
+     * @throws CacheException - all exceptions are wrapped in CacheException
+     */
+    public static void unregisterCacheObject(Cache<?,?> cache, String objectType) {
+        ObjectName objectName = calculateObjectName(cache.getCacheManager(), cache.getName(), objectType);
+        for (ObjectName registeredObjectName : mBeanServer.queryNames(objectName, null)) {
+            try {
+                mBeanServer.unregisterMBean(registeredObjectName);
+            } catch (Exception e) {
+                throw new CacheException("Error unregistering object instance "
+                        + registeredObjectName + " . Error was " + e.getMessage(), e);
+            }
+        }
+    }
+
     /**
      * Checks whether an ObjectName is already registered.
      *
@@ -110,11 +150,15 @@ public final class MBeanServerRegistrationUtility {
      * "javax.cache:type=Cache&lt;Statistics|Configuration&gt;,CacheManager=&lt;cacheManagerName&gt;,name=&lt;cacheName&gt;"
      */
     private static ObjectName calculateObjectName(StoredCacheMXBean cache) {
-        String cacheManagerName = mbeanSafe(cache.getCacheManager().getClass().getName());
-        String cacheName = mbeanSafe(cache.getName());
+        return calculateObjectName(cache.getCacheManager(), cache.getName(), "Cache");
+    }
+
+    private static ObjectName calculateObjectName(CacheManager cacheManager, String name, String objectType) {
+        String cacheManagerName = mbeanSafe(cacheManager.getClass().getName());
+        String cacheName = mbeanSafe(name);
 
         try {
-            return new ObjectName("javax.cache:type=Cache,CacheManager=" + cacheManagerName + ",Cache=" + cacheName);
+            return new ObjectName("javax.cache:type=" + objectType + ",CacheManager=" + cacheManagerName + ",Cache=" + cacheName);
         } catch (MalformedObjectNameException e) {
             throw new CacheException("Illegal ObjectName for Management Bean. " +
                     "CacheManager=[" + cacheManagerName + "], Cache=[" + cacheName + "]", e);
@@ -20,11 +20,12 @@ package ru.infon.jcache.core.management;
 import javax.cache.Cache;
 import javax.cache.management.CacheStatisticsMXBean;
 import java.io.Serializable;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
  * The reference implementation of {@link CacheStatisticsMXBean}.
+ * Counters are striped {@link LongAdder}s, so concurrent cache operations don't contend on them.
  * 
  * @author Greg Luck
  */
@@ -36,15 +37,15 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
 
   private transient Cache<?, ?> cache;
 
-  private final AtomicLong cacheRemovals = new AtomicLong();
-  private final AtomicLong cacheExpiries = new AtomicLong();
-  private final AtomicLong cachePuts = new AtomicLong();
-  private final AtomicLong cacheHits = new AtomicLong();
-  private final AtomicLong cacheMisses = new AtomicLong();
-  private final AtomicLong cacheEvictions = new AtomicLong();
-  private final AtomicLong cachePutTimeTakenNanos = new AtomicLong();
-  private final AtomicLong cacheGetTimeTakenNanos = new AtomicLong();
-  private final AtomicLong cacheRemoveTimeTakenNanos = new AtomicLong();
+  private final LongAdder cacheRemovals = new LongAdder();
+  private final LongAdder cacheExpiries = new LongAdder();
+  private final LongAdder cachePuts = new LongAdder();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder cacheEvictions = new LongAdder();
+  private final LongAdder cachePutTimeTakenNanos = new LongAdder();
+  private final LongAdder cacheGetTimeTakenNanos = new LongAdder();
+  private final LongAdder cacheRemoveTimeTakenNanos = new LongAdder();
 
   /**
    * Constructs a cache statistics object
@@ -63,15 +64,15 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    */
   @Override
   public void clear() {
-    cachePuts.set(0);
-    cacheMisses.set(0);
-    cacheRemovals.set(0);
-    cacheExpiries.set(0);
-    cacheHits.set(0);
-    cacheEvictions.set(0);
-    cacheGetTimeTakenNanos.set(0);
-    cachePutTimeTakenNanos.set(0);
-    cacheRemoveTimeTakenNanos.set(0);
+    cachePuts.reset();
+    cacheMisses.reset();
+    cacheRemovals.reset();
+    cacheExpiries.reset();
+    cacheHits.reset();
+    cacheEvictions.reset();
+    cacheGetTimeTakenNanos.reset();
+    cachePutTimeTakenNanos.reset();
+    cacheRemoveTimeTakenNanos.reset();
   }
 
   /**
@@ -79,7 +80,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    */
   @Override
   public long getCacheHits() {
-    return cacheHits.longValue();
+    return cacheHits.sum();
   }
 
   /**
@@ -101,7 +102,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    */
   @Override
   public long getCacheMisses() {
-    return cacheMisses.longValue();
+    return cacheMisses.sum();
   }
 
   /**
@@ -139,7 +140,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    */
   @Override
   public long getCachePuts() {
-    return cachePuts.longValue();
+    return cachePuts.sum();
   }
 
   /**
@@ -152,7 +153,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    */
   @Override
   public long getCacheRemovals() {
-    return cacheRemovals.longValue();
+    return cacheRemovals.sum();
   }
 
   /**
@@ -160,7 +161,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    */
   @Override
   public long getCacheEvictions() {
-    return cacheEvictions.longValue();
+    return cacheEvictions.sum();
   }
 
   /**
@@ -170,10 +171,10 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    */
   @Override
   public float getAverageGetTime() {
-    if (cacheGetTimeTakenNanos.longValue() == 0 || getCacheGets() == 0) {
+    if (cacheGetTimeTakenNanos.sum() == 0 || getCacheGets() == 0) {
       return 0;
     }
-    return (cacheGetTimeTakenNanos.longValue() / getCacheGets()) / NANOSECONDS_IN_A_MICROSECOND;
+    return (cacheGetTimeTakenNanos.sum() / getCacheGets()) / NANOSECONDS_IN_A_MICROSECOND;
   }
 
   /**
@@ -183,10 +184,10 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    */
   @Override
   public float getAveragePutTime() {
-    if (cachePutTimeTakenNanos.longValue() == 0 || getCacheGets() == 0) {
+    if (cachePutTimeTakenNanos.sum() == 0 || getCachePuts() == 0) {
       return 0;
     }
-    return (cachePutTimeTakenNanos.longValue() / getCacheGets()) / NANOSECONDS_IN_A_MICROSECOND;
+    return (cachePutTimeTakenNanos.sum() / getCachePuts()) / NANOSECONDS_IN_A_MICROSECOND;
   }
 
   /**
@@ -196,10 +197,10 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    */
   @Override
   public float getAverageRemoveTime() {
-    if (cacheRemoveTimeTakenNanos.longValue() == 0 || getCacheGets() == 0) {
+    if (cacheRemoveTimeTakenNanos.sum() == 0 || getCacheRemovals() == 0) {
       return 0;
     }
-    return (cacheRemoveTimeTakenNanos.longValue() / getCacheGets()) / NANOSECONDS_IN_A_MICROSECOND;
+    return (cacheRemoveTimeTakenNanos.sum() / getCacheRemovals()) / NANOSECONDS_IN_A_MICROSECOND;
   }
 
   //package local incrementers
@@ -210,7 +211,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    * @param number the number to increase the counter by
    */
   public void increaseCacheRemovals(long number) {
-    cacheRemovals.getAndAdd(number);
+    cacheRemovals.add(number);
   }
 
   /**
@@ -219,7 +220,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    * @param number the number to increase the counter by
    */
   public void increaseCacheExpiries(long number) {
-    cacheExpiries.getAndAdd(number);
+    cacheExpiries.add(number);
   }
 
   /**
@@ -228,7 +229,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    * @param number the number to increase the counter by
    */
   public void increaseCachePuts(long number) {
-    cachePuts.getAndAdd(number);
+    cachePuts.add(number);
   }
 
   /**
@@ -237,7 +238,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    * @param number the number to increase the counter by
    */
   public void increaseCacheHits(long number) {
-    cacheHits.getAndAdd(number);
+    cacheHits.add(number);
   }
 
   /**
@@ -246,7 +247,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    * @param number the number to increase the counter by
    */
   public void increaseCacheMisses(long number) {
-    cacheMisses.getAndAdd(number);
+    cacheMisses.add(number);
   }
 
   /**
@@ -255,7 +256,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    * @param number the number to increase the counter by
    */
   public void increaseCacheEvictions(long number) {
-    cacheEvictions.getAndAdd(number);
+    cacheEvictions.add(number);
   }
 
   /**
@@ -264,13 +265,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    * @param duration the time taken in nanoseconds
    */
   public void addGetTimeNano(long duration) {
-    if (cacheGetTimeTakenNanos.get() <= Long.MAX_VALUE - duration) {
-      cacheGetTimeTakenNanos.addAndGet(duration);
-    } else {
-      //counter full. Just reset.
-      clear();
-      cacheGetTimeTakenNanos.set(duration);
-    }
+    cacheGetTimeTakenNanos.add(duration);
   }
 
 
@@ -280,13 +275,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    * @param duration the time taken in nanoseconds
    */
   public void addPutTimeNano(long duration) {
-    if (cachePutTimeTakenNanos.get() <= Long.MAX_VALUE - duration) {
-      cachePutTimeTakenNanos.addAndGet(duration);
-    } else {
-      //counter full. Just reset.
-      clear();
-      cachePutTimeTakenNanos.set(duration);
-    }
+    cachePutTimeTakenNanos.add(duration);
   }
 
   /**
@@ -295,13 +284,7 @@ public class RICacheStatisticsMXBean implements CacheStatisticsMXBean, Serializa
    * @param duration the time taken in nanoseconds
    */
   public void addRemoveTimeNano(long duration) {
-    if (cacheRemoveTimeTakenNanos.get() <= Long.MAX_VALUE - duration) {
-      cacheRemoveTimeTakenNanos.addAndGet(duration);
-    } else {
-      //counter full. Just reset.
-      clear();
-      cacheRemoveTimeTakenNanos.set(duration);
-    }
+    cacheRemoveTimeTakenNanos.add(duration);
   }
 
 }
@@ -0,0 +1,47 @@
+package ru.infon.jcache.core.management;
+
+/**
+ * Management interface of cache write-behind queue.
+ *
+ * 18.10.2026
+ */
+public interface WriteBehindMXBean {
+
+    /**
+     * @return number of keys with pending (not flushed) mutations
+     */
+    int getQueueDepth();
+
+    /**
+     * @return age of the oldest pending mutation in milliseconds
+     */
+    long getFlushLagMillis();
+
+    long getFlushCount();
+
+    long getFlushedMutations();
+
+    /**
+     * @return number of writes merged into already pending mutation of the same key
+     */
+    long getCoalescedMutations();
+
+    long getFlushFailures();
+
+    /**
+     * @return number of mutations dropped after failing to flush {@code MAX_FLUSH_ATTEMPTS} times
+     */
+    long getDroppedMutations();
+
+    /**
+     * @return number of writes rejected because queue was full while storage was failing
+     */
+    long getRejectedMutations();
+
+    long getLastFlushDurationMillis();
+
+    /**
+     * flushes all pending mutations to storage
+     */
+    void flush();
+}
@@ -0,0 +1,100 @@
+package ru.infon.jcache.core.near;
+
+import ru.infon.jcache.core.EntryFactory;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Near cache decorator for store-by-value caches: values are copied by serialization
+ * when entry is placed into near cache and every time it is returned, so callers never
+ * share value instances with near cache or with each other. Values of immutable
+ * types (strings, primitive wrappers) are not copied. Entries which can't be
+ * serialized are not cached.
+ *
+ * 18.10.2026
+ */
+public class CopyingNearCache<K,V> implements NearCache<K,V> {
+
+    private static final Logger LOGGER = Logger.getLogger("javax.cache");
+
+    private final NearCache<K,V> nearCache;
+    private final EntryFactory<K,V> entryFactory;
+    private final ValueSerializer<V> serializer;
+
+    public CopyingNearCache(NearCache<K,V> nearCache, EntryFactory<K,V> entryFactory, ValueSerializer<V> serializer) {
+        this.nearCache = nearCache;
+        this.entryFactory = entryFactory;
+        this.serializer = serializer;
+    }
+
+    /**
+     * @return true if values of type are immutable and need no copying
+     */
+    public static boolean isImmutable(Class<?> type) {
+        return type==String.class || type==Long.class || type==Integer.class || type==Short.class
+                || type==Byte.class || type==Double.class || type==Float.class
+                || type==Boolean.class || type==Character.class;
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        StorableEntry<K,V> entry = nearCache.get(key);
+        if(entry==null) {
+            return null;
+        }
+        try {
+            return copy(entry);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "near cached value can't be copied; dropping", e);
+            nearCache.invalidate(key);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        StorableEntry<K,V> copy;
+        try {
+            copy = copy(entry);
+        } catch (IOException e) {
+            nearCache.invalidate(entry.getKey());
+            return;
+        }
+        nearCache.put(copy);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        nearCache.invalidate(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        nearCache.invalidateAll();
+    }
+
+    @Override
+    public long size() {
+        return nearCache.size();
+    }
+
+    @Override
+    public void close() {
+        nearCache.close();
+    }
+
+    private StorableEntry<K,V> copy(StorableEntry<K,V> entry) throws IOException {
+        V value = entry.getValue();
+        if(value!=null && !isImmutable(value.getClass())) {
+            value = entryFactory.getValueType().cast(serializer.deserialize(serializer.serialize(value)));
+        }
+        StorableEntry<K,V> copy = entryFactory.create(entry.getKey(), value);
+        copy.setSaveDate(entry.getSaveDate());
+        copy.setExpireTimestamp(entry.getExpireTimestamp());
+        return copy;
+    }
+}
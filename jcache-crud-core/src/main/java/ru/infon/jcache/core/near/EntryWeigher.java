@@ -0,0 +1,13 @@
+package ru.infon.jcache.core.near;
+
+/**
+ * Calculates weight of near cached entry. Weight is used to bound near cache size.
+ *
+ * 18.10.2026
+ */
+public interface EntryWeigher<K,V> {
+    /**
+     * @return non negative weight of entry
+     */
+    long weigh(K key, V value);
+}
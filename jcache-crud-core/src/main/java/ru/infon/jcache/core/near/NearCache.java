@@ -0,0 +1,31 @@
+package ru.infon.jcache.core.near;
+
+import ru.infon.jcache.core.StorableEntry;
+
+/**
+ * Bounded local copy of storage entries. Implementations must be thread safe.
+ * Returned entries are shared between callers and must not be modified
+ * except by expiry policy execution.
+ *
+ * 18.10.2026
+ */
+public interface NearCache<K,V> {
+
+    /**
+     * @return not expired entry or null if entry is absent in near cache
+     */
+    StorableEntry<K,V> get(K key);
+
+    void put(StorableEntry<K,V> entry);
+
+    void invalidate(K key);
+
+    void invalidateAll();
+
+    long size();
+
+    /**
+     * releases resources held by near cache
+     */
+    void close();
+}
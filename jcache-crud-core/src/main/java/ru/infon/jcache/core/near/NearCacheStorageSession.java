@@ -0,0 +1,225 @@
+package ru.infon.jcache.core.near;
+
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.processor.FieldUpdate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Storage session decorator serving reads from {@link NearCache}.
+ * Entries loaded from underlying storage are placed into near cache,
+ * any write made through this session invalidates near cached entry.
+ * <p>
+ * Every invalidation bumps version of key stripe, entry loaded from storage is not kept
+ * in near cache if version of its stripe was changed while it was loaded: concurrent
+ * write might have stored and invalidated newer value in between.
+ * </p>
+ *
+ * 18.10.2026
+ */
+public class NearCacheStorageSession<K,V> extends CacheStorageSession<K,V> {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final CacheStorageSession<K,V> storage;
+    private final NearCache<K,V> nearCache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public NearCacheStorageSession(CacheStorageSession<K,V> storage, NearCache<K,V> nearCache) {
+        super(
+                storage.getCacheStorage(),
+                storage.getEntryFactory().getKeyType(),
+                storage.getEntryFactory().getValueType()
+        );
+        this.storage = storage;
+        this.nearCache = nearCache;
+    }
+
+    public NearCache<K,V> getNearCache() {
+        return nearCache;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if(nearCache.get(key)!=null) {
+            return true;
+        }
+        return storage.containsKey(key);
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        StorableEntry<K,V> entry = nearCache.get(key);
+        if(entry!=null) {
+            return entry;
+        }
+        long version = version(key);
+        entry = storage.get(key);
+        cache(entry, version);
+        return entry;
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        Collection<StorableEntry<K,V>> entries = new ArrayList<>(keys.size());
+        Set<K> missedKeys = new HashSet<>();
+        Map<K,Long> loadedVersions = new HashMap<>();
+        for (K key : keys) {
+            StorableEntry<K,V> entry = nearCache.get(key);
+            if(entry==null) {
+                missedKeys.add(key);
+                loadedVersions.put(key, version(key));
+            } else {
+                entries.add(entry);
+            }
+        }
+        if(missedKeys.isEmpty()) {
+            return entries;
+        }
+        for (StorableEntry<K, V> entry : storage.getAll(missedKeys)) {
+            cache(entry, loadedVersions.get(entry.getKey()));
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        return storage.getAll();
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return storage.keys();
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        return storage.iterator(batchSize);
+    }
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        storage.put(entry);
+        invalidate(entry.getKey());
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        storage.putAll(entries);
+        for (StorableEntry<K, V> entry : entries) {
+            invalidate(entry.getKey());
+        }
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        boolean result = storage.update(entry);
+        invalidate(entry.getKey());
+        return result;
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        // entry may be loaded before concurrent write, so it is not put back to near cache
+        storage.updateExpireTime(entry);
+        invalidate(entry.getKey());
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        Collection<StorableEntry<K,V>> expired = storage.removeExpired(keys, now);
+        for (K key : keys) {
+            invalidate(key);
+        }
+        return expired;
+    }
+
+    @Override
+    public boolean supportsFieldUpdates() {
+        return storage.supportsFieldUpdates();
+    }
+
+    @Override
+    public Object applyFieldUpdate(K key, FieldUpdate update, Long expireTimestamp) {
+        Object result = storage.applyFieldUpdate(key, update, expireTimestamp);
+        invalidate(key);
+        return result;
+    }
+
+    @Override
+    public boolean remove(K key) {
+        boolean result = storage.remove(key);
+        invalidate(key);
+        return result;
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        storage.removeAll(keys);
+        for (K key : keys) {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        storage.removeAll();
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        nearCache.invalidateAll();
+    }
+
+    @Override
+    public void close() {
+        nearCache.close();
+        storage.close();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return storage.isClosed();
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return hash & (VERSION_STRIPES-1);
+    }
+
+    private long version(K key) {
+        return versions.get(stripe(key));
+    }
+
+    private void invalidate(K key) {
+        versions.incrementAndGet(stripe(key));
+        nearCache.invalidate(key);
+    }
+
+    /**
+     * @param version - version of key stripe taken before entry was loaded
+     */
+    private void cache(StorableEntry<K,V> entry, long version) {
+        if(entry==null || entry.isExpired()) {
+            return;
+        }
+        int stripe = stripe(entry.getKey());
+        if(versions.get(stripe)!=version) {
+            return;
+        }
+        nearCache.put(entry);
+        // invalidation may have passed between check and put
+        if(versions.get(stripe)!=version) {
+            nearCache.invalidate(entry.getKey());
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package ru.infon.jcache.core.near;
+
+import ru.infon.jcache.core.StorableEntry;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Weight bounded near cache with W-TinyLFU eviction policy.
+ * New entries are placed into small LRU window; entries evicted from window
+ * are admitted into main segmented LRU (probation + protected) only if
+ * their estimated frequency is higher than frequency of main segment victim.
+ *
+ * 18.10.2026
+ */
+public class TinyLfuNearCache<K,V> implements NearCache<K,V> {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private final EntryWeigher<K,V> weigher;
+    private final FrequencySketch sketch;
+
+    // access ordered, eldest entry is LRU victim
+    private final LinkedHashMap<K, Node<K,V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<K,V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<K,V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    public TinyLfuNearCache(long maximumWeight) {
+        this(maximumWeight, null);
+    }
+
+    public TinyLfuNearCache(long maximumWeight, EntryWeigher<K,V> weigher) {
+        if(maximumWeight<=0) {
+            throw new IllegalArgumentException("maximum weight must be positive: "+maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, (long) (maximumWeight * WINDOW_RATIO));
+        this.mainMaximum = maximumWeight - windowMaximum;
+        this.protectedMaximum = (long) (mainMaximum * PROTECTED_RATIO);
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(maximumWeight);
+    }
+
+    @Override
+    public synchronized StorableEntry<K, V> get(K key) {
+        sketch.increment(key);
+        Node<K,V> node = window.get(key);
+        if(node==null) {
+            node = protectedSegment.get(key);
+        }
+        if(node==null) {
+            node = probation.remove(key);
+            if(node!=null) { // second hit: promote to protected segment
+                probationWeight -= node.weight;
+                protectedSegment.put(key, node);
+                protectedWeight += node.weight;
+                demoteProtected();
+            }
+        }
+        if(node==null) {
+            return null;
+        }
+        if(node.entry.isExpired()) {
+            invalidate(key);
+            return null;
+        }
+        return node.entry;
+    }
+
+    @Override
+    public synchronized void put(StorableEntry<K, V> entry) {
+        K key = entry.getKey();
+        invalidate(key);
+        long weight = weigher==null?1:weigher.weigh(key, entry.getValue());
+        if(weight<0) {
+            throw new IllegalArgumentException("negative weight of near cache entry: "+weight);
+        }
+        if(weight>maximumWeight) {
+            return;
+        }
+        sketch.increment(key);
+        window.put(key, new Node<>(key, entry, weight));
+        windowWeight += weight;
+        evictWindow();
+    }
+
+    @Override
+    public synchronized void invalidate(K key) {
+        Node<K,V> node = window.remove(key);
+        if(node!=null) {
+            windowWeight -= node.weight;
+            return;
+        }
+        node = probation.remove(key);
+        if(node!=null) {
+            probationWeight -= node.weight;
+            return;
+        }
+        node = protectedSegment.remove(key);
+        if(node!=null) {
+            protectedWeight -= node.weight;
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        windowWeight = 0;
+        probationWeight = 0;
+        protectedWeight = 0;
+    }
+
+    @Override
+    public synchronized long size() {
+        return window.size()+probation.size()+protectedSegment.size();
+    }
+
+    @Override
+    public void close() {
+        invalidateAll();
+    }
+
+    public synchronized long weight() {
+        return windowWeight+probationWeight+protectedWeight;
+    }
+
+    private void evictWindow() {
+        while (windowWeight>windowMaximum) {
+            Node<K,V> candidate = removeEldest(window);
+            windowWeight -= candidate.weight;
+            admit(candidate);
+        }
+    }
+
+    /**
+     * TinyLFU admission: candidate replaces main segment victims
+     * only if it was used more frequently
+     */
+    private void admit(Node<K,V> candidate) {
+        if(candidate.weight>mainMaximum) {
+            return;
+        }
+        while (probationWeight+protectedWeight+candidate.weight>mainMaximum) {
+            LinkedHashMap<K, Node<K,V>> segment = probation.isEmpty()?protectedSegment:probation;
+            Node<K,V> victim = segment.values().iterator().next();
+            if(sketch.frequency(candidate.key)<=sketch.frequency(victim.key)) {
+                return;
+            }
+            removeEldest(segment);
+            if(segment==probation) {
+                probationWeight -= victim.weight;
+            } else {
+                protectedWeight -= victim.weight;
+            }
+        }
+        probation.put(candidate.key, candidate);
+        probationWeight += candidate.weight;
+    }
+
+    private void demoteProtected() {
+        while (protectedWeight>protectedMaximum) {
+            Node<K,V> node = removeEldest(protectedSegment);
+            protectedWeight -= node.weight;
+            probation.put(node.key, node);
+            probationWeight += node.weight;
+        }
+    }
+
+    private static <K,V> Node<K,V> removeEldest(Map<K, Node<K,V>> segment) {
+        Iterator<Node<K,V>> iterator = segment.values().iterator();
+        Node<K,V> node = iterator.next();
+        iterator.remove();
+        return node;
+    }
+
+    private static class Node<K,V> {
+        private final K key;
+        private final StorableEntry<K,V> entry;
+        private final long weight;
+
+        private Node(K key, StorableEntry<K, V> entry, long weight) {
+            this.key = key;
+            this.entry = entry;
+            this.weight = weight;
+        }
+    }
+}
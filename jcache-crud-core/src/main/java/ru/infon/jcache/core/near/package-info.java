@@ -0,0 +1,5 @@
+/**
+ * Local (near) cache tier placed in front of {@link ru.infon.jcache.core.CacheStorageSession}.
+ * Near cache is enabled per cache with {@link ru.infon.jcache.core.StoredCacheConfiguration}.
+ */
+package ru.infon.jcache.core.near;
@@ -0,0 +1,328 @@
+package ru.infon.jcache.core.offheap;
+
+import ru.infon.jcache.core.EntryFactory;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.near.NearCache;
+import ru.infon.jcache.core.serialization.CompactValueSerializer;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Near cache keeping serialized entries outside of java heap.
+ * Entries are stored in chunks of {@link SlabAllocator}, lookup is done with
+ * open-addressing hash index from serialized key hash to chunk address.
+ * When size class of new entry is full, victim of the same class is evicted
+ * by CLOCK policy. Entries which can't be serialized are not cached.
+ * <p>
+ * Chunk layout: flags, key hash, key length, value length,
+ * expire timestamp, save date, key bytes, value bytes.
+ * </p>
+ *
+ * 18.10.2026
+ */
+public class OffHeapNearCache<K,V> implements NearCache<K,V> {
+
+    private static final Logger LOGGER = Logger.getLogger("javax.cache");
+
+    public static final int DEFAULT_PAGE_SIZE = 1 << 20;
+
+    private static final int HASH_OFFSET = SlabAllocator.FLAGS_SIZE;
+    private static final int KEY_LENGTH_OFFSET = HASH_OFFSET + 4;
+    private static final int VALUE_LENGTH_OFFSET = KEY_LENGTH_OFFSET + 4;
+    private static final int EXPIRE_OFFSET = VALUE_LENGTH_OFFSET + 4;
+    private static final int SAVE_DATE_OFFSET = EXPIRE_OFFSET + 8;
+    private static final int DATA_OFFSET = SAVE_DATE_OFFSET + 8;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final int INITIAL_INDEX_SIZE = 1024;
+
+    private final EntryFactory<K,V> entryFactory;
+    private final SlabAllocator allocator;
+    private final ValueSerializer<Object> keySerializer = new CompactValueSerializer<>();
+    private final ValueSerializer<V> valueSerializer;
+    private final File mappedFile;
+
+    // slot holds chunk address + 1, zero is empty slot
+    private long[] addresses = new long[INITIAL_INDEX_SIZE];
+    private int[] hashes = new int[INITIAL_INDEX_SIZE];
+    private int size;
+
+    /**
+     * @param name - cache name, used as mapped file prefix
+     * @param capacity - off-heap memory size in bytes
+     * @param directory - directory for memory mapped file, null to use direct buffers
+     */
+    public OffHeapNearCache(String name, EntryFactory<K,V> entryFactory, long capacity, File directory) {
+        this(name, entryFactory, capacity, directory, new CompactValueSerializer<V>());
+    }
+
+    /**
+     * @param valueSerializer - serializer of cached values
+     */
+    public OffHeapNearCache(
+            String name, EntryFactory<K,V> entryFactory, long capacity, File directory,
+            ValueSerializer<V> valueSerializer
+    ) {
+        this.entryFactory = entryFactory;
+        this.valueSerializer = valueSerializer;
+        if(directory==null) {
+            this.mappedFile = null;
+        } else {
+            try {
+                this.mappedFile = File.createTempFile(
+                        name.replaceAll("[^A-Za-z0-9_.-]", "_")+"-", ".offheap", directory
+                );
+                this.mappedFile.deleteOnExit();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("can't create off-heap file in "+directory, e);
+            }
+        }
+        this.allocator = new SlabAllocator(capacity, DEFAULT_PAGE_SIZE, mappedFile);
+    }
+
+    @Override
+    public synchronized StorableEntry<K, V> get(K key) {
+        byte[] keyBytes = serialize(key);
+        if(keyBytes==null) {
+            return null;
+        }
+        int slot = findSlot(keyBytes, hash(keyBytes));
+        if(slot<0) {
+            return null;
+        }
+        long address = addresses[slot]-1;
+        ByteBuffer buffer = allocator.buffer(address);
+        int offset = SlabAllocator.offset(address);
+        long expireTimestamp = buffer.getLong(offset+EXPIRE_OFFSET);
+        if(expireTimestamp!=NO_TIMESTAMP && expireTimestamp<=System.currentTimeMillis()) {
+            removeSlot(slot);
+            return null;
+        }
+        allocator.markReferenced(address);
+
+        int keyLength = buffer.getInt(offset+KEY_LENGTH_OFFSET);
+        byte[] valueBytes = new byte[buffer.getInt(offset+VALUE_LENGTH_OFFSET)];
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset+DATA_OFFSET+keyLength);
+        source.get(valueBytes);
+        V value;
+        try {
+            value = entryFactory.getValueType().cast(valueSerializer.deserialize(valueBytes));
+        } catch (IOException | ClassCastException e) {
+            LOGGER.log(Level.WARNING, "off-heap entry can't be deserialized; dropping", e);
+            removeSlot(slot);
+            return null;
+        }
+        StorableEntry<K,V> entry = entryFactory.create(key, value);
+        long saveDate = buffer.getLong(offset+SAVE_DATE_OFFSET);
+        entry.setSaveDate(saveDate==NO_TIMESTAMP?null:new Date(saveDate));
+        entry.setExpireTimestamp(expireTimestamp==NO_TIMESTAMP?null:expireTimestamp);
+        return entry;
+    }
+
+    @Override
+    public synchronized void put(StorableEntry<K, V> entry) {
+        byte[] keyBytes = serialize(entry.getKey());
+        if(keyBytes==null) {
+            return;
+        }
+        int hash = hash(keyBytes);
+        int slot = findSlot(keyBytes, hash);
+        if(slot>=0) {
+            removeSlot(slot);
+        }
+        byte[] valueBytes = serialize(valueSerializer, entry.getValue());
+        if(valueBytes==null) {
+            return;
+        }
+        int sizeClass = allocator.sizeClass(DATA_OFFSET+keyBytes.length+valueBytes.length);
+        if(sizeClass<0) {
+            return;
+        }
+        long address = allocator.allocate(sizeClass);
+        while (address==SlabAllocator.NO_ADDRESS) {
+            long victim = allocator.victim(sizeClass);
+            if(victim==SlabAllocator.NO_ADDRESS) {
+                return;
+            }
+            removeAddress(victim);
+            address = allocator.allocate(sizeClass);
+        }
+
+        ByteBuffer buffer = allocator.buffer(address);
+        int offset = SlabAllocator.offset(address);
+        buffer.putInt(offset+HASH_OFFSET, hash);
+        buffer.putInt(offset+KEY_LENGTH_OFFSET, keyBytes.length);
+        buffer.putInt(offset+VALUE_LENGTH_OFFSET, valueBytes.length);
+        buffer.putLong(offset+EXPIRE_OFFSET,
+                entry.getExpireTimestamp()==null?NO_TIMESTAMP:entry.getExpireTimestamp()
+        );
+        buffer.putLong(offset+SAVE_DATE_OFFSET,
+                entry.getSaveDate()==null?NO_TIMESTAMP:entry.getSaveDate().getTime()
+        );
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset+DATA_OFFSET);
+        target.put(keyBytes);
+        target.put(valueBytes);
+
+        insert(address, hash);
+    }
+
+    @Override
+    public synchronized void invalidate(K key) {
+        byte[] keyBytes = serialize(key);
+        if(keyBytes==null) {
+            return;
+        }
+        int slot = findSlot(keyBytes, hash(keyBytes));
+        if(slot>=0) {
+            removeSlot(slot);
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        Arrays.fill(addresses, 0);
+        size = 0;
+        allocator.clear();
+    }
+
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() {
+        invalidateAll();
+        allocator.close();
+        if(mappedFile!=null && !mappedFile.delete()) {
+            LOGGER.fine("off-heap file not deleted: "+mappedFile);
+        }
+    }
+
+    private byte[] serialize(Object key) {
+        return serialize(keySerializer, key);
+    }
+
+    private static <T> byte[] serialize(ValueSerializer<T> serializer, T object) {
+        try {
+            return serializer.serialize(object);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "object can't be stored off-heap: "+object, e);
+            return null;
+        }
+    }
+
+    private int findSlot(byte[] keyBytes, int hash) {
+        int mask = addresses.length-1;
+        for (int slot = spread(hash) & mask; addresses[slot]!=0; slot = (slot+1) & mask) {
+            if(hashes[slot]==hash && keyEquals(addresses[slot]-1, keyBytes)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private boolean keyEquals(long address, byte[] keyBytes) {
+        ByteBuffer buffer = allocator.buffer(address);
+        int offset = SlabAllocator.offset(address);
+        if(buffer.getInt(offset+KEY_LENGTH_OFFSET)!=keyBytes.length) {
+            return false;
+        }
+        int keyOffset = offset+DATA_OFFSET;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if(buffer.get(keyOffset+i)!=keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(long address, int hash) {
+        if((size+1)*2>addresses.length) {
+            resize();
+        }
+        int mask = addresses.length-1;
+        int slot = spread(hash) & mask;
+        while (addresses[slot]!=0) {
+            slot = (slot+1) & mask;
+        }
+        addresses[slot] = address+1;
+        hashes[slot] = hash;
+        size++;
+    }
+
+    private void resize() {
+        long[] oldAddresses = addresses;
+        int[] oldHashes = hashes;
+        addresses = new long[oldAddresses.length*2];
+        hashes = new int[oldHashes.length*2];
+        int mask = addresses.length-1;
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if(oldAddresses[i]==0) {
+                continue;
+            }
+            int slot = spread(oldHashes[i]) & mask;
+            while (addresses[slot]!=0) {
+                slot = (slot+1) & mask;
+            }
+            addresses[slot] = oldAddresses[i];
+            hashes[slot] = oldHashes[i];
+        }
+    }
+
+    private void removeAddress(long address) {
+        int hash = allocator.buffer(address).getInt(SlabAllocator.offset(address)+HASH_OFFSET);
+        int mask = addresses.length-1;
+        for (int slot = spread(hash) & mask; addresses[slot]!=0; slot = (slot+1) & mask) {
+            if(addresses[slot]==address+1) {
+                removeSlot(slot);
+                return;
+            }
+        }
+        allocator.free(address);
+    }
+
+    /**
+     * frees slot chunk and shifts following entries of probe sequence back
+     */
+    private void removeSlot(int slot) {
+        allocator.free(addresses[slot]-1);
+        addresses[slot] = 0;
+        size--;
+        int mask = addresses.length-1;
+        int next = (slot+1) & mask;
+        while (addresses[next]!=0) {
+            int ideal = spread(hashes[next]) & mask;
+            boolean movable = slot<=next
+                    ? (ideal<=slot || ideal>next)
+                    : (ideal<=slot && ideal>next);
+            if(movable) {
+                addresses[slot] = addresses[next];
+                hashes[slot] = hashes[next];
+                addresses[next] = 0;
+                slot = next;
+            }
+            next = (next+1) & mask;
+        }
+    }
+
+    private static int hash(byte[] bytes) {
+        return Arrays.hashCode(bytes);
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+}
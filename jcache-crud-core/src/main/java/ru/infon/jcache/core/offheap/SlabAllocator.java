@@ -0,0 +1,251 @@
+package ru.infon.jcache.core.offheap;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Slab allocator over direct or memory-mapped {@link ByteBuffer} pages.
+ * Every page is assigned to one size class on first demand and split into
+ * equal chunks of that class. Chunk address is encoded as (page &lt;&lt; 32 | offset).
+ * First byte of every chunk is reserved for allocator flags.
+ * Not thread safe.
+ *
+ * 18.10.2026
+ */
+class SlabAllocator {
+
+    static final long NO_ADDRESS = -1;
+    static final int FLAGS_SIZE = 1;
+
+    private static final int MINIMUM_CHUNK_SIZE = 64;
+    private static final double GROWTH_FACTOR = 1.25;
+
+    private static final byte FLAG_USED = 1;
+    private static final byte FLAG_REFERENCED = 2;
+
+    private final int pageSize;
+    private final ByteBuffer[] pages;
+    private final int[] pageClasses;
+    private final int[] chunkSizes;
+    private final List<List<Integer>> classPages;
+    private final long[][] freeChunks;
+    private final int[] freeCounts;
+    private final int[] clockPages;
+    private final int[] clockChunks;
+    private int assignedPages;
+
+    private final RandomAccessFile mappedFile;
+    private final FileChannel mappedChannel;
+
+    /**
+     * @param capacity - total size of all pages in bytes
+     * @param pageSize - size of page, maximum allocation size
+     * @param file - file for memory mapped pages, null for direct buffers
+     */
+    SlabAllocator(long capacity, int pageSize, File file) {
+        if(capacity<pageSize) {
+            pageSize = (int) capacity;
+        }
+        if(pageSize<MINIMUM_CHUNK_SIZE) {
+            throw new IllegalArgumentException("off-heap capacity is too small: "+capacity);
+        }
+        this.pageSize = pageSize;
+        int pageCount = (int) Math.min(capacity/pageSize, Integer.MAX_VALUE);
+        this.pages = new ByteBuffer[pageCount];
+        this.pageClasses = new int[pageCount];
+
+        List<Integer> sizes = new ArrayList<>();
+        for (double size = MINIMUM_CHUNK_SIZE; size<pageSize; size *= GROWTH_FACTOR) {
+            sizes.add((((int) size)+7) & ~7); // 8 bytes aligned
+        }
+        sizes.add(pageSize);
+        this.chunkSizes = new int[sizes.size()];
+        this.classPages = new ArrayList<>(sizes.size());
+        for (int i = 0; i < chunkSizes.length; i++) {
+            chunkSizes[i] = sizes.get(i);
+            classPages.add(new ArrayList<Integer>());
+        }
+        this.freeChunks = new long[chunkSizes.length][];
+        this.freeCounts = new int[chunkSizes.length];
+        this.clockPages = new int[chunkSizes.length];
+        this.clockChunks = new int[chunkSizes.length];
+
+        if(file==null) {
+            this.mappedFile = null;
+            this.mappedChannel = null;
+        } else {
+            try {
+                this.mappedFile = new RandomAccessFile(file, "rw");
+                this.mappedChannel = mappedFile.getChannel();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("can't open off-heap mapping file "+file, e);
+            }
+        }
+    }
+
+    int getMaximumAllocation() {
+        return pageSize;
+    }
+
+    /**
+     * @return size class for allocation size or -1 if size exceeds page size
+     */
+    int sizeClass(int size) {
+        for (int i = 0; i < chunkSizes.length; i++) {
+            if(chunkSizes[i]>=size) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return address of allocated chunk of size class or {@link #NO_ADDRESS} if no memory left
+     */
+    long allocate(int sizeClass) {
+        if(freeCounts[sizeClass]==0 && !assignPage(sizeClass)) {
+            return NO_ADDRESS;
+        }
+        long address = freeChunks[sizeClass][--freeCounts[sizeClass]];
+        buffer(address).put(offset(address), FLAG_USED);
+        return address;
+    }
+
+    void free(long address) {
+        int page = page(address);
+        int sizeClass = pageClasses[page];
+        buffer(address).put(offset(address), (byte) 0);
+        freeChunks[sizeClass][freeCounts[sizeClass]++] = address;
+    }
+
+    void markReferenced(long address) {
+        ByteBuffer buffer = buffer(address);
+        int offset = offset(address);
+        buffer.put(offset, (byte) (buffer.get(offset) | FLAG_REFERENCED));
+    }
+
+    /**
+     * CLOCK (second chance) victim selection within size class.
+     * @return address of used chunk that was not referenced since last pass
+     * or {@link #NO_ADDRESS} if size class has no used chunks
+     */
+    long victim(int sizeClass) {
+        List<Integer> pagesOfClass = classPages.get(sizeClass);
+        if(pagesOfClass.isEmpty()) {
+            return NO_ADDRESS;
+        }
+        int chunksPerPage = pageSize/chunkSizes[sizeClass];
+        int totalChunks = chunksPerPage*pagesOfClass.size();
+        // two passes: first one may only clear referenced flags
+        for (int i = 0; i < totalChunks*2; i++) {
+            int pageIndex = clockPages[sizeClass];
+            int chunk = clockChunks[sizeClass];
+            if(++clockChunks[sizeClass]==chunksPerPage) {
+                clockChunks[sizeClass] = 0;
+                clockPages[sizeClass] = (pageIndex+1)%pagesOfClass.size();
+            }
+            int page = pagesOfClass.get(pageIndex);
+            int offset = chunk*chunkSizes[sizeClass];
+            byte flags = pages[page].get(offset);
+            if((flags & FLAG_USED)==0) {
+                continue;
+            }
+            if((flags & FLAG_REFERENCED)!=0) {
+                pages[page].put(offset, FLAG_USED);
+                continue;
+            }
+            return address(page, offset);
+        }
+        return NO_ADDRESS;
+    }
+
+    ByteBuffer buffer(long address) {
+        return pages[page(address)];
+    }
+
+    static int offset(long address) {
+        return (int) address;
+    }
+
+    /**
+     * releases all allocated chunks keeping pages
+     */
+    void clear() {
+        for (int i = 0; i < chunkSizes.length; i++) {
+            freeCounts[i] = 0;
+            clockPages[i] = 0;
+            clockChunks[i] = 0;
+            for (Integer page : classPages.get(i)) {
+                splitPage(page, i);
+            }
+        }
+    }
+
+    void close() {
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = null;
+        }
+        if(mappedChannel!=null) {
+            try {
+                mappedChannel.close();
+                mappedFile.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private boolean assignPage(int sizeClass) {
+        if(assignedPages==pages.length) {
+            return false;
+        }
+        int page = assignedPages++;
+        pages[page] = createPage(page);
+        pageClasses[page] = sizeClass;
+        classPages.get(sizeClass).add(page);
+        int chunksPerPage = pageSize/chunkSizes[sizeClass];
+        int capacity = chunksPerPage*classPages.get(sizeClass).size();
+        long[] free = freeChunks[sizeClass];
+        if(free==null || free.length<capacity) {
+            long[] grown = new long[capacity];
+            if(free!=null) {
+                System.arraycopy(free, 0, grown, 0, freeCounts[sizeClass]);
+            }
+            freeChunks[sizeClass] = grown;
+        }
+        splitPage(page, sizeClass);
+        return true;
+    }
+
+    private void splitPage(int page, int sizeClass) {
+        int chunkSize = chunkSizes[sizeClass];
+        // reverse order to allocate from page start
+        for (int offset = (pageSize/chunkSize-1)*chunkSize; offset >= 0; offset -= chunkSize) {
+            pages[page].put(offset, (byte) 0);
+            freeChunks[sizeClass][freeCounts[sizeClass]++] = address(page, offset);
+        }
+    }
+
+    private ByteBuffer createPage(int page) {
+        if(mappedChannel==null) {
+            return ByteBuffer.allocateDirect(pageSize);
+        }
+        try {
+            return mappedChannel.map(FileChannel.MapMode.READ_WRITE, (long) page*pageSize, pageSize);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't map off-heap page "+page, e);
+        }
+    }
+
+    private static int page(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static long address(int page, int offset) {
+        return ((long) page << 32) | offset;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Off-heap near cache tier storing serialized entries in direct or memory-mapped buffers.
+ * Enabled per cache with {@link ru.infon.jcache.core.StoredCacheConfiguration}.
+ */
+package ru.infon.jcache.core.offheap;
@@ -0,0 +1,75 @@
+package ru.infon.jcache.core.processor;
+
+import java.io.Serializable;
+
+/**
+ * Update of one field of cache value: operator, dot separated field path
+ * (null for value itself) and operand.
+ *
+ * 18.10.2026
+ */
+public final class FieldUpdate implements Serializable {
+
+    private static final long serialVersionUID = 2473980417652301457L;
+
+    public enum Operator {
+        /** adds number operand */
+        INCREMENT,
+        SET,
+        /** appends operand to list */
+        APPEND,
+        /** replaces with operand if operand is less */
+        MIN,
+        /** replaces with operand if operand is greater */
+        MAX
+    }
+
+    private final Operator operator;
+    private final String field;
+    private final Object operand;
+
+    public FieldUpdate(Operator operator, String field, Object operand) {
+        if(operator==null) {
+            throw new NullPointerException("operator can't be null");
+        }
+        if(operand==null) {
+            throw new NullPointerException("operand can't be null");
+        }
+        if(operator==Operator.INCREMENT && !(operand instanceof Number)) {
+            throw new IllegalArgumentException("increment operand must be number: "+operand);
+        }
+        if((operator==Operator.MIN || operator==Operator.MAX) && !(operand instanceof Comparable)) {
+            throw new IllegalArgumentException("min/max operand must be comparable: "+operand);
+        }
+        if(field!=null && field.isEmpty()) {
+            throw new IllegalArgumentException("field path can't be empty");
+        }
+        this.operator = operator;
+        this.field = field;
+        this.operand = operand;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * @return dot separated field path, null - value itself
+     */
+    public String getField() {
+        return field;
+    }
+
+    public Object getOperand() {
+        return operand;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldUpdate{" +
+                "operator=" + operator +
+                ", field='" + field + '\'' +
+                ", operand=" + operand +
+                '}';
+    }
+}
@@ -0,0 +1,161 @@
+package ru.infon.jcache.core.processor;
+
+import javax.cache.processor.EntryProcessor;
+import javax.cache.processor.EntryProcessorException;
+import javax.cache.processor.MutableEntry;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry processor applying {@link FieldUpdate} and returning new field value.
+ * {@link ru.infon.jcache.core.StoredCache#invoke} passes update of stored entry to storage
+ * if storage supports field updates; otherwise processor is executed in JVM, resolving
+ * field path through maps and object fields. Update of value itself creates absent entry,
+ * update of field of absent entry is skipped and returns null.
+ *
+ * 18.10.2026
+ */
+public class FieldUpdateProcessor<K,V> implements EntryProcessor<K,V,Object>, Serializable {
+
+    private static final long serialVersionUID = -3127809644128316055L;
+
+    private final FieldUpdate update;
+
+    public FieldUpdateProcessor(FieldUpdate update) {
+        this.update = update;
+    }
+
+    public static <K,V> FieldUpdateProcessor<K,V> increment(String field, Number delta) {
+        return new FieldUpdateProcessor<>(new FieldUpdate(FieldUpdate.Operator.INCREMENT, field, delta));
+    }
+
+    public static <K,V> FieldUpdateProcessor<K,V> set(String field, Object value) {
+        return new FieldUpdateProcessor<>(new FieldUpdate(FieldUpdate.Operator.SET, field, value));
+    }
+
+    public static <K,V> FieldUpdateProcessor<K,V> append(String field, Object element) {
+        return new FieldUpdateProcessor<>(new FieldUpdate(FieldUpdate.Operator.APPEND, field, element));
+    }
+
+    public static <K,V> FieldUpdateProcessor<K,V> min(String field, Comparable<?> value) {
+        return new FieldUpdateProcessor<>(new FieldUpdate(FieldUpdate.Operator.MIN, field, value));
+    }
+
+    public static <K,V> FieldUpdateProcessor<K,V> max(String field, Comparable<?> value) {
+        return new FieldUpdateProcessor<>(new FieldUpdate(FieldUpdate.Operator.MAX, field, value));
+    }
+
+    public FieldUpdate getUpdate() {
+        return update;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object process(MutableEntry<K, V> entry, Object... arguments) throws EntryProcessorException {
+        V value = entry.getValue();
+        if(update.getField()==null) {
+            Object result = apply(value);
+            entry.setValue((V) result);
+            return result;
+        }
+        if(value==null) {
+            return null;
+        }
+        String[] path = update.getField().split("\\.");
+        Object target = value;
+        for (int i = 0; i < path.length-1; i++) {
+            target = read(target, path[i]);
+            if(target==null) {
+                throw new EntryProcessorException("field path not found: "+update.getField());
+            }
+        }
+        String name = path[path.length-1];
+        Object result = apply(read(target, name));
+        write(target, name, result);
+        entry.setValue(value);
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object apply(Object current) {
+        Object operand = update.getOperand();
+        if(current==null && update.getOperator()!=FieldUpdate.Operator.APPEND) {
+            return operand;
+        }
+        switch (update.getOperator()) {
+            case INCREMENT:
+                return add((Number) current, (Number) operand);
+            case SET:
+                return operand;
+            case APPEND:
+                List<Object> list = current==null ? new ArrayList<>() : new ArrayList<>((Collection<?>) current);
+                list.add(operand);
+                return list;
+            case MIN:
+                return ((Comparable) operand).compareTo(current)<0 ? operand : current;
+            case MAX:
+                return ((Comparable) operand).compareTo(current)>0 ? operand : current;
+            default:
+                throw new IllegalStateException("unknown operator: "+update.getOperator());
+        }
+    }
+
+    /**
+     * @return sum of numbers typed as current number
+     */
+    private static Number add(Number current, Number delta) {
+        if(current instanceof Integer) {
+            return current.intValue()+delta.intValue();
+        }
+        if(current instanceof Long) {
+            return current.longValue()+delta.longValue();
+        }
+        if(current instanceof Float) {
+            return current.floatValue()+delta.floatValue();
+        }
+        return current.doubleValue()+delta.doubleValue();
+    }
+
+    private static Object read(Object target, String name) {
+        if(target instanceof Map) {
+            return ((Map<?,?>) target).get(name);
+        }
+        try {
+            return field(target, name).get(target);
+        } catch (IllegalAccessException e) {
+            throw new EntryProcessorException("field can't be read: "+name, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void write(Object target, String name, Object value) {
+        if(target instanceof Map) {
+            ((Map<String,Object>) target).put(name, value);
+            return;
+        }
+        try {
+            field(target, name).set(target, value);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            throw new EntryProcessorException("field can't be written: "+name, e);
+        }
+    }
+
+    private static Field field(Object target, String name) {
+        for (Class<?> type = target.getClass(); type!=null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                // declared by superclass
+            }
+        }
+        throw new EntryProcessorException(String.format(
+                "field %s not found in %s", name, target.getClass().getName()
+        ));
+    }
+}
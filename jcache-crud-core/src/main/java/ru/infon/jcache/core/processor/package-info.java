@@ -0,0 +1,5 @@
+/**
+ * Built-in entry processors updating one field of value, storages supporting it
+ * apply them in place without value transfer.
+ */
+package ru.infon.jcache.core.processor;
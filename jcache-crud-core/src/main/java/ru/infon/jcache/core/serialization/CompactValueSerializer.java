@@ -0,0 +1,151 @@
+package ru.infon.jcache.core.serialization;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * {@link ValueSerializer} writing one type tag byte followed by compact form of
+ * strings, numbers, booleans and byte arrays. Other types are written with
+ * java serialization.
+ *
+ * 18.10.2026
+ */
+public class CompactValueSerializer<T> implements ValueSerializer<T> {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_INTEGER = 3;
+    private static final byte TYPE_BYTES = 4;
+    private static final byte TYPE_SERIALIZABLE = 5;
+    private static final byte TYPE_DOUBLE = 6;
+    private static final byte TYPE_BOOLEAN = 7;
+
+    @Override
+    public byte[] serialize(T value) throws IOException {
+        Object object = value;
+        if(object==null) {
+            return new byte[] {TYPE_NULL};
+        }
+        if(object instanceof String) {
+            return tagged(TYPE_STRING, ((String) object).getBytes(UTF8));
+        }
+        if(object instanceof Long) {
+            return tagged(TYPE_LONG, longBytes((Long) object));
+        }
+        if(object instanceof Integer) {
+            return tagged(TYPE_INTEGER, longBytes((Integer) object));
+        }
+        if(object instanceof Double) {
+            return tagged(TYPE_DOUBLE, longBytes(Double.doubleToRawLongBits((Double) object)));
+        }
+        if(object instanceof Boolean) {
+            return new byte[] {TYPE_BOOLEAN, (byte) ((Boolean) object ? 1 : 0)};
+        }
+        if(object instanceof byte[]) {
+            return tagged(TYPE_BYTES, (byte[]) object);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(TYPE_SERIALIZABLE);
+        JavaValueSerializer.write(bytes, object);
+        return bytes.toByteArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(byte[] data) throws IOException {
+        return (T) read(data);
+    }
+
+    /**
+     * Strings and numbers are decoded without copying buffer to array.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(ByteBuffer buffer) throws IOException {
+        if(!buffer.hasRemaining()) {
+            throw new StreamCorruptedException("empty serialized value");
+        }
+        switch (buffer.get(buffer.position())) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                buffer.get();
+                return (T) UTF8.decode(buffer).toString();
+            case TYPE_LONG:
+                return (T) Long.valueOf(readLong(buffer));
+            case TYPE_INTEGER:
+                return (T) Integer.valueOf((int) readLong(buffer));
+            case TYPE_DOUBLE:
+                return (T) Double.valueOf(Double.longBitsToDouble(readLong(buffer)));
+            default:
+                return ValueSerializer.super.deserialize(buffer);
+        }
+    }
+
+    private static Object read(byte[] data) throws IOException {
+        if(data.length==0) {
+            throw new StreamCorruptedException("empty serialized value");
+        }
+        switch (data[0]) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return new String(data, 1, data.length-1, UTF8);
+            case TYPE_LONG:
+                return readLong(data);
+            case TYPE_INTEGER:
+                return (int) readLong(data);
+            case TYPE_DOUBLE:
+                return Double.longBitsToDouble(readLong(data));
+            case TYPE_BOOLEAN:
+                return data[1]!=0;
+            case TYPE_BYTES:
+                byte[] result = new byte[data.length-1];
+                System.arraycopy(data, 1, result, 0, result.length);
+                return result;
+            case TYPE_SERIALIZABLE:
+                return JavaValueSerializer.read(data, 1);
+            default:
+                throw new StreamCorruptedException("unknown serialized value type: "+data[0]);
+        }
+    }
+
+    private static byte[] tagged(byte type, byte[] data) {
+        byte[] result = new byte[data.length+1];
+        result[0] = type;
+        System.arraycopy(data, 0, result, 1, data.length);
+        return result;
+    }
+
+    private static byte[] longBytes(long value) {
+        byte[] result = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            result[i] = (byte) value;
+            value >>>= 8;
+        }
+        return result;
+    }
+
+    private static long readLong(ByteBuffer buffer) throws StreamCorruptedException {
+        if(buffer.remaining()<9) {
+            throw new StreamCorruptedException("serialized number is truncated");
+        }
+        buffer.get();
+        return buffer.getLong();
+    }
+
+    private static long readLong(byte[] data) throws StreamCorruptedException {
+        if(data.length<9) {
+            throw new StreamCorruptedException("serialized number is truncated");
+        }
+        long value = 0;
+        for (int i = 1; i < 9; i++) {
+            value = (value << 8) | (data[i] & 0xff);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,169 @@
+package ru.infon.jcache.core.serialization;
+
+import ru.infon.jcache.core.management.CompressionMXBean;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ValueSerializer} decorator compressing serialized values not smaller than threshold.
+ * Value is prefixed with one flag byte; compressed value is followed by its original length
+ * and compressed bytes. Values not getting smaller are stored uncompressed.
+ *
+ * 18.10.2026
+ */
+public class CompressingValueSerializer<T> implements ValueSerializer<T>, CompressionMXBean {
+
+    private static final byte FLAG_RAW = 0;
+    private static final byte FLAG_COMPRESSED = 1;
+    private static final int HEADER_SIZE = 5;
+
+    private final ValueSerializer<T> serializer;
+    private final CompressionCodec codec;
+    private final int threshold;
+
+    private final AtomicLong compressedValues = new AtomicLong();
+    private final AtomicLong uncompressedValues = new AtomicLong();
+    private final AtomicLong decompressedValues = new AtomicLong();
+    private final AtomicLong originalBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong compressionNanos = new AtomicLong();
+    private final AtomicLong compressionAttempts = new AtomicLong();
+    private final AtomicLong decompressionNanos = new AtomicLong();
+
+    /**
+     * @param threshold - minimum serialized value size in bytes to be compressed
+     */
+    public CompressingValueSerializer(ValueSerializer<T> serializer, CompressionCodec codec, int threshold) {
+        if(threshold<0) {
+            throw new IllegalArgumentException("compression threshold can't be negative: "+threshold);
+        }
+        this.serializer = serializer;
+        this.codec = codec;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws IOException {
+        byte[] data = serializer.serialize(value);
+        if(data.length>=threshold) {
+            long start = System.nanoTime();
+            byte[] compressed = codec.compress(data);
+            compressionNanos.addAndGet(System.nanoTime()-start);
+            compressionAttempts.incrementAndGet();
+            if(compressed.length+HEADER_SIZE<data.length) {
+                compressedValues.incrementAndGet();
+                originalBytes.addAndGet(data.length);
+                compressedBytes.addAndGet(compressed.length+HEADER_SIZE);
+                byte[] result = new byte[compressed.length+HEADER_SIZE];
+                result[0] = FLAG_COMPRESSED;
+                result[1] = (byte) (data.length >>> 24);
+                result[2] = (byte) (data.length >>> 16);
+                result[3] = (byte) (data.length >>> 8);
+                result[4] = (byte) data.length;
+                System.arraycopy(compressed, 0, result, HEADER_SIZE, compressed.length);
+                return result;
+            }
+        }
+        uncompressedValues.incrementAndGet();
+        byte[] result = new byte[data.length+1];
+        result[0] = FLAG_RAW;
+        System.arraycopy(data, 0, result, 1, data.length);
+        return result;
+    }
+
+    @Override
+    public T deserialize(byte[] data) throws IOException {
+        if(data.length==0) {
+            throw new StreamCorruptedException("empty compressed value");
+        }
+        if(data[0]==FLAG_RAW) {
+            byte[] raw = new byte[data.length-1];
+            System.arraycopy(data, 1, raw, 0, raw.length);
+            return serializer.deserialize(raw);
+        }
+        if(data[0]!=FLAG_COMPRESSED || data.length<HEADER_SIZE) {
+            throw new StreamCorruptedException("unknown compressed value format: "+data[0]);
+        }
+        int originalLength = (data[1] & 0xff) << 24 | (data[2] & 0xff) << 16
+                | (data[3] & 0xff) << 8 | (data[4] & 0xff);
+        long start = System.nanoTime();
+        byte[] raw = codec.decompress(data, HEADER_SIZE, originalLength);
+        decompressionNanos.addAndGet(System.nanoTime()-start);
+        decompressedValues.incrementAndGet();
+        return serializer.deserialize(raw);
+    }
+
+    /*===========================================[ MANAGEMENT ]==============*/
+
+    @Override
+    public long getCompressedValues() {
+        return compressedValues.get();
+    }
+
+    @Override
+    public long getUncompressedValues() {
+        return uncompressedValues.get();
+    }
+
+    @Override
+    public long getDecompressedValues() {
+        return decompressedValues.get();
+    }
+
+    @Override
+    public double getCompressionRatio() {
+        long compressed = compressedBytes.get();
+        if(compressed==0) {
+            return 0;
+        }
+        return (double) originalBytes.get()/compressed;
+    }
+
+    @Override
+    public long getSavedBytes() {
+        return originalBytes.get()-compressedBytes.get();
+    }
+
+    @Override
+    public long getCompressionTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(compressionNanos.get());
+    }
+
+    @Override
+    public long getDecompressionTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(decompressionNanos.get());
+    }
+
+    @Override
+    public double getAverageCompressionTimeMicros() {
+        long attempts = compressionAttempts.get();
+        if(attempts==0) {
+            return 0;
+        }
+        return compressionNanos.get()/1000.0/attempts;
+    }
+
+    @Override
+    public double getAverageDecompressionTimeMicros() {
+        long values = decompressedValues.get();
+        if(values==0) {
+            return 0;
+        }
+        return decompressionNanos.get()/1000.0/values;
+    }
+
+    @Override
+    public void clear() {
+        compressedValues.set(0);
+        uncompressedValues.set(0);
+        decompressedValues.set(0);
+        originalBytes.set(0);
+        compressedBytes.set(0);
+        compressionNanos.set(0);
+        compressionAttempts.set(0);
+        decompressionNanos.set(0);
+    }
+}
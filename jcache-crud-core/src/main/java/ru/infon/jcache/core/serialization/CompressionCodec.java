@@ -0,0 +1,20 @@
+package ru.infon.jcache.core.serialization;
+
+import java.io.IOException;
+
+/**
+ * Compression algorithm of serialized values, see {@link CompressingValueSerializer}.
+ * Implementations must be thread safe.
+ *
+ * 18.10.2026
+ */
+public interface CompressionCodec {
+
+    byte[] compress(byte[] data) throws IOException;
+
+    /**
+     * @param data - buffer holding compressed bytes starting from offset up to its end
+     * @param originalLength - length of uncompressed data
+     */
+    byte[] decompress(byte[] data, int offset, int originalLength) throws IOException;
+}
@@ -0,0 +1,77 @@
+package ru.infon.jcache.core.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link CompressionCodec} using Deflate of {@link java.util.zip}.
+ *
+ * 18.10.2026
+ */
+public class DeflateCompressionCodec implements CompressionCodec {
+
+    private final int level;
+
+    public DeflateCompressionCodec() {
+        this(Deflater.BEST_SPEED);
+    }
+
+    /**
+     * @param level - deflate compression level, 0-9
+     */
+    public DeflateCompressionCodec(int level) {
+        if(level<Deflater.NO_COMPRESSION || level>Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("deflate level must be in [0..9]: "+level);
+        }
+        this.level = level;
+    }
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length/2+16);
+            byte[] buffer = new byte[Math.min(data.length+16, 8192)];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public byte[] decompress(byte[] data, int offset, int originalLength) throws IOException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, offset, data.length-offset);
+            byte[] result = new byte[originalLength];
+            int length = 0;
+            while (length<originalLength) {
+                int inflated = inflater.inflate(result, length, originalLength-length);
+                if(inflated==0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if(length!=originalLength) {
+                throw new StreamCorruptedException(String.format(
+                        "inflated %d bytes instead of %d", length, originalLength
+                ));
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new StreamCorruptedException("malformed deflate data: "+e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.infon.jcache.core.serialization;
+
+import java.io.*;
+
+/**
+ * {@link ValueSerializer} using java serialization, values must be {@link Serializable}.
+ *
+ * 18.10.2026
+ */
+public class JavaValueSerializer<T> implements ValueSerializer<T> {
+
+    @Override
+    public byte[] serialize(T value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        write(bytes, value);
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public T deserialize(byte[] data) throws IOException {
+        return read(data, 0);
+    }
+
+    static void write(OutputStream target, Object value) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(target)) {
+            out.writeObject(value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T read(byte[] data, int offset) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(data, offset, data.length-offset)
+        )) {
+            return (T) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+    }
+}
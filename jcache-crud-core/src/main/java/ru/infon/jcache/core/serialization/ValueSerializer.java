@@ -0,0 +1,32 @@
+package ru.infon.jcache.core.serialization;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts cache values to opaque binary form. Storage backends supporting it store
+ * serialized value as single binary field instead of mapping value type.
+ * Implementations must be thread safe.
+ *
+ * 18.10.2026
+ */
+public interface ValueSerializer<T> {
+
+    /**
+     * @return serialized form of value, never null
+     * @throws java.io.NotSerializableException if value can't be serialized
+     */
+    byte[] serialize(T value) throws IOException;
+
+    T deserialize(byte[] data) throws IOException;
+
+    /**
+     * Deserializes value from remaining bytes of buffer, e.g. straight from memory-mapped file.
+     * Buffer position is undefined after call. Default implementation copies bytes to array.
+     */
+    default T deserialize(ByteBuffer buffer) throws IOException {
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return deserialize(data);
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Binary serialization of cache values shared by storage backends and off-heap tier.
+ * Configured per cache with {@link ru.infon.jcache.core.StoredCacheConfiguration}.
+ */
+package ru.infon.jcache.core.serialization;
@@ -0,0 +1,137 @@
+package ru.infon.jcache.core.shard;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * Consistent hash ring of named nodes. Every node is placed on the ring at
+ * {@link #getVirtualNodes()} points hashed from its name, key belongs to the first
+ * point clockwise of key hash. Points depend on node names only, so adding N-th node
+ * moves about 1/N of keys and all of them to the new node.
+ * <p>
+ * Key hash is computed from its stable form, same in every JVM: numbers are hashed by
+ * long value and other keys by string form, like keys are stored in Mongo documents.
+ * Ring is replaced on node changes, so lookups don't lock.
+ * </p>
+ *
+ * 18.10.2026
+ */
+public class ConsistentHashRing<N> {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final int virtualNodes;
+    private volatile NavigableMap<Long,N> ring = new TreeMap<>();
+    private final Map<String,N> nodes = new LinkedHashMap<>();
+
+    public ConsistentHashRing() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ConsistentHashRing(int virtualNodes) {
+        if(virtualNodes<=0) {
+            throw new IllegalArgumentException("virtual nodes count must be positive: "+virtualNodes);
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public synchronized void add(String name, N node) {
+        if(nodes.containsKey(name)) {
+            throw new IllegalArgumentException("node already added: "+name);
+        }
+        nodes.put(name, node);
+        NavigableMap<Long,N> ring = new TreeMap<>(this.ring);
+        for (int i = 0; i < virtualNodes; i++) {
+            // collisions are resolved by first added node
+            Long point = hash((name+"#"+i).getBytes(UTF8));
+            if(!ring.containsKey(point)) {
+                ring.put(point, node);
+            }
+        }
+        this.ring = ring;
+    }
+
+    public synchronized void remove(String name) {
+        N node = nodes.remove(name);
+        if(node==null) {
+            return;
+        }
+        NavigableMap<Long,N> ring = new TreeMap<>(this.ring);
+        ring.values().removeIf(value -> value==node);
+        // restore points of other nodes collided with removed one
+        for (Map.Entry<String, N> entry : nodes.entrySet()) {
+            for (int i = 0; i < virtualNodes; i++) {
+                Long point = hash((entry.getKey()+"#"+i).getBytes(UTF8));
+                if(!ring.containsKey(point)) {
+                    ring.put(point, entry.getValue());
+                }
+            }
+        }
+        this.ring = ring;
+    }
+
+    public synchronized Collection<N> getNodes() {
+        return new ArrayList<>(nodes.values());
+    }
+
+    /**
+     * @return node owning key
+     * @throws IllegalStateException if ring is empty
+     */
+    public N get(Object key) {
+        NavigableMap<Long,N> ring = this.ring;
+        if(ring.isEmpty()) {
+            throw new IllegalStateException("hash ring has no nodes");
+        }
+        Map.Entry<Long,N> entry = ring.ceilingEntry(hash(key));
+        if(entry==null) {
+            entry = ring.firstEntry();
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * @return hash of stable form of key, tagged so number and its string form differ
+     */
+    static long hash(Object key) {
+        byte[] data;
+        if(key instanceof Number) {
+            data = ByteBuffer.allocate(9).put((byte) 1).putLong(((Number) key).longValue()).array();
+        } else {
+            byte[] string = key.toString().getBytes(UTF8);
+            data = ByteBuffer.allocate(string.length+1).put((byte) 2).put(string).array();
+        }
+        return hash(data);
+    }
+
+    /**
+     * FNV-1a hash with final avalanche
+     */
+    private static long hash(byte[] data) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
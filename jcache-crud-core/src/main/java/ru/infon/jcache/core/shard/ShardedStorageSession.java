@@ -0,0 +1,318 @@
+package ru.infon.jcache.core.shard;
+
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.processor.FieldUpdate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+
+/**
+ * Storage session routing every key to one of shard sessions with {@link ConsistentHashRing}.
+ * Multi-key operations are split by shard and shards are called in parallel;
+ * operations on all entries are sent to every shard.
+ *
+ * 18.10.2026
+ */
+public class ShardedStorageSession<K,V> extends CacheStorageSession<K,V> {
+
+    private final ConsistentHashRing<CacheStorageSession<K,V>> ring;
+    private final List<CacheStorageSession<K,V>> shards;
+    private final ExecutorService executor;
+
+    /**
+     * @param name - cache name, used as shard threads name
+     * @param shards - shard name -> shard session, names define keys placement
+     * @param virtualNodes - ring points of every shard
+     */
+    public ShardedStorageSession(
+            String name, Map<String,? extends CacheStorageSession<K,V>> shards, int virtualNodes
+    ) {
+        super(
+                first(shards).getCacheStorage(),
+                first(shards).getEntryFactory().getKeyType(),
+                first(shards).getEntryFactory().getValueType()
+        );
+        this.ring = new ConsistentHashRing<>(virtualNodes);
+        for (Map.Entry<String, ? extends CacheStorageSession<K, V>> shard : shards.entrySet()) {
+            ring.add(shard.getKey(), shard.getValue());
+        }
+        this.shards = new ArrayList<>(shards.values());
+        final String threadName = "jcache-shard-"+name;
+        this.executor = Executors.newFixedThreadPool(shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static <S> S first(Map<String,? extends S> shards) {
+        if(shards.isEmpty()) {
+            throw new IllegalArgumentException("no shards");
+        }
+        return shards.values().iterator().next();
+    }
+
+    private CacheStorageSession<K,V> shard(K key) {
+        return ring.get(key);
+    }
+
+    /*===========================================[ SPLIT ]==============*/
+
+    private Map<CacheStorageSession<K,V>,Set<K>> splitKeys(Set<? extends K> keys) {
+        Map<CacheStorageSession<K,V>,Set<K>> parts = new LinkedHashMap<>();
+        for (K key : keys) {
+            parts.computeIfAbsent(shard(key), shard -> new HashSet<>()).add(key);
+        }
+        return parts;
+    }
+
+    private Map<CacheStorageSession<K,V>,List<StorableEntry<K,V>>> splitEntries(
+            Collection<StorableEntry<K,V>> entries
+    ) {
+        Map<CacheStorageSession<K,V>,List<StorableEntry<K,V>>> parts = new LinkedHashMap<>();
+        for (StorableEntry<K, V> entry : entries) {
+            parts.computeIfAbsent(shard(entry.getKey()), shard -> new ArrayList<>()).add(entry);
+        }
+        return parts;
+    }
+
+    private Map<CacheStorageSession<K,V>,Void> allShards() {
+        Map<CacheStorageSession<K,V>,Void> parts = new LinkedHashMap<>();
+        for (CacheStorageSession<K, V> shard : shards) {
+            parts.put(shard, null);
+        }
+        return parts;
+    }
+
+    /**
+     * Calls operation for every shard part, parts but the first one run in executor.
+     * @return operation results
+     */
+    private <A,R> List<R> parallel(
+            Map<CacheStorageSession<K,V>,A> parts,
+            BiFunction<CacheStorageSession<K,V>,A,R> operation
+    ) {
+        List<R> results = new ArrayList<>(parts.size());
+        if(parts.isEmpty()) {
+            return results;
+        }
+        Iterator<Map.Entry<CacheStorageSession<K,V>,A>> iterator = parts.entrySet().iterator();
+        Map.Entry<CacheStorageSession<K,V>,A> local = iterator.next();
+        List<CompletableFuture<R>> futures = new ArrayList<>(parts.size()-1);
+        while (iterator.hasNext()) {
+            Map.Entry<CacheStorageSession<K,V>,A> part = iterator.next();
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> operation.apply(part.getKey(), part.getValue()), executor
+            ));
+        }
+        RuntimeException failure = null;
+        try {
+            results.add(operation.apply(local.getKey(), local.getValue()));
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        // every shard call is completed before returning
+        for (CompletableFuture<R> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if(failure==null) {
+                    failure = e.getCause() instanceof RuntimeException
+                            ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        }
+        if(failure!=null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    private static <T> Collection<T> concat(List<? extends Collection<T>> parts) {
+        List<T> result = new ArrayList<>();
+        for (Collection<T> part : parts) {
+            result.addAll(part);
+        }
+        return result;
+    }
+
+    /*===========================================[ READS ]==============*/
+
+    @Override
+    public boolean containsKey(K key) {
+        return shard(key).containsKey(key);
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        return shard(key).get(key);
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        return concat(parallel(splitKeys(keys), CacheStorageSession::getAll));
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        return concat(parallel(allShards(), (shard, none) -> shard.getAll()));
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        List<Collection<K>> parts = parallel(allShards(), (shard, none) -> {
+            List<K> keys = new ArrayList<>();
+            for (K key : shard.keys()) {
+                keys.add(key);
+            }
+            return keys;
+        });
+        return concat(parts);
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(final int batchSize) {
+        final Iterator<CacheStorageSession<K,V>> shardIterator = shards.iterator();
+        return new Iterator<StorableEntry<K, V>>() {
+            private Iterator<StorableEntry<K,V>> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && shardIterator.hasNext()) {
+                    current = shardIterator.next().iterator(batchSize);
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public StorableEntry<K, V> next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /*===========================================[ WRITES ]==============*/
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        shard(entry.getKey()).put(entry);
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        parallel(splitEntries(entries), (shard, part) -> {
+            shard.putAll(part);
+            return null;
+        });
+    }
+
+    @Override
+    public void writeBatch(Collection<StorableEntry<K, V>> entries, Set<? extends K> removedKeys) {
+        Map<CacheStorageSession<K,V>,List<StorableEntry<K,V>>> written = splitEntries(entries);
+        Map<CacheStorageSession<K,V>,Set<K>> removed = splitKeys(removedKeys);
+        Map<CacheStorageSession<K,V>,Void> parts = new LinkedHashMap<>();
+        for (CacheStorageSession<K, V> shard : written.keySet()) {
+            parts.put(shard, null);
+        }
+        for (CacheStorageSession<K, V> shard : removed.keySet()) {
+            parts.put(shard, null);
+        }
+        parallel(parts, (shard, none) -> {
+            List<StorableEntry<K,V>> shardEntries = written.get(shard);
+            Set<K> shardKeys = removed.get(shard);
+            shard.writeBatch(
+                    shardEntries==null?Collections.<StorableEntry<K,V>>emptyList():shardEntries,
+                    shardKeys==null?Collections.<K>emptySet():shardKeys
+            );
+            return null;
+        });
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        return shard(entry.getKey()).update(entry);
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        shard(entry.getKey()).updateExpireTime(entry);
+    }
+
+    @Override
+    public void updateExpireTimes(Collection<StorableEntry<K, V>> entries) {
+        parallel(splitEntries(entries), (shard, part) -> {
+            shard.updateExpireTimes(part);
+            return null;
+        });
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        return concat(parallel(splitKeys(keys), (shard, part) -> shard.removeExpired(part, now)));
+    }
+
+    @Override
+    public boolean supportsFieldUpdates() {
+        for (CacheStorageSession<K, V> shard : shards) {
+            if(!shard.supportsFieldUpdates()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Object applyFieldUpdate(K key, FieldUpdate update, Long expireTimestamp) {
+        return shard(key).applyFieldUpdate(key, update, expireTimestamp);
+    }
+
+    @Override
+    public boolean remove(K key) {
+        return shard(key).remove(key);
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        parallel(splitKeys(keys), (shard, part) -> {
+            shard.removeAll(part);
+            return null;
+        });
+    }
+
+    @Override
+    public void removeAll() {
+        parallel(allShards(), (shard, none) -> {
+            shard.removeAll();
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        RuntimeException failure = null;
+        for (CacheStorageSession<K, V> shard : shards) {
+            try {
+                shard.close();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if(failure!=null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return shards.get(0).isClosed();
+    }
+}
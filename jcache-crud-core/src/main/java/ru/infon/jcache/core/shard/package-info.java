@@ -0,0 +1,4 @@
+/**
+ * Client-side sharding of one cache across several storage sessions by consistent hashing of keys.
+ */
+package ru.infon.jcache.core.shard;
@@ -0,0 +1,498 @@
+package ru.infon.jcache.core.writebehind;
+
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.management.WriteBehindMXBean;
+import ru.infon.jcache.core.processor.FieldUpdate;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Storage session decorator queueing writes and flushing them to storage in batches.
+ * Repeated writes of the same key are coalesced, so only the last mutation of a key
+ * is written. Queue is flushed with {@link CacheStorageSession#writeBatch} when it reaches
+ * batch size or when the oldest mutation is older than linger time. Reads see queued
+ * and being flushed mutations. Mutations of failed flush are queued again, unless
+ * key was written after it, and dropped after {@link #MAX_FLUSH_ATTEMPTS} failed flushes.
+ * After failed flush queue is not flushed automatically for backoff time, doubled by every
+ * consecutive failure. Queue reaching {@link #MAX_PENDING_BATCHES} batches is flushed by
+ * writer thread, or rejects writes of new keys while storage is failing.
+ *
+ * 18.10.2026
+ */
+public class WriteBehindStorageSession<K,V> extends CacheStorageSession<K,V> implements WriteBehindMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger("javax.cache");
+
+    public static final int MAX_PENDING_BATCHES = 16;
+    public static final int MAX_FLUSH_ATTEMPTS = 5;
+    // backoff grows up to 32 linger times
+    private static final int MAX_BACKOFF_SHIFT = 5;
+
+    private final CacheStorageSession<K,V> storage;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    // serializes flushes and removal of all entries
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    // key -> last written entry, null value is pending removal
+    private Map<K,StorableEntry<K,V>> pending = new LinkedHashMap<>();
+    private Map<K,StorableEntry<K,V>> flushing = Collections.emptyMap();
+    private long pendingSince;
+    private boolean closed;
+    // key -> failed flushes of its pending mutation
+    private final Map<K,Integer> failedAttempts = new HashMap<>();
+    private int consecutiveFailures;
+    private long retryAfter;
+
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedMutations = new AtomicLong();
+    private final AtomicLong coalescedMutations = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong droppedMutations = new AtomicLong();
+    private final AtomicLong rejectedMutations = new AtomicLong();
+    private volatile long lastFlushDuration;
+
+    /**
+     * @param name - cache name, used as flusher thread name
+     * @param batchSize - number of pending keys triggering flush
+     * @param lingerMillis - maximum time mutation is kept in queue
+     */
+    public WriteBehindStorageSession(
+            String name, CacheStorageSession<K,V> storage,
+            int batchSize, long lingerMillis
+    ) {
+        super(
+                storage.getCacheStorage(),
+                storage.getEntryFactory().getKeyType(),
+                storage.getEntryFactory().getValueType()
+        );
+        if(batchSize<=0) {
+            throw new IllegalArgumentException("write-behind batch size must be positive: "+batchSize);
+        }
+        if(lingerMillis<=0) {
+            throw new IllegalArgumentException("write-behind linger time must be positive: "+lingerMillis);
+        }
+        this.storage = storage;
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        final String threadName = "jcache-write-behind-"+name;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, lingerMillis/2);
+        flusher.scheduleWithFixedDelay(this::flushLingered, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /*===========================================[ QUEUE ]==============*/
+
+    private void enqueue(K key, StorableEntry<K,V> entry) {
+        int maxSize = batchSize*MAX_PENDING_BATCHES;
+        int size;
+        boolean backingOff;
+        synchronized (lock) {
+            if(closed) {
+                throw new IllegalStateException("session is closed!");
+            }
+            backingOff = isBackingOff();
+            if(backingOff && pending.size()>=maxSize && !pending.containsKey(key)) {
+                // storage is failing, writer is not blocked by flush bound to fail
+                rejectedMutations.incrementAndGet();
+                throw new IllegalStateException(String.format(
+                        "write-behind queue of %d mutations is full, storage is failing", pending.size()
+                ));
+            }
+            if(pending.isEmpty()) {
+                pendingSince = System.currentTimeMillis();
+            }
+            if(pending.containsKey(key)) {
+                coalescedMutations.incrementAndGet();
+            }
+            pending.put(key, entry);
+            failedAttempts.remove(key);
+            size = pending.size();
+        }
+        if(backingOff) {
+            return;
+        }
+        if(size>=maxSize) {
+            // storage can't keep up, writer pays for flush
+            flush();
+        } else if(size>=batchSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * @return true if key has pending or being flushed mutation
+     */
+    private boolean isQueued(K key) {
+        synchronized (lock) {
+            return pending.containsKey(key) || flushing.containsKey(key);
+        }
+    }
+
+    /**
+     * @return queued entry of key, null if key is not queued or queued for removal
+     */
+    private StorableEntry<K,V> queued(K key) {
+        synchronized (lock) {
+            if(pending.containsKey(key)) {
+                return pending.get(key);
+            }
+            return flushing.get(key);
+        }
+    }
+
+    /**
+     * @return true if last flush failed and its backoff time is not over, guarded by lock
+     */
+    private boolean isBackingOff() {
+        return consecutiveFailures>0 && System.currentTimeMillis()<retryAfter;
+    }
+
+    private void flushLingered() {
+        long since;
+        synchronized (lock) {
+            if(pending.isEmpty() || isBackingOff()) {
+                return;
+            }
+            since = pendingSince;
+        }
+        if(System.currentTimeMillis()-since>=lingerMillis) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<K,StorableEntry<K,V>> batch;
+            long batchSince;
+            synchronized (lock) {
+                if(pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                batchSince = pendingSince;
+                flushing = batch;
+                pending = new LinkedHashMap<>();
+            }
+            List<StorableEntry<K,V>> entries = new ArrayList<>(batch.size());
+            Set<K> removedKeys = new HashSet<>();
+            for (Map.Entry<K, StorableEntry<K, V>> mutation : batch.entrySet()) {
+                if(mutation.getValue()==null) {
+                    removedKeys.add(mutation.getKey());
+                } else {
+                    entries.add(mutation.getValue());
+                }
+            }
+            long start = System.nanoTime();
+            try {
+                storage.writeBatch(entries, removedKeys);
+                flushCount.incrementAndGet();
+                flushedMutations.addAndGet(batch.size());
+                synchronized (lock) {
+                    consecutiveFailures = 0;
+                    failedAttempts.keySet().removeAll(batch.keySet());
+                }
+            } catch (RuntimeException e) {
+                flushFailures.incrementAndGet();
+                int dropped = requeue(batch, batchSince);
+                LOGGER.log(Level.WARNING, String.format(
+                        "write-behind flush of %d mutations failed; %d dropped after %d attempts, others queued again",
+                        batch.size(), dropped, MAX_FLUSH_ATTEMPTS
+                ), e);
+            } finally {
+                lastFlushDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime()-start);
+                synchronized (lock) {
+                    flushing = Collections.emptyMap();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return number of dropped mutations
+     */
+    private int requeue(Map<K,StorableEntry<K,V>> batch, long batchSince) {
+        int dropped = 0;
+        synchronized (lock) {
+            consecutiveFailures++;
+            retryAfter = System.currentTimeMillis()
+                    + (lingerMillis << Math.min(consecutiveFailures-1, MAX_BACKOFF_SHIFT));
+            if(pending.isEmpty()) {
+                pendingSince = batchSince;
+            } else {
+                pendingSince = Math.min(pendingSince, batchSince);
+            }
+            for (Map.Entry<K, StorableEntry<K, V>> mutation : batch.entrySet()) {
+                K key = mutation.getKey();
+                // mutations written during flush are newer
+                if(pending.containsKey(key)) {
+                    continue;
+                }
+                if(failedAttempts.merge(key, 1, Integer::sum)>=MAX_FLUSH_ATTEMPTS) {
+                    failedAttempts.remove(key);
+                    dropped++;
+                    continue;
+                }
+                pending.put(key, mutation.getValue());
+            }
+        }
+        droppedMutations.addAndGet(dropped);
+        return dropped;
+    }
+
+    /*===========================================[ READS ]==============*/
+
+    @Override
+    public boolean containsKey(K key) {
+        if(isQueued(key)) {
+            return queued(key)!=null;
+        }
+        return storage.containsKey(key);
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        synchronized (lock) {
+            if(pending.containsKey(key)) {
+                return pending.get(key);
+            }
+            if(flushing.containsKey(key)) {
+                return flushing.get(key);
+            }
+        }
+        return storage.get(key);
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        List<StorableEntry<K,V>> entries = new ArrayList<>(keys.size());
+        Set<K> storedKeys = new HashSet<>();
+        synchronized (lock) {
+            for (K key : keys) {
+                if(pending.containsKey(key)) {
+                    addQueued(entries, pending.get(key));
+                } else if(flushing.containsKey(key)) {
+                    addQueued(entries, flushing.get(key));
+                } else {
+                    storedKeys.add(key);
+                }
+            }
+        }
+        if(!storedKeys.isEmpty()) {
+            entries.addAll(storage.getAll(storedKeys));
+        }
+        return entries;
+    }
+
+    private static <K,V> void addQueued(List<StorableEntry<K,V>> entries, StorableEntry<K,V> entry) {
+        if(entry!=null) {
+            entries.add(entry);
+        }
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        flush();
+        return storage.getAll();
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        flush();
+        return storage.keys();
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        flush();
+        return storage.iterator(batchSize);
+    }
+
+    /*===========================================[ WRITES ]==============*/
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        enqueue(entry.getKey(), entry);
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        for (StorableEntry<K, V> entry : entries) {
+            enqueue(entry.getKey(), entry);
+        }
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        if(!containsKey(entry.getKey())) {
+            return false;
+        }
+        enqueue(entry.getKey(), entry);
+        return true;
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        K key = entry.getKey();
+        if(!isQueued(key)) {
+            storage.updateExpireTime(entry);
+            return;
+        }
+        StorableEntry<K,V> queued = queued(key);
+        if(queued==null) {
+            // key is queued for removal
+            return;
+        }
+        // queued entry may be being written by flush, it is replaced by copy, not changed
+        StorableEntry<K,V> updated = getEntryFactory().create(key, queued.getValue());
+        updated.setSaveDate(queued.getSaveDate());
+        updated.setExpireTimestamp(entry.getExpireTimestamp());
+        // entry of running flush may be already written
+        enqueue(key, updated);
+    }
+
+    @Override
+    public boolean supportsFieldUpdates() {
+        return storage.supportsFieldUpdates();
+    }
+
+    @Override
+    public Object applyFieldUpdate(K key, FieldUpdate update, Long expireTimestamp) {
+        if(isQueued(key)) {
+            // update must be applied to the last written value
+            flush();
+        }
+        return storage.applyFieldUpdate(key, update, expireTimestamp);
+    }
+
+    @Override
+    public boolean remove(K key) {
+        boolean result = containsKey(key);
+        enqueue(key, null);
+        return result;
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        for (K key : keys) {
+            enqueue(key, null);
+        }
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        // queued writes may change expire timestamps
+        flush();
+        return storage.removeExpired(keys, now);
+    }
+
+    @Override
+    public void removeAll() {
+        flushLock.lock();
+        try {
+            synchronized (lock) {
+                pending.clear();
+                failedAttempts.clear();
+            }
+            storage.removeAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flush();
+        } finally {
+            synchronized (lock) {
+                closed = true;
+            }
+            storage.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return storage.isClosed();
+    }
+
+    /*===========================================[ MANAGEMENT ]==============*/
+
+    @Override
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return pending.size()+flushing.size();
+        }
+    }
+
+    @Override
+    public long getFlushLagMillis() {
+        synchronized (lock) {
+            if(pending.isEmpty()) {
+                return 0;
+            }
+            return System.currentTimeMillis()-pendingSince;
+        }
+    }
+
+    @Override
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    @Override
+    public long getFlushedMutations() {
+        return flushedMutations.get();
+    }
+
+    @Override
+    public long getCoalescedMutations() {
+        return coalescedMutations.get();
+    }
+
+    @Override
+    public long getFlushFailures() {
+        return flushFailures.get();
+    }
+
+    @Override
+    public long getDroppedMutations() {
+        return droppedMutations.get();
+    }
+
+    @Override
+    public long getRejectedMutations() {
+        return rejectedMutations.get();
+    }
+
+    @Override
+    public long getLastFlushDurationMillis() {
+        return lastFlushDuration;
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Write-behind tier queueing and coalescing writes to
+ * {@link ru.infon.jcache.core.CacheStorageSession} and flushing them in batches.
+ * Enabled per cache with {@link ru.infon.jcache.core.StoredCacheConfiguration}.
+ */
+package ru.infon.jcache.core.writebehind;
@@ -0,0 +1,13 @@
+package ru.infon.jcache.core;
+
+/**
+ * Base of storage modules session tests, shared through test-jar of core.
+ *
+ * 18.10.2026
+ */
+public abstract class AbstractStorageSessionTest {
+
+    protected static <K,V> StorableEntry<K,V> entry(CacheStorageSession<K,V> session, K key, V value) {
+        return session.getEntryFactory().create(key, value);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.infon.jcache.core;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Cache level test of storage module registered as default caching provider,
+ * shared through test-jar of core.
+ *
+ * 18.10.2026
+ */
+public abstract class AbstractStoredCacheTest {
+
+    private CachingProvider provider;
+    private Cache<String,Long> cache;
+
+    @Before
+    public void setUp() throws IOException {
+        provider = Caching.getCachingProvider();
+        cache = getCacheManager(provider).createCache("stored-test", new StoredCacheConfiguration<String,Long>()
+                .setTypes(String.class, Long.class)
+        );
+    }
+
+    @After
+    public void tearDown() {
+        provider.close();
+    }
+
+    protected CacheManager getCacheManager(CachingProvider provider) throws IOException {
+        return provider.getCacheManager();
+    }
+
+    @Test
+    public void testCrud() {
+        Map<String,Long> values = new HashMap<>();
+        for (long i = 0; i < 1000; i++) {
+            values.put("key-"+i, i);
+        }
+        cache.putAll(values);
+        Assert.assertEquals(Long.valueOf(5), cache.get("key-5"));
+        Assert.assertEquals(2, cache.getAll(new HashSet<>(Arrays.asList("key-1", "key-2", "missing"))).size());
+
+        Assert.assertFalse(cache.putIfAbsent("key-5", 50L));
+        Assert.assertTrue(cache.replace("key-5", 55L));
+        Assert.assertEquals(Long.valueOf(55), cache.getAndRemove("key-5"));
+        Assert.assertNull(cache.get("key-5"));
+
+        cache.invokeAll(new HashSet<>(Arrays.asList("key-1", "key-2")), (entry, arguments) -> {
+            entry.setValue(entry.getValue()*10);
+            return null;
+        });
+        Assert.assertEquals(Long.valueOf(20), cache.get("key-2"));
+
+        int count = 0;
+        for (Cache.Entry<String, Long> ignored : cache) {
+            count++;
+        }
+        Assert.assertEquals(999, count);
+    }
+}
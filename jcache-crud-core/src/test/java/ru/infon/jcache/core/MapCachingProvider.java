@@ -0,0 +1,56 @@
+package ru.infon.jcache.core;
+
+import ru.infon.jcache.core.spi.StoredCachingProvider;
+
+import javax.cache.configuration.OptionalFeature;
+import java.net.URI;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caching provider over in-memory {@link MapStorageSession}, supports String keys and values only.
+ *
+ * 18.10.2026
+ */
+public class MapCachingProvider extends StoredCachingProvider {
+
+    private final Map<String,MapStorageSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * @return storage session of the last opened cache with given name
+     */
+    public MapStorageSession getSession(String cacheName) {
+        return sessions.get(cacheName);
+    }
+
+    @Override
+    public CacheStorage createStorageObject(URI uri, Properties properties) {
+        return new CacheStorage(uri, properties) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> CacheStorageSession<K, V> openSession(
+                    String cacheName, Class<K> keyType, Class<V> valueType
+            ) {
+                MapStorageSession session = new MapStorageSession();
+                sessions.put(cacheName, session);
+                return (CacheStorageSession<K, V>) session;
+            }
+
+            @Override
+            public boolean isFixedTypes() {
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public URI getDefaultURI() {
+        return URI.create("map://localhost/test");
+    }
+
+    @Override
+    public boolean isSupported(OptionalFeature optionalFeature) {
+        return false;
+    }
+}
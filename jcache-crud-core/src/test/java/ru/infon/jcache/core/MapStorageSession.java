@@ -0,0 +1,162 @@
+package ru.infon.jcache.core;
+
+import java.util.*;
+
+/**
+ * In-memory storage session for decorators tests.
+ *
+ * 18.10.2026
+ */
+public class MapStorageSession extends CacheStorageSession<String,String> {
+
+    private final Map<String,StorableEntry<String,String>> entries = new HashMap<>();
+    private int batches;
+    private int expireTimeUpdates;
+    private int iteratorLoads;
+
+    public MapStorageSession() {
+        super(null, String.class, String.class);
+    }
+
+    @Override
+    public synchronized void writeBatch(
+            Collection<StorableEntry<String, String>> written, Set<? extends String> removedKeys
+    ) {
+        batches++;
+        super.writeBatch(written, removedKeys);
+    }
+
+    @Override
+    public synchronized boolean containsKey(String key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public synchronized StorableEntry<String, String> get(String key) {
+        return copy(entries.get(key));
+    }
+
+    // stored entries are returned as copies, like ones read from real storage
+    private StorableEntry<String,String> copy(StorableEntry<String,String> entry) {
+        if(entry==null) {
+            return null;
+        }
+        StorableEntry<String,String> copy = getEntryFactory().create(entry.getKey(), entry.getValue());
+        copy.setSaveDate(entry.getSaveDate());
+        copy.setExpireTimestamp(entry.getExpireTimestamp());
+        return copy;
+    }
+
+    @Override
+    public synchronized Collection<StorableEntry<String, String>> getAll(Set<? extends String> keys) {
+        List<StorableEntry<String,String>> result = new ArrayList<>();
+        for (String key : keys) {
+            if(entries.containsKey(key)) {
+                result.add(copy(entries.get(key)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Collection<StorableEntry<String, String>> getAll() {
+        List<StorableEntry<String,String>> result = new ArrayList<>();
+        for (StorableEntry<String, String> entry : entries.values()) {
+            result.add(copy(entry));
+        }
+        return result;
+    }
+
+    // loads snapshot of keys, entries are read by batches on demand
+    @Override
+    public synchronized Iterator<StorableEntry<String, String>> iterator(final int batchSize) {
+        final List<String> keys = new ArrayList<>(entries.keySet());
+        return new Iterator<StorableEntry<String, String>>() {
+            private int position;
+            private Iterator<StorableEntry<String,String>> batch = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!batch.hasNext() && position<keys.size()) {
+                    List<String> batchKeys = keys.subList(position, Math.min(keys.size(), position+batchSize));
+                    position += batchKeys.size();
+                    synchronized (MapStorageSession.this) {
+                        iteratorLoads++;
+                    }
+                    batch = getAll(new LinkedHashSet<>(batchKeys)).iterator();
+                }
+                return batch.hasNext();
+            }
+
+            @Override
+            public StorableEntry<String, String> next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return batch.next();
+            }
+        };
+    }
+
+    @Override
+    public synchronized void put(StorableEntry<String, String> entry) {
+        entries.put(entry.getKey(), entry);
+    }
+
+    @Override
+    public synchronized void putAll(Collection<StorableEntry<String, String>> written) {
+        for (StorableEntry<String, String> entry : written) {
+            put(entry);
+        }
+    }
+
+    @Override
+    public synchronized boolean update(StorableEntry<String, String> entry) {
+        return entries.containsKey(entry.getKey()) && entries.put(entry.getKey(), entry)!=null;
+    }
+
+    @Override
+    public synchronized void updateExpireTime(StorableEntry<String, String> entry) {
+        expireTimeUpdates++;
+        StorableEntry<String,String> stored = entries.get(entry.getKey());
+        if(stored!=null) {
+            stored.setExpireTimestamp(entry.getExpireTimestamp());
+        }
+    }
+
+    @Override
+    public synchronized boolean remove(String key) {
+        return entries.remove(key)!=null;
+    }
+
+    @Override
+    public synchronized void removeAll(Set<? extends String> keys) {
+        entries.keySet().removeAll(keys);
+    }
+
+    @Override
+    public synchronized void removeAll() {
+        entries.clear();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    public synchronized int getBatches() {
+        return batches;
+    }
+
+    public synchronized int getExpireTimeUpdates() {
+        return expireTimeUpdates;
+    }
+
+    public synchronized int getIteratorLoads() {
+        return iteratorLoads;
+    }
+}
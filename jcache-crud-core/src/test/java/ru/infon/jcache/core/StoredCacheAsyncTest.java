@@ -0,0 +1,178 @@
+package ru.infon.jcache.core;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.cache.Cache;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 18.10.2026
+ */
+public class StoredCacheAsyncTest {
+
+    private static final long TIMEOUT = 5;
+
+    private MapCachingProvider provider;
+    private Cache<String,String> cache;
+    private AsyncCache<String,String> asyncCache;
+
+    @Before
+    public void setUp() {
+        provider = new MapCachingProvider();
+        cache = provider.getCacheManager().createCache("async", new StoredCacheConfiguration<String,String>()
+                .setExpiryTickMillis(0)
+                .setTypes(String.class, String.class)
+        );
+        asyncCache = cache.unwrap(AsyncCache.class);
+    }
+
+    @After
+    public void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    public void testPutGetRemove() throws Exception {
+        asyncCache.putAsync("key", "value").get(TIMEOUT, TimeUnit.SECONDS);
+        Assert.assertEquals("value", cache.get("key"));
+        Assert.assertEquals("value", asyncCache.getAsync("key").get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertNull(asyncCache.getAsync("absent").get(TIMEOUT, TimeUnit.SECONDS));
+
+        Assert.assertTrue(asyncCache.removeAsync("key").get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertFalse(asyncCache.removeAsync("key").get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertFalse(cache.containsKey("key"));
+    }
+
+    @Test
+    public void testGetAll() throws Exception {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        Map<String,String> values = asyncCache.getAllAsync(new HashSet<>(Arrays.asList("a", "b", "c")))
+                .get(TIMEOUT, TimeUnit.SECONDS);
+        Assert.assertEquals(2, values.size());
+        Assert.assertEquals("1", values.get("a"));
+        Assert.assertEquals("2", values.get("b"));
+    }
+
+    @Test
+    public void testInvokeCreatesAbsentEntry() throws Exception {
+        Boolean existed = asyncCache.<Boolean>invokeAsync("key", (entry, arguments) -> {
+            boolean exists = entry.exists();
+            entry.setValue("created");
+            return exists;
+        }).get(TIMEOUT, TimeUnit.SECONDS);
+        Assert.assertFalse(existed);
+        Assert.assertEquals("created", cache.get("key"));
+
+        String previous = asyncCache.<String>invokeAsync("key", (entry, arguments) -> {
+            String value = entry.getValue();
+            entry.setValue(value+"-updated");
+            return value;
+        }).get(TIMEOUT, TimeUnit.SECONDS);
+        Assert.assertEquals("created", previous);
+        Assert.assertEquals("created-updated", cache.get("key"));
+
+        asyncCache.invokeAsync("key", (entry, arguments) -> {
+            entry.remove();
+            return null;
+        }).get(TIMEOUT, TimeUnit.SECONDS);
+        Assert.assertFalse(cache.containsKey("key"));
+    }
+
+    @Test
+    public void testInvokeFailure() throws Exception {
+        cache.put("key", "value");
+        try {
+            asyncCache.invokeAsync("key", (entry, arguments) -> {
+                entry.setValue("changed");
+                throw new IllegalStateException("failed");
+            }).get(TIMEOUT, TimeUnit.SECONDS);
+            Assert.fail("processor exception expected");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause().getCause() instanceof IllegalStateException);
+        }
+        Assert.assertEquals("value", cache.get("key"));
+    }
+
+    @Test
+    public void testWritesWaitForKeyLock() throws Exception {
+        final CountDownLatch invoked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> invocation = asyncCache.invokeAsync("key", (entry, arguments) -> {
+            invoked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            entry.setValue("invoked");
+            return null;
+        });
+        Assert.assertTrue(invoked.await(TIMEOUT, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> put = asyncCache.putAsync("key", "put");
+        CompletableFuture<Boolean> remove = asyncCache.removeAsync("key");
+        Thread.sleep(100);
+        // processor holds the key lock
+        Assert.assertFalse(put.isDone());
+        Assert.assertFalse(remove.isDone());
+
+        release.countDown();
+        invocation.get(TIMEOUT, TimeUnit.SECONDS);
+        put.get(TIMEOUT, TimeUnit.SECONDS);
+        remove.get(TIMEOUT, TimeUnit.SECONDS);
+        Assert.assertNotEquals("invoked", cache.get("key"));
+    }
+
+    @Test
+    public void testSaturatedCallbackExecutorRejects() throws Exception {
+        StoredCacheManager manager = (StoredCacheManager) provider.getCacheManager();
+        Executor callbackExecutor = manager.getAsyncCallbackExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            int submitted = 0;
+            try {
+                while (submitted < 100000) {
+                    callbackExecutor.execute(blocked);
+                    submitted++;
+                }
+                Assert.fail("saturated callback executor must reject");
+            } catch (RejectedExecutionException e) {
+                // expected: continuation is not run by completing thread
+            }
+            final Thread caller = Thread.currentThread();
+            final Thread[] runner = new Thread[1];
+            manager.getAsyncExecutor().execute(() -> runner[0] = Thread.currentThread());
+            Assert.assertSame(caller, runner[0]);
+
+            CompletableFuture<String> continuation = CompletableFuture.completedFuture("value")
+                    .thenApplyAsync(value -> value, callbackExecutor);
+            try {
+                continuation.get(TIMEOUT, TimeUnit.SECONDS);
+                Assert.fail("continuation must fail when rejected");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+        } finally {
+            release.countDown();
+        }
+    }
+}
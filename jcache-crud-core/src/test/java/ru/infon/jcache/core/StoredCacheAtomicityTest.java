@@ -0,0 +1,143 @@
+package ru.infon.jcache.core;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.cache.Cache;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.ExpiryPolicy;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 18.10.2026
+ */
+public class StoredCacheAtomicityTest {
+
+    public static class UpdateExpiryPolicy implements ExpiryPolicy, Serializable {
+        @Override
+        public Duration getExpiryForCreation() {
+            return Duration.ETERNAL;
+        }
+
+        @Override
+        public Duration getExpiryForAccess() {
+            return null;
+        }
+
+        @Override
+        public Duration getExpiryForUpdate() {
+            return Duration.ONE_HOUR;
+        }
+    }
+
+    public static class RemovedListener implements CacheEntryRemovedListener<String,String>, Serializable {
+        static final List<CacheEntryEvent<? extends String, ? extends String>> EVENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onRemoved(Iterable<CacheEntryEvent<? extends String, ? extends String>> events) {
+            for (CacheEntryEvent<? extends String, ? extends String> event : events) {
+                EVENTS.add(event);
+            }
+        }
+    }
+
+    private MapCachingProvider provider;
+    private Cache<String,String> cache;
+    private MapStorageSession storage;
+
+    @Before
+    public void setUp() {
+        provider = new MapCachingProvider();
+        StoredCacheConfiguration<String,String> configuration = new StoredCacheConfiguration<String,String>()
+                .setExpiryTickMillis(0);
+        configuration.setTypes(String.class, String.class);
+        configuration.setExpiryPolicyFactory(FactoryBuilder.factoryOf(UpdateExpiryPolicy.class));
+        cache = provider.getCacheManager().createCache("atomicity", configuration);
+        storage = provider.getSession("atomicity");
+        RemovedListener.EVENTS.clear();
+    }
+
+    @After
+    public void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    public void testConditionalReplace() {
+        cache.put("key", "value");
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE), storage.get("key").getExpireTimestamp());
+
+        Assert.assertFalse(cache.replace("key", "other", "replaced"));
+        Assert.assertEquals("value", cache.get("key"));
+        Assert.assertFalse(cache.replace("absent", "value", "replaced"));
+        Assert.assertFalse(cache.containsKey("absent"));
+
+        long before = System.currentTimeMillis();
+        Assert.assertTrue(cache.replace("key", "value", "replaced"));
+        Assert.assertEquals("replaced", cache.get("key"));
+        long expireTimestamp = storage.get("key").getExpireTimestamp();
+        Assert.assertTrue(expireTimestamp>=before+TimeUnit.HOURS.toMillis(1));
+        Assert.assertTrue(expireTimestamp<Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testConditionalRemoveFiresOneEvent() {
+        cache.registerCacheEntryListener(new MutableCacheEntryListenerConfiguration<>(
+                FactoryBuilder.factoryOf(RemovedListener.class), null, false, true
+        ));
+        cache.put("key", "value");
+
+        Assert.assertFalse(cache.remove("key", "other"));
+        Assert.assertTrue(RemovedListener.EVENTS.isEmpty());
+        Assert.assertTrue(cache.remove("key", "value"));
+        Assert.assertFalse(cache.containsKey("key"));
+
+        Assert.assertEquals(1, RemovedListener.EVENTS.size());
+        CacheEntryEvent<? extends String, ? extends String> event = RemovedListener.EVENTS.get(0);
+        Assert.assertEquals("key", event.getKey());
+        Assert.assertEquals("value", event.getValue());
+    }
+
+    @Test
+    public void testConcurrentPutIfAbsent() throws Exception {
+        final int threads = 8;
+        final int keys = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        final AtomicInteger succeeded = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final String value = "thread-"+t;
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    for (int i = 0; i < keys; i++) {
+                        if(cache.putIfAbsent("key-"+i, value)) {
+                            succeeded.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(keys, succeeded.get());
+        for (int i = 0; i < keys; i++) {
+            Assert.assertNotNull(cache.get("key-"+i));
+        }
+    }
+}
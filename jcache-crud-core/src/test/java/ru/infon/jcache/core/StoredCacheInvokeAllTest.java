@@ -0,0 +1,147 @@
+package ru.infon.jcache.core;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import javax.cache.processor.EntryProcessorException;
+import javax.cache.processor.EntryProcessorResult;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 18.10.2026
+ */
+public class StoredCacheInvokeAllTest {
+
+    private MapCachingProvider provider;
+    private Cache<String,String> cache;
+    private MapStorageSession storage;
+
+    @Before
+    public void setUp() {
+        provider = new MapCachingProvider();
+        CacheManager manager = provider.getCacheManager();
+        cache = manager.createCache("invoke-all", new StoredCacheConfiguration<String,String>()
+                .setExpiryTickMillis(0)
+                .setTypes(String.class, String.class)
+        );
+        storage = provider.getSession("invoke-all");
+    }
+
+    @After
+    public void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    public void testMutationsWrittenInOneBatch() {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key-"+i, "value-"+i);
+            keys.add("key-"+i);
+        }
+        keys.add("new-key");
+        int batches = storage.getBatches();
+
+        Map<String, EntryProcessorResult<Integer>> results = cache.invokeAll(keys, (entry, arguments) -> {
+            if(!entry.exists()) {
+                entry.setValue("created");
+                return null;
+            }
+            if(entry.getKey().equals("key-0")) {
+                entry.remove();
+                return null;
+            }
+            if(entry.getKey().equals("key-1")) {
+                throw new IllegalStateException("failed");
+            }
+            entry.setValue(entry.getValue()+"-updated");
+            return entry.getValue().length();
+        });
+
+        Assert.assertEquals(batches+1, storage.getBatches());
+        Assert.assertEquals(999, results.size());
+        Assert.assertEquals(Integer.valueOf("value-5-updated".length()), results.get("key-5").get());
+        try {
+            results.get("key-1").get();
+            Assert.fail("processor exception expected");
+        } catch (EntryProcessorException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        Assert.assertEquals("created", cache.get("new-key"));
+        Assert.assertNull(cache.get("key-0"));
+        Assert.assertEquals("value-1", cache.get("key-1"));
+        Assert.assertEquals("value-999-updated", cache.get("key-999"));
+    }
+
+    @Test
+    public void testUpdateKeepsExpireTime() {
+        StoredCacheConfiguration<String,String> configuration = new StoredCacheConfiguration<String,String>()
+                .setExpiryTickMillis(0);
+        configuration.setTypes(String.class, String.class);
+        configuration.setExpiryPolicyFactory(FactoryBuilder.factoryOf(new CreatedExpiryPolicy(Duration.ONE_HOUR)));
+        Cache<String,String> expiring = provider.getCacheManager().createCache("invoke-all-expiry", configuration);
+        MapStorageSession expiringStorage = provider.getSession("invoke-all-expiry");
+        expiring.put("key", "value");
+        Long expireTimestamp = expiringStorage.get("key").getExpireTimestamp();
+        Assert.assertNotNull(expireTimestamp);
+
+        expiring.invokeAll(Collections.singleton("key"), (entry, arguments) -> {
+            entry.setValue("updated");
+            return null;
+        });
+
+        Assert.assertEquals("updated", expiring.get("key"));
+        Assert.assertEquals(expireTimestamp, expiringStorage.get("key").getExpireTimestamp());
+    }
+
+    @Test
+    public void testConcurrentInvocationsSerialized() throws Exception {
+        final int threads = 4;
+        final int rounds = 100;
+        final Set<String> keys = new HashSet<>(Arrays.asList("a", "b", "c"));
+        for (String key : keys) {
+            cache.put(key, "0");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final boolean batch = t%2==0;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < rounds; i++) {
+                        if(batch) {
+                            cache.invokeAll(keys, (entry, arguments) -> {
+                                entry.setValue(String.valueOf(Integer.parseInt(entry.getValue())+1));
+                                return null;
+                            });
+                        } else {
+                            cache.invoke("a", (entry, arguments) -> {
+                                entry.setValue(String.valueOf(Integer.parseInt(entry.getValue())+1));
+                                return null;
+                            });
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(String.valueOf(threads*rounds), cache.get("a"));
+        Assert.assertEquals(String.valueOf(threads/2*rounds), cache.get("b"));
+        Assert.assertEquals(String.valueOf(threads/2*rounds), cache.get("c"));
+    }
+}
@@ -0,0 +1,118 @@
+package ru.infon.jcache.core;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.cache.Cache;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * 18.10.2026
+ */
+public class StoredCacheIteratorTest {
+
+    private MapCachingProvider provider;
+
+    @Before
+    public void setUp() {
+        provider = new MapCachingProvider();
+    }
+
+    @After
+    public void tearDown() {
+        provider.close();
+    }
+
+    private Cache<String,String> createCache(String name, StoredCacheConfiguration<String,String> configuration) {
+        configuration.setExpiryTickMillis(0).setIteratorBatchSize(10);
+        configuration.setTypes(String.class, String.class);
+        return provider.getCacheManager().createCache(name, configuration);
+    }
+
+    @Test
+    public void testLazyIteration() {
+        Cache<String,String> cache = createCache("lazy", new StoredCacheConfiguration<String,String>());
+        MapStorageSession storage = provider.getSession("lazy");
+        for (int i = 0; i < 25; i++) {
+            cache.put("key-"+i, "value-"+i);
+        }
+
+        Iterator<Cache.Entry<String,String>> iterator = cache.iterator();
+        Assert.assertEquals(0, storage.getIteratorLoads());
+        Set<String> keys = new HashSet<>();
+        keys.add(iterator.next().getKey());
+        Assert.assertEquals(1, storage.getIteratorLoads());
+        while (iterator.hasNext()) {
+            Cache.Entry<String,String> entry = iterator.next();
+            Assert.assertEquals(entry.getKey().replace("key", "value"), entry.getValue());
+            keys.add(entry.getKey());
+        }
+        Assert.assertEquals(25, keys.size());
+        Assert.assertEquals(3, storage.getIteratorLoads());
+    }
+
+    @Test
+    public void testRemove() {
+        Cache<String,String> cache = createCache("remove", new StoredCacheConfiguration<String,String>());
+        for (int i = 0; i < 20; i++) {
+            cache.put("key-"+i, "value-"+i);
+        }
+
+        Iterator<Cache.Entry<String,String>> iterator = cache.iterator();
+        try {
+            iterator.remove();
+            Assert.fail("remove before next must fail");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        int removed = 0;
+        while (iterator.hasNext()) {
+            String key = iterator.next().getKey();
+            if(Integer.parseInt(key.substring("key-".length()))%2==0) {
+                iterator.remove();
+                removed++;
+                Assert.assertFalse(cache.containsKey(key));
+                try {
+                    iterator.remove();
+                    Assert.fail("second remove of entry must fail");
+                } catch (IllegalStateException e) {
+                    // expected
+                }
+            }
+        }
+        Assert.assertEquals(10, removed);
+        int left = 0;
+        for (Cache.Entry<String, String> entry : cache) {
+            Assert.assertTrue(Integer.parseInt(entry.getKey().substring("key-".length()))%2==1);
+            left++;
+        }
+        Assert.assertEquals(10, left);
+    }
+
+    @Test
+    public void testWriteBehindFlushedBeforeIteration() {
+        Cache<String,String> cache = createCache("write-behind", new StoredCacheConfiguration<String,String>()
+                .setWriteBehindBatchSize(1000)
+                .setWriteBehindLingerMillis(60000)
+        );
+        MapStorageSession storage = provider.getSession("write-behind");
+        for (int i = 0; i < 5; i++) {
+            cache.put("key-"+i, "value-"+i);
+        }
+        cache.remove("key-0");
+        Assert.assertEquals(0, storage.getAll().size());
+
+        Set<String> keys = new HashSet<>();
+        for (Cache.Entry<String, String> entry : cache) {
+            keys.add(entry.getKey());
+        }
+        Assert.assertEquals(1, storage.getBatches());
+        Assert.assertEquals(4, storage.getAll().size());
+        Assert.assertEquals(4, keys.size());
+        Assert.assertFalse(keys.contains("key-0"));
+    }
+}
@@ -0,0 +1,107 @@
+package ru.infon.jcache.core;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import ru.infon.jcache.core.latency.LatencyTracker;
+import ru.infon.jcache.core.latency.Operation;
+import ru.infon.jcache.core.management.RICacheStatisticsMXBean;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.CompleteConfiguration;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * 18.10.2026
+ */
+public class StoredCacheStatisticsTest {
+
+    private MapCachingProvider provider;
+    private CacheManager manager;
+    private Cache<String,String> cache;
+    private RICacheStatisticsMXBean statistics;
+
+    @Before
+    public void setUp() {
+        provider = new MapCachingProvider();
+        manager = provider.getCacheManager();
+        cache = manager.createCache("statistics", new StoredCacheConfiguration<String,String>()
+                .setExpiryTickMillis(0)
+                .setTypes(String.class, String.class)
+        );
+        statistics = cache.unwrap(StoredCache.class).getStatistics();
+    }
+
+    @After
+    public void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        cache.put("key", "value");
+        cache.get("key");
+        Assert.assertEquals(0, statistics.getCachePuts());
+        Assert.assertEquals(0, statistics.getCacheGets());
+    }
+
+    @Test
+    public void testOperationsCounted() {
+        manager.enableStatistics("statistics", true);
+        Assert.assertTrue(cache.getConfiguration(CompleteConfiguration.class).isStatisticsEnabled());
+
+        cache.put("key-1", "value-1");
+        cache.put("key-2", "value-2");
+        Assert.assertEquals("value-1", cache.get("key-1"));
+        Assert.assertNull(cache.get("missing"));
+        cache.getAll(new HashSet<>(Arrays.asList("key-1", "key-2", "missing")));
+        Assert.assertEquals("value-2", cache.getAndPut("key-2", "value-3"));
+        Assert.assertTrue(cache.remove("key-1"));
+        Assert.assertFalse(cache.remove("key-1"));
+
+        Assert.assertEquals(3, statistics.getCachePuts());
+        Assert.assertEquals(4, statistics.getCacheHits());
+        Assert.assertEquals(2, statistics.getCacheMisses());
+        Assert.assertEquals(6, statistics.getCacheGets());
+        Assert.assertEquals(1, statistics.getCacheRemovals());
+        Assert.assertTrue(statistics.getAverageGetTime()>=0);
+
+        manager.enableStatistics("statistics", false);
+        cache.get("key-2");
+        Assert.assertEquals(6, statistics.getCacheGets());
+
+        statistics.clear();
+        Assert.assertEquals(0, statistics.getCachePuts());
+        Assert.assertEquals(0, statistics.getCacheHitPercentage(), 0);
+    }
+
+    @Test
+    public void testEnabledByConfiguration() {
+        Cache<String,String> enabled = manager.createCache("statistics-enabled", new StoredCacheConfiguration<String,String>()
+                .setExpiryTickMillis(0)
+                .setTypes(String.class, String.class)
+                .setStatisticsEnabled(true)
+        );
+        enabled.put("key", "value");
+        Assert.assertEquals(1, enabled.unwrap(StoredCache.class).getStatistics().getCachePuts());
+    }
+
+    @Test
+    public void testPutExpiredOnCreationTimed() {
+        Cache<String,String> expiring = manager.createCache("expired", new StoredCacheConfiguration<String,String>()
+                .setExpiryTickMillis(0)
+                .setLatencyWindowMillis(60_000)
+                .setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(Duration.ZERO))
+                .setTypes(String.class, String.class)
+        );
+        expiring.put("key", "value");
+        Assert.assertFalse(expiring.containsKey("key"));
+        LatencyTracker tracker = expiring.unwrap(StoredCache.class).getLatencyTracker();
+        Assert.assertEquals(1, tracker.snapshot(Operation.PUT).getTotalCount());
+    }
+}
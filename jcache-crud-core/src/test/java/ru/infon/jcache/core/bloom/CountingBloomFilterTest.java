@@ -0,0 +1,58 @@
+package ru.infon.jcache.core.bloom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 18.10.2026
+ */
+public class CountingBloomFilterTest {
+
+    private static final int COUNT = 10000;
+    private static final double PROBABILITY = 0.01;
+
+    @Test
+    public void testNoFalseNegatives() {
+        CountingBloomFilter filter = new CountingBloomFilter(COUNT, PROBABILITY);
+        for (int i = 0; i < COUNT; i++) {
+            filter.add("key"+i);
+        }
+        for (int i = 0; i < COUNT; i++) {
+            Assert.assertTrue(filter.mightContain("key"+i));
+        }
+        Assert.assertEquals(COUNT, filter.getCount());
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        CountingBloomFilter filter = new CountingBloomFilter(COUNT, PROBABILITY);
+        for (int i = 0; i < COUNT; i++) {
+            filter.add("key"+i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < COUNT; i++) {
+            if(filter.mightContain("absent"+i)) {
+                falsePositives++;
+            }
+        }
+        Assert.assertTrue("false positives: "+falsePositives, falsePositives<COUNT*PROBABILITY*3);
+        Assert.assertEquals(PROBABILITY, filter.getExpectedFalsePositiveProbability(), PROBABILITY/2);
+    }
+
+    @Test
+    public void testRemove() {
+        CountingBloomFilter filter = new CountingBloomFilter(COUNT, PROBABILITY);
+        for (int i = 0; i < COUNT; i++) {
+            filter.add("key"+i);
+        }
+        for (int i = 0; i < COUNT; i+=2) {
+            Assert.assertTrue(filter.remove("key"+i));
+        }
+        for (int i = 1; i < COUNT; i+=2) {
+            Assert.assertTrue(filter.mightContain("key"+i));
+        }
+        Assert.assertEquals(COUNT/2, filter.getCount());
+        filter.clear();
+        Assert.assertFalse(filter.mightContain("key1"));
+    }
+}
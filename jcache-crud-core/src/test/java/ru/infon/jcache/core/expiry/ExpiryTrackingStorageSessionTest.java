@@ -0,0 +1,71 @@
+package ru.infon.jcache.core.expiry;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.infon.jcache.core.MapStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 18.10.2026
+ */
+public class ExpiryTrackingStorageSessionTest {
+
+    private final MapStorageSession storage = new MapStorageSession();
+    private final List<StorableEntry<String,String>> expired = new ArrayList<>();
+
+    private StorableEntry<String,String> entry(String key, long expireTimestamp) {
+        StorableEntry<String,String> entry = storage.getEntryFactory().create(key, "value");
+        entry.setExpireTimestamp(expireTimestamp);
+        return entry;
+    }
+
+    private synchronized void expired(Collection<StorableEntry<String,String>> entries) {
+        expired.addAll(entries);
+    }
+
+    @Test
+    public void testExpiredEntriesRemovedInBatch() throws InterruptedException {
+        ExpiryTrackingStorageSession<String,String> session = new ExpiryTrackingStorageSession<>(
+                "test", storage, 10, 100, this::expired
+        );
+        long now = System.currentTimeMillis();
+        session.put(entry("expired", now-1));
+        session.put(entry("alive", now+3600000));
+        session.put(entry("touched", now-1));
+        session.updateExpireTime(entry("touched", now+3600000));
+        session.put(entry("removed", now-1));
+        session.remove("removed");
+
+        // expire time is rounded up to tick
+        Thread.sleep(50);
+        session.tick();
+        synchronized (this) {
+            Assert.assertEquals(1, expired.size());
+            Assert.assertEquals("expired", expired.get(0).getKey());
+        }
+        Assert.assertFalse(storage.containsKey("expired"));
+        Assert.assertTrue(storage.containsKey("alive"));
+        Assert.assertTrue(storage.containsKey("touched"));
+        Assert.assertEquals(2, session.getTrackedKeys());
+        session.close();
+    }
+
+    @Test
+    public void testTrackedKeysLimited() {
+        ExpiryTrackingStorageSession<String,String> session = new ExpiryTrackingStorageSession<>(
+                "test", storage, 10, 2, this::expired
+        );
+        long expireTimestamp = System.currentTimeMillis()+3600000;
+        for (int i = 0; i < 5; i++) {
+            session.put(entry("key-"+i, expireTimestamp));
+        }
+        Assert.assertEquals(2, session.getTrackedKeys());
+        Assert.assertEquals(3, session.getUntrackedWrites());
+        Assert.assertEquals(5, storage.getAll().size());
+        session.close();
+    }
+}
@@ -0,0 +1,73 @@
+package ru.infon.jcache.core.expiry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * 18.10.2026
+ */
+public class TimingWheelTest {
+
+    @Test
+    public void testKeysExpiredOnTime() {
+        final long tick = 10;
+        TimingWheel<Integer> wheel = new TimingWheel<>(tick, 0);
+        Random random = new Random(42);
+        Map<Integer,Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            // up to 5 wheel levels of range, beyond wheel span too
+            long deadline = (long) (Math.pow(random.nextDouble(), 4) * tick * (1L << 26));
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+        long now = 0;
+        int expired = 0;
+        while (expired<deadlines.size()) {
+            now += tick*(1+random.nextInt(5000));
+            for (Integer key : wheel.advance(now)) {
+                long deadline = deadlines.get(key);
+                Assert.assertTrue("key "+key+" expired early", deadline<=now);
+                expired++;
+            }
+        }
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testKeyReportedWithinTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 1000);
+        wheel.schedule("key", 1015);
+        Assert.assertTrue(wheel.advance(1014).isEmpty());
+        Assert.assertTrue(wheel.advance(1019).isEmpty());
+        Assert.assertEquals(Collections.singletonList("key"), wheel.advance(1020));
+    }
+
+    @Test
+    public void testCancelAndReschedule() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 0);
+        wheel.schedule("cancelled", 100);
+        wheel.schedule("rescheduled", 100);
+        wheel.schedule("past", -100);
+        wheel.cancel("cancelled");
+        wheel.schedule("rescheduled", 100000);
+        Assert.assertEquals(Collections.singletonList("past"), wheel.advance(200));
+        Assert.assertEquals(1, wheel.size());
+        Assert.assertEquals(Collections.singletonList("rescheduled"), wheel.advance(100000));
+    }
+
+    @Test
+    public void testMaximumKeys() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 0, 2);
+        Assert.assertTrue(wheel.schedule("a", 100));
+        Assert.assertTrue(wheel.schedule("b", 100));
+        Assert.assertFalse(wheel.schedule("c", 100));
+        // scheduled key is rescheduled when full
+        Assert.assertTrue(wheel.schedule("a", 200));
+        Assert.assertEquals(2, wheel.size());
+        wheel.cancel("b");
+        Assert.assertTrue(wheel.schedule("c", 100));
+        Assert.assertEquals(Collections.singletonList("c"), wheel.advance(100));
+    }
+}
@@ -0,0 +1,84 @@
+package ru.infon.jcache.core.expiry;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.infon.jcache.core.MapStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+
+import java.util.Collection;
+
+/**
+ * 18.10.2026
+ */
+public class TouchBufferStorageSessionTest {
+
+    private final MapStorageSession storage = new MapStorageSession();
+
+    private StorableEntry<String,String> entry(String key, long expireTimestamp) {
+        StorableEntry<String,String> entry = storage.getEntryFactory().create(key, "value");
+        entry.setExpireTimestamp(expireTimestamp);
+        return entry;
+    }
+
+    @Test
+    public void testTouchesCollapsed() {
+        TouchBufferStorageSession<String,String> session = new TouchBufferStorageSession<>(
+                "test", storage, 60000
+        );
+        session.put(entry("key", 1000));
+        for (int i = 1; i <= 10; i++) {
+            session.updateExpireTime(entry("key", 1000+i));
+        }
+        Assert.assertEquals(0, storage.getExpireTimeUpdates());
+        Assert.assertEquals(1, session.getBufferedTouches());
+        Assert.assertEquals(Long.valueOf(1010), session.get("key").getExpireTimestamp());
+
+        session.flush();
+        Assert.assertEquals(1, storage.getExpireTimeUpdates());
+        Assert.assertEquals(Long.valueOf(1010), storage.get("key").getExpireTimestamp());
+        session.close();
+    }
+
+    @Test
+    public void testWriteDiscardsTouch() {
+        TouchBufferStorageSession<String,String> session = new TouchBufferStorageSession<>(
+                "test", storage, 60000
+        );
+        session.put(entry("key", 1000));
+        session.updateExpireTime(entry("key", 2000));
+        session.put(entry("key", 3000));
+        session.close();
+        Assert.assertEquals(0, storage.getExpireTimeUpdates());
+        Assert.assertEquals(Long.valueOf(3000), storage.get("key").getExpireTimestamp());
+    }
+
+    @Test
+    public void testWriteDuringFlushNotOverwritten() throws InterruptedException {
+        final Thread[] writer = new Thread[1];
+        final TouchBufferStorageSession<String,String>[] session = new TouchBufferStorageSession[1];
+        MapStorageSession racingStorage = new MapStorageSession() {
+            @Override
+            public void updateExpireTimes(Collection<StorableEntry<String, String>> entries) {
+                writer[0] = new Thread(() -> session[0].put(entry("key", 3000)));
+                writer[0].start();
+                try {
+                    writer[0].join(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                // write waits for flush, touch being flushed is still visible
+                Assert.assertTrue(writer[0].isAlive());
+                Assert.assertEquals(Long.valueOf(2000), session[0].get("key").getExpireTimestamp());
+                super.updateExpireTimes(entries);
+            }
+        };
+        session[0] = new TouchBufferStorageSession<>("test", racingStorage, 60000);
+        session[0].put(entry("key", 1000));
+        session[0].updateExpireTime(entry("key", 2000));
+        session[0].flush();
+        writer[0].join();
+        Assert.assertEquals(Long.valueOf(3000), racingStorage.get("key").getExpireTimestamp());
+        Assert.assertEquals(Long.valueOf(3000), session[0].get("key").getExpireTimestamp());
+        session[0].close();
+    }
+}
@@ -0,0 +1,69 @@
+package ru.infon.jcache.core.latency;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 18.10.2026
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int index = LatencyHistogram.bucketIndex(value);
+            Assert.assertTrue(LatencyHistogram.bucketLowestValue(index)<=value);
+            Assert.assertTrue(LatencyHistogram.bucketHighestValue(index)>=value);
+        }
+        long value = 123_456_789L;
+        int index = LatencyHistogram.bucketIndex(value);
+        long width = LatencyHistogram.bucketHighestValue(index)-LatencyHistogram.bucketLowestValue(index)+1;
+        Assert.assertTrue((double) width/value<1.0/LatencyHistogram.SUB_BUCKETS);
+        Assert.assertEquals(LatencyHistogram.BUCKETS-1, LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram(60_000);
+        long now = System.nanoTime();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i*1000L, now);
+        }
+        histogram.record(50_000_000L, now);
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        Assert.assertEquals(1001, snapshot.getTotalCount());
+        Assert.assertEquals(50_000_000L, snapshot.getMaxValue());
+        assertNear(500_000, snapshot.getValueAtPercentile(50));
+        assertNear(990_000, snapshot.getValueAtPercentile(99));
+        assertNear(1_000_000, snapshot.getValueAtPercentile(99.9));
+        Assert.assertEquals(50_000_000L, snapshot.getValueAtPercentile(100));
+        Assert.assertTrue(snapshot.export().contains("Total count"));
+    }
+
+    @Test
+    public void testWindowSlides() {
+        LatencyHistogram histogram = new LatencyHistogram(60_000);
+        long now = System.nanoTime();
+        histogram.record(1000, now-120_000_000_000L);
+        Assert.assertEquals(0, histogram.snapshot().getTotalCount());
+        histogram.record(1000, now);
+        Assert.assertEquals(1, histogram.snapshot().getTotalCount());
+        histogram.reset();
+        Assert.assertEquals(0, histogram.snapshot().getTotalCount());
+    }
+
+    @Test
+    public void testTracker() {
+        LatencyTracker tracker = new LatencyTracker(60_000);
+        tracker.record(Operation.STORAGE_GET, System.nanoTime()-2_000_000);
+        Assert.assertEquals(1, tracker.getSummaries().size());
+        Assert.assertEquals(1, tracker.getSummary("storage.get").getCount());
+        Assert.assertTrue(tracker.getSummary("storage.get").getP99()>=1900);
+        Assert.assertEquals(0, tracker.getSummary("get").getCount());
+    }
+
+    private static void assertNear(long expected, long actual) {
+        Assert.assertEquals(expected, actual, expected/LatencyHistogram.SUB_BUCKETS);
+    }
+}
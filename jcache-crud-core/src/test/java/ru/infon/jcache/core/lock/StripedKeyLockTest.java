@@ -0,0 +1,70 @@
+package ru.infon.jcache.core.lock;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 18.10.2026
+ */
+public class StripedKeyLockTest {
+
+    @Test
+    public void testStripes() {
+        Assert.assertEquals(64, new StripedKeyLock(50).getStripes());
+        Assert.assertEquals(1, new StripedKeyLock(1).getStripes());
+        StripedKeyLock locks = new StripedKeyLock(16);
+        Assert.assertSame(locks.get("key"), locks.get(new String("key")));
+    }
+
+    @Test
+    public void testOtherStripeNotBlocked() throws InterruptedException {
+        final StripedKeyLock locks = new StripedKeyLock(16);
+        String other = "other";
+        for (int i = 0; locks.get(other)==locks.get("key"); i++) {
+            other = "other"+i;
+        }
+        final String otherKey = other;
+        Lock lock = locks.lock("key");
+        try {
+            final CountDownLatch done = new CountDownLatch(1);
+            final AtomicBoolean sameKeyLocked = new AtomicBoolean(true);
+            Thread thread = new Thread(() -> {
+                locks.lock(otherKey).unlock();
+                sameKeyLocked.set(locks.get("key").tryLock());
+                done.countDown();
+            });
+            thread.start();
+            Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+            Assert.assertFalse(sameKeyLocked.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    public void testLockAll() {
+        StripedKeyLock locks = new StripedKeyLock(16);
+        List<String> keys = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "a");
+        List<Lock> acquired = locks.lockAll(keys);
+        try {
+            Assert.assertTrue(acquired.size()<=16);
+            Assert.assertEquals(acquired.size(), acquired.stream().distinct().count());
+            for (String key : keys) {
+                Assert.assertTrue(acquired.contains(locks.get(key)));
+            }
+        } finally {
+            StripedKeyLock.unlockAll(acquired);
+        }
+        for (String key : keys) {
+            Assert.assertFalse(((ReentrantLock) locks.get(key)).isHeldByCurrentThread());
+        }
+    }
+}
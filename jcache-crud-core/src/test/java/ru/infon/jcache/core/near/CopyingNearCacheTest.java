@@ -0,0 +1,48 @@
+package ru.infon.jcache.core.near;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.infon.jcache.core.EntryFactory;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.serialization.CompactValueSerializer;
+
+import java.util.Date;
+
+/**
+ * 18.10.2026
+ */
+public class CopyingNearCacheTest {
+
+    private final EntryFactory<String,Date> factory = new EntryFactory<>(String.class, Date.class);
+    private final NearCache<String,Date> cache = new CopyingNearCache<>(
+            new TinyLfuNearCache<String,Date>(100), factory, new CompactValueSerializer<Date>()
+    );
+
+    @Test
+    public void testValuesCopied() {
+        Date value = new Date(1000);
+        StorableEntry<String,Date> entry = factory.create("key", value);
+        entry.setExpireTimestamp(System.currentTimeMillis()+60000);
+        cache.put(entry);
+
+        // caller changes value it has put
+        value.setTime(2000);
+        StorableEntry<String,Date> cached = cache.get("key");
+        Assert.assertEquals(new Date(1000), cached.getValue());
+        Assert.assertEquals(entry.getSaveDate(), cached.getSaveDate());
+        Assert.assertEquals(entry.getExpireTimestamp(), cached.getExpireTimestamp());
+
+        // caller changes value it has read
+        cached.getValue().setTime(3000);
+        Assert.assertEquals(new Date(1000), cache.get("key").getValue());
+        Assert.assertNotSame(cache.get("key").getValue(), cache.get("key").getValue());
+    }
+
+    @Test
+    public void testImmutableTypes() {
+        Assert.assertTrue(CopyingNearCache.isImmutable(String.class));
+        Assert.assertTrue(CopyingNearCache.isImmutable(Long.class));
+        Assert.assertFalse(CopyingNearCache.isImmutable(Date.class));
+        Assert.assertFalse(CopyingNearCache.isImmutable(Object.class));
+    }
+}
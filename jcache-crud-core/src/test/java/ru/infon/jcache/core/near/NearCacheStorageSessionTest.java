@@ -0,0 +1,95 @@
+package ru.infon.jcache.core.near;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.infon.jcache.core.MapStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 18.10.2026
+ */
+public class NearCacheStorageSessionTest {
+
+    /**
+     * Runs concurrent write once, after entry is read from storage but before it is returned.
+     */
+    private static class RacingStorageSession extends MapStorageSession {
+        Runnable concurrentWrite;
+
+        private void race() {
+            Runnable write = concurrentWrite;
+            concurrentWrite = null;
+            if(write!=null) {
+                write.run();
+            }
+        }
+
+        @Override
+        public StorableEntry<String, String> get(String key) {
+            StorableEntry<String,String> entry = super.get(key);
+            race();
+            return entry;
+        }
+
+        @Override
+        public Collection<StorableEntry<String, String>> getAll(Set<? extends String> keys) {
+            Collection<StorableEntry<String,String>> entries = super.getAll(keys);
+            race();
+            return entries;
+        }
+    }
+
+    private final RacingStorageSession storage = new RacingStorageSession();
+    private final NearCacheStorageSession<String,String> session = new NearCacheStorageSession<>(
+            storage, new TinyLfuNearCache<String,String>(100)
+    );
+
+    private StorableEntry<String,String> entry(String key, String value) {
+        return session.getEntryFactory().create(key, value);
+    }
+
+    @Test
+    public void testCachedOnMiss() {
+        storage.put(entry("key", "value"));
+        Assert.assertEquals("value", session.get("key").getValue());
+        Assert.assertEquals("value", session.getNearCache().get("key").getValue());
+    }
+
+    @Test
+    public void testStaleEntryNotCachedAfterConcurrentPut() {
+        storage.put(entry("key", "old"));
+        storage.concurrentWrite = () -> session.put(entry("key", "new"));
+
+        // read raced with write, its result is not kept
+        Assert.assertEquals("old", session.get("key").getValue());
+        Assert.assertNull(session.getNearCache().get("key"));
+        Assert.assertEquals("new", session.get("key").getValue());
+    }
+
+    @Test
+    public void testStaleEntryNotCachedAfterConcurrentRemove() {
+        storage.put(entry("key", "old"));
+        storage.concurrentWrite = () -> session.remove("key");
+
+        session.getAll(Collections.singleton("key"));
+        Assert.assertNull(session.getNearCache().get("key"));
+        Assert.assertNull(session.get("key"));
+    }
+
+    @Test
+    public void testExpireTimeUpdateDoesNotCacheStaleEntry() {
+        storage.put(entry("key", "old"));
+        StorableEntry<String,String> loaded = session.get("key");
+        session.put(entry("key", "new"));
+
+        // touch of entry read before put
+        loaded.setExpireTimestamp(System.currentTimeMillis()+60000);
+        session.updateExpireTime(loaded);
+        Assert.assertNull(session.getNearCache().get("key"));
+        Assert.assertEquals("new", session.get("key").getValue());
+    }
+}
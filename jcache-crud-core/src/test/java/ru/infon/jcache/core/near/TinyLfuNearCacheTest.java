@@ -0,0 +1,86 @@
+package ru.infon.jcache.core.near;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.infon.jcache.core.EntryFactory;
+import ru.infon.jcache.core.StorableEntry;
+
+/**
+ * 18.10.2026
+ */
+public class TinyLfuNearCacheTest {
+
+    private final EntryFactory<String, String> factory = new EntryFactory<>(String.class, String.class);
+
+    private StorableEntry<String, String> entry(String key) {
+        return factory.create(key, "value of "+key);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        NearCache<String, String> cache = new TinyLfuNearCache<>(100);
+        cache.put(entry("key"));
+        Assert.assertEquals("value of key", cache.get("key").getValue());
+        cache.invalidate("key");
+        Assert.assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testMaximumSize() {
+        final int maximum = 100;
+        NearCache<String, String> cache = new TinyLfuNearCache<>(maximum);
+        for (int i = 0; i < maximum*10; i++) {
+            cache.put(entry("key"+i));
+            Assert.assertTrue(cache.size()<=maximum);
+        }
+    }
+
+    @Test
+    public void testFrequentKeysRetained() {
+        final int maximum = 100;
+        NearCache<String, String> cache = new TinyLfuNearCache<>(maximum);
+        for (int i = 0; i < maximum; i++) {
+            cache.put(entry("hot"+i));
+            for (int j = 0; j < 5; j++) {
+                cache.get("hot"+i);
+            }
+        }
+        // one-hit scan must not flush keys that are still in use
+        for (int i = 0; i < maximum*10; i++) {
+            cache.get("hot"+(i%maximum));
+            cache.get("cold"+i);
+            cache.put(entry("cold"+i));
+        }
+        int retained = 0;
+        for (int i = 0; i < maximum; i++) {
+            if(cache.get("hot"+i)!=null) {
+                retained++;
+            }
+        }
+        Assert.assertTrue("retained hot keys: "+retained, retained>=maximum*0.9);
+    }
+
+    @Test
+    public void testWeigher() {
+        NearCache<String, String> cache = new TinyLfuNearCache<>(1000, new EntryWeigher<String, String>() {
+            @Override
+            public long weigh(String key, String value) {
+                return value.length();
+            }
+        });
+        for (int i = 0; i < 1000; i++) {
+            cache.put(entry("key"+i));
+        }
+        Assert.assertTrue(((TinyLfuNearCache) cache).weight()<=1000);
+    }
+
+    @Test
+    public void testExpiredEntry() {
+        NearCache<String, String> cache = new TinyLfuNearCache<>(100);
+        StorableEntry<String, String> entry = entry("key");
+        entry.setExpireTimestamp(System.currentTimeMillis()-1);
+        cache.put(entry);
+        Assert.assertNull(cache.get("key"));
+        Assert.assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,90 @@
+package ru.infon.jcache.core.offheap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.infon.jcache.core.EntryFactory;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.near.NearCache;
+
+import java.io.File;
+import java.util.Date;
+
+/**
+ * 18.10.2026
+ */
+public class OffHeapNearCacheTest {
+
+    private final EntryFactory<String, String> factory = new EntryFactory<>(String.class, String.class);
+
+    private StorableEntry<String, String> entry(String key) {
+        return factory.create(key, "value of "+key);
+    }
+
+    @Test
+    public void testPutGetAndInvalidate() {
+        NearCache<String, String> cache = new OffHeapNearCache<>("test", factory, 1 << 20, null);
+        StorableEntry<String, String> entry = entry("key");
+        entry.setExpireTimestamp(System.currentTimeMillis()+60000);
+        cache.put(entry);
+        StorableEntry<String, String> loaded = cache.get("key");
+        Assert.assertEquals("value of key", loaded.getValue());
+        Assert.assertEquals(entry.getExpireTimestamp(), loaded.getExpireTimestamp());
+        Assert.assertEquals(entry.getSaveDate(), loaded.getSaveDate());
+
+        cache.put(factory.create("key", "new value"));
+        Assert.assertEquals("new value", cache.get("key").getValue());
+        Assert.assertEquals(1, cache.size());
+
+        cache.invalidate("key");
+        Assert.assertNull(cache.get("key"));
+        cache.close();
+    }
+
+    @Test
+    public void testEvictionWithinCapacity() {
+        NearCache<String, String> cache = new OffHeapNearCache<>("test", factory, 1 << 16, null);
+        final int count = 10000;
+        for (int i = 0; i < count; i++) {
+            cache.put(entry("key"+i));
+        }
+        Assert.assertTrue(cache.size()>0);
+        Assert.assertTrue(cache.size()<count);
+        // most recent entry is never evicted by following puts
+        Assert.assertEquals("value of key"+(count-1), cache.get("key"+(count-1)).getValue());
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if(cache.get("key"+i)!=null) {
+                found++;
+            }
+        }
+        Assert.assertEquals(cache.size(), found);
+        cache.close();
+    }
+
+    @Test
+    public void testSerializableValues() {
+        EntryFactory<Long, Date> dateFactory = new EntryFactory<>(Long.class, Date.class);
+        NearCache<Long, Date> cache = new OffHeapNearCache<>("test", dateFactory, 1 << 20, null);
+        Date date = new Date();
+        cache.put(dateFactory.create(13L, date));
+        Assert.assertEquals(date, cache.get(13L).getValue());
+        Assert.assertNull(cache.get(14L));
+        cache.close();
+    }
+
+    @Test
+    public void testMemoryMapped() {
+        File directory = new File(System.getProperty("java.io.tmpdir"));
+        NearCache<String, String> cache = new OffHeapNearCache<>("mapped cache", factory, 1 << 20, directory);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(entry("key"+i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals("value of key"+i, cache.get("key"+i).getValue());
+        }
+        cache.invalidateAll();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertNull(cache.get("key1"));
+        cache.close();
+    }
+}
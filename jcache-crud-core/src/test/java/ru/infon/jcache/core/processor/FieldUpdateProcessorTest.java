@@ -0,0 +1,64 @@
+package ru.infon.jcache.core.processor;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.infon.jcache.core.BufferedMutableEntry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 18.10.2026
+ */
+public class FieldUpdateProcessorTest {
+
+    public static class Counter {
+        private int hits;
+        private Stats stats = new Stats();
+    }
+
+    public static class Stats {
+        private long max;
+        private List<String> tags;
+    }
+
+    @Test
+    public void testValueCounter() {
+        BufferedMutableEntry<String,Long> absent = new BufferedMutableEntry<>("key", null);
+        Assert.assertEquals(5L, FieldUpdateProcessor.<String,Long>increment(null, 5L).process(absent));
+        Assert.assertEquals(Long.valueOf(5), absent.getValue());
+
+        BufferedMutableEntry<String,Long> entry = new BufferedMutableEntry<>("key", 10L);
+        Assert.assertEquals(12L, FieldUpdateProcessor.<String,Long>increment(null, 2).process(entry));
+        Assert.assertTrue(entry.isUpdated());
+    }
+
+    @Test
+    public void testObjectFields() {
+        Counter counter = new Counter();
+        BufferedMutableEntry<String,Counter> entry = new BufferedMutableEntry<>("key", counter);
+        Assert.assertEquals(3, FieldUpdateProcessor.<String,Counter>increment("hits", 3L).process(entry));
+        Assert.assertEquals(7L, FieldUpdateProcessor.<String,Counter>max("stats.max", 7L).process(entry));
+        Assert.assertEquals(7L, FieldUpdateProcessor.<String,Counter>min("stats.max", 9L).process(entry));
+        FieldUpdateProcessor.<String,Counter>append("stats.tags", "a").process(entry);
+        FieldUpdateProcessor.<String,Counter>append("stats.tags", "b").process(entry);
+        Assert.assertEquals(3, counter.hits);
+        Assert.assertEquals(Arrays.asList("a", "b"), counter.stats.tags);
+        Assert.assertTrue(entry.isUpdated());
+
+        BufferedMutableEntry<String,Counter> absent = new BufferedMutableEntry<>("key", null);
+        Assert.assertNull(FieldUpdateProcessor.<String,Counter>increment("hits", 1).process(absent));
+        Assert.assertFalse(absent.isUpdated());
+    }
+
+    @Test
+    public void testMapFields() {
+        Map<String,Object> value = new HashMap<>();
+        value.put("name", "old");
+        BufferedMutableEntry<String,Map<String,Object>> entry = new BufferedMutableEntry<>("key", value);
+        FieldUpdateProcessor.<String,Map<String,Object>>set("name", "new").process(entry);
+        Assert.assertEquals("new", value.get("name"));
+    }
+}
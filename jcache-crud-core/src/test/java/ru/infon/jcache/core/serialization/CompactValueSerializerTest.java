@@ -0,0 +1,57 @@
+package ru.infon.jcache.core.serialization;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+/**
+ * 18.10.2026
+ */
+public class CompactValueSerializerTest {
+
+    private final ValueSerializer<Object> serializer = new CompactValueSerializer<>();
+
+    private Object roundTrip(Object value) throws IOException {
+        return serializer.deserialize(serializer.serialize(value));
+    }
+
+    @Test
+    public void testCompactTypes() throws IOException {
+        Assert.assertEquals("string", roundTrip("string"));
+        Assert.assertEquals(Long.MIN_VALUE, roundTrip(Long.MIN_VALUE));
+        Assert.assertEquals(-42, roundTrip(-42));
+        Assert.assertEquals(0.25, roundTrip(0.25));
+        Assert.assertEquals(Boolean.TRUE, roundTrip(true));
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) roundTrip(new byte[] {1, 2, 3}));
+        Assert.assertNull(roundTrip(null));
+        Assert.assertEquals(9, serializer.serialize(1L).length);
+    }
+
+    @Test
+    public void testJavaSerializationFallback() throws IOException {
+        Date date = new Date();
+        Assert.assertEquals(date, roundTrip(date));
+    }
+
+    @Test
+    public void testBufferDeserialization() throws IOException {
+        for (Object value : new Object[] {"string", Long.MAX_VALUE, -42, 0.25, true, new Date(), null}) {
+            byte[] data = serializer.serialize(value);
+            ByteBuffer buffer = ByteBuffer.allocate(data.length+4);
+            buffer.position(2);
+            buffer.put(data);
+            buffer.flip();
+            buffer.position(2);
+            Assert.assertEquals(value, serializer.deserialize(buffer.slice()));
+        }
+    }
+
+    @Test(expected = NotSerializableException.class)
+    public void testNotSerializable() throws IOException {
+        serializer.serialize(new Object());
+    }
+}
@@ -0,0 +1,45 @@
+package ru.infon.jcache.core.serialization;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+/**
+ * 18.10.2026
+ */
+public class CompressingValueSerializerTest {
+
+    private final CompressingValueSerializer<String> serializer = new CompressingValueSerializer<>(
+            new CompactValueSerializer<String>(), new DeflateCompressionCodec(), 1024
+    );
+
+    private static String repeated(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length()<length) {
+            builder.append("cached document ");
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testCompressedAboveThreshold() throws IOException {
+        String value = repeated(64*1024);
+        byte[] data = serializer.serialize(value);
+        Assert.assertTrue(data.length<value.length()/10);
+        Assert.assertEquals(value, serializer.deserialize(data));
+        Assert.assertEquals(1, serializer.getCompressedValues());
+        Assert.assertEquals(1, serializer.getDecompressedValues());
+        Assert.assertTrue(serializer.getCompressionRatio()>10);
+    }
+
+    @Test
+    public void testUncompressedBelowThreshold() throws IOException {
+        String value = repeated(100);
+        byte[] data = serializer.serialize(value);
+        Assert.assertEquals(value, serializer.deserialize(data));
+        Assert.assertEquals(0, serializer.getCompressedValues());
+        Assert.assertEquals(1, serializer.getUncompressedValues());
+        Assert.assertEquals(0, serializer.getDecompressedValues());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.infon.jcache.core.shard;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 18.10.2026
+ */
+public class ConsistentHashRingTest {
+
+    private static final int KEYS = 100000;
+
+    @Test
+    public void testBalance() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>();
+        for (int i = 0; i < 4; i++) {
+            ring.add("shard-"+i, "shard-"+i);
+        }
+        Map<String,Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.get("key-"+i), 1, Integer::sum);
+        }
+        Assert.assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            // within 25% of fair share
+            Assert.assertTrue("unbalanced: "+counts, Math.abs(count-KEYS/4)<KEYS/16);
+        }
+    }
+
+    @Test
+    public void testAddedNodeMovesItsShareOnly() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>();
+        for (int i = 0; i < 4; i++) {
+            ring.add("shard-"+i, "shard-"+i);
+        }
+        String[] before = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            before[i] = ring.get("key-"+i);
+        }
+        ring.add("shard-4", "shard-4");
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String node = ring.get("key-"+i);
+            if(!node.equals(before[i])) {
+                Assert.assertEquals("shard-4", node);
+                moved++;
+            }
+        }
+        Assert.assertTrue("moved "+moved, Math.abs(moved-KEYS/5)<KEYS/20);
+
+        ring.remove("shard-4");
+        for (int i = 0; i < KEYS; i++) {
+            Assert.assertEquals(before[i], ring.get("key-"+i));
+        }
+    }
+
+    @Test
+    public void testStableKeyHash() {
+        // ring points must not change between JVMs and releases
+        Assert.assertEquals(-1018239260175750929L, ConsistentHashRing.hash("key"));
+        Assert.assertEquals(3681281524940339128L, ConsistentHashRing.hash(42));
+        Assert.assertEquals(ConsistentHashRing.hash(42), ConsistentHashRing.hash(42L));
+        Assert.assertNotEquals(ConsistentHashRing.hash(42), ConsistentHashRing.hash("42"));
+
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>();
+        for (int i = 0; i < 4; i++) {
+            ring.add("shard-"+i, "shard-"+i);
+        }
+        for (int i = 0; i < 100; i++) {
+            final String key = "key-"+i;
+            // identity hash code differs from string one, routing must not depend on it
+            Object object = new Object() {
+                @Override
+                public String toString() {
+                    return key;
+                }
+            };
+            Assert.assertEquals(ring.get(key), ring.get(object));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.infon.jcache.core.shard;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.infon.jcache.core.MapStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+
+import java.util.*;
+
+/**
+ * 18.10.2026
+ */
+public class ShardedStorageSessionTest {
+
+    @Test
+    public void testMultiKeyOperations() {
+        Map<String,MapStorageSession> shards = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            shards.put("shard-"+i, new MapStorageSession());
+        }
+        ShardedStorageSession<String,String> session = new ShardedStorageSession<>("test", shards, 64);
+
+        List<StorableEntry<String,String>> entries = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(session.getEntryFactory().create("key-"+i, "value-"+i));
+            keys.add("key-"+i);
+        }
+        session.putAll(entries);
+
+        int stored = 0;
+        for (MapStorageSession shard : shards.values()) {
+            int size = shard.getAll().size();
+            Assert.assertTrue("empty shard", size>0);
+            stored += size;
+        }
+        Assert.assertEquals(100, stored);
+        Assert.assertEquals(100, session.getAll(keys).size());
+        Assert.assertEquals("value-7", session.get("key-7").getValue());
+
+        int iterated = 0;
+        for (Iterator<StorableEntry<String,String>> iterator = session.iterator(10); iterator.hasNext(); ) {
+            iterator.next();
+            iterated++;
+        }
+        Assert.assertEquals(100, iterated);
+
+        session.removeAll(new HashSet<>(Arrays.asList("key-1", "key-2", "key-3")));
+        Assert.assertEquals(97, session.getAll().size());
+        Assert.assertFalse(session.containsKey("key-2"));
+        session.close();
+    }
+}
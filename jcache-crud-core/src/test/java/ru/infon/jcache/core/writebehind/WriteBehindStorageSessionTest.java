@@ -0,0 +1,173 @@
+package ru.infon.jcache.core.writebehind;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.infon.jcache.core.MapStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 18.10.2026
+ */
+public class WriteBehindStorageSessionTest {
+
+    private static class FailingStorageSession extends MapStorageSession {
+        volatile boolean failing = true;
+
+        @Override
+        public synchronized void writeBatch(
+                Collection<StorableEntry<String, String>> written, Set<? extends String> removedKeys
+        ) {
+            if(failing) {
+                throw new IllegalStateException("storage is down");
+            }
+            super.writeBatch(written, removedKeys);
+        }
+    }
+
+    private final MapStorageSession storage = new MapStorageSession();
+
+    private StorableEntry<String,String> entry(String key, String value) {
+        return storage.getEntryFactory().create(key, value);
+    }
+
+    @Test
+    public void testReadsSeePendingWrites() {
+        WriteBehindStorageSession<String,String> session = new WriteBehindStorageSession<>(
+                "test", storage, 100, 60000
+        );
+        session.put(entry("key", "value"));
+        Assert.assertFalse(storage.containsKey("key"));
+        Assert.assertEquals("value", session.get("key").getValue());
+        Assert.assertEquals(1, session.getAll(Collections.singleton("key")).size());
+
+        Assert.assertTrue(session.remove("key"));
+        Assert.assertNull(session.get("key"));
+        Assert.assertFalse(session.containsKey("key"));
+        session.close();
+    }
+
+    @Test
+    public void testWritesCoalescedIntoOneBatch() {
+        WriteBehindStorageSession<String,String> session = new WriteBehindStorageSession<>(
+                "test", storage, 100, 60000
+        );
+        for (int i = 0; i < 10; i++) {
+            session.put(entry("key", "value"+i));
+            session.put(entry("other"+i, "value"));
+        }
+        Assert.assertEquals(11, session.getQueueDepth());
+        Assert.assertEquals(9, session.getCoalescedMutations());
+
+        session.flush();
+        Assert.assertEquals(1, storage.getBatches());
+        Assert.assertEquals(0, session.getQueueDepth());
+        Assert.assertEquals("value9", storage.get("key").getValue());
+        Assert.assertEquals(11, storage.getAll().size());
+        session.close();
+    }
+
+    @Test
+    public void testLingeredWritesFlushed() throws InterruptedException {
+        WriteBehindStorageSession<String,String> session = new WriteBehindStorageSession<>(
+                "test", storage, 100, 20
+        );
+        session.put(entry("key", "value"));
+        long deadline = System.currentTimeMillis()+5000;
+        while (!storage.containsKey("key") && System.currentTimeMillis()<deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(storage.containsKey("key"));
+        session.close();
+    }
+
+    @Test
+    public void testPendingWritesFlushedOnClose() {
+        WriteBehindStorageSession<String,String> session = new WriteBehindStorageSession<>(
+                "test", storage, 100, 60000
+        );
+        session.put(entry("key", "value"));
+        session.close();
+        Assert.assertTrue(storage.containsKey("key"));
+    }
+
+    @Test
+    public void testFailedMutationsDroppedAfterMaxAttempts() {
+        FailingStorageSession failing = new FailingStorageSession();
+        WriteBehindStorageSession<String,String> session = new WriteBehindStorageSession<>(
+                "test", failing, 100, 60000
+        );
+        session.put(entry("key", "value"));
+        for (int i = 1; i < WriteBehindStorageSession.MAX_FLUSH_ATTEMPTS; i++) {
+            session.flush();
+            Assert.assertEquals(1, session.getQueueDepth());
+        }
+        session.flush();
+        Assert.assertEquals(0, session.getQueueDepth());
+        Assert.assertEquals(WriteBehindStorageSession.MAX_FLUSH_ATTEMPTS, session.getFlushFailures());
+        Assert.assertEquals(1, session.getDroppedMutations());
+
+        // rewritten key starts counting attempts again
+        session.put(entry("key", "value"));
+        session.flush();
+        Assert.assertEquals(1, session.getQueueDepth());
+        failing.failing = false;
+        session.close();
+        Assert.assertEquals("value", failing.get("key").getValue());
+    }
+
+    @Test
+    public void testFullQueueRejectsWritesWhileStorageFails() {
+        FailingStorageSession failing = new FailingStorageSession();
+        WriteBehindStorageSession<String,String> session = new WriteBehindStorageSession<>(
+                "test", failing, 1, 60000
+        );
+        int maxSize = WriteBehindStorageSession.MAX_PENDING_BATCHES;
+        for (int i = 0; i < maxSize; i++) {
+            session.put(entry("key"+i, "value"));
+        }
+        // waits for running flush, fails and starts backoff
+        session.flush();
+        Assert.assertEquals(maxSize, session.getQueueDepth());
+
+        try {
+            session.put(entry("new", "value"));
+            Assert.fail("write to full queue of failing storage must be rejected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        Assert.assertEquals(1, session.getRejectedMutations());
+        session.put(entry("key0", "updated"));
+        Assert.assertEquals("updated", session.get("key0").getValue());
+
+        failing.failing = false;
+        session.flush();
+        Assert.assertEquals(0, session.getQueueDepth());
+        Assert.assertEquals(maxSize, failing.getAll().size());
+        session.put(entry("new", "value"));
+        session.close();
+        Assert.assertTrue(failing.containsKey("new"));
+    }
+
+    @Test
+    public void testExpireTimeUpdateDoesNotChangeQueuedEntry() {
+        WriteBehindStorageSession<String,String> session = new WriteBehindStorageSession<>(
+                "test", storage, 100, 60000
+        );
+        StorableEntry<String,String> queued = entry("key", "value");
+        queued.setExpireTimestamp(1000L);
+        session.put(queued);
+
+        StorableEntry<String,String> accessed = entry("key", "value");
+        accessed.setExpireTimestamp(2000L);
+        session.updateExpireTime(accessed);
+
+        Assert.assertEquals(Long.valueOf(1000L), queued.getExpireTimestamp());
+        Assert.assertEquals(Long.valueOf(2000L), session.get("key").getExpireTimestamp());
+        Assert.assertEquals("value", session.get("key").getValue());
+        session.close();
+    }
+}
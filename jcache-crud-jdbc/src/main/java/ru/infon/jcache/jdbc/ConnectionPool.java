@@ -0,0 +1,86 @@
+package ru.infon.jcache.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pool of connections with their prepared statements. Connections are opened on demand,
+ * up to pool size of idle connections are kept for reuse, so statements are prepared
+ * once per connection. Connection is discarded after SQL error.
+ *
+ * 18.10.2026
+ */
+final class ConnectionPool {
+
+    private static final Logger LOGGER = Logger.getLogger("javax.cache");
+
+    /**
+     * Pooled connection, used by one thread at a time.
+     */
+    static final class Handle {
+
+        final Connection connection;
+        private final Map<String,PreparedStatement> statements = new HashMap<>();
+
+        private Handle(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * @return statement prepared on first use of SQL on this connection
+         */
+        PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if(statement==null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            return statement;
+        }
+
+        private void close() {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "connection not closed", e);
+            }
+        }
+    }
+
+    private final String url;
+    private final Properties properties;
+    private final BlockingQueue<Handle> idle;
+
+    ConnectionPool(String url, Properties properties, int size) {
+        this.url = url;
+        this.properties = properties;
+        this.idle = new ArrayBlockingQueue<>(size);
+    }
+
+    Handle borrow() throws SQLException {
+        Handle handle = idle.poll();
+        return handle!=null?handle:new Handle(DriverManager.getConnection(url, properties));
+    }
+
+    void release(Handle handle) {
+        if(!idle.offer(handle)) {
+            handle.close();
+        }
+    }
+
+    /**
+     * Closes connection which may be broken.
+     */
+    void discard(Handle handle) {
+        handle.close();
+    }
+}
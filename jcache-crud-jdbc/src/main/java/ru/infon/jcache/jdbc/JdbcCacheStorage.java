@@ -0,0 +1,136 @@
+package ru.infon.jcache.jdbc;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.serialization.CompactValueSerializer;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.net.URI;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Storage of caches in relational database, one table per cache name and types.
+ * Database URL is URI of storage or {@value #URL_PROPERTY} property, properties not listed
+ * below are passed to JDBC driver. Keys and values are serialized with
+ * {@link CompactValueSerializer} if cache has no value serializer configured.
+ * <p>
+ * Properties:
+ * {@value #DIALECT_PROPERTY} - {@link SqlDialect} name, detected from database product name if not set,
+ * {@value #POOL_SIZE_PROPERTY} - number of idle connections kept with their prepared statements,
+ * {@value #IN_LIST_SIZE_PROPERTY} - max number of keys in one IN list,
+ * {@value #KEY_LENGTH_PROPERTY} - max length of serialized key in bytes,
+ * {@value #TABLE_PREFIX_PROPERTY} - prefix of cache table names.
+ * </p>
+ *
+ * 18.10.2026
+ */
+public class JdbcCacheStorage extends CacheStorage {
+
+    public static final String URL_PROPERTY = "url";
+    public static final String DIALECT_PROPERTY = "dialect";
+    public static final String POOL_SIZE_PROPERTY = "pool-size";
+    public static final String IN_LIST_SIZE_PROPERTY = "in-list-size";
+    public static final String KEY_LENGTH_PROPERTY = "key-length";
+    public static final String TABLE_PREFIX_PROPERTY = "table-prefix";
+
+    private static final List<String> STORAGE_PROPERTIES = Arrays.asList(
+            URL_PROPERTY, DIALECT_PROPERTY, POOL_SIZE_PROPERTY,
+            IN_LIST_SIZE_PROPERTY, KEY_LENGTH_PROPERTY, TABLE_PREFIX_PROPERTY
+    );
+    private static final int MAX_CACHE_NAME_LENGTH = 40;
+
+    private final ConnectionPool pool;
+    private final SqlDialect dialect;
+    private final int inListSize;
+    private final int keyLength;
+    private final String tablePrefix;
+
+    public JdbcCacheStorage(URI uri, Properties properties) {
+        super(uri, properties);
+        String url = properties.getProperty(URL_PROPERTY, uri.toString());
+        int poolSize = Integer.parseInt(properties.getProperty(POOL_SIZE_PROPERTY, "8"));
+        if(poolSize<=0) {
+            throw new IllegalArgumentException("pool size must be positive: "+poolSize);
+        }
+        this.inListSize = Integer.parseInt(properties.getProperty(IN_LIST_SIZE_PROPERTY, "100"));
+        if(inListSize<=0) {
+            throw new IllegalArgumentException("IN list size must be positive: "+inListSize);
+        }
+        this.keyLength = Integer.parseInt(properties.getProperty(KEY_LENGTH_PROPERTY, "1024"));
+        if(keyLength<=0) {
+            throw new IllegalArgumentException("key length must be positive: "+keyLength);
+        }
+        this.tablePrefix = properties.getProperty(TABLE_PREFIX_PROPERTY, "jcache_");
+        if(!tablePrefix.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("illegal table prefix: "+tablePrefix);
+        }
+        Properties driverProperties = new Properties();
+        for (String name : properties.stringPropertyNames()) {
+            if(!STORAGE_PROPERTIES.contains(name)) {
+                driverProperties.setProperty(name, properties.getProperty(name));
+            }
+        }
+        this.pool = new ConnectionPool(url, driverProperties, poolSize);
+        String dialect = properties.getProperty(DIALECT_PROPERTY);
+        this.dialect = dialect==null?detectDialect(url):SqlDialect.valueOf(dialect.toUpperCase());
+    }
+
+    private SqlDialect detectDialect(String url) {
+        try {
+            ConnectionPool.Handle handle = pool.borrow();
+            SqlDialect dialect;
+            try {
+                dialect = SqlDialect.forProductName(handle.connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException | RuntimeException e) {
+                pool.discard(handle);
+                throw e;
+            }
+            pool.release(handle);
+            return dialect;
+        } catch (SQLException e) {
+            throw new IllegalStateException("can't detect dialect of database "+url, e);
+        }
+    }
+
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    @Override
+    public <K, V> CacheStorageSession<K, V> openSession(String cacheName, Class<K> keyType, Class<V> valueType) {
+        return openSession(cacheName, keyType, valueType, null);
+    }
+
+    @Override
+    public <K, V> CacheStorageSession<K, V> openSession(
+            String cacheName, Class<K> keyType, Class<V> valueType,
+            ValueSerializer<V> valueSerializer
+    ) {
+        String storeName = String.format("%s:%s:%s", cacheName, keyType.getName(), valueType.getName());
+        return new JdbcStorageSession<>(
+                this, pool, dialect, tableName(cacheName, storeName), keyLength, inListSize,
+                keyType, valueType, new CompactValueSerializer<K>(),
+                valueSerializer==null?new CompactValueSerializer<V>():valueSerializer
+        );
+    }
+
+    /**
+     * Cache name is kept readable, hash of store name tells apart caches of different types
+     * and names differing only by dropped characters.
+     */
+    private String tableName(String cacheName, String storeName) {
+        String name = cacheName.replaceAll("[^A-Za-z0-9_]", "_").toLowerCase();
+        if(name.length()>MAX_CACHE_NAME_LENGTH) {
+            name = name.substring(0, MAX_CACHE_NAME_LENGTH);
+        }
+        return String.format("%s%s_%08x", tablePrefix, name, storeName.hashCode());
+    }
+
+    @Override
+    public boolean isFixedTypes() {
+        return false;
+    }
+}
@@ -0,0 +1,488 @@
+package ru.infon.jcache.jdbc;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Storage session over table of cache: serialized key, serialized value, save date and
+ * expire timestamp. Statements are prepared once per pooled connection.
+ * Bulk writes are sent as JDBC batches in one transaction, key lists are split
+ * to IN lists of power of two sizes up to {@link JdbcCacheStorage#IN_LIST_SIZE_PROPERTY},
+ * padded with last key, so few statements serve requests of any size.
+ * Iteration reads pages of batch size ordered by key, every page is a separate
+ * query on pooled connection, so abandoned iterators hold no connections.
+ *
+ * 18.10.2026
+ */
+public class JdbcStorageSession<K,V> extends CacheStorageSession<K,V> {
+
+    private static final String FIRST_PAGE_SQL = "%s ORDER BY cache_key LIMIT ?";
+    private static final String NEXT_PAGE_SQL = "%s WHERE cache_key > ? ORDER BY cache_key LIMIT ?";
+
+    private interface Work<T> {
+        T execute(ConnectionPool.Handle handle) throws SQLException;
+    }
+
+    private interface RowMapper<T> {
+        T map(ResultSet row) throws SQLException;
+    }
+
+    private final ConnectionPool pool;
+    private final String table;
+    private final int inListSize;
+    private final ValueSerializer<K> keySerializer;
+    private final ValueSerializer<V> serializer;
+
+    private final String selectSql;
+    private final String selectAllSql;
+    private final String selectKeysSql;
+    private final String containsSql;
+    private final String upsertSql;
+    private final String updateSql;
+    private final String updateExpireSql;
+    private final String deleteSql;
+    private final String deleteAllSql;
+    private final String countSql;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    JdbcStorageSession(
+            CacheStorage storage, ConnectionPool pool, SqlDialect dialect, String table, int keyLength, int inListSize,
+            Class<K> keyType, Class<V> valueType,
+            ValueSerializer<K> keySerializer, ValueSerializer<V> serializer
+    ) {
+        super(storage, keyType, valueType);
+        this.pool = pool;
+        this.table = table;
+        this.inListSize = inListSize;
+        this.keySerializer = keySerializer;
+        this.serializer = serializer;
+        this.selectSql = String.format("SELECT %s FROM %s WHERE cache_key = ?", SqlDialect.COLUMNS, table);
+        this.selectAllSql = String.format("SELECT %s FROM %s", SqlDialect.COLUMNS, table);
+        this.selectKeysSql = String.format("SELECT cache_key FROM %s", table);
+        this.containsSql = String.format("SELECT 1 FROM %s WHERE cache_key = ?", table);
+        this.upsertSql = dialect.upsert(table);
+        this.updateSql = String.format(
+                "UPDATE %s SET cache_value = ?, save_date = ?, expire_date = ? WHERE cache_key = ?", table
+        );
+        this.updateExpireSql = String.format("UPDATE %s SET expire_date = ? WHERE cache_key = ?", table);
+        this.deleteSql = String.format("DELETE FROM %s WHERE cache_key = ?", table);
+        this.deleteAllSql = String.format("DELETE FROM %s", table);
+        this.countSql = String.format("SELECT COUNT(*) FROM %s", table);
+        execute(handle -> handle.prepare(dialect.createTable(table, keyLength)).executeUpdate());
+    }
+
+    /*===========================================[ JDBC ]==============*/
+
+    private <T> T execute(Work<T> work) {
+        ConnectionPool.Handle handle;
+        try {
+            handle = pool.borrow();
+        } catch (SQLException e) {
+            throw new IllegalStateException("can't open connection for table "+table, e);
+        }
+        try {
+            T result = work.execute(handle);
+            pool.release(handle);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            pool.discard(handle);
+            throw e instanceof RuntimeException
+                    ?(RuntimeException) e
+                    :new IllegalStateException("SQL error on table "+table, e);
+        }
+    }
+
+    private <T> T inTransaction(Work<T> work) {
+        return execute(handle -> {
+            handle.connection.setAutoCommit(false);
+            try {
+                T result = work.execute(handle);
+                handle.connection.commit();
+                handle.connection.setAutoCommit(true);
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                handle.connection.rollback();
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Runs statement for every IN list chunk of keys.
+     * @param sql - statement format with IN list placeholder, keys are first parameters
+     */
+    private void forChunks(
+            ConnectionPool.Handle handle, List<byte[]> keys, String sql, ChunkWork work
+    ) throws SQLException {
+        for (int from = 0; from < keys.size(); from += inListSize) {
+            int to = Math.min(keys.size(), from+inListSize);
+            int size = Math.max(1, Math.min(inListSize, Integer.highestOneBit(to-from-1)<<1));
+            PreparedStatement statement = handle.prepare(String.format(sql, placeholders(size)));
+            for (int i = 0; i < size; i++) {
+                // padded with last key
+                statement.setBytes(i+1, keys.get(Math.min(from+i, to-1)));
+            }
+            work.execute(statement, size+1);
+        }
+    }
+
+    private interface ChunkWork {
+        /**
+         * @param parameter - index of first parameter after keys
+         */
+        void execute(PreparedStatement statement, int parameter) throws SQLException;
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder builder = new StringBuilder(count*3);
+        for (int i = 0; i < count; i++) {
+            builder.append(i==0?"?":", ?");
+        }
+        return builder.toString();
+    }
+
+    private static <T> List<T> collect(ResultSet rows, RowMapper<T> mapper, List<T> target) throws SQLException {
+        try (ResultSet result = rows) {
+            while (result.next()) {
+                target.add(mapper.map(result));
+            }
+        }
+        return target;
+    }
+
+    /*===========================================[ MAPPING ]==============*/
+
+    private byte[] serializeKey(K key) {
+        try {
+            return keySerializer.serialize(key);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize key "+key, e);
+        }
+    }
+
+    private List<byte[]> serializeKeys(Collection<? extends K> keys) {
+        List<byte[]> serialized = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            serialized.add(serializeKey(key));
+        }
+        return serialized;
+    }
+
+    private K readKey(ResultSet row) throws SQLException {
+        try {
+            return keySerializer.deserialize(row.getBytes(1));
+        } catch (IOException e) {
+            throw new IllegalStateException("can't deserialize key of table "+table, e);
+        }
+    }
+
+    private StorableEntry<K,V> readEntry(ResultSet row) throws SQLException {
+        K key = readKey(row);
+        V value;
+        try {
+            value = serializer.deserialize(row.getBytes(2));
+        } catch (IOException e) {
+            throw new IllegalStateException("can't deserialize value of key "+key, e);
+        }
+        StorableEntry<K,V> entry = getEntryFactory().create(key, value);
+        entry.setSaveDate(new Date(row.getLong(3)));
+        long expireTimestamp = row.getLong(4);
+        entry.setExpireTimestamp(row.wasNull()?null:expireTimestamp);
+        return entry;
+    }
+
+    /**
+     * Binds value, save date and expire timestamp starting from parameter index.
+     */
+    private void bindValue(PreparedStatement statement, int index, StorableEntry<K,V> entry) throws SQLException {
+        byte[] value;
+        try {
+            value = serializer.serialize(entry.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize value of "+entry.getValueType().getName(), e);
+        }
+        Date saveDate = entry.getSaveDate();
+        statement.setBytes(index, value);
+        statement.setLong(index+1, saveDate==null?System.currentTimeMillis():saveDate.getTime());
+        setExpireTimestamp(statement, index+2, entry.getExpireTimestamp());
+    }
+
+    private static void setExpireTimestamp(PreparedStatement statement, int index, Long expireTimestamp) throws SQLException {
+        if(expireTimestamp==null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, expireTimestamp);
+        }
+    }
+
+    /*===========================================[ READS ]==============*/
+
+    @Override
+    public boolean containsKey(K key) {
+        byte[] serialized = serializeKey(key);
+        return execute(handle -> {
+            PreparedStatement statement = handle.prepare(containsSql);
+            statement.setBytes(1, serialized);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next();
+            }
+        });
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        byte[] serialized = serializeKey(key);
+        return execute(handle -> {
+            PreparedStatement statement = handle.prepare(selectSql);
+            statement.setBytes(1, serialized);
+            List<StorableEntry<K,V>> entries = collect(statement.executeQuery(), this::readEntry, new ArrayList<>(1));
+            return entries.isEmpty()?null:entries.get(0);
+        });
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        List<byte[]> serialized = serializeKeys(keys);
+        return execute(handle -> {
+            List<StorableEntry<K,V>> entries = new ArrayList<>(keys.size());
+            forChunks(handle, serialized, selectAllSql+" WHERE cache_key IN (%s)",
+                    (statement, parameter) -> collect(statement.executeQuery(), this::readEntry, entries)
+            );
+            return entries;
+        });
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        return execute(handle -> collect(
+                handle.prepare(selectAllSql).executeQuery(), this::readEntry, new ArrayList<StorableEntry<K,V>>()
+        ));
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return () -> new RowIterator<>(selectKeysSql, inListSize, this::readKey);
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        return new RowIterator<>(selectAllSql, batchSize, this::readEntry);
+    }
+
+    /**
+     * Reads rows of query by pages after last read key, connection is borrowed for every page.
+     */
+    private class RowIterator<T> implements Iterator<T> {
+
+        private final RowMapper<T> mapper;
+        private final String firstPage;
+        private final String nextPage;
+        private final int batchSize;
+        private final Deque<T> page = new ArrayDeque<>();
+        private byte[] lastKey;
+        private boolean exhausted;
+
+        RowIterator(String sql, int batchSize, RowMapper<T> mapper) {
+            this.mapper = mapper;
+            this.firstPage = String.format(FIRST_PAGE_SQL, sql);
+            this.nextPage = String.format(NEXT_PAGE_SQL, sql);
+            this.batchSize = Math.max(1, batchSize);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if(page.isEmpty() && !exhausted) {
+                readPage();
+            }
+            return !page.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.poll();
+        }
+
+        private void readPage() {
+            int read = execute(handle -> {
+                PreparedStatement statement;
+                if(lastKey==null) {
+                    statement = handle.prepare(firstPage);
+                    statement.setInt(1, batchSize);
+                } else {
+                    statement = handle.prepare(nextPage);
+                    statement.setBytes(1, lastKey);
+                    statement.setInt(2, batchSize);
+                }
+                int count = 0;
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        lastKey = rows.getBytes(1);
+                        page.add(mapper.map(rows));
+                        count++;
+                    }
+                }
+                return count;
+            });
+            exhausted = read<batchSize;
+        }
+    }
+
+    /*===========================================[ WRITES ]==============*/
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        execute(handle -> {
+            PreparedStatement statement = handle.prepare(upsertSql);
+            statement.setBytes(1, serializeKey(entry.getKey()));
+            bindValue(statement, 2, entry);
+            return statement.executeUpdate();
+        });
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        writeBatch(entries, Collections.<K>emptySet());
+    }
+
+    @Override
+    public void writeBatch(Collection<StorableEntry<K, V>> entries, Set<? extends K> removedKeys) {
+        if(entries.isEmpty() && removedKeys.isEmpty()) {
+            return;
+        }
+        List<byte[]> removed = serializeKeys(removedKeys);
+        inTransaction(handle -> {
+            if(!entries.isEmpty()) {
+                PreparedStatement statement = handle.prepare(upsertSql);
+                for (StorableEntry<K, V> entry : entries) {
+                    statement.setBytes(1, serializeKey(entry.getKey()));
+                    bindValue(statement, 2, entry);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            forChunks(handle, removed, deleteAllSql+" WHERE cache_key IN (%s)",
+                    (statement, parameter) -> statement.executeUpdate()
+            );
+            return null;
+        });
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        byte[] key = serializeKey(entry.getKey());
+        return execute(handle -> {
+            PreparedStatement statement = handle.prepare(updateSql);
+            bindValue(statement, 1, entry);
+            statement.setBytes(4, key);
+            return statement.executeUpdate()>0;
+        });
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        byte[] key = serializeKey(entry.getKey());
+        execute(handle -> {
+            PreparedStatement statement = handle.prepare(updateExpireSql);
+            setExpireTimestamp(statement, 1, entry.getExpireTimestamp());
+            statement.setBytes(2, key);
+            return statement.executeUpdate();
+        });
+    }
+
+    @Override
+    public void updateExpireTimes(Collection<StorableEntry<K, V>> entries) {
+        if(entries.isEmpty()) {
+            return;
+        }
+        inTransaction(handle -> {
+            PreparedStatement statement = handle.prepare(updateExpireSql);
+            for (StorableEntry<K, V> entry : entries) {
+                setExpireTimestamp(statement, 1, entry.getExpireTimestamp());
+                statement.setBytes(2, serializeKey(entry.getKey()));
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        });
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        List<byte[]> serialized = serializeKeys(keys);
+        return inTransaction(handle -> {
+            List<StorableEntry<K,V>> expired = new ArrayList<>();
+            forChunks(handle, serialized, selectAllSql+" WHERE cache_key IN (%s) AND expire_date <= ?",
+                    (statement, parameter) -> {
+                        statement.setLong(parameter, now);
+                        collect(statement.executeQuery(), this::readEntry, expired);
+                    }
+            );
+            List<byte[]> expiredKeys = new ArrayList<>(expired.size());
+            for (StorableEntry<K, V> entry : expired) {
+                expiredKeys.add(serializeKey(entry.getKey()));
+            }
+            forChunks(handle, expiredKeys, deleteAllSql+" WHERE cache_key IN (%s) AND expire_date <= ?",
+                    (statement, parameter) -> {
+                        statement.setLong(parameter, now);
+                        statement.executeUpdate();
+                    }
+            );
+            return expired;
+        });
+    }
+
+    @Override
+    public boolean remove(K key) {
+        byte[] serialized = serializeKey(key);
+        return execute(handle -> {
+            PreparedStatement statement = handle.prepare(deleteSql);
+            statement.setBytes(1, serialized);
+            return statement.executeUpdate()>0;
+        });
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        writeBatch(Collections.<StorableEntry<K,V>>emptyList(), keys);
+    }
+
+    @Override
+    public void removeAll() {
+        execute(handle -> handle.prepare(deleteAllSql).executeUpdate());
+    }
+
+    public int size() {
+        return execute(handle -> {
+            try (ResultSet result = handle.prepare(countSql).executeQuery()) {
+                result.next();
+                return result.getInt(1);
+            }
+        });
+    }
+
+    /**
+     * Connections are shared by sessions of storage and closed with pool.
+     */
+    @Override
+    public void close() {
+        closed.set(true);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+}
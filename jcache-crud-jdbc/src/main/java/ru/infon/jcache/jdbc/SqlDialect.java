@@ -0,0 +1,83 @@
+package ru.infon.jcache.jdbc;
+
+/**
+ * SQL differences of supported databases: column types and upsert statement.
+ *
+ * 18.10.2026
+ */
+public enum SqlDialect {
+
+    H2("VARBINARY(%d)", "VARBINARY") {
+        @Override
+        String upsert(String table) {
+            return String.format(
+                    "MERGE INTO %s (%s) KEY (%s) VALUES (?, ?, ?, ?)", table, COLUMNS, KEY_COLUMN
+            );
+        }
+    },
+
+    POSTGRESQL("BYTEA", "BYTEA") {
+        @Override
+        String upsert(String table) {
+            return String.format(
+                    "INSERT INTO %s (%s) VALUES (?, ?, ?, ?) ON CONFLICT (%s) DO UPDATE SET "
+                            +"cache_value = EXCLUDED.cache_value, save_date = EXCLUDED.save_date, "
+                            +"expire_date = EXCLUDED.expire_date",
+                    table, COLUMNS, KEY_COLUMN
+            );
+        }
+    },
+
+    MYSQL("VARBINARY(%d)", "LONGBLOB") {
+        @Override
+        String upsert(String table) {
+            return String.format(
+                    "INSERT INTO %s (%s) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+                            +"cache_value = VALUES(cache_value), save_date = VALUES(save_date), "
+                            +"expire_date = VALUES(expire_date)",
+                    table, COLUMNS
+            );
+        }
+    };
+
+    static final String KEY_COLUMN = "cache_key";
+    static final String COLUMNS = "cache_key, cache_value, save_date, expire_date";
+
+    private final String keyType;
+    private final String valueType;
+
+    SqlDialect(String keyType, String valueType) {
+        this.keyType = keyType;
+        this.valueType = valueType;
+    }
+
+    String createTable(String table, int keyLength) {
+        return String.format(
+                "CREATE TABLE IF NOT EXISTS %s (cache_key %s NOT NULL PRIMARY KEY, cache_value %s NOT NULL, "
+                        +"save_date BIGINT NOT NULL, expire_date BIGINT)",
+                table, String.format(keyType, keyLength), valueType
+        );
+    }
+
+    /**
+     * @return statement inserting or replacing row, parameters are in {@link #COLUMNS} order
+     */
+    abstract String upsert(String table);
+
+    /**
+     * @param productName - {@link java.sql.DatabaseMetaData#getDatabaseProductName()}
+     */
+    public static SqlDialect forProductName(String productName) {
+        String name = productName.toLowerCase();
+        if(name.contains("postgres")) {
+            return POSTGRESQL;
+        }
+        if(name.contains("mysql") || name.contains("mariadb")) {
+            return MYSQL;
+        }
+        if(name.contains("h2")) {
+            return H2;
+        }
+        throw new IllegalArgumentException("unsupported database: "+productName);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.infon.jcache.jdbc.spi;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.spi.StoredCachingProvider;
+import ru.infon.jcache.jdbc.JdbcCacheStorage;
+
+import javax.cache.configuration.OptionalFeature;
+import java.net.URI;
+import java.util.Properties;
+
+/**
+ * Caching provider keeping caches in tables of relational database, see {@link JdbcCacheStorage}.
+ *
+ * 18.10.2026
+ */
+public class JdbcCachingProvider extends StoredCachingProvider {
+
+    @Override
+    public CacheStorage createStorageObject(URI uri, Properties properties) {
+        return new JdbcCacheStorage(uri, properties);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public URI getDefaultURI() {
+        return URI.create("jdbc:h2:mem:jcache;DB_CLOSE_DELAY=-1");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSupported(OptionalFeature optionalFeature) {
+        return false;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.infon.jcache.jdbc;
+
+import ru.infon.jcache.core.AbstractStoredCacheTest;
+
+/**
+ * 18.10.2026
+ */
+public class JdbcCacheTest extends AbstractStoredCacheTest {
+}
@@ -0,0 +1,140 @@
+package ru.infon.jcache.jdbc;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import ru.infon.jcache.core.AbstractStorageSessionTest;
+import ru.infon.jcache.core.StorableEntry;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * 18.10.2026
+ */
+public class JdbcStorageSessionTest extends AbstractStorageSessionTest {
+
+    private static final URI URL = URI.create("jdbc:h2:mem:session-test;DB_CLOSE_DELAY=-1");
+
+    private JdbcCacheStorage storage;
+
+    @Before
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty(JdbcCacheStorage.IN_LIST_SIZE_PROPERTY, "8");
+        storage = new JdbcCacheStorage(URL, properties);
+    }
+
+    private JdbcStorageSession<String,String> open(String cacheName) {
+        JdbcStorageSession<String,String> session = (JdbcStorageSession<String, String>) storage
+                .openSession(cacheName, String.class, String.class);
+        session.removeAll();
+        return session;
+    }
+
+    @Test
+    public void testCrud() {
+        Assert.assertEquals(SqlDialect.H2, storage.getDialect());
+        JdbcStorageSession<String,String> session = open("crud");
+        StorableEntry<String,String> entry = entry(session, "key", "value");
+        entry.setExpireTimestamp(System.currentTimeMillis()+60_000);
+        session.put(entry);
+        Assert.assertEquals("value", session.get("key").getValue());
+        Assert.assertEquals(entry.getSaveDate(), session.get("key").getSaveDate());
+        Assert.assertEquals(entry.getExpireTimestamp(), session.get("key").getExpireTimestamp());
+        Assert.assertTrue(session.update(entry(session, "key", "updated")));
+        Assert.assertNull(session.get("key").getExpireTimestamp());
+        Assert.assertFalse(session.update(entry(session, "missing", "updated")));
+        Assert.assertFalse(session.containsKey("missing"));
+
+        session.writeBatch(
+                Arrays.asList(entry(session, "a", "1"), entry(session, "b", "2")), Collections.singleton("key")
+        );
+        Assert.assertFalse(session.containsKey("key"));
+        StorableEntry<String,String> touched = entry(session, "a", "1");
+        touched.setExpireTimestamp(System.currentTimeMillis()+120_000);
+        session.updateExpireTimes(Collections.singletonList(touched));
+        Assert.assertEquals(touched.getExpireTimestamp(), session.get("a").getExpireTimestamp());
+        Assert.assertTrue(session.remove("b"));
+        Assert.assertFalse(session.remove("b"));
+        Assert.assertEquals(1, session.size());
+        session.close();
+        Assert.assertTrue(session.isClosed());
+    }
+
+    @Test
+    public void testBulkOperations() {
+        JdbcStorageSession<String,String> session = open("bulk");
+        List<StorableEntry<String,String>> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            StorableEntry<String,String> entry = entry(session, "key-"+i, "value-"+i);
+            entry.setExpireTimestamp(i%2==0?1000L:null);
+            entries.add(entry);
+        }
+        session.putAll(entries);
+        Assert.assertEquals(100, session.size());
+
+        // 21 keys are split to IN lists of 8, 8 and padded 8
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            keys.add("key-"+i);
+        }
+        keys.add("missing");
+        Assert.assertEquals(20, session.getAll(keys).size());
+
+        Collection<StorableEntry<String,String>> expired = session.removeExpired(keys, 1000L);
+        Assert.assertEquals(10, expired.size());
+        Assert.assertEquals(90, session.size());
+        Assert.assertTrue(session.containsKey("key-1"));
+        Assert.assertFalse(session.containsKey("key-2"));
+
+        session.removeAll(new HashSet<>(Arrays.asList("key-1", "key-3", "key-5")));
+        Assert.assertEquals(87, session.size());
+
+        int count = 0;
+        Iterator<StorableEntry<String,String>> iterator = session.iterator(7);
+        while (iterator.hasNext()) {
+            Assert.assertNotNull(iterator.next().getValue());
+            count++;
+        }
+        Assert.assertEquals(87, count);
+        Set<String> allKeys = new HashSet<>();
+        for (String key : session.keys()) {
+            allKeys.add(key);
+        }
+        Assert.assertEquals(87, allKeys.size());
+        Assert.assertEquals(87, session.getAll().size());
+        session.removeAll();
+        Assert.assertEquals(0, session.size());
+    }
+
+    @Test
+    public void testAbandonedIteratorsHoldNoConnections() throws Exception {
+        JdbcStorageSession<String,String> session = open("abandoned");
+        for (int i = 0; i < 10; i++) {
+            session.put(entry(session, "key-"+i, "value-"+i));
+        }
+        try (Connection connection = DriverManager.getConnection(URL.toString());
+             Statement statement = connection.createStatement()) {
+            int before = sessions(statement);
+            for (int i = 0; i < 20; i++) {
+                Iterator<StorableEntry<String,String>> iterator = session.iterator(2);
+                Assert.assertTrue(iterator.hasNext());
+                iterator.next();
+            }
+            Assert.assertEquals(before, sessions(statement));
+        }
+    }
+
+    private static int sessions(Statement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS")) {
+            result.next();
+            return result.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.infon.jcache.log;
+
+/**
+ * Index entry of {@link LogStore}: position of latest entry record and its metadata.
+ * Expire timestamp may be newer than one in record, it's changed by expire records.
+ *
+ * 18.10.2026
+ */
+final class Location {
+
+    final Segment segment;
+    final long offset;
+    final int length;
+    final int keyLength;
+    final long saveDate;
+    // null - never expires
+    final Long expireTimestamp;
+
+    Location(Segment segment, long offset, int length, int keyLength, long saveDate, Long expireTimestamp) {
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+        this.keyLength = keyLength;
+        this.saveDate = saveDate;
+        this.expireTimestamp = expireTimestamp;
+    }
+
+    Location withExpireTimestamp(Long expireTimestamp) {
+        return new Location(segment, offset, length, keyLength, saveDate, expireTimestamp);
+    }
+
+    boolean isExpired(long now) {
+        return expireTimestamp!=null && expireTimestamp<=now;
+    }
+
+    long valueOffset() {
+        return offset+LogStore.HEADER_SIZE+keyLength;
+    }
+
+    int valueLength() {
+        return length-LogStore.HEADER_SIZE-keyLength;
+    }
+}
@@ -0,0 +1,113 @@
+package ru.infon.jcache.log;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.serialization.CompactValueSerializer;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Log-structured storage of caches, one {@link LogStore} directory of segment files per
+ * cache name and types. Directory of storage is URI path or {@value #DIRECTORY_PROPERTY}
+ * property. Keys and values are serialized with {@link CompactValueSerializer} if cache
+ * has no value serializer configured.
+ * <p>
+ * Properties:
+ * {@value #SEGMENT_SIZE_PROPERTY} - size of segment file in bytes,
+ * {@value #SYNC_PROPERTY} - writes return after group fsync of their records,
+ * {@value #COMPACTION_INTERVAL_PROPERTY} - milliseconds between compactions, 0 disables compaction,
+ * {@value #COMPACTION_THRESHOLD_PROPERTY} - part of segment taken by dead entries to compact it.
+ * </p>
+ *
+ * 18.10.2026
+ */
+public class LogCacheStorage extends CacheStorage {
+
+    public static final String DIRECTORY_PROPERTY = "directory";
+    public static final String SEGMENT_SIZE_PROPERTY = "segment-size";
+    public static final String SYNC_PROPERTY = "sync";
+    public static final String COMPACTION_INTERVAL_PROPERTY = "compaction-interval";
+    public static final String COMPACTION_THRESHOLD_PROPERTY = "compaction-threshold";
+
+    private final ConcurrentMap<String,LogStore<?>> stores = new ConcurrentHashMap<>();
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean sync;
+    private final long compactionInterval;
+    private final double compactionThreshold;
+
+    public LogCacheStorage(URI uri, Properties properties) {
+        super(uri, properties);
+        String directory = properties.getProperty(DIRECTORY_PROPERTY, uri.getPath());
+        if(directory==null || directory.isEmpty()) {
+            throw new IllegalArgumentException("storage directory is not set: "+uri);
+        }
+        this.directory = Paths.get(directory);
+        this.segmentSize = Long.parseLong(properties.getProperty(SEGMENT_SIZE_PROPERTY, Long.toString(64 << 20)));
+        if(segmentSize<=0) {
+            throw new IllegalArgumentException("segment size must be positive: "+segmentSize);
+        }
+        this.sync = Boolean.parseBoolean(properties.getProperty(SYNC_PROPERTY, "false"));
+        this.compactionInterval = Long.parseLong(properties.getProperty(COMPACTION_INTERVAL_PROPERTY, "60000"));
+        if(compactionInterval<0) {
+            throw new IllegalArgumentException("compaction interval can't be negative: "+compactionInterval);
+        }
+        this.compactionThreshold = Double.parseDouble(properties.getProperty(COMPACTION_THRESHOLD_PROPERTY, "0.5"));
+        if(compactionThreshold<=0 || compactionThreshold>1) {
+            throw new IllegalArgumentException("compaction threshold must be in (0, 1]: "+compactionThreshold);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public <K, V> CacheStorageSession<K, V> openSession(String cacheName, Class<K> keyType, Class<V> valueType) {
+        return openSession(cacheName, keyType, valueType, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> CacheStorageSession<K, V> openSession(
+            String cacheName, Class<K> keyType, Class<V> valueType,
+            ValueSerializer<V> valueSerializer
+    ) {
+        String storeName = String.format("%s:%s:%s", cacheName, keyType.getName(), valueType.getName());
+        LogStore<K> store = (LogStore<K>) stores.computeIfAbsent(storeName, name -> new LogStore<K>(
+                cacheName, directory.resolve(fileName(name)), new CompactValueSerializer<K>(),
+                segmentSize, sync, compactionInterval, compactionThreshold
+        ));
+        try {
+            store.acquire();
+        } catch (IOException e) {
+            throw new IllegalStateException("can't open store of cache "+cacheName, e);
+        }
+        return new LogStorageSession<>(
+                this, store, keyType, valueType, new CompactValueSerializer<K>(),
+                valueSerializer==null?new CompactValueSerializer<V>():valueSerializer
+        );
+    }
+
+    private static String fileName(String storeName) {
+        try {
+            return URLEncoder.encode(storeName, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean isFixedTypes() {
+        return false;
+    }
+}
@@ -0,0 +1,191 @@
+package ru.infon.jcache.log;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Storage session over {@link LogStore} of cache. Entries are serialized before store
+ * is locked, so appends of concurrent writers are not delayed by serialization.
+ * Iteration is weakly consistent.
+ *
+ * 18.10.2026
+ */
+public class LogStorageSession<K,V> extends CacheStorageSession<K,V> {
+
+    private final LogStore<K> store;
+    private final ValueSerializer<K> keySerializer;
+    private final ValueSerializer<V> serializer;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final LogStore.RecordReader<K,StorableEntry<K,V>> entryReader = this::entry;
+
+    LogStorageSession(
+            CacheStorage storage, LogStore<K> store,
+            Class<K> keyType, Class<V> valueType,
+            ValueSerializer<K> keySerializer, ValueSerializer<V> serializer
+    ) {
+        super(storage, keyType, valueType);
+        this.store = store;
+        this.keySerializer = keySerializer;
+        this.serializer = serializer;
+    }
+
+    private LogStore.StoredRecord<K> encode(StorableEntry<K,V> entry) {
+        byte[] key;
+        byte[] value;
+        try {
+            key = keySerializer.serialize(entry.getKey());
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize key "+entry.getKey(), e);
+        }
+        try {
+            value = serializer.serialize(entry.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize value of "+entry.getValueType().getName(), e);
+        }
+        Date saveDate = entry.getSaveDate();
+        return new LogStore.StoredRecord<>(
+                entry.getKey(), key, value,
+                saveDate==null?System.currentTimeMillis():saveDate.getTime(),
+                entry.getExpireTimestamp()
+        );
+    }
+
+    private List<LogStore.StoredRecord<K>> encode(Collection<StorableEntry<K,V>> entries) {
+        List<LogStore.StoredRecord<K>> records = new ArrayList<>(entries.size());
+        for (StorableEntry<K, V> entry : entries) {
+            records.add(encode(entry));
+        }
+        return records;
+    }
+
+    private StorableEntry<K,V> entry(K key, ByteBuffer valueBuffer, long saveDate, Long expireTimestamp) {
+        V value;
+        try {
+            value = serializer.deserialize(valueBuffer);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't deserialize value of key "+key, e);
+        }
+        StorableEntry<K,V> entry = getEntryFactory().create(key, value);
+        entry.setSaveDate(new Date(saveDate));
+        entry.setExpireTimestamp(expireTimestamp);
+        return entry;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return store.contains(key);
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        return store.get(key, entryReader);
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        List<StorableEntry<K,V>> entries = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            StorableEntry<K,V> entry = store.get(key, entryReader);
+            if(entry!=null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        List<StorableEntry<K,V>> entries = new ArrayList<>(store.size());
+        Iterator<StorableEntry<K,V>> iterator = store.iterator(entryReader);
+        while (iterator.hasNext()) {
+            entries.add(iterator.next());
+        }
+        return entries;
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return store.keys();
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        return store.iterator(entryReader);
+    }
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        store.write(Collections.singletonList(encode(entry)), Collections.<K>emptySet());
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        store.write(encode(entries), Collections.<K>emptySet());
+    }
+
+    @Override
+    public void writeBatch(Collection<StorableEntry<K, V>> entries, Set<? extends K> removedKeys) {
+        store.write(encode(entries), removedKeys);
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        return store.replace(encode(entry));
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        store.updateExpireTimestamp(entry.getKey(), entry.getExpireTimestamp());
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        return store.removeExpired(keys, now, entryReader);
+    }
+
+    @Override
+    public boolean remove(K key) {
+        return store.remove(key);
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        store.write(Collections.<LogStore.StoredRecord<K>>emptyList(), keys);
+    }
+
+    @Override
+    public void removeAll() {
+        store.clear();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    LogStore<K> store() {
+        return store;
+    }
+
+    /**
+     * Segments of store are closed with last session of cache.
+     */
+    @Override
+    public void close() {
+        if(closed.compareAndSet(false, true)) {
+            store.release();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+}
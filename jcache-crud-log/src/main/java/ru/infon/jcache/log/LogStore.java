@@ -0,0 +1,814 @@
+package ru.infon.jcache.log;
+
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Log-structured store of one cache. Every write is appended to active segment file,
+ * in-memory index maps key to location of its latest entry record. Segment is sealed
+ * when it reaches segment size and new active segment is started.
+ * <p>
+ * Record layout: record length, CRC32 of rest of record, type, save date,
+ * expire timestamp, key length, value length, key bytes, value bytes.
+ * Remove, expire and clear records have no value. On open segments are replayed
+ * in order, torn tail of segment is truncated.
+ * </p>
+ * Background compaction rewrites live entries of sealed segments with garbage to active
+ * segment and deletes segment files. Replaced, removed and expired entries are dropped
+ * by header and key, values of dropped entries are never read. Remove records are kept
+ * while older segments exist, expired entries are dropped silently, as by TTL index.
+ * <p>
+ * With {@code sync} writers wait for fsync of their records, one fsync is shared by all
+ * writers waiting at the moment (group commit).
+ * </p>
+ *
+ * 18.10.2026
+ */
+final class LogStore<K> {
+
+    private static final Logger LOGGER = Logger.getLogger("javax.cache");
+
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+    static final byte EXPIRE = 3;
+    static final byte CLEAR = 4;
+
+    private static final int LENGTH_OFFSET = 0;
+    private static final int CRC_OFFSET = LENGTH_OFFSET + 4;
+    private static final int TYPE_OFFSET = CRC_OFFSET + 4;
+    private static final int SAVE_DATE_OFFSET = TYPE_OFFSET + 1;
+    private static final int EXPIRE_OFFSET = SAVE_DATE_OFFSET + 8;
+    private static final int KEY_LENGTH_OFFSET = EXPIRE_OFFSET + 8;
+    private static final int VALUE_LENGTH_OFFSET = KEY_LENGTH_OFFSET + 4;
+    static final int HEADER_SIZE = VALUE_LENGTH_OFFSET + 4;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    /**
+     * Reads entry, value buffer is owned by reader.
+     */
+    interface RecordReader<K,T> {
+        T read(K key, ByteBuffer value, long saveDate, Long expireTimestamp);
+    }
+
+    /**
+     * Entry record encoded before store is locked.
+     */
+    static final class StoredRecord<K> {
+        final K key;
+        final ByteBuffer record;
+
+        StoredRecord(K key, byte[] keyBytes, byte[] value, long saveDate, Long expireTimestamp) {
+            this.key = key;
+            this.record = encode(PUT, keyBytes, value, saveDate, expireTimestamp);
+        }
+    }
+
+    private final String name;
+    private final Path directory;
+    private final ValueSerializer<K> keySerializer;
+    private final long segmentSize;
+    private final boolean sync;
+    private final long compactionInterval;
+    private final double compactionThreshold;
+
+    private final ConcurrentMap<K,Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer,Segment> segments = new ConcurrentSkipListMap<>();
+    private final Lock writeLock = new ReentrantLock();
+    private volatile Segment active;
+    // appended records, guarded by write lock
+    private long written;
+
+    private final Object syncMonitor = new Object();
+    private long synced;
+    private boolean syncing;
+
+    private int sessions;
+    private ScheduledExecutorService compactor;
+
+    LogStore(
+            String name, Path directory, ValueSerializer<K> keySerializer, long segmentSize,
+            boolean sync, long compactionInterval, double compactionThreshold
+    ) {
+        this.name = name;
+        this.directory = directory;
+        this.keySerializer = keySerializer;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.compactionInterval = compactionInterval;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /*===========================================[ LIFECYCLE ]==============*/
+
+    /**
+     * Replays segments and starts compaction on first session.
+     */
+    synchronized void acquire() throws IOException {
+        if(sessions==0) {
+            open();
+            if(compactionInterval>0) {
+                final String threadName = "jcache-log-compactor-"+name;
+                compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, threadName);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                compactor.scheduleWithFixedDelay(
+                        this::compact, compactionInterval, compactionInterval, TimeUnit.MILLISECONDS
+                );
+            }
+        }
+        sessions++;
+    }
+
+    /**
+     * Forces and closes segments when last session is closed.
+     */
+    synchronized void release() {
+        if(--sessions>0) {
+            return;
+        }
+        if(compactor!=null) {
+            compactor.shutdown();
+            try {
+                compactor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            compactor = null;
+        }
+        writeLock.lock();
+        try {
+            active.channel.force(false);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "segment not forced: "+active, e);
+        } finally {
+            writeLock.unlock();
+        }
+        for (Segment segment : segments.values()) {
+            closeQuietly(segment);
+        }
+        segments.clear();
+        index.clear();
+        active = null;
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, Segment.PREFIX+"*")) {
+            for (Path file : files) {
+                ids.add(Integer.parseInt(file.getFileName().toString().substring(Segment.PREFIX.length())));
+            }
+        }
+        Collections.sort(ids);
+        long now = System.currentTimeMillis();
+        try {
+            for (Integer id : ids) {
+                Segment segment = new Segment(directory, id);
+                segments.put(id, segment);
+                replay(segment, now);
+            }
+            if(segments.isEmpty() || segments.lastEntry().getValue().size>=segmentSize) {
+                Segment segment = new Segment(directory, segments.isEmpty()?1:segments.lastKey()+1);
+                segments.put(segment.id, segment);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Segment segment : segments.values()) {
+                closeQuietly(segment);
+            }
+            segments.clear();
+            index.clear();
+            throw e;
+        }
+        active = segments.lastEntry().getValue();
+        active.channel.position(active.size);
+    }
+
+    private void replay(Segment segment, long now) throws IOException {
+        long size = segment.channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (position+HEADER_SIZE<=size) {
+            header.clear();
+            readFully(segment.channel, header, position);
+            int length = header.getInt(LENGTH_OFFSET);
+            int keyLength = header.getInt(KEY_LENGTH_OFFSET);
+            int valueLength = header.getInt(VALUE_LENGTH_OFFSET);
+            if(keyLength<0 || valueLength<0 || length!=HEADER_SIZE+keyLength+valueLength || position+length>size) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.allocate(length);
+            readFully(segment.channel, record, position);
+            if(record.getInt(CRC_OFFSET)!=crc(record)) {
+                break;
+            }
+            apply(segment, position, record, now);
+            position += length;
+        }
+        if(position<size) {
+            LOGGER.warning(String.format("segment %s truncated at %d of %d bytes", segment, position, size));
+            segment.channel.truncate(position);
+        }
+        segment.size = position;
+    }
+
+    private void apply(Segment segment, long offset, ByteBuffer record, long now) {
+        byte type = record.get(TYPE_OFFSET);
+        int length = record.getInt(LENGTH_OFFSET);
+        Long expireTimestamp = expireTimestamp(record);
+        segment.track(type);
+        if(type==CLEAR) {
+            for (Location location : index.values()) {
+                location.segment.dead.addAndGet(location.length);
+            }
+            index.clear();
+            return;
+        }
+        int keyLength = record.getInt(KEY_LENGTH_OFFSET);
+        K key = deserializeKey(slice(record, HEADER_SIZE, keyLength));
+        Location replaced;
+        if(type==PUT && (expireTimestamp==null || expireTimestamp>now)) {
+            replaced = index.put(key, new Location(
+                    segment, offset, length, keyLength, record.getLong(SAVE_DATE_OFFSET), expireTimestamp
+            ));
+        } else if(type==EXPIRE && (expireTimestamp==null || expireTimestamp>now)) {
+            Location location = index.get(key);
+            if(location!=null) {
+                index.put(key, location.withExpireTimestamp(expireTimestamp));
+            }
+            replaced = null;
+        } else {
+            if(type==PUT) {
+                segment.dead.addAndGet(length);
+            }
+            replaced = index.remove(key);
+        }
+        if(replaced!=null) {
+            replaced.segment.dead.addAndGet(replaced.length);
+        }
+    }
+
+    private void closeQuietly(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "segment not closed: "+segment, e);
+        }
+    }
+
+    private void checkOpen() {
+        if(active==null) {
+            throw new IllegalStateException("store is closed: "+directory);
+        }
+    }
+
+    /*===========================================[ RECORDS ]==============*/
+
+    static ByteBuffer encode(byte type, byte[] key, byte[] value, long saveDate, Long expireTimestamp) {
+        int length = HEADER_SIZE+key.length+value.length;
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length)
+                .putInt(0)
+                .put(type)
+                .putLong(saveDate)
+                .putLong(expireTimestamp==null?NO_TIMESTAMP:expireTimestamp)
+                .putInt(key.length)
+                .putInt(value.length)
+                .put(key)
+                .put(value);
+        record.putInt(CRC_OFFSET, crc(record));
+        record.flip();
+        return record;
+    }
+
+    private static int crc(ByteBuffer record) {
+        CRC32 crc = new CRC32();
+        crc.update(slice(record, TYPE_OFFSET, record.getInt(LENGTH_OFFSET)-TYPE_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(offset+length);
+        slice.position(offset);
+        return slice.slice();
+    }
+
+    private static Long expireTimestamp(ByteBuffer record) {
+        long expireTimestamp = record.getLong(EXPIRE_OFFSET);
+        return expireTimestamp==NO_TIMESTAMP?null:expireTimestamp;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position+buffer.position());
+            if(read<0) {
+                throw new EOFException("unexpected end of segment");
+            }
+        }
+        buffer.flip();
+    }
+
+    private byte[] serializeKey(K key) {
+        try {
+            return keySerializer.serialize(key);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize key "+key, e);
+        }
+    }
+
+    private K deserializeKey(ByteBuffer key) {
+        try {
+            return keySerializer.deserialize(key);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't deserialize key of store "+name, e);
+        }
+    }
+
+    /*===========================================[ READS ]==============*/
+
+    boolean contains(K key) {
+        checkOpen();
+        return index.containsKey(key);
+    }
+
+    int size() {
+        checkOpen();
+        return index.size();
+    }
+
+    Set<K> keys() {
+        checkOpen();
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * @return entry read by reader, null if key is not stored
+     */
+    <T> T get(K key, RecordReader<K,T> reader) {
+        checkOpen();
+        Location location = index.get(key);
+        while (location!=null) {
+            ByteBuffer value = ByteBuffer.allocate(location.valueLength());
+            try {
+                readFully(location.segment.channel, value, location.valueOffset());
+                return reader.read(key, value, location.saveDate, location.expireTimestamp);
+            } catch (ClosedChannelException e) {
+                // segment deleted by compaction after entry was moved
+                Location moved = index.get(key);
+                if(moved==location) {
+                    throw new IllegalStateException("store is closed: "+directory, e);
+                }
+                location = moved;
+            } catch (IOException e) {
+                throw new IllegalStateException("can't read entry of key "+key, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Weakly consistent iterator over stored entries.
+     */
+    <T> Iterator<T> iterator(RecordReader<K,T> reader) {
+        checkOpen();
+        final Iterator<K> keys = index.keySet().iterator();
+        return new Iterator<T>() {
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                while (next==null && keys.hasNext()) {
+                    next = get(keys.next(), reader);
+                }
+                return next!=null;
+            }
+
+            @Override
+            public T next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    /*===========================================[ WRITES ]==============*/
+
+    /**
+     * Appends records of entries and removed keys as one write,
+     * with {@code sync} returns after records are forced.
+     */
+    void write(Collection<StoredRecord<K>> records, Collection<? extends K> removedKeys) {
+        List<ByteBuffer> removals = new ArrayList<>(removedKeys.size());
+        for (K key : removedKeys) {
+            removals.add(encode(REMOVE, serializeKey(key), new byte[0], 0, null));
+        }
+        long sequence;
+        writeLock.lock();
+        try {
+            checkOpen();
+            for (StoredRecord<K> record : records) {
+                put(record.key, record.record);
+            }
+            Iterator<ByteBuffer> removal = removals.iterator();
+            for (K key : removedKeys) {
+                ByteBuffer record = removal.next();
+                if(index.containsKey(key)) {
+                    remove(key, record);
+                }
+            }
+            sequence = written;
+        } catch (IOException e) {
+            throw new IllegalStateException("can't append to store "+directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(sequence);
+    }
+
+    /**
+     * @return false if key is not stored
+     */
+    boolean replace(StoredRecord<K> record) {
+        long sequence;
+        writeLock.lock();
+        try {
+            checkOpen();
+            if(!index.containsKey(record.key)) {
+                return false;
+            }
+            put(record.key, record.record);
+            sequence = written;
+        } catch (IOException e) {
+            throw new IllegalStateException("can't append to store "+directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(sequence);
+        return true;
+    }
+
+    boolean remove(K key) {
+        ByteBuffer record = encode(REMOVE, serializeKey(key), new byte[0], 0, null);
+        long sequence;
+        writeLock.lock();
+        try {
+            checkOpen();
+            if(!index.containsKey(key)) {
+                return false;
+            }
+            remove(key, record);
+            sequence = written;
+        } catch (IOException e) {
+            throw new IllegalStateException("can't append to store "+directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(sequence);
+        return true;
+    }
+
+    void updateExpireTimestamp(K key, Long expireTimestamp) {
+        ByteBuffer record = encode(EXPIRE, serializeKey(key), new byte[0], 0, expireTimestamp);
+        long sequence;
+        writeLock.lock();
+        try {
+            checkOpen();
+            Location location = index.get(key);
+            if(location==null) {
+                return;
+            }
+            append(record);
+            active.track(EXPIRE);
+            index.put(key, location.withExpireTimestamp(expireTimestamp));
+            sequence = written;
+        } catch (IOException e) {
+            throw new IllegalStateException("can't append to store "+directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(sequence);
+    }
+
+    /**
+     * Removes entries of keys expired at given time.
+     * @return removed entries read by reader
+     */
+    <T> List<T> removeExpired(Collection<? extends K> keys, long now, RecordReader<K,T> reader) {
+        List<T> expired = new ArrayList<>();
+        long sequence;
+        writeLock.lock();
+        try {
+            checkOpen();
+            for (K key : keys) {
+                Location location = index.get(key);
+                if(location!=null && location.isExpired(now)) {
+                    expired.add(get(key, reader));
+                    remove(key, encode(REMOVE, serializeKey(key), new byte[0], 0, null));
+                }
+            }
+            sequence = written;
+        } catch (IOException e) {
+            throw new IllegalStateException("can't append to store "+directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(sequence);
+        return expired;
+    }
+
+    /**
+     * Starts new segment with clear record and deletes older segments.
+     */
+    void clear() {
+        long sequence;
+        writeLock.lock();
+        try {
+            checkOpen();
+            roll();
+            append(encode(CLEAR, new byte[0], new byte[0], 0, null));
+            active.track(CLEAR);
+            index.clear();
+            active.channel.force(false);
+            markSynced();
+            sequence = written;
+            for (Segment segment : new ArrayList<>(segments.headMap(active.id).values())) {
+                delete(segment);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("can't clear store "+directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(sequence);
+    }
+
+    private void put(K key, ByteBuffer record) throws IOException {
+        record = record.duplicate();
+        long offset = append(record);
+        Long expireTimestamp = expireTimestamp(record);
+        active.track(PUT);
+        Location replaced = index.put(key, new Location(
+                active, offset, record.limit(), record.getInt(KEY_LENGTH_OFFSET),
+                record.getLong(SAVE_DATE_OFFSET), expireTimestamp
+        ));
+        if(replaced!=null) {
+            replaced.segment.dead.addAndGet(replaced.length);
+        }
+    }
+
+    private void remove(K key, ByteBuffer record) throws IOException {
+        append(record);
+        active.track(REMOVE);
+        Location removed = index.remove(key);
+        if(removed!=null) {
+            removed.segment.dead.addAndGet(removed.length);
+        }
+    }
+
+    /**
+     * @return offset of record in active segment
+     */
+    private long append(ByteBuffer record) throws IOException {
+        int length = record.remaining();
+        if(active.size>0 && active.size+length>segmentSize) {
+            roll();
+        }
+        Segment segment = active;
+        long offset = segment.size;
+        while (record.hasRemaining()) {
+            segment.channel.write(record);
+        }
+        record.rewind();
+        segment.size = offset+length;
+        written++;
+        return offset;
+    }
+
+    private void roll() throws IOException {
+        if(sync) {
+            active.channel.force(false);
+            markSynced();
+        }
+        Segment segment = new Segment(directory, active.id+1);
+        segments.put(segment.id, segment);
+        active = segment;
+    }
+
+    /**
+     * Marks records appended so far as forced, called under write lock.
+     */
+    private void markSynced() {
+        synchronized (syncMonitor) {
+            synced = Math.max(synced, written);
+        }
+    }
+
+    /**
+     * Group commit: waits for fsync covering given record sequence, one writer forces
+     * active segment for all records appended so far.
+     */
+    private void sync(long sequence) {
+        if(!sync) {
+            return;
+        }
+        try {
+            synchronized (syncMonitor) {
+                while (syncing && synced<sequence) {
+                    syncMonitor.wait();
+                }
+                if(synced>=sequence) {
+                    return;
+                }
+                syncing = true;
+            }
+            long target;
+            Segment segment;
+            writeLock.lock();
+            try {
+                target = written;
+                segment = active;
+            } finally {
+                writeLock.unlock();
+            }
+            boolean forced = false;
+            try {
+                segment.channel.force(false);
+                forced = true;
+            } finally {
+                synchronized (syncMonitor) {
+                    syncing = false;
+                    if(forced) {
+                        synced = Math.max(synced, target);
+                    }
+                    syncMonitor.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted waiting for sync of store "+directory, new InterruptedIOException());
+        } catch (IOException e) {
+            throw new IllegalStateException("can't sync store "+directory, e);
+        }
+    }
+
+    /*===========================================[ COMPACTION ]==============*/
+
+    /**
+     * Compacts sealed segments with garbage, oldest first.
+     */
+    void compact() {
+        long now = System.currentTimeMillis();
+        // expired entries are found by index, segments are not read
+        Map<Segment,Long> expired = new HashMap<>();
+        for (Location location : index.values()) {
+            if(location.isExpired(now)) {
+                expired.merge(location.segment, (long) location.length, Long::sum);
+            }
+        }
+        try {
+            for (Segment segment : segments.values()) {
+                if(segment==active) {
+                    break;
+                }
+                boolean oldest = segment==segments.firstEntry().getValue();
+                // clear record must stay ahead of older segments
+                if(segment.clears>0 && !oldest) {
+                    continue;
+                }
+                if(segment.isCompactable(oldest, compactionThreshold, expired.getOrDefault(segment, 0L))) {
+                    compact(segment, oldest, now);
+                }
+            }
+        } catch (ClosedChannelException e) {
+            LOGGER.log(Level.FINE, "compacted segment deleted by clear of store "+directory, e);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "compaction of store "+directory+" failed", e);
+        }
+    }
+
+    // segment is not deleted by clear and store is open
+    private boolean isLive(Segment segment) {
+        return active!=null && segments.get(segment.id)==segment;
+    }
+
+    /**
+     * Moves live records of segment to active segment and deletes it.
+     * Records are checked by header and key, values are read only to be moved.
+     */
+    private void compact(Segment segment, boolean oldest, long now) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long position = 0;
+        while (position<segment.size) {
+            header.clear();
+            readFully(segment.channel, header, position);
+            byte type = header.get(TYPE_OFFSET);
+            int length = header.getInt(LENGTH_OFFSET);
+            int keyLength = header.getInt(KEY_LENGTH_OFFSET);
+            ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength);
+            readFully(segment.channel, keyBuffer, position+HEADER_SIZE);
+            K key = type==CLEAR?null:deserializeKey(keyBuffer);
+
+            writeLock.lock();
+            try {
+                if(!isLive(segment)) {
+                    return;
+                }
+                Location location = key==null?null:index.get(key);
+                if(type==PUT) {
+                    if(location!=null && location.segment==segment && location.offset==position) {
+                        if(!location.isExpired(now)) {
+                            move(key, location);
+                        } else if(oldest) {
+                            index.remove(key, location);
+                        } else {
+                            // older segment may hold previous entry of key
+                            remove(key, encode(REMOVE, keyBuffer.array(), new byte[0], 0, null));
+                        }
+                    }
+                } else if(type==EXPIRE) {
+                    // entry record in older segment still needs new expire timestamp
+                    if(location!=null && location.segment.id<segment.id && !location.isExpired(now)) {
+                        ByteBuffer record = ByteBuffer.allocate(length);
+                        readFully(segment.channel, record, position);
+                        append(record);
+                        active.track(EXPIRE);
+                    }
+                } else if(type==REMOVE) {
+                    if(location==null && !oldest) {
+                        ByteBuffer record = ByteBuffer.allocate(length);
+                        readFully(segment.channel, record, position);
+                        append(record);
+                        active.track(REMOVE);
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            position += length;
+        }
+        long sequence;
+        writeLock.lock();
+        try {
+            if(!isLive(segment)) {
+                return;
+            }
+            if(sync) {
+                active.channel.force(false);
+                markSynced();
+            }
+            sequence = written;
+            delete(segment);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(sequence);
+    }
+
+    /**
+     * Appends copy of entry record with current expire timestamp.
+     */
+    private void move(K key, Location location) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(location.length);
+        readFully(location.segment.channel, record, location.offset);
+        record.putLong(EXPIRE_OFFSET, location.expireTimestamp==null?NO_TIMESTAMP:location.expireTimestamp);
+        record.putInt(CRC_OFFSET, crc(record));
+        long offset = append(record);
+        active.track(PUT);
+        index.put(key, new Location(
+                active, offset, location.length, location.keyLength, location.saveDate, location.expireTimestamp
+        ));
+    }
+
+    private void delete(Segment segment) throws IOException {
+        segments.remove(segment.id);
+        closeQuietly(segment);
+        Files.delete(segment.path);
+    }
+}
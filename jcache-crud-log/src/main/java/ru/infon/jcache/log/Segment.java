@@ -0,0 +1,60 @@
+package ru.infon.jcache.log;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Segment file of {@link LogStore} with accounting used to choose segments for compaction.
+ * Only active segment is written, sealed segments are read and deleted by compaction.
+ *
+ * 18.10.2026
+ */
+final class Segment {
+
+    static final String PREFIX = "segment.";
+
+    final int id;
+    final Path path;
+    final FileChannel channel;
+
+    // guarded by write lock of store
+    volatile long size;
+    // bytes of replaced and removed entries
+    final AtomicLong dead = new AtomicLong();
+    // remove, expire and clear records, which are dropped only from oldest segment
+    volatile int markers;
+    volatile int clears;
+
+    Segment(Path directory, int id) throws IOException {
+        this.id = id;
+        this.path = directory.resolve(PREFIX+id);
+        this.channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+        );
+    }
+
+    void track(byte type) {
+        if(type!=LogStore.PUT) {
+            markers++;
+        }
+        if(type==LogStore.CLEAR) {
+            clears++;
+        }
+    }
+
+    /**
+     * @param expired - bytes of expired entries in segment
+     * @return true if compaction of segment frees space
+     */
+    boolean isCompactable(boolean oldest, double threshold, long expired) {
+        return dead.get()+expired>=size*threshold || oldest && markers>0;
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package ru.infon.jcache.log.spi;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.spi.StoredCachingProvider;
+import ru.infon.jcache.log.LogCacheStorage;
+
+import javax.cache.configuration.OptionalFeature;
+import java.io.File;
+import java.net.URI;
+import java.util.Properties;
+
+/**
+ * Caching provider keeping caches in append-only segment files, see {@link LogCacheStorage}.
+ *
+ * 18.10.2026
+ */
+public class LogCachingProvider extends StoredCachingProvider {
+
+    @Override
+    public CacheStorage createStorageObject(URI uri, Properties properties) {
+        return new LogCacheStorage(uri, properties);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public URI getDefaultURI() {
+        return new File(System.getProperty("java.io.tmpdir"), "jcache-log").toURI();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSupported(OptionalFeature optionalFeature) {
+        return false;
+    }
+}
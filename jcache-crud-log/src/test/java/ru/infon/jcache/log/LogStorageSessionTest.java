@@ -0,0 +1,154 @@
+package ru.infon.jcache.log;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import ru.infon.jcache.core.AbstractStorageSessionTest;
+import ru.infon.jcache.core.StorableEntry;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.util.*;
+
+/**
+ * 18.10.2026
+ */
+public class LogStorageSessionTest extends AbstractStorageSessionTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+    private Properties properties;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder();
+        properties = new Properties();
+        properties.setProperty(LogCacheStorage.DIRECTORY_PROPERTY, directory.getPath());
+        properties.setProperty(LogCacheStorage.SEGMENT_SIZE_PROPERTY, "4096");
+        properties.setProperty(LogCacheStorage.COMPACTION_INTERVAL_PROPERTY, "0");
+        properties.setProperty(LogCacheStorage.SYNC_PROPERTY, "true");
+    }
+
+    private LogStorageSession<String,String> open() {
+        return (LogStorageSession<String, String>) new LogCacheStorage(URI.create("log://localhost/test"), properties)
+                .openSession("test", String.class, String.class);
+    }
+
+    private File[] segments() {
+        File storeDirectory = directory.listFiles()[0];
+        return storeDirectory.listFiles((dir, name) -> name.startsWith(Segment.PREFIX));
+    }
+
+    @Test
+    public void testCrudAndReplay() {
+        LogStorageSession<String,String> session = open();
+        StorableEntry<String,String> entry = entry(session, "key", "value");
+        entry.setExpireTimestamp(System.currentTimeMillis()+60_000);
+        session.put(entry);
+        Assert.assertEquals("value", session.get("key").getValue());
+        Assert.assertEquals(entry.getSaveDate(), session.get("key").getSaveDate());
+        Assert.assertTrue(session.update(entry(session, "key", "updated")));
+        Assert.assertFalse(session.update(entry(session, "missing", "updated")));
+        session.writeBatch(
+                Arrays.asList(entry(session, "a", "1"), entry(session, "b", "2")), Collections.singleton("key")
+        );
+        StorableEntry<String,String> touched = entry(session, "a", "1");
+        touched.setExpireTimestamp(System.currentTimeMillis()+120_000);
+        session.updateExpireTime(touched);
+        session.close();
+
+        LogStorageSession<String,String> reopened = open();
+        Assert.assertFalse(reopened.containsKey("key"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a", "b")), new HashSet<>((Set<String>) reopened.keys()));
+        Assert.assertEquals(touched.getExpireTimestamp(), reopened.get("a").getExpireTimestamp());
+        Assert.assertEquals(2, reopened.getAll().size());
+        reopened.removeAll();
+        Assert.assertEquals(0, reopened.size());
+        Assert.assertEquals(1, segments().length);
+        reopened.close();
+        Assert.assertEquals(0, open().size());
+    }
+
+    @Test
+    public void testCompaction() throws InterruptedException {
+        LogStorageSession<String,String> session = open();
+        for (int round = 0; round < 3; round++) {
+            List<StorableEntry<String,String>> entries = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                entries.add(entry(session, "key-"+i, "value-"+round+"-"+i));
+            }
+            session.putAll(entries);
+        }
+        session.removeAll(new HashSet<>(Arrays.asList("key-0", "key-2")));
+        putAll(session, "other", 100, null);
+
+        long length = segmentsLength();
+        session.store().compact();
+        Assert.assertTrue(segmentsLength()<length);
+        Assert.assertEquals(198, session.size());
+        Assert.assertEquals("value-2-10", session.get("key-10").getValue());
+
+        putAll(session, "expiring", 100, System.currentTimeMillis()+300);
+        putAll(session, "filler", 100, null);
+        Thread.sleep(400);
+        length = segmentsLength();
+        session.store().compact();
+        // expired entries are dropped without removes
+        Assert.assertTrue(segmentsLength()<length);
+        Assert.assertTrue(session.size()<398);
+        Assert.assertEquals("value-2-10", session.get("key-10").getValue());
+        session.close();
+
+        LogStorageSession<String,String> reopened = open();
+        Assert.assertEquals(298, reopened.size());
+        Assert.assertFalse(reopened.containsKey("key-0"));
+        Assert.assertEquals("value-2-99", reopened.get("key-99").getValue());
+        Assert.assertEquals("value-99", reopened.get("filler-99").getValue());
+        reopened.close();
+    }
+
+    private static void putAll(LogStorageSession<String,String> session, String prefix, int count, Long expireTimestamp) {
+        List<StorableEntry<String,String>> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StorableEntry<String,String> entry = entry(session, prefix+"-"+i, "value-"+i);
+            entry.setExpireTimestamp(expireTimestamp);
+            entries.add(entry);
+        }
+        session.putAll(entries);
+    }
+
+    @Test
+    public void testTornTailIsTruncated() throws IOException {
+        LogStorageSession<String,String> session = open();
+        session.put(entry(session, "a", "1"));
+        session.put(entry(session, "b", "2"));
+        session.close();
+
+        File segment = segments()[0];
+        long length = segment.length();
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            // last record is half written
+            file.setLength(length-3);
+        }
+        LogStorageSession<String,String> reopened = open();
+        Assert.assertEquals("1", reopened.get("a").getValue());
+        Assert.assertFalse(reopened.containsKey("b"));
+        reopened.put(entry(reopened, "c", "3"));
+        reopened.close();
+        Assert.assertEquals("3", open().get("c").getValue());
+    }
+
+    private long segmentsLength() {
+        long length = 0;
+        for (File segment : segments()) {
+            length += segment.length();
+        }
+        return length;
+    }
+}
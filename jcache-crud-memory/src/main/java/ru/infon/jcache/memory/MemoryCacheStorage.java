@@ -0,0 +1,62 @@
+package ru.infon.jcache.memory;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.serialization.CompactValueSerializer;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.net.URI;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Storage of caches in JVM heap, one concurrent hash table per cache name and types.
+ * Tables live as long as storage, so cache reopened by the same cache manager sees
+ * its entries. Values are serialized with {@link CompactValueSerializer} if cache
+ * has no value serializer configured.
+ * Property {@value #INITIAL_CAPACITY_PROPERTY} sets initial capacity of tables.
+ *
+ * 18.10.2026
+ */
+public class MemoryCacheStorage extends CacheStorage {
+
+    public static final String INITIAL_CAPACITY_PROPERTY = "initial-capacity";
+
+    private final ConcurrentMap<String,ConcurrentMap<?,StoredValue>> tables = new ConcurrentHashMap<>();
+    private final int initialCapacity;
+
+    public MemoryCacheStorage(URI uri, Properties properties) {
+        super(uri, properties);
+        this.initialCapacity = Integer.parseInt(properties.getProperty(INITIAL_CAPACITY_PROPERTY, "16"));
+        if(initialCapacity<0) {
+            throw new IllegalArgumentException("initial capacity can't be negative: "+initialCapacity);
+        }
+    }
+
+    @Override
+    public <K, V> CacheStorageSession<K, V> openSession(String cacheName, Class<K> keyType, Class<V> valueType) {
+        return openSession(cacheName, keyType, valueType, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> CacheStorageSession<K, V> openSession(
+            String cacheName, Class<K> keyType, Class<V> valueType,
+            ValueSerializer<V> valueSerializer
+    ) {
+        String tableName = String.format("%s:%s:%s", cacheName, keyType.getName(), valueType.getName());
+        ConcurrentMap<K,StoredValue> table = (ConcurrentMap<K, StoredValue>) tables.computeIfAbsent(
+                tableName, name -> new ConcurrentHashMap<K,StoredValue>(initialCapacity)
+        );
+        return new MemoryStorageSession<>(
+                this, table, keyType, valueType,
+                valueSerializer==null?new CompactValueSerializer<V>():valueSerializer
+        );
+    }
+
+    @Override
+    public boolean isFixedTypes() {
+        return false;
+    }
+}
@@ -0,0 +1,190 @@
+package ru.infon.jcache.memory;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Storage session over concurrent hash table of {@link MemoryCacheStorage}.
+ * Values are stored serialized, so cache keeps store-by-value semantics: stored
+ * values are not affected by changes of written or read objects. Entries are replaced
+ * as a whole with atomic table operations, no locks are taken by session itself.
+ * Iteration is weakly consistent.
+ *
+ * 18.10.2026
+ */
+public class MemoryStorageSession<K,V> extends CacheStorageSession<K,V> {
+
+    private final ConcurrentMap<K,StoredValue> table;
+    private final ValueSerializer<V> serializer;
+    private volatile boolean closed;
+
+    public MemoryStorageSession(
+            CacheStorage storage, ConcurrentMap<K,StoredValue> table,
+            Class<K> keyType, Class<V> valueType, ValueSerializer<V> serializer
+    ) {
+        super(storage, keyType, valueType);
+        this.table = table;
+        this.serializer = serializer;
+    }
+
+    private StoredValue encode(StorableEntry<K,V> entry) {
+        try {
+            Date saveDate = entry.getSaveDate();
+            return new StoredValue(
+                    serializer.serialize(entry.getValue()),
+                    saveDate==null?System.currentTimeMillis():saveDate.getTime(),
+                    entry.getExpireTimestamp()
+            );
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize value of "+entry.getValueType().getName(), e);
+        }
+    }
+
+    private StorableEntry<K,V> decode(K key, StoredValue stored) {
+        if(stored==null) {
+            return null;
+        }
+        V value;
+        try {
+            value = serializer.deserialize(stored.value);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't deserialize value of key "+key, e);
+        }
+        StorableEntry<K,V> entry = getEntryFactory().create(key, value);
+        entry.setSaveDate(new Date(stored.saveDate));
+        entry.setExpireTimestamp(stored.expireTimestamp);
+        return entry;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return table.containsKey(key);
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        return decode(key, table.get(key));
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        List<StorableEntry<K,V>> entries = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            StoredValue stored = table.get(key);
+            if(stored!=null) {
+                entries.add(decode(key, stored));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        List<StorableEntry<K,V>> entries = new ArrayList<>(table.size());
+        for (Map.Entry<K, StoredValue> stored : table.entrySet()) {
+            entries.add(decode(stored.getKey(), stored.getValue()));
+        }
+        return entries;
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return Collections.unmodifiableSet(table.keySet());
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        final Iterator<Map.Entry<K,StoredValue>> stored = table.entrySet().iterator();
+        return new Iterator<StorableEntry<K, V>>() {
+            @Override
+            public boolean hasNext() {
+                return stored.hasNext();
+            }
+
+            @Override
+            public StorableEntry<K, V> next() {
+                Map.Entry<K,StoredValue> next = stored.next();
+                return decode(next.getKey(), next.getValue());
+            }
+        };
+    }
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        table.put(entry.getKey(), encode(entry));
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        // values are serialized before any entry becomes visible
+        Map<K,StoredValue> encoded = new HashMap<>(entries.size()*4/3+1);
+        for (StorableEntry<K, V> entry : entries) {
+            encoded.put(entry.getKey(), encode(entry));
+        }
+        table.putAll(encoded);
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        return table.replace(entry.getKey(), encode(entry))!=null;
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        K key = entry.getKey();
+        StoredValue stored = table.get(key);
+        while (stored!=null && !table.replace(key, stored, stored.withExpireTimestamp(entry.getExpireTimestamp()))) {
+            stored = table.get(key);
+        }
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        List<StorableEntry<K,V>> expired = new ArrayList<>();
+        for (K key : keys) {
+            StoredValue stored = table.get(key);
+            // entry rewritten after check is kept
+            if(stored!=null && stored.isExpired(now) && table.remove(key, stored)) {
+                expired.add(decode(key, stored));
+            }
+        }
+        return expired;
+    }
+
+    @Override
+    public boolean remove(K key) {
+        return table.remove(key)!=null;
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        for (K key : keys) {
+            table.remove(key);
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        table.clear();
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.infon.jcache.memory;
+
+/**
+ * Immutable stored form of cache entry: serialized value and entry metadata.
+ * Entries are changed by replacing stored value, so concurrent readers never see
+ * partially updated entry.
+ *
+ * 18.10.2026
+ */
+final class StoredValue {
+
+    final byte[] value;
+    final long saveDate;
+    // null - never expires
+    final Long expireTimestamp;
+
+    StoredValue(byte[] value, long saveDate, Long expireTimestamp) {
+        this.value = value;
+        this.saveDate = saveDate;
+        this.expireTimestamp = expireTimestamp;
+    }
+
+    StoredValue withExpireTimestamp(Long expireTimestamp) {
+        return new StoredValue(value, saveDate, expireTimestamp);
+    }
+
+    boolean isExpired(long now) {
+        return expireTimestamp!=null && expireTimestamp<=now;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.infon.jcache.memory.spi;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.spi.StoredCachingProvider;
+import ru.infon.jcache.memory.MemoryCacheStorage;
+
+import javax.cache.configuration.OptionalFeature;
+import java.net.URI;
+import java.util.Properties;
+
+/**
+ * Caching provider keeping caches in JVM heap, see {@link MemoryCacheStorage}.
+ *
+ * 18.10.2026
+ */
+public class MemoryCachingProvider extends StoredCachingProvider {
+
+    @Override
+    public CacheStorage createStorageObject(URI uri, Properties properties) {
+        return new MemoryCacheStorage(uri, properties);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public URI getDefaultURI() {
+        return URI.create("memory://localhost/jcache");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSupported(OptionalFeature optionalFeature) {
+        return false;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.infon.jcache.memory;
+
+import ru.infon.jcache.core.AbstractStoredCacheTest;
+
+/**
+ * 18.10.2026
+ */
+public class MemoryCacheTest extends AbstractStoredCacheTest {
+}
@@ -0,0 +1,98 @@
+package ru.infon.jcache.memory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * 18.10.2026
+ */
+public class MemoryStorageSessionTest {
+
+    private MemoryCacheStorage storage;
+    private CacheStorageSession<String,ArrayList> session;
+
+    @Before
+    public void setUp() {
+        storage = new MemoryCacheStorage(URI.create("memory://localhost/test"), new Properties());
+        session = storage.openSession("test", String.class, ArrayList.class);
+    }
+
+    private StorableEntry<String,ArrayList> entry(String key, String... values) {
+        return session.getEntryFactory().create(key, new ArrayList<>(Arrays.asList(values)));
+    }
+
+    @Test
+    public void testStoreByValue() {
+        StorableEntry<String,ArrayList> entry = entry("key", "a");
+        session.put(entry);
+        entry.getValue().add("b");
+
+        StorableEntry<String,ArrayList> loaded = session.get("key");
+        Assert.assertEquals(Collections.singletonList("a"), loaded.getValue());
+        loaded.getValue().add("c");
+        Assert.assertEquals(Collections.singletonList("a"), session.get("key").getValue());
+        Assert.assertEquals(entry.getSaveDate(), loaded.getSaveDate());
+    }
+
+    @Test
+    public void testBulkOperations() {
+        List<StorableEntry<String,ArrayList>> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(entry("key-"+i, "value-"+i));
+        }
+        session.putAll(entries);
+        Assert.assertEquals(2, session.getAll(new HashSet<>(Arrays.asList("key-1", "key-2", "missing"))).size());
+
+        session.writeBatch(Collections.singletonList(entry("key-1", "updated")), Collections.singleton("key-2"));
+        Assert.assertEquals(Collections.singletonList("updated"), session.get("key-1").getValue());
+        Assert.assertFalse(session.containsKey("key-2"));
+        Assert.assertFalse(session.update(entry("key-2", "updated")));
+
+        session.removeAll(new HashSet<>(Arrays.asList("key-3", "key-4")));
+        int count = 0;
+        Iterator<StorableEntry<String,ArrayList>> iterator = session.iterator(10);
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        Assert.assertEquals(97, count);
+    }
+
+    @Test
+    public void testRemoveExpired() {
+        long now = System.currentTimeMillis();
+        StorableEntry<String,ArrayList> expired = entry("expired", "a");
+        expired.setExpireTimestamp(now-1);
+        StorableEntry<String,ArrayList> alive = entry("alive", "b");
+        alive.setExpireTimestamp(now+60_000);
+        session.putAll(Arrays.asList(expired, alive));
+
+        // expiry extended by other writer is not removed
+        alive.setExpireTimestamp(now-1);
+        Collection<StorableEntry<String,ArrayList>> removed = session.removeExpired(
+                new HashSet<>(Arrays.asList("expired", "alive")), now
+        );
+        Assert.assertEquals(1, removed.size());
+        Assert.assertEquals("expired", removed.iterator().next().getKey());
+        Assert.assertTrue(session.containsKey("alive"));
+
+        session.updateExpireTime(alive);
+        Assert.assertEquals(1, session.removeExpired(Collections.singleton("alive"), now).size());
+    }
+
+    @Test
+    public void testTableSharedBySessions() {
+        session.put(entry("key", "a"));
+        session.close();
+        Assert.assertTrue(session.isClosed());
+        CacheStorageSession<String,ArrayList> reopened = storage.openSession("test", String.class, ArrayList.class);
+        Assert.assertTrue(reopened.containsKey("key"));
+        Assert.assertFalse(storage.openSession("other", String.class, ArrayList.class).containsKey("key"));
+    }
+}
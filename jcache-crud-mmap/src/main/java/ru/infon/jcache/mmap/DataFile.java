@@ -0,0 +1,116 @@
+package ru.infon.jcache.mmap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only file of records mapped in regions of fixed size. File grows by mapping
+ * next region, mapped regions are never remapped, so buffers of written records stay
+ * valid while file is open. Records don't cross region boundary.
+ * Not thread safe, guarded by lock of {@link MappedStore}.
+ *
+ * 18.10.2026
+ */
+final class DataFile implements Closeable {
+
+    private final FileChannel channel;
+    private final int regionSize;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+    // first region written since last force
+    private int dirtyRegion;
+
+    DataFile(Path path, int regionSize) throws IOException {
+        this.channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+        );
+        this.regionSize = regionSize;
+        long length = channel.size();
+        while ((long) regions.size()*regionSize<length) {
+            mapRegion();
+        }
+        this.dirtyRegion = regions.size();
+    }
+
+    private void mapRegion() throws IOException {
+        regions.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) regions.size()*regionSize, regionSize));
+    }
+
+    /**
+     * @return length of mapped regions
+     */
+    long length() {
+        return (long) regions.size()*regionSize;
+    }
+
+    /**
+     * Maps region for record of given length written at or after end of data.
+     * @return address of record
+     */
+    long allocate(long end, int length) throws IOException {
+        if(length>regionSize) {
+            throw new IllegalArgumentException(String.format(
+                    "record of %d bytes doesn't fit region of %d bytes, see '%s' property",
+                    length, regionSize, MmapCacheStorage.REGION_SIZE_PROPERTY
+            ));
+        }
+        int offset = offset(end);
+        if(offset+length>regionSize) {
+            end += regionSize-offset;
+        }
+        int region = (int) (end/regionSize);
+        while (regions.size()<=region) {
+            mapRegion();
+        }
+        dirtyRegion = Math.min(dirtyRegion, region);
+        return end;
+    }
+
+    /**
+     * @return mapped region containing address, buffer must not be repositioned
+     */
+    ByteBuffer region(long address) {
+        return regions.get((int) (address/regionSize));
+    }
+
+    int offset(long address) {
+        return (int) (address%regionSize);
+    }
+
+    /**
+     * @return view of mapped bytes, no data is copied
+     */
+    ByteBuffer slice(long address, int length) {
+        ByteBuffer buffer = region(address).duplicate();
+        int offset = offset(address);
+        buffer.limit(offset+length);
+        buffer.position(offset);
+        return buffer.slice();
+    }
+
+    void force() {
+        for (int i = dirtyRegion; i < regions.size(); i++) {
+            regions.get(i).force();
+        }
+        dirtyRegion = regions.size();
+    }
+
+    /**
+     * Marks region of address written, for in place updates.
+     */
+    void touch(long address) {
+        dirtyRegion = Math.min(dirtyRegion, (int) (address/regionSize));
+    }
+
+    @Override
+    public void close() throws IOException {
+        regions.clear();
+        channel.close();
+    }
+}
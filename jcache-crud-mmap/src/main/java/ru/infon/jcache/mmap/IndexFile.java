@@ -0,0 +1,153 @@
+package ru.infon.jcache.mmap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory mapped open-addressing hash index from key hash to record address in {@link DataFile}.
+ * <p>
+ * Layout: header of {@value #HEADER_SIZE} bytes (magic, clean flag, capacity,
+ * end of data, live entries, tombstones, garbage bytes) and capacity slots of
+ * key hash and record address. Hash {@value #EMPTY} marks empty slot,
+ * address {@value #TOMBSTONE} marks removed entry.
+ * </p>
+ * Not thread safe, guarded by lock of {@link MappedStore}.
+ *
+ * 18.10.2026
+ */
+final class IndexFile implements Closeable {
+
+    static final long EMPTY = 0;
+    static final long TOMBSTONE = -1;
+    static final int MAX_CAPACITY = 1 << 26;
+
+    private static final int MAGIC = 0x4a434d49;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CLEAN_OFFSET = MAGIC_OFFSET + 4;
+    private static final int CAPACITY_OFFSET = CLEAN_OFFSET + 4;
+    private static final int DATA_END_OFFSET = CAPACITY_OFFSET + 8;
+    private static final int SIZE_OFFSET = DATA_END_OFFSET + 8;
+    private static final int TOMBSTONES_OFFSET = SIZE_OFFSET + 8;
+    private static final int GARBAGE_OFFSET = TOMBSTONES_OFFSET + 8;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private IndexFile(FileChannel channel, int capacity) throws IOException {
+        this.channel = channel;
+        this.capacity = capacity;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE+(long) capacity*SLOT_SIZE);
+    }
+
+    /**
+     * @param capacity - number of slots, power of two
+     */
+    static IndexFile create(Path path, int capacity) throws IOException {
+        if(capacity>MAX_CAPACITY) {
+            throw new IllegalStateException(String.format("index capacity %d exceeds %d", capacity, MAX_CAPACITY));
+        }
+        FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE
+        );
+        IndexFile index = new IndexFile(channel, capacity);
+        index.buffer.putInt(MAGIC_OFFSET, MAGIC);
+        index.buffer.putLong(CAPACITY_OFFSET, capacity);
+        return index;
+    }
+
+    static IndexFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            long capacity = header.getLong(CAPACITY_OFFSET);
+            if(header.getInt(MAGIC_OFFSET)!=MAGIC || Long.bitCount(capacity)!=1 || capacity>MAX_CAPACITY
+                    || channel.size()<HEADER_SIZE+capacity*SLOT_SIZE) {
+                throw new IOException("corrupted index file "+path);
+            }
+            return new IndexFile(channel, (int) capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long hash(int slot) {
+        return buffer.getLong(HEADER_SIZE+slot*SLOT_SIZE);
+    }
+
+    long address(int slot) {
+        return buffer.getLong(HEADER_SIZE+slot*SLOT_SIZE+8);
+    }
+
+    void setHash(int slot, long hash) {
+        buffer.putLong(HEADER_SIZE+slot*SLOT_SIZE, hash);
+    }
+
+    void setAddress(int slot, long address) {
+        buffer.putLong(HEADER_SIZE+slot*SLOT_SIZE+8, address);
+    }
+
+    boolean isLive(int slot) {
+        return hash(slot)!=EMPTY && address(slot)!=TOMBSTONE;
+    }
+
+    boolean isClean() {
+        return buffer.getInt(CLEAN_OFFSET)!=0;
+    }
+
+    void setClean(boolean clean) {
+        buffer.putInt(CLEAN_OFFSET, clean?1:0);
+    }
+
+    long getDataEnd() {
+        return buffer.getLong(DATA_END_OFFSET);
+    }
+
+    void setDataEnd(long dataEnd) {
+        buffer.putLong(DATA_END_OFFSET, dataEnd);
+    }
+
+    long getSize() {
+        return buffer.getLong(SIZE_OFFSET);
+    }
+
+    void setSize(long size) {
+        buffer.putLong(SIZE_OFFSET, size);
+    }
+
+    long getTombstones() {
+        return buffer.getLong(TOMBSTONES_OFFSET);
+    }
+
+    void setTombstones(long tombstones) {
+        buffer.putLong(TOMBSTONES_OFFSET, tombstones);
+    }
+
+    long getGarbage() {
+        return buffer.getLong(GARBAGE_OFFSET);
+    }
+
+    void setGarbage(long garbage) {
+        buffer.putLong(GARBAGE_OFFSET, garbage);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,671 @@
+package ru.infon.jcache.mmap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Store of one cache: {@link IndexFile} and {@link DataFile} of current generation
+ * in own directory. Generation is named by {@value #CURRENT} file.
+ * <p>
+ * Record layout: record length, CRC32 of key and value, key hash, save date,
+ * expire timestamp, key length, value length, key bytes, value bytes.
+ * Records are aligned to 8 bytes, so timestamps and index slots are updated
+ * by single aligned writes.
+ * </p>
+ * Writes append record, then publish its address in index slot, replaced record
+ * becomes garbage. Index is marked not clean while store is open; index of store
+ * which wasn't closed is validated on open: slots of torn records are removed.
+ * With {@code sync} files are forced after every write, otherwise writes survive
+ * process crash but not system crash.
+ * <p>
+ * When index is full of entries and tombstones or garbage outgrows live records,
+ * store is rewritten to new generation: live records are copied to new files which
+ * are forced before {@value #CURRENT} file is atomically replaced.
+ * </p>
+ *
+ * 18.10.2026
+ */
+final class MappedStore {
+
+    private static final Logger LOGGER = Logger.getLogger("javax.cache");
+
+    static final String CURRENT = "CURRENT";
+    private static final String INDEX_PREFIX = "index.";
+    private static final String DATA_PREFIX = "data.";
+
+    private static final int LENGTH_OFFSET = 0;
+    private static final int CRC_OFFSET = LENGTH_OFFSET + 4;
+    private static final int HASH_OFFSET = CRC_OFFSET + 4;
+    private static final int SAVE_DATE_OFFSET = HASH_OFFSET + 8;
+    private static final int EXPIRE_OFFSET = SAVE_DATE_OFFSET + 8;
+    private static final int KEY_LENGTH_OFFSET = EXPIRE_OFFSET + 8;
+    private static final int VALUE_LENGTH_OFFSET = KEY_LENGTH_OFFSET + 4;
+    private static final int DATA_OFFSET = VALUE_LENGTH_OFFSET + 4;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final double MAX_LOAD = 0.7;
+
+    /**
+     * Reads record straight from mapped file, buffers are valid during call only.
+     */
+    interface RecordReader<T> {
+        T read(ByteBuffer key, ByteBuffer value, long saveDate, Long expireTimestamp);
+    }
+
+    static final class StoredRecord {
+        final byte[] key;
+        final byte[] value;
+        final long saveDate;
+        // null - never expires
+        final Long expireTimestamp;
+
+        StoredRecord(byte[] key, byte[] value, long saveDate, Long expireTimestamp) {
+            this.key = key;
+            this.value = value;
+            this.saveDate = saveDate;
+            this.expireTimestamp = expireTimestamp;
+        }
+    }
+
+    private final Path directory;
+    private final int initialCapacity;
+    private final int regionSize;
+    private final boolean sync;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int sessions;
+    private long generation;
+    private IndexFile index;
+    private DataFile data;
+
+    MappedStore(Path directory, int initialCapacity, int regionSize, boolean sync) {
+        this.directory = directory;
+        this.initialCapacity = initialCapacity;
+        this.regionSize = regionSize;
+        this.sync = sync;
+    }
+
+    /*===========================================[ LIFECYCLE ]==============*/
+
+    /**
+     * Opens files on first session.
+     */
+    void acquire() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if(sessions==0) {
+                open();
+            }
+            sessions++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks index clean and closes files when last session is closed.
+     */
+    void release() {
+        lock.writeLock().lock();
+        try {
+            if(--sessions>0) {
+                return;
+            }
+            data.force();
+            index.setClean(true);
+            index.force();
+            closeFiles();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        Path current = directory.resolve(CURRENT);
+        if(!Files.exists(current)) {
+            deleteGenerations(-1);
+            generation = 0;
+            index = IndexFile.create(indexPath(generation), initialCapacity);
+            data = new DataFile(dataPath(generation), regionSize);
+            writeCurrent();
+        } else {
+            generation = Long.parseLong(new String(Files.readAllBytes(current), StandardCharsets.US_ASCII).trim());
+            // files of interrupted rewrite
+            deleteGenerations(generation);
+            index = IndexFile.open(indexPath(generation));
+            data = new DataFile(dataPath(generation), regionSize);
+            if(!index.isClean()) {
+                recover();
+            }
+        }
+        index.setClean(false);
+        index.force();
+    }
+
+    private void closeFiles() {
+        try {
+            index.close();
+            data.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "store files not closed: "+directory, e);
+        }
+        index = null;
+        data = null;
+    }
+
+    private Path indexPath(long generation) {
+        return directory.resolve(INDEX_PREFIX+generation);
+    }
+
+    private Path dataPath(long generation) {
+        return directory.resolve(DATA_PREFIX+generation);
+    }
+
+    private void writeCurrent() throws IOException {
+        Path temp = directory.resolve(CURRENT+".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            channel.write(ByteBuffer.wrap(Long.toString(generation).getBytes(StandardCharsets.US_ASCII)));
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CURRENT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteGenerations(long keep) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if((name.startsWith(INDEX_PREFIX) || name.startsWith(DATA_PREFIX))
+                        && !name.equals(INDEX_PREFIX+keep) && !name.equals(DATA_PREFIX+keep)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes slots of records which are not completely written and restores header.
+     */
+    private void recover() {
+        long dataEnd = index.getDataEnd();
+        long size = 0;
+        long tombstones = 0;
+        long live = 0;
+        for (int slot = 0; slot < index.capacity(); slot++) {
+            long hash = index.hash(slot);
+            if(hash==IndexFile.EMPTY) {
+                continue;
+            }
+            long address = index.address(slot);
+            if(address!=IndexFile.TOMBSTONE && !isValid(address, hash)) {
+                index.setAddress(slot, IndexFile.TOMBSTONE);
+                address = IndexFile.TOMBSTONE;
+            }
+            if(address==IndexFile.TOMBSTONE) {
+                tombstones++;
+            } else {
+                int length = data.region(address).getInt(data.offset(address)+LENGTH_OFFSET);
+                size++;
+                live += length;
+                dataEnd = Math.max(dataEnd, address+length);
+            }
+        }
+        index.setDataEnd(dataEnd);
+        index.setSize(size);
+        index.setTombstones(tombstones);
+        index.setGarbage(dataEnd-live);
+        LOGGER.warning(String.format("store %s was not closed, %d entries recovered", directory, size));
+    }
+
+    private boolean isValid(long address, long hash) {
+        if(address<0 || address%8!=0 || address+DATA_OFFSET>data.length()
+                || data.offset(address)+DATA_OFFSET>regionSize) {
+            return false;
+        }
+        ByteBuffer region = data.region(address);
+        int offset = data.offset(address);
+        int keyLength = region.getInt(offset+KEY_LENGTH_OFFSET);
+        int valueLength = region.getInt(offset+VALUE_LENGTH_OFFSET);
+        if(region.getLong(offset+HASH_OFFSET)!=hash || keyLength<0 || valueLength<0
+                || region.getInt(offset+LENGTH_OFFSET)!=recordLength(keyLength, valueLength)
+                || offset+recordLength(keyLength, valueLength)>regionSize) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data.slice(address+DATA_OFFSET, keyLength+valueLength));
+        return region.getInt(offset+CRC_OFFSET)==(int) crc.getValue();
+    }
+
+    private void checkOpen() {
+        if(index==null) {
+            throw new IllegalStateException("store is closed: "+directory);
+        }
+    }
+
+    /*===========================================[ READS ]==============*/
+
+    static long hash(byte[] key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash==IndexFile.EMPTY?1:hash;
+    }
+
+    private static int recordLength(int keyLength, int valueLength) {
+        return (DATA_OFFSET+keyLength+valueLength+7) & ~7;
+    }
+
+    private int findSlot(byte[] key, long hash) {
+        int mask = index.capacity()-1;
+        for (int slot = (int) hash & mask; index.hash(slot)!=IndexFile.EMPTY; slot = (slot+1) & mask) {
+            if(index.hash(slot)==hash && index.address(slot)!=IndexFile.TOMBSTONE
+                    && keyEquals(index.address(slot), key)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private boolean keyEquals(long address, byte[] key) {
+        int keyLength = data.region(address).getInt(data.offset(address)+KEY_LENGTH_OFFSET);
+        return keyLength==key.length && data.slice(address+DATA_OFFSET, keyLength).equals(ByteBuffer.wrap(key));
+    }
+
+    private <T> T read(long address, RecordReader<T> reader) {
+        ByteBuffer region = data.region(address);
+        int offset = data.offset(address);
+        int keyLength = region.getInt(offset+KEY_LENGTH_OFFSET);
+        long expireTimestamp = region.getLong(offset+EXPIRE_OFFSET);
+        return reader.read(
+                data.slice(address+DATA_OFFSET, keyLength),
+                data.slice(address+DATA_OFFSET+keyLength, region.getInt(offset+VALUE_LENGTH_OFFSET)),
+                region.getLong(offset+SAVE_DATE_OFFSET),
+                expireTimestamp==NO_TIMESTAMP?null:expireTimestamp
+        );
+    }
+
+    boolean contains(byte[] key) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return findSlot(key, hash(key))>=0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return record read by reader, null if key is not stored
+     */
+    <T> T get(byte[] key, RecordReader<T> reader) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            int slot = findSlot(key, hash(key));
+            return slot<0?null:read(index.address(slot), reader);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long size() {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return index.getSize();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Weakly consistent iterator over stored records, reads one record under lock at a time.
+     */
+    <T> Iterator<T> iterator(RecordReader<T> reader) {
+        return new Iterator<T>() {
+            private int slot;
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                if(next!=null) {
+                    return true;
+                }
+                lock.readLock().lock();
+                try {
+                    checkOpen();
+                    for (; next==null && slot<index.capacity(); slot++) {
+                        if(index.isLive(slot)) {
+                            next = read(index.address(slot), reader);
+                        }
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+                return next!=null;
+            }
+
+            @Override
+            public T next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    /*===========================================[ WRITES ]==============*/
+
+    /**
+     * Stores records and removes keys as one write, files are forced once with {@code sync}.
+     */
+    void write(Collection<StoredRecord> records, Collection<byte[]> removedKeys) {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            for (StoredRecord record : records) {
+                long hash = hash(record.key);
+                int slot = findSlot(record.key, hash);
+                if(slot<0) {
+                    ensureCapacity();
+                }
+                append(record, hash, slot);
+            }
+            for (byte[] key : removedKeys) {
+                int slot = findSlot(key, hash(key));
+                if(slot>=0) {
+                    removeSlot(slot);
+                }
+            }
+            written();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return false if key is not stored
+     */
+    boolean replace(StoredRecord record) {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            long hash = hash(record.key);
+            int slot = findSlot(record.key, hash);
+            if(slot<0) {
+                return false;
+            }
+            append(record, hash, slot);
+            written();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean remove(byte[] key) {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            int slot = findSlot(key, hash(key));
+            if(slot<0) {
+                return false;
+            }
+            removeSlot(slot);
+            written();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates expire timestamp of stored record in place.
+     */
+    void updateExpireTimestamp(byte[] key, Long expireTimestamp) {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            int slot = findSlot(key, hash(key));
+            if(slot<0) {
+                return;
+            }
+            long address = index.address(slot);
+            data.region(address).putLong(data.offset(address)+EXPIRE_OFFSET,
+                    expireTimestamp==null?NO_TIMESTAMP:expireTimestamp
+            );
+            data.touch(address);
+            written();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes records of keys expired at given time.
+     * @return removed records read by reader
+     */
+    <T> List<T> removeExpired(Collection<byte[]> keys, long now, RecordReader<T> reader) {
+        List<T> expired = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            for (byte[] key : keys) {
+                int slot = findSlot(key, hash(key));
+                if(slot<0) {
+                    continue;
+                }
+                long address = index.address(slot);
+                long expireTimestamp = data.region(address).getLong(data.offset(address)+EXPIRE_OFFSET);
+                if(expireTimestamp!=NO_TIMESTAMP && expireTimestamp<=now) {
+                    expired.add(read(address, reader));
+                    removeSlot(slot);
+                }
+            }
+            if(!expired.isEmpty()) {
+                written();
+            }
+            return expired;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            rewrite(initialCapacity, false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(StoredRecord record, long hash, int slot) {
+        int length = recordLength(record.key.length, record.value.length);
+        long address;
+        try {
+            address = data.allocate(index.getDataEnd(), length);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't map data file of store "+directory, e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.key);
+        crc.update(record.value);
+        ByteBuffer buffer = data.region(address).duplicate();
+        buffer.position(data.offset(address));
+        buffer.putInt(length)
+                .putInt((int) crc.getValue())
+                .putLong(hash)
+                .putLong(record.saveDate)
+                .putLong(record.expireTimestamp==null?NO_TIMESTAMP:record.expireTimestamp)
+                .putInt(record.key.length)
+                .putInt(record.value.length)
+                .put(record.key)
+                .put(record.value);
+        index.setDataEnd(address+length);
+
+        if(slot>=0) {
+            long replaced = index.address(slot);
+            index.setGarbage(index.getGarbage()+data.region(replaced).getInt(data.offset(replaced)+LENGTH_OFFSET));
+            index.setAddress(slot, address);
+            return;
+        }
+        int mask = index.capacity()-1;
+        slot = (int) hash & mask;
+        while (index.isLive(slot)) {
+            slot = (slot+1) & mask;
+        }
+        if(index.hash(slot)==IndexFile.EMPTY) {
+            // slot becomes visible with hash
+            index.setAddress(slot, address);
+            index.setHash(slot, hash);
+        } else {
+            // tombstone keeps its address until slot belongs to new key
+            index.setHash(slot, hash);
+            index.setAddress(slot, address);
+            index.setTombstones(index.getTombstones()-1);
+        }
+        index.setSize(index.getSize()+1);
+    }
+
+    private void removeSlot(int slot) {
+        long address = index.address(slot);
+        index.setAddress(slot, IndexFile.TOMBSTONE);
+        index.setGarbage(index.getGarbage()+data.region(address).getInt(data.offset(address)+LENGTH_OFFSET));
+        index.setSize(index.getSize()-1);
+        index.setTombstones(index.getTombstones()+1);
+    }
+
+    /**
+     * Rewrites store before new key is inserted into full index.
+     */
+    private void ensureCapacity() {
+        long size = index.getSize();
+        if(size+index.getTombstones()+1<=index.capacity()*MAX_LOAD) {
+            return;
+        }
+        int capacity = index.capacity();
+        while ((size+1)*2>capacity*MAX_LOAD) {
+            capacity <<= 1;
+        }
+        rewrite(capacity, true);
+    }
+
+    private void written() {
+        long garbage = index.getGarbage();
+        if(garbage>regionSize && garbage>index.getDataEnd()-garbage) {
+            rewrite(index.capacity(), true);
+        } else if(sync) {
+            data.force();
+            index.force();
+        }
+    }
+
+    /**
+     * Writes live records to files of next generation and switches store to them.
+     */
+    private void rewrite(int capacity, boolean copy) {
+        long next = generation+1;
+        IndexFile nextIndex = null;
+        DataFile nextData = null;
+        try {
+            nextIndex = IndexFile.create(indexPath(next), capacity);
+            nextData = new DataFile(dataPath(next), regionSize);
+            long end = 0;
+            long size = 0;
+            int mask = capacity-1;
+            for (int slot = 0; copy && slot < index.capacity(); slot++) {
+                if(!index.isLive(slot)) {
+                    continue;
+                }
+                long address = index.address(slot);
+                int length = data.region(address).getInt(data.offset(address)+LENGTH_OFFSET);
+                long nextAddress = nextData.allocate(end, length);
+                ByteBuffer target = nextData.region(nextAddress).duplicate();
+                target.position(nextData.offset(nextAddress));
+                target.put(data.slice(address, length));
+                end = nextAddress+length;
+
+                long hash = index.hash(slot);
+                int nextSlot = (int) hash & mask;
+                while (nextIndex.hash(nextSlot)!=IndexFile.EMPTY) {
+                    nextSlot = (nextSlot+1) & mask;
+                }
+                nextIndex.setAddress(nextSlot, nextAddress);
+                nextIndex.setHash(nextSlot, hash);
+                size++;
+            }
+            nextIndex.setDataEnd(end);
+            nextIndex.setSize(size);
+            nextData.force();
+            nextIndex.force();
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(nextIndex, nextData);
+            try {
+                deleteGenerations(generation);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new IllegalStateException("can't rewrite store "+directory, e);
+        }
+
+        long previous = generation;
+        try {
+            generation = next;
+            writeCurrent();
+        } catch (IOException e) {
+            generation = previous;
+            closeQuietly(nextIndex, nextData);
+            throw new IllegalStateException("can't switch generation of store "+directory, e);
+        }
+        closeQuietly(index, data);
+        index = nextIndex;
+        data = nextData;
+        try {
+            deleteGenerations(generation);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "files of previous generation not deleted: "+directory, e);
+        }
+    }
+
+    private void closeQuietly(IndexFile index, DataFile data) {
+        try {
+            if(index!=null) {
+                index.close();
+            }
+            if(data!=null) {
+                data.close();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "store files not closed: "+directory, e);
+        }
+    }
+}
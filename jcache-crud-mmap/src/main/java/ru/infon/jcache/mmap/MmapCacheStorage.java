@@ -0,0 +1,105 @@
+package ru.infon.jcache.mmap;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.serialization.CompactValueSerializer;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Storage of caches in memory mapped files, one {@link MappedStore} directory per cache
+ * name and types. Directory of storage is URI path or {@value #DIRECTORY_PROPERTY} property.
+ * Keys and values are serialized with {@link CompactValueSerializer} if cache has
+ * no value serializer configured.
+ * <p>
+ * Properties:
+ * {@value #INITIAL_CAPACITY_PROPERTY} - initial number of index slots of cache,
+ * {@value #REGION_SIZE_PROPERTY} - size of mapped data region in bytes, limits entry size,
+ * {@value #SYNC_PROPERTY} - force files after every write.
+ * </p>
+ *
+ * 18.10.2026
+ */
+public class MmapCacheStorage extends CacheStorage {
+
+    public static final String DIRECTORY_PROPERTY = "directory";
+    public static final String INITIAL_CAPACITY_PROPERTY = "initial-capacity";
+    public static final String REGION_SIZE_PROPERTY = "region-size";
+    public static final String SYNC_PROPERTY = "sync";
+
+    private final ConcurrentMap<String,MappedStore> stores = new ConcurrentHashMap<>();
+    private final Path directory;
+    private final int initialCapacity;
+    private final int regionSize;
+    private final boolean sync;
+
+    public MmapCacheStorage(URI uri, Properties properties) {
+        super(uri, properties);
+        String directory = properties.getProperty(DIRECTORY_PROPERTY, uri.getPath());
+        if(directory==null || directory.isEmpty()) {
+            throw new IllegalArgumentException("storage directory is not set: "+uri);
+        }
+        this.directory = Paths.get(directory);
+        int initialCapacity = Integer.parseInt(properties.getProperty(INITIAL_CAPACITY_PROPERTY, "1024"));
+        if(initialCapacity<=0 || initialCapacity>IndexFile.MAX_CAPACITY) {
+            throw new IllegalArgumentException("invalid initial capacity: "+initialCapacity);
+        }
+        this.initialCapacity = Math.max(16, Integer.highestOneBit(initialCapacity*2-1));
+        this.regionSize = Integer.parseInt(properties.getProperty(REGION_SIZE_PROPERTY, Integer.toString(64 << 20)));
+        if(regionSize<4096 || regionSize%8!=0) {
+            throw new IllegalArgumentException("region size must be multiple of 8 not less than 4096: "+regionSize);
+        }
+        this.sync = Boolean.parseBoolean(properties.getProperty(SYNC_PROPERTY, "false"));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public <K, V> CacheStorageSession<K, V> openSession(String cacheName, Class<K> keyType, Class<V> valueType) {
+        return openSession(cacheName, keyType, valueType, null);
+    }
+
+    @Override
+    public <K, V> CacheStorageSession<K, V> openSession(
+            String cacheName, Class<K> keyType, Class<V> valueType,
+            ValueSerializer<V> valueSerializer
+    ) {
+        String storeName = String.format("%s:%s:%s", cacheName, keyType.getName(), valueType.getName());
+        MappedStore store = stores.computeIfAbsent(storeName, name -> new MappedStore(
+                directory.resolve(fileName(name)), initialCapacity, regionSize, sync
+        ));
+        try {
+            store.acquire();
+        } catch (IOException e) {
+            throw new IllegalStateException("can't open store of cache "+cacheName, e);
+        }
+        return new MmapStorageSession<>(
+                this, store, keyType, valueType, new CompactValueSerializer<K>(),
+                valueSerializer==null?new CompactValueSerializer<V>():valueSerializer
+        );
+    }
+
+    private static String fileName(String storeName) {
+        try {
+            return URLEncoder.encode(storeName, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean isFixedTypes() {
+        return false;
+    }
+}
@@ -0,0 +1,211 @@
+package ru.infon.jcache.mmap;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Storage session over {@link MappedStore} of cache. Keys and values are stored serialized,
+ * reads deserialize them straight from mapped regions with
+ * {@link ValueSerializer#deserialize(ByteBuffer)}. Iteration is weakly consistent.
+ *
+ * 18.10.2026
+ */
+public class MmapStorageSession<K,V> extends CacheStorageSession<K,V> {
+
+    private final MappedStore store;
+    private final ValueSerializer<K> keySerializer;
+    private final ValueSerializer<V> serializer;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final MappedStore.RecordReader<StorableEntry<K,V>> entryReader =
+            (key, value, saveDate, expireTimestamp) -> entry(deserializeKey(key), value, saveDate, expireTimestamp);
+    private final MappedStore.RecordReader<K> keyReader =
+            (key, value, saveDate, expireTimestamp) -> deserializeKey(key);
+
+    MmapStorageSession(
+            CacheStorage storage, MappedStore store,
+            Class<K> keyType, Class<V> valueType,
+            ValueSerializer<K> keySerializer, ValueSerializer<V> serializer
+    ) {
+        super(storage, keyType, valueType);
+        this.store = store;
+        this.keySerializer = keySerializer;
+        this.serializer = serializer;
+    }
+
+    private byte[] serializeKey(K key) {
+        try {
+            return keySerializer.serialize(key);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize key "+key, e);
+        }
+    }
+
+    private List<byte[]> serializeKeys(Collection<? extends K> keys) {
+        List<byte[]> serialized = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            serialized.add(serializeKey(key));
+        }
+        return serialized;
+    }
+
+    private K deserializeKey(ByteBuffer key) {
+        try {
+            return keySerializer.deserialize(key);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't deserialize key of "+getEntryFactory().getKeyType().getName(), e);
+        }
+    }
+
+    private MappedStore.StoredRecord encode(StorableEntry<K,V> entry) {
+        byte[] value;
+        try {
+            value = serializer.serialize(entry.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize value of "+entry.getValueType().getName(), e);
+        }
+        Date saveDate = entry.getSaveDate();
+        return new MappedStore.StoredRecord(
+                serializeKey(entry.getKey()), value,
+                saveDate==null?System.currentTimeMillis():saveDate.getTime(),
+                entry.getExpireTimestamp()
+        );
+    }
+
+    private List<MappedStore.StoredRecord> encode(Collection<StorableEntry<K,V>> entries) {
+        List<MappedStore.StoredRecord> records = new ArrayList<>(entries.size());
+        for (StorableEntry<K, V> entry : entries) {
+            records.add(encode(entry));
+        }
+        return records;
+    }
+
+    private StorableEntry<K,V> entry(K key, ByteBuffer valueBuffer, long saveDate, Long expireTimestamp) {
+        V value;
+        try {
+            value = serializer.deserialize(valueBuffer);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't deserialize value of key "+key, e);
+        }
+        StorableEntry<K,V> entry = getEntryFactory().create(key, value);
+        entry.setSaveDate(new Date(saveDate));
+        entry.setExpireTimestamp(expireTimestamp);
+        return entry;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return store.contains(serializeKey(key));
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        return store.get(serializeKey(key),
+                (keyBuffer, value, saveDate, expireTimestamp) -> entry(key, value, saveDate, expireTimestamp)
+        );
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        List<StorableEntry<K,V>> entries = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            StorableEntry<K,V> entry = get(key);
+            if(entry!=null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        List<StorableEntry<K,V>> entries = new ArrayList<>();
+        Iterator<StorableEntry<K,V>> iterator = store.iterator(entryReader);
+        while (iterator.hasNext()) {
+            entries.add(iterator.next());
+        }
+        return entries;
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return () -> store.iterator(keyReader);
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        return store.iterator(entryReader);
+    }
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        store.write(Collections.singletonList(encode(entry)), Collections.<byte[]>emptyList());
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        // serialized before store is locked
+        store.write(encode(entries), Collections.<byte[]>emptyList());
+    }
+
+    @Override
+    public void writeBatch(Collection<StorableEntry<K, V>> entries, Set<? extends K> removedKeys) {
+        store.write(encode(entries), serializeKeys(removedKeys));
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        return store.replace(encode(entry));
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        store.updateExpireTimestamp(serializeKey(entry.getKey()), entry.getExpireTimestamp());
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        return store.removeExpired(serializeKeys(keys), now, entryReader);
+    }
+
+    @Override
+    public boolean remove(K key) {
+        return store.remove(serializeKey(key));
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        store.write(Collections.<MappedStore.StoredRecord>emptyList(), serializeKeys(keys));
+    }
+
+    @Override
+    public void removeAll() {
+        store.clear();
+    }
+
+    public long size() {
+        return store.size();
+    }
+
+    /**
+     * Files of store are closed with last session of cache.
+     */
+    @Override
+    public void close() {
+        if(closed.compareAndSet(false, true)) {
+            store.release();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+}
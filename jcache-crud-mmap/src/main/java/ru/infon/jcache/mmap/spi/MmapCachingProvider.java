@@ -0,0 +1,39 @@
+package ru.infon.jcache.mmap.spi;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.spi.StoredCachingProvider;
+import ru.infon.jcache.mmap.MmapCacheStorage;
+
+import javax.cache.configuration.OptionalFeature;
+import java.io.File;
+import java.net.URI;
+import java.util.Properties;
+
+/**
+ * Caching provider keeping caches in memory mapped files, see {@link MmapCacheStorage}.
+ *
+ * 18.10.2026
+ */
+public class MmapCachingProvider extends StoredCachingProvider {
+
+    @Override
+    public CacheStorage createStorageObject(URI uri, Properties properties) {
+        return new MmapCacheStorage(uri, properties);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public URI getDefaultURI() {
+        return new File(System.getProperty("java.io.tmpdir"), "jcache").toURI();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSupported(OptionalFeature optionalFeature) {
+        return false;
+    }
+}
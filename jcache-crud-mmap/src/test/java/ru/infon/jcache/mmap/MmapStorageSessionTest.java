@@ -0,0 +1,137 @@
+package ru.infon.jcache.mmap;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import ru.infon.jcache.core.AbstractStorageSessionTest;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.*;
+
+/**
+ * 18.10.2026
+ */
+public class MmapStorageSessionTest extends AbstractStorageSessionTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Properties properties;
+
+    @Before
+    public void setUp() throws IOException {
+        properties = new Properties();
+        properties.setProperty(MmapCacheStorage.DIRECTORY_PROPERTY, folder.newFolder().getPath());
+        properties.setProperty(MmapCacheStorage.INITIAL_CAPACITY_PROPERTY, "16");
+        properties.setProperty(MmapCacheStorage.REGION_SIZE_PROPERTY, "4096");
+    }
+
+    private CacheStorageSession<String,String> open() {
+        return new MmapCacheStorage(URI.create("mmap://localhost/test"), properties)
+                .openSession("test", String.class, String.class);
+    }
+
+    @Test
+    public void testCrud() {
+        CacheStorageSession<String,String> session = open();
+        StorableEntry<String,String> entry = entry(session, "key", "value");
+        session.put(entry);
+        StorableEntry<String,String> loaded = session.get("key");
+        Assert.assertEquals("value", loaded.getValue());
+        Assert.assertEquals(entry.getSaveDate(), loaded.getSaveDate());
+        Assert.assertNull(loaded.getExpireTimestamp());
+        Assert.assertNull(session.get("missing"));
+
+        Assert.assertTrue(session.update(entry(session, "key", "updated")));
+        Assert.assertFalse(session.update(entry(session, "missing", "updated")));
+        Assert.assertEquals("updated", session.get("key").getValue());
+
+        session.writeBatch(
+                Arrays.asList(entry(session, "a", "1"), entry(session, "b", "2")), Collections.singleton("key")
+        );
+        Assert.assertFalse(session.containsKey("key"));
+        Assert.assertEquals(2, session.getAll(new HashSet<>(Arrays.asList("a", "b", "key"))).size());
+        Set<String> keys = new HashSet<>();
+        for (String key : session.keys()) {
+            keys.add(key);
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a", "b")), keys);
+        Assert.assertTrue(session.remove("a"));
+        Assert.assertFalse(session.remove("a"));
+        session.removeAll();
+        Assert.assertTrue(session.getAll().isEmpty());
+        session.close();
+    }
+
+    @Test
+    public void testRemoveExpired() {
+        CacheStorageSession<String,String> session = open();
+        long now = System.currentTimeMillis();
+        StorableEntry<String,String> expired = entry(session, "expired", "a");
+        expired.setExpireTimestamp(now-1);
+        StorableEntry<String,String> alive = entry(session, "alive", "b");
+        alive.setExpireTimestamp(now+60_000);
+        session.putAll(Arrays.asList(expired, alive));
+
+        Collection<StorableEntry<String,String>> removed = session.removeExpired(
+                new HashSet<>(Arrays.asList("expired", "alive")), now
+        );
+        Assert.assertEquals(1, removed.size());
+        Assert.assertEquals("expired", removed.iterator().next().getKey());
+
+        alive.setExpireTimestamp(now-1);
+        session.updateExpireTime(alive);
+        Assert.assertEquals(Long.valueOf(now-1), session.get("alive").getExpireTimestamp());
+        Assert.assertEquals(1, session.removeExpired(Collections.singleton("alive"), now).size());
+        session.close();
+    }
+
+    @Test
+    public void testGrowthAndReopen() {
+        CacheStorageSession<String,String> session = open();
+        // index is resized and regions are mapped, rewrites drop replaced records
+        for (int round = 0; round < 3; round++) {
+            List<StorableEntry<String,String>> entries = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                entries.add(entry(session, "key-"+i, "value-"+round+"-"+i));
+            }
+            session.putAll(entries);
+        }
+        session.removeAll(new HashSet<>(Arrays.asList("key-1", "key-2")));
+        Assert.assertEquals(998, ((MmapStorageSession) session).size());
+        session.close();
+        Assert.assertTrue(session.isClosed());
+
+        CacheStorageSession<String,String> reopened = open();
+        Assert.assertEquals("value-2-999", reopened.get("key-999").getValue());
+        Assert.assertFalse(reopened.containsKey("key-1"));
+        int count = 0;
+        Iterator<StorableEntry<String,String>> iterator = reopened.iterator(100);
+        while (iterator.hasNext()) {
+            Assert.assertTrue(iterator.next().getValue().startsWith("value-2-"));
+            count++;
+        }
+        Assert.assertEquals(998, count);
+        reopened.close();
+    }
+
+    @Test
+    public void testRecoveryOfNotClosedStore() {
+        CacheStorageSession<String,String> session = open();
+        for (int i = 0; i < 100; i++) {
+            session.put(entry(session, "key-"+i, "value-"+i));
+        }
+        // storage of crashed process: files are reopened without close
+        CacheStorageSession<String,String> recovered = open();
+        Assert.assertEquals(100, ((MmapStorageSession) recovered).size());
+        Assert.assertEquals("value-42", recovered.get("key-42").getValue());
+        recovered.put(entry(recovered, "key-100", "value-100"));
+        Assert.assertEquals("value-100", recovered.get("key-100").getValue());
+        recovered.close();
+    }
+}
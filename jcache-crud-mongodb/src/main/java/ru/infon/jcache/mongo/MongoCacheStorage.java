@@ -3,38 +3,106 @@ package ru.infon.jcache.mongo;
 
 import ru.infon.jcache.core.CacheStorage;
 import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+import ru.infon.jcache.core.shard.ConsistentHashRing;
+import ru.infon.jcache.core.shard.ShardedStorageSession;
 
 import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 
 /**
+ * Storage of caches in Mongo database. If properties list shards as
+ * {@value #SHARD_PROPERTY_PREFIX}&lt;name&gt;=&lt;mongodb uri&gt;, every cache is split
+ * between shard deployments by consistent hashing of keys and storage URI is not used.
+ *
  * 18.10.2016
  * @author kostapc
  * 2016 Infon
  */
 public class MongoCacheStorage extends CacheStorage {
 
+    public static final String SHARD_PROPERTY_PREFIX = "shard.";
+    public static final String SHARD_VIRTUAL_NODES_PROPERTY = "shard-virtual-nodes";
+
     private MongoConnection mongoConnection;
+    // shard name -> connection, sorted so every client builds the same ring
+    private final Map<String,MongoConnection> shardConnections = new TreeMap<>();
+    private int shardVirtualNodes = ConsistentHashRing.DEFAULT_VIRTUAL_NODES;
 
     public MongoCacheStorage(URI uri, Properties properties) {
         super(uri, properties);
-        mongoConnection = new MongoConnection(
-                new MongoURIWrapper(uri), properties
-        );
+        Properties connectionProperties = new Properties();
+        Map<String,String> shardURIs = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name);
+            if(name.startsWith(SHARD_PROPERTY_PREFIX)) {
+                shardURIs.put(name.substring(SHARD_PROPERTY_PREFIX.length()), value);
+            } else if(name.equals(SHARD_VIRTUAL_NODES_PROPERTY)) {
+                shardVirtualNodes = Integer.parseInt(value);
+            } else {
+                connectionProperties.setProperty(name, value);
+            }
+        }
+        if(shardURIs.isEmpty()) {
+            mongoConnection = new MongoConnection(
+                    new MongoURIWrapper(uri), connectionProperties
+            );
+            return;
+        }
+        for (Map.Entry<String, String> shard : shardURIs.entrySet()) {
+            shardConnections.put(shard.getKey(), new MongoConnection(
+                    new MongoURIWrapper(shard.getValue()), connectionProperties
+            ));
+        }
+    }
+
+    public boolean isSharded() {
+        return !shardConnections.isEmpty();
     }
 
     @Override
     public <K, V> CacheStorageSession<K, V> openSession(
             String cacheCollectionName, Class<K> keyType, Class<V> valueType
     ) {
-        return new MongoStorageSession<>(
-                this, cacheCollectionName, mongoConnection,
-                keyType, valueType
-        );
+        return openSession(cacheCollectionName, keyType, valueType, null);
+    }
+
+    @Override
+    public <K, V> CacheStorageSession<K, V> openSession(
+            String cacheCollectionName, Class<K> keyType, Class<V> valueType,
+            ValueSerializer<V> valueSerializer
+    ) {
+        if(!isSharded()) {
+            return new MongoStorageSession<>(
+                    this, cacheCollectionName, mongoConnection,
+                    keyType, valueType, valueSerializer
+            );
+        }
+        Map<String,MongoStorageSession<K,V>> shards = new LinkedHashMap<>();
+        for (Map.Entry<String, MongoConnection> shard : shardConnections.entrySet()) {
+            shards.put(shard.getKey(), new MongoStorageSession<>(
+                    this, cacheCollectionName, shard.getValue(),
+                    keyType, valueType, valueSerializer
+            ));
+        }
+        return new ShardedStorageSession<>(cacheCollectionName, shards, shardVirtualNodes);
     }
 
     @Override
     public boolean isFixedTypes() {
         return false;
     }
+
+    @Override
+    public void close() {
+        if(mongoConnection!=null) {
+            mongoConnection.close();
+        }
+        for (MongoConnection connection : shardConnections.values()) {
+            connection.close();
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package ru.infon.jcache.mongo;
 
 import com.mongodb.*;
+import com.mongodb.async.client.MongoClientSettings;
+import com.mongodb.async.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.connection.ClusterSettings;
 import org.apache.commons.beanutils.ConvertUtils;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Morphia;
@@ -86,6 +89,12 @@ public class MongoConnection {
     private final Morphia morphia;
     private final MongoClient client;
 
+    private final List<ServerAddress> addresses;
+    private final List<MongoCredential> credentials;
+    private final String dbName;
+    private com.mongodb.async.client.MongoClient asyncClient;
+    private com.mongodb.async.client.MongoDatabase asyncMongoDB;
+
     public MongoConnection(MongoURIWrapper mongoClientURI, Properties properties) {
 
         if(mongoClientURI==null) {
@@ -157,10 +166,10 @@ public class MongoConnection {
         }
 
 
-        client = new MongoClient(
-                propertiesAdresses.size()>0?propertiesAdresses:uriAdresses,
-                credentials, options
-        );
+        this.addresses = propertiesAdresses.size()>0?propertiesAdresses:uriAdresses;
+        this.credentials = credentials;
+        this.dbName = dbName;
+        client = new MongoClient(addresses, credentials, options);
         mongoDB = client.getDatabase(dbName);
         morphia = new Morphia();
         datastore = morphia.createDatastore(client, dbName);
@@ -184,4 +193,36 @@ public class MongoConnection {
         return client;
     }
 
+    /**
+     * Database of asynchronous driver client. Client is created on first call
+     * with the same servers, credentials and concerns as synchronous one.
+     */
+    public synchronized com.mongodb.async.client.MongoDatabase getAsyncMongoDB() {
+        if(asyncMongoDB==null) {
+            MongoClientOptions options = client.getMongoClientOptions();
+            asyncClient = MongoClients.create(MongoClientSettings.builder()
+                    .clusterSettings(ClusterSettings.builder().hosts(addresses).build())
+                    .credentialList(credentials)
+                    .writeConcern(options.getWriteConcern())
+                    .readPreference(options.getReadPreference())
+                    .codecRegistry(MongoClient.getDefaultCodecRegistry())
+                    .build()
+            );
+            asyncMongoDB = asyncClient.getDatabase(dbName);
+        }
+        return asyncMongoDB;
+    }
+
+    /**
+     * Closes synchronous client and asynchronous one if it was created.
+     */
+    public synchronized void close() {
+        if(asyncClient!=null) {
+            asyncClient.close();
+            asyncClient = null;
+            asyncMongoDB = null;
+        }
+        client.close();
+    }
+
 }
@@ -1,11 +1,19 @@
 package ru.infon.jcache.mongo;
 
 import com.mongodb.BasicDBObject;
+import com.mongodb.DBObjectCodec;
+import com.mongodb.MongoClient;
 import org.bson.*;
+import org.bson.codecs.DecoderContext;
 import org.bson.conversions.Bson;
+import org.mongodb.morphia.Morphia;
+import org.mongodb.morphia.converters.Converters;
 
+import java.util.Arrays;
+import java.util.Date;
 import java.util.Set;
 
+import static ru.infon.jcache.mongo.MongoCacheEntity.FIELD_EXPIRE_DATE;
 import static ru.infon.jcache.mongo.MongoCacheEntity.FIELD_KEY;
 
 
@@ -16,26 +24,117 @@ import static ru.infon.jcache.mongo.MongoCacheEntity.FIELD_KEY;
  */
 public class MongoQueryHelper {
 
-    static <K> BsonValue getKeyBson(K key) {
-        BsonValue keyValue;
+    private static final String KEY_HOLDER = "key";
+
+    /**
+     * Morphia converters of keys other than strings and numbers, created on first use
+     */
+    private static final class KeyConverters {
+        private static final Converters CONVERTERS = new Morphia().getMapper().getConverters();
+    }
+
+    /**
+     * Integral keys are stored as int64, floating-point ones as double, strings as is.
+     * Keys of other types are converted with Morphia, like values of mapped fields.
+     * @throws IllegalArgumentException if key is number of other type
+     */
+    public static <K> BsonValue getKeyBson(K key) {
         if(key==null) {
-            keyValue = new BsonNull();
-        } else {
-            if (key instanceof Number) {
-                keyValue = new BsonInt64((Long) key);
-            } else {
-                keyValue = new BsonString(key.toString());
+            return new BsonNull();
+        }
+        if(key instanceof String) {
+            return new BsonString((String) key);
+        }
+        if(key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+            return new BsonInt64(((Number) key).longValue());
+        }
+        if(key instanceof Double || key instanceof Float) {
+            return new BsonDouble(((Number) key).doubleValue());
+        }
+        if(key instanceof Number) {
+            throw new IllegalArgumentException("unsupported numeric key type: "+key.getClass().getName());
+        }
+        BasicDBObject holder = new BasicDBObject(KEY_HOLDER, KeyConverters.CONVERTERS.encode(key));
+        return holder.toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry()).get(KEY_HOLDER);
+    }
+
+    /**
+     * Reverse of {@link #getKeyBson}.
+     */
+    public static <K> K getKey(BsonValue value, Class<K> keyType) {
+        Object key;
+        switch (value.getBsonType()) {
+            case NULL:
+                return null;
+            case STRING:
+                key = value.asString().getValue();
+                break;
+            case INT64:
+                key = value.asInt64().getValue();
+                break;
+            case INT32:
+                key = value.asInt32().getValue();
+                break;
+            case DOUBLE:
+                key = value.asDouble().getValue();
+                break;
+            default:
+                key = new DBObjectCodec(MongoClient.getDefaultCodecRegistry()).decode(
+                        new BsonDocumentReader(new BsonDocument(KEY_HOLDER, value)),
+                        DecoderContext.builder().build()
+                ).get(KEY_HOLDER);
+        }
+        if(keyType.isInstance(key)) {
+            return keyType.cast(key);
+        }
+        if(key instanceof Number) {
+            Number number = (Number) key;
+            if(keyType==Integer.class) {
+                return keyType.cast(number.intValue());
+            } else if(keyType==Long.class) {
+                return keyType.cast(number.longValue());
+            } else if(keyType==Short.class) {
+                return keyType.cast(number.shortValue());
+            } else if(keyType==Byte.class) {
+                return keyType.cast(number.byteValue());
+            } else if(keyType==Double.class) {
+                return keyType.cast(number.doubleValue());
+            } else if(keyType==Float.class) {
+                return keyType.cast(number.floatValue());
             }
         }
-        return keyValue;
+        return keyType.cast(KeyConverters.CONVERTERS.decode(keyType, key, null));
     }
 
+    /**
+     * @return query of all not expired entries
+     */
+    static Bson createFindQuery() {
+        return notExpired(new BasicDBObject());
+    }
+
+    /**
+     * @return query of not expired entry with key
+     */
     static <K> Bson createFindQuery(K key) {
-        // TODO: use expireDate in search request
-        return new BasicDBObject(FIELD_KEY, key);
+        return notExpired(createKeyQuery(key));
     }
 
+    /**
+     * @return query of not expired entries with keys
+     */
     static <K> Bson createFindQuery(Set<? extends K> keys) {
+        return notExpired(createKeyQuery(keys));
+    }
+
+    /**
+     * @return query of entry with key, expired or not; used for writes replacing expired entry
+     */
+    static <K> BasicDBObject createKeyQuery(K key) {
+        return new BasicDBObject(FIELD_KEY, getKeyBson(key));
+    }
+
+    static <K> BasicDBObject createKeyQuery(Set<? extends K> keys) {
         BsonArray in = new BsonArray();
         for (K key : keys) {
             in.add(getKeyBson(key));
@@ -43,4 +142,29 @@ public class MongoQueryHelper {
         BasicDBObject inQuery = new BasicDBObject("$in", in);
         return new BasicDBObject(FIELD_KEY, inQuery);
     }
+
+    /**
+     * @return query of entries with keys expired at given time
+     */
+    static <K> Bson createExpiredQuery(Set<? extends K> keys, long now) {
+        BasicDBObject query = createKeyQuery(keys);
+        query.put(FIELD_EXPIRE_DATE, new BasicDBObject("$lte", new Date(now)));
+        return query;
+    }
+
+    // entries without expire date never expire; expired ones are removed by TTL index
+    private static BasicDBObject notExpired(BasicDBObject query) {
+        query.put("$or", Arrays.asList(
+                new BasicDBObject(FIELD_EXPIRE_DATE, new BasicDBObject("$gt", new Date())),
+                new BasicDBObject(FIELD_EXPIRE_DATE, null)
+        ));
+        return query;
+    }
+
+    static Date getExpireDate(Long expireTimestamp) {
+        if(expireTimestamp==null) {
+            return null;
+        }
+        return new Date(expireTimestamp);
+    }
 }
@@ -1,16 +1,44 @@
 package ru.infon.jcache.mongo;
 
-import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
-import com.mongodb.DBObject;
-import com.mongodb.client.FindIterable;
+import com.mongodb.MongoClient;
+import com.mongodb.async.SingleResultCallback;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import ru.infon.jcache.core.AsyncCacheStorageSession;
 import ru.infon.jcache.core.CacheStorage;
 import ru.infon.jcache.core.CacheStorageSession;
 import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.processor.FieldUpdate;
+import ru.infon.jcache.core.serialization.ValueSerializer;
 import org.bson.conversions.Bson;
+import ru.infon.jcache.mongo.codec.BinaryValueCodec;
+import ru.infon.jcache.mongo.codec.MethodHandleCodec;
+import ru.infon.jcache.mongo.codec.MorphiaCodec;
+import ru.infon.jcache.mongo.codec.StorableEntryCodec;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
 
 
 /**
@@ -18,7 +46,11 @@ import java.util.*;
  * @author kostapc
  * 2016 Infon
  */
-public class MongoStorageSession<K,V> extends CacheStorageSession<K,V> implements MongoEntrySupplier<K,V> {
+public class MongoStorageSession<K,V> extends CacheStorageSession<K,V>
+        implements AsyncCacheStorageSession<K,V> {
+
+    private static final Logger LOGGER = Logger.getLogger("javax.cache");
+    private static final int MIGRATION_BATCH_SIZE = 1000;
 
     private final String collection;
     private final MongoConnection mongo;
@@ -26,98 +58,169 @@ public class MongoStorageSession<K,V> extends CacheStorageSession<K,V> implement
     private final Class<K> keyType;
     private final Class<V> valueType;
 
+    private final StorableEntryCodec<K,V> entryCodec;
+    private final CodecRegistry codecRegistry;
+    private final MongoCollection<StorableEntry<K,V>> entries;
+    // raw documents view, for field updates results
+    private final MongoCollection<Document> documents;
+    private volatile com.mongodb.async.client.MongoCollection<StorableEntry<K,V>> asyncEntries;
+
     private boolean isClosed;
+    /**
+     * cursors of iterators not read to the end, killed on close
+     */
+    private final Set<MongoCursor<?>> openCursors = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
     public MongoStorageSession(
             CacheStorage cacheStorage,
             String collectionName,
             MongoConnection mongo,
             Class<K> keyType, Class<V> valueType) {
+        this(cacheStorage, collectionName, mongo, keyType, valueType, null);
+    }
+
+    /**
+     * @param valueSerializer - values are stored as binary serialized with it,
+     *                        null - values are stored as documents
+     */
+    public MongoStorageSession(
+            CacheStorage cacheStorage,
+            String collectionName,
+            MongoConnection mongo,
+            Class<K> keyType, Class<V> valueType,
+            ValueSerializer<V> valueSerializer) {
         super(cacheStorage, keyType, valueType);
         this.collection = collectionName;
         this.mongo = mongo;
         this.keyType = keyType;
         this.valueType = valueType;
         this.isClosed = false;
+        this.entryCodec = new StorableEntryCodec<>(getEntryFactory(), createValueCodec(valueSerializer));
+        this.codecRegistry = CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(entryCodec, entryCodec.getValueCodec()),
+                MongoClient.getDefaultCodecRegistry()
+        );
+        this.entries = mongo.getMongoDB()
+                .getCollection(collection, entryCodec.getEncoderClass())
+                .withCodecRegistry(codecRegistry);
+        this.documents = mongo.getMongoDB()
+                .getCollection(collection)
+                .withCodecRegistry(codecRegistry);
+        // every write finds document by key, upserts rely on key being unique
+        entries.createIndex(
+                new BasicDBObject(MongoCacheEntity.FIELD_KEY, 1),
+                new IndexOptions().unique(true)
+        );
+        // expired entries are removed by mongod in background
+        entries.createIndex(
+                new BasicDBObject(MongoCacheEntity.FIELD_EXPIRE_DATE, 1),
+                new IndexOptions().expireAfter(0L, TimeUnit.SECONDS)
+        );
+        migrateLegacyExpiry();
+    }
+
+    /**
+     * Documents written before expiry was stored as date keep expire timestamp,
+     * which TTL index doesn't see: timestamp is moved to expire date field.
+     * Document replaced since it was read has no timestamp and is not changed.
+     */
+    private void migrateLegacyExpiry() {
+        BasicDBObject legacyQuery = new BasicDBObject(
+                MongoCacheEntity.FIELD_LEGACY_EXPIRE_TIMESTAMP, new BasicDBObject("$exists", true)
+        );
+        List<WriteModel<Document>> requests = new ArrayList<>();
+        int migrated = 0;
+        try (MongoCursor<Document> cursor = documents.find(legacyQuery)
+                .projection(new BasicDBObject(MongoCacheEntity.FIELD_LEGACY_EXPIRE_TIMESTAMP, 1))
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                Object timestamp = document.get(MongoCacheEntity.FIELD_LEGACY_EXPIRE_TIMESTAMP);
+                BasicDBObject update = new BasicDBObject(
+                        "$unset", new BasicDBObject(MongoCacheEntity.FIELD_LEGACY_EXPIRE_TIMESTAMP, "")
+                );
+                if(timestamp instanceof Number) {
+                    update.put("$set", new BasicDBObject(
+                            MongoCacheEntity.FIELD_EXPIRE_DATE,
+                            MongoQueryHelper.getExpireDate(((Number) timestamp).longValue())
+                    ));
+                }
+                BasicDBObject query = new BasicDBObject(
+                        MongoCacheEntity.FIELD_MONGO_ID, document.get(MongoCacheEntity.FIELD_MONGO_ID)
+                );
+                query.put(MongoCacheEntity.FIELD_LEGACY_EXPIRE_TIMESTAMP, timestamp);
+                requests.add(new UpdateOneModel<>(query, update));
+                if(requests.size()>=MIGRATION_BATCH_SIZE) {
+                    documents.bulkWrite(requests, new BulkWriteOptions().ordered(false));
+                    migrated += requests.size();
+                    requests.clear();
+                }
+            }
+        }
+        if(!requests.isEmpty()) {
+            documents.bulkWrite(requests, new BulkWriteOptions().ordered(false));
+            migrated += requests.size();
+        }
+        if(migrated>0) {
+            LOGGER.info(String.format(
+                    "moved expire timestamp of %d documents of %s to expire date", migrated, collection
+            ));
+        }
+    }
+
+    /**
+     * binary codec if serializer configured, otherwise value codec generated for
+     * value type, Morphia mapping if value type can't be handled. Generated codec
+     * falls back to Morphia for subclass values.
+     */
+    private Codec<V> createValueCodec(ValueSerializer<V> valueSerializer) {
+        if(valueSerializer!=null) {
+            return new BinaryValueCodec<>(valueType, valueSerializer);
+        }
+        try {
+            return MongoClient.getDefaultCodecRegistry().get(valueType);
+        } catch (CodecConfigurationException e) {
+            // not a driver supported type
+        }
+        Codec<V> codec = MethodHandleCodec.create(valueType, this::createMorphiaCodec);
+        if(codec!=null) {
+            return codec;
+        }
+        LOGGER.fine(String.format("values of %s are mapped with Morphia", valueType.getName()));
+        return createMorphiaCodec();
+    }
+
+    private Codec<V> createMorphiaCodec() {
         if(!mongo.getMorphia().isMapped(valueType)) {
             try {
                 // hack to force moprhia to map class
-                // if using generic MongoCacheEntity with @id - random problems with object mapping
                 mongo.getMorphia().toDBObject(valueType.newInstance());
-                mongo.getMorphia().toDBObject(keyType.newInstance());
             } catch (InstantiationException | IllegalAccessException e) {
                 throw new IllegalArgumentException(
                         "reflection instaniation of object not possible (maybe no default constuctor?)" ,
                 e);
             }
         }
-        // TODO: ensure indexes existed, create with collection
+        return new MorphiaCodec<>(valueType, mongo.getMorphia(), mongo.getDatastore());
     }
 
     @Override
     public boolean containsKey(K key) {
         assertOpened();
         Bson query = MongoQueryHelper.createFindQuery(key);
-        return mongo.getMongoDB().getCollection(collection).count(query)>0;
-    }
-
-    private MongoCacheEntity<K,V> findCacheEntity(K key) {
-        Bson query = MongoQueryHelper.createFindQuery(key);
-        FindIterable<DBObject> list = mongo.getMongoDB().getCollection(collection, DBObject.class).find(query);
-        DBObject object = list.first();
-        if(object==null) {
-            return null;
-        }
-        return new MongoCacheEntity<>(
-                object, keyType, valueType, this
-        );
+        return entries.count(query)>0;
     }
 
     @Override //tested
     public StorableEntry<K, V> get(K key) {
         assertOpened();
-        MongoCacheEntity<K,V> cacheEntity = findCacheEntity(key);
-        if(cacheEntity==null) {
-            return null;
-        }
-        updateRecord(
-                cacheEntity.getFindQuery(),
-                MongoCacheEntity.FIELD_EXPIRE_TIMESTAMP,
-                cacheEntity.getExpireTimestamp()
-        );
-        return cacheEntity.getStorableEntiry();
+        Bson query = MongoQueryHelper.createFindQuery(key);
+        return entries.find(query).first();
     }
 
     private Collection<StorableEntry<K, V>> getAll(Bson query) {
         assertOpened();
-        FindIterable<DBObject> list = mongo.getMongoDB().getCollection(collection, DBObject.class).find(query);
-        List<StorableEntry<K, V>> entries = new LinkedList<>();
-
-        BasicDBList in = new BasicDBList();
-        Long lastExpireDate = null;
-
-        for (DBObject dbObject : list) {
-            MongoCacheEntity<K,V> cacheEntity = new MongoCacheEntity<>(
-                    dbObject, keyType, valueType, this
-            );
-            lastExpireDate = cacheEntity.getExpireTimestamp();
-            in.add(cacheEntity.getObjectId());
-            entries.add(
-                    cacheEntity.getStorableEntiry()
-            );
-        }
-
-        if(lastExpireDate!=null) {
-            BasicDBObject inQuery = new BasicDBObject("$in", in);
-            inQuery = new BasicDBObject(MongoCacheEntity.FIELD_MONGO_ID, inQuery);
-            updateRecord(
-                    inQuery,
-                    MongoCacheEntity.FIELD_EXPIRE_TIMESTAMP,
-                    lastExpireDate
-            );
-        }
-
-        return entries;
+        return entries.find(query).into(new ArrayList<StorableEntry<K, V>>());
     }
 
     @Override // tested
@@ -130,47 +233,167 @@ public class MongoStorageSession<K,V> extends CacheStorageSession<K,V> implement
     @Override // tested
     public Collection<StorableEntry<K, V>> getAll() {
         assertOpened();
-        Bson query = new BasicDBObject();
+        Bson query = MongoQueryHelper.createFindQuery();
         return getAll(query);
     }
 
-    private MongoCacheEntity<K,V> create(StorableEntry<K, V> entry) {
-        return new MongoCacheEntity<>(
-                entry, this
+    @Override
+    public Iterable<K> keys() {
+        assertOpened();
+        List<K> keys = new ArrayList<>();
+        for (StorableEntry<K, V> entry : entries
+                .find(MongoQueryHelper.createFindQuery())
+                .projection(new BasicDBObject(MongoCacheEntity.FIELD_KEY, 1))) {
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        assertOpened();
+        final MongoCursor<StorableEntry<K, V>> cursor = entries
+                .find(MongoQueryHelper.createFindQuery())
+                .batchSize(batchSize)
+                .iterator();
+        openCursors.add(cursor);
+        return new Iterator<StorableEntry<K, V>>() {
+            private boolean closed;
+
+            @Override
+            public boolean hasNext() {
+                if(closed) {
+                    return false;
+                }
+                if(cursor.hasNext()) {
+                    return true;
+                }
+                // exhausted cursor is released right away, not on server timeout
+                cursor.close();
+                openCursors.remove(cursor);
+                closed = true;
+                return false;
+            }
+
+            @Override
+            public StorableEntry<K, V> next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return cursor.next();
+            }
+        };
+    }
+
+    @Override
+    public boolean supportsFieldUpdates() {
+        // binary values are opaque for server
+        return !(entryCodec.getValueCodec() instanceof BinaryValueCodec);
+    }
+
+    @Override
+    public Object applyFieldUpdate(K key, FieldUpdate update, Long expireTimestamp) {
+        assertOpened();
+        String path = update.getField()==null
+                ? MongoCacheEntity.FIELD_VALUE
+                : MongoCacheEntity.FIELD_VALUE+"."+update.getField();
+        BasicDBObject updates = new BasicDBObject(
+                updateOperator(update.getOperator()), new BasicDBObject(path, update.getOperand())
         );
+        if(expireTimestamp!=null) {
+            BasicDBObject set = (BasicDBObject) updates.get("$set");
+            if(set==null) {
+                set = new BasicDBObject();
+                updates.put("$set", set);
+            }
+            set.put(MongoCacheEntity.FIELD_EXPIRE_DATE, MongoQueryHelper.getExpireDate(expireTimestamp));
+        }
+        Document document = documents.findOneAndUpdate(
+                MongoQueryHelper.createFindQuery(key),
+                updates,
+                new FindOneAndUpdateOptions()
+                        .returnDocument(ReturnDocument.AFTER)
+                        .projection(new BasicDBObject(path, 1).append(MongoCacheEntity.FIELD_MONGO_ID, 0))
+        );
+        if(document==null) {
+            return null;
+        }
+        if(update.getOperator()==FieldUpdate.Operator.SET) {
+            return update.getOperand();
+        }
+        Object value = document;
+        for (String name : path.split("\\.")) {
+            if(!(value instanceof Document)) {
+                return null;
+            }
+            value = ((Document) value).get(name);
+        }
+        return value;
+    }
+
+    private static String updateOperator(FieldUpdate.Operator operator) {
+        switch (operator) {
+            case INCREMENT:
+                return "$inc";
+            case SET:
+                return "$set";
+            case APPEND:
+                return "$push";
+            case MIN:
+                return "$min";
+            case MAX:
+                return "$max";
+            default:
+                throw new IllegalArgumentException("unsupported field update operator: "+operator);
+        }
     }
 
     @Override
     public void updateExpireTime(StorableEntry<K, V> entry) {
         updateRecord(
                 MongoQueryHelper.createFindQuery(entry.getKey()),
-                MongoCacheEntity.FIELD_EXPIRE_TIMESTAMP,
-                entry.getExpireTimestamp()
+                MongoCacheEntity.FIELD_EXPIRE_DATE,
+                MongoQueryHelper.getExpireDate(entry.getExpireTimestamp())
         );
     }
 
     @Override
-    public boolean update(StorableEntry<K, V> entry) {
-        return update(entry, null);
+    public void updateExpireTimes(Collection<StorableEntry<K, V>> touched) {
+        assertOpened();
+        List<WriteModel<StorableEntry<K, V>>> requests = new ArrayList<>(touched.size());
+        for (StorableEntry<K, V> entry : touched) {
+            requests.add(new UpdateOneModel<>(
+                    MongoQueryHelper.createFindQuery(entry.getKey()),
+                    new BasicDBObject("$set", new BasicDBObject(
+                            MongoCacheEntity.FIELD_EXPIRE_DATE,
+                            MongoQueryHelper.getExpireDate(entry.getExpireTimestamp())
+                    ))
+            ));
+        }
+        if(requests.isEmpty()) {
+            return;
+        }
+        entries.bulkWrite(requests, new BulkWriteOptions().ordered(false));
     }
 
-    private boolean update(StorableEntry<K, V> entry, MongoCacheEntity<K,V> oldCachedEntry) {
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
         assertOpened();
-        if(oldCachedEntry==null) {
-            oldCachedEntry = findCacheEntity(entry.getKey());
-            if(oldCachedEntry==null) {
-                return false;
-            }
+        // value is encoded with value codec of session registry
+        BasicDBObject updates = new BasicDBObject(
+                MongoCacheEntity.FIELD_VALUE, entry.getValue()
+        );
+        if(entry.getExpireTimestamp()!=null) {
+            updates.put(
+                    MongoCacheEntity.FIELD_EXPIRE_DATE,
+                    MongoQueryHelper.getExpireDate(entry.getExpireTimestamp())
+            );
         }
-        oldCachedEntry.updateValue(entry.getValue());
-        updateRecord(
-                oldCachedEntry.getFindQuery(),
-                MongoCacheEntity.FIELD_VALUE,
-                oldCachedEntry.getValueObject(),
-                MongoCacheEntity.FIELD_EXPIRE_TIMESTAMP,
-                oldCachedEntry.getExpireTimestamp()
+        UpdateResult result = entries.updateOne(
+                MongoQueryHelper.createFindQuery(entry.getKey()),
+                new BasicDBObject("$set", updates)
         );
-        return true;
+        return result.getMatchedCount()>0;
     }
 
     private void updateRecord(Bson query, Object... values) {
@@ -181,122 +404,186 @@ public class MongoStorageSession<K,V> extends CacheStorageSession<K,V> implement
                 values[i+1]
             );
         }
-        mongo.getMongoDB().getCollection(collection).updateOne(
+        entries.updateOne(
                 query,
                 new BasicDBObject("$set", updates)
         );
     }
 
-    @Override // TODO: test replace if object exists
+    @Override
     public void put(StorableEntry<K, V> entry) {
         assertOpened();
-        MongoCacheEntity<K,V> cacheEntity = findCacheEntity(entry.getKey());
-        if (cacheEntity == null) { // create
-            cacheEntity = create(entry);
-            DBObject cacheObject  = cacheEntity.getDBObject();
-            mongo.getMongoDB().getCollection(collection, DBObject.class).insertOne(cacheObject);
-        } else {
-            //throw new IllegalStateException("cache entry with key \""+entry.getKey()+"\" already exists");
-            updateRecord(
-                    cacheEntity.getFindQuery(),
-                    MongoCacheEntity.FIELD_VALUE,
-                    createDBObject(entry.getValue()),
-                    MongoCacheEntity.FIELD_EXPIRE_TIMESTAMP,
-                    cacheEntity.getExpireTimestamp()
-            );
-        }
+        // single round trip: replace existing document or insert new one
+        entries.replaceOne(
+                MongoQueryHelper.createKeyQuery(entry.getKey()),
+                entry,
+                new UpdateOptions().upsert(true)
+        );
     }
 
-    @Override // TODO: test replace with existed records
-    public void putAll(Collection<StorableEntry<K, V>> keys) {
-        assertOpened();
-        Map<K,  StorableEntry<K, V>> newObjects = new HashMap<>(keys.size());
-        for (StorableEntry<K, V> storableEntry : keys) {
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> newEntries) {
+        // unordered upserts of the same key may race, so only last entry of a key is written
+        Map<K, StorableEntry<K, V>> newObjects = new LinkedHashMap<>(newEntries.size());
+        for (StorableEntry<K, V> storableEntry : newEntries) {
             newObjects.put(
                     storableEntry.getKey(),
                     storableEntry
             );
         }
-        Map<K,DBObject> presentObjects = new HashMap<>();
-        Bson query = MongoQueryHelper.createFindQuery(newObjects.keySet());
-        FindIterable<DBObject> list = mongo.getMongoDB().getCollection(collection, DBObject.class).find(query);
-        for (DBObject object : list) { // key present in database
-            K key = keyType.cast(object.get(MongoCacheEntity.FIELD_KEY));
-            presentObjects.put(key, object);
-        }
+        writeBatch(newObjects.values(), Collections.<K>emptySet());
+    }
 
-        List<DBObject> objects = new ArrayList<>(keys.size());
-        for (Map.Entry<K, StorableEntry<K, V>> newEntry : newObjects.entrySet()) {
-            DBObject oldObject = presentObjects.get(newEntry.getKey());
-            MongoCacheEntity<K,V> newCacheEntry = new MongoCacheEntity<>(
-                    newEntry.getValue(), this
-            );
-            if(oldObject!=null) {
-                updateRecord(
-                        new BasicDBObject(MongoCacheEntity.FIELD_MONGO_ID, oldObject.get(MongoCacheEntity.FIELD_MONGO_ID)),
-                        MongoCacheEntity.FIELD_VALUE,
-                        createDBObject(newEntry.getValue().getValue()),
-                        MongoCacheEntity.FIELD_EXPIRE_TIMESTAMP,
-                        newCacheEntry.getExpireTimestamp()
-                );
-               continue;
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        assertOpened();
+        Bson query = MongoQueryHelper.createExpiredQuery(keys, now);
+        List<StorableEntry<K, V>> expired = entries.find(query).into(new ArrayList<StorableEntry<K, V>>());
+        if(!expired.isEmpty()) {
+            Set<K> expiredKeys = new HashSet<>();
+            for (StorableEntry<K, V> entry : expired) {
+                expiredKeys.add(entry.getKey());
             }
-            objects.add(newCacheEntry.getDBObject());
+            entries.deleteMany(MongoQueryHelper.createExpiredQuery(expiredKeys, now));
         }
-
-        mongo.getMongoDB().getCollection(collection, DBObject.class).insertMany(objects);
+        return expired;
     }
 
     @Override
     public boolean remove(K key) {
         assertOpened();
         Bson query = MongoQueryHelper.createFindQuery(key);
-        DeleteResult result = mongo.getMongoDB().getCollection(collection, DBObject.class).deleteOne(query);
+        DeleteResult result = entries.deleteOne(query);
         return result.getDeletedCount()>0;
     }
 
     @Override // tester
     public void removeAll(Set<? extends K> keys) {
         assertOpened();
-        Bson query = MongoQueryHelper.createFindQuery(keys);
-        mongo.getMongoDB().getCollection(collection, DBObject.class).deleteMany(query);
+        Bson query = MongoQueryHelper.createKeyQuery(keys);
+        entries.deleteMany(query);
     }
 
     @Override
     public void removeAll() {
         assertOpened();
         Bson query = new BasicDBObject();
-        mongo.getMongoDB().getCollection(collection, DBObject.class).deleteMany(query);
+        entries.deleteMany(query);
     }
 
-    private void assertOpened() {
-        if(isClosed) {
-            throw new IllegalStateException("session is closed!");
+    @Override
+    public void writeBatch(Collection<StorableEntry<K, V>> written, Set<? extends K> removedKeys) {
+        assertOpened();
+        List<WriteModel<StorableEntry<K, V>>> requests = new ArrayList<>(written.size()+removedKeys.size());
+        for (StorableEntry<K, V> entry : written) {
+            requests.add(new ReplaceOneModel<>(
+                    MongoQueryHelper.createKeyQuery(entry.getKey()),
+                    entry,
+                    new UpdateOptions().upsert(true)
+            ));
+        }
+        for (K key : removedKeys) {
+            requests.add(new DeleteOneModel<StorableEntry<K, V>>(MongoQueryHelper.createKeyQuery(key)));
         }
+        if(requests.isEmpty()) {
+            return;
+        }
+        // every key is written once, so requests order doesn't matter
+        entries.bulkWrite(requests, new BulkWriteOptions().ordered(false));
+    }
+
+    /*===========================================[ ASYNC API ]==============*/
+
+    private com.mongodb.async.client.MongoCollection<StorableEntry<K, V>> getAsyncCollection() {
+        if(asyncEntries==null) {
+            asyncEntries = mongo.getAsyncMongoDB()
+                    .getCollection(collection, entryCodec.getEncoderClass())
+                    .withCodecRegistry(codecRegistry);
+        }
+        return asyncEntries;
+    }
+
+    private static <T,R> SingleResultCallback<T> complete(
+            final CompletableFuture<R> future, final Function<T,R> mapper
+    ) {
+        return (result, error) -> {
+            if(error!=null) {
+                future.completeExceptionally(error);
+                return;
+            }
+            try {
+                future.complete(mapper.apply(result));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        };
     }
 
     @Override
-    public void close() {
-        isClosed = true;
+    public CompletableFuture<StorableEntry<K, V>> getAsync(K key) {
+        assertOpened();
+        CompletableFuture<StorableEntry<K, V>> future = new CompletableFuture<>();
+        getAsyncCollection().find(MongoQueryHelper.createFindQuery(key)).first(
+                complete(future, (StorableEntry<K, V> entry) -> entry)
+        );
+        return future;
     }
 
     @Override
-    public boolean isClosed() {
-        return isClosed;
+    public CompletableFuture<Collection<StorableEntry<K, V>>> getAllAsync(Set<? extends K> keys) {
+        assertOpened();
+        CompletableFuture<Collection<StorableEntry<K, V>>> future = new CompletableFuture<>();
+        getAsyncCollection().find(MongoQueryHelper.createFindQuery(keys)).into(
+                new ArrayList<StorableEntry<K, V>>(keys.size()),
+                complete(future, (List<StorableEntry<K, V>> found) -> found)
+        );
+        return future;
     }
 
     @Override
-    public StorableEntry<K, V> createEntry(K key, V value) {
-        return getEntryFactory().create(key, value);
+    public CompletableFuture<Void> putAsync(StorableEntry<K, V> entry) {
+        assertOpened();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        getAsyncCollection().replaceOne(
+                MongoQueryHelper.createKeyQuery(entry.getKey()),
+                entry,
+                new UpdateOptions().upsert(true),
+                complete(future, result -> null)
+        );
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> removeAsync(K key) {
+        assertOpened();
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        getAsyncCollection().deleteOne(
+                MongoQueryHelper.createFindQuery(key),
+                complete(future, (DeleteResult result) -> result.getDeletedCount()>0)
+        );
+        return future;
+    }
+
+    private void assertOpened() {
+        if(isClosed) {
+            throw new IllegalStateException("session is closed!");
+        }
     }
 
+    /**
+     * Kills server cursors of iterators left before their end.
+     */
     @Override
-    public DBObject createDBObject(V value) {
-        return mongo.getMorphia().toDBObject(value);
+    public void close() {
+        isClosed = true;
+        for (MongoCursor<?> cursor : openCursors) {
+            openCursors.remove(cursor);
+            cursor.close();
+        }
     }
 
     @Override
-    public V parseValueDBObject(DBObject valueDBObject) {
-        return mongo.getMorphia().fromDBObject(mongo.getDatastore(), valueType, valueDBObject);
+    public boolean isClosed() {
+        return isClosed;
     }
 }
@@ -0,0 +1,50 @@
+package ru.infon.jcache.mongo.codec;
+
+import org.bson.BsonBinary;
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.IOException;
+
+/**
+ * Codec storing value as single {@link BsonBinary} produced by {@link ValueSerializer}.
+ *
+ * 18.10.2026
+ */
+public class BinaryValueCodec<T> implements Codec<T> {
+
+    private final Class<T> type;
+    private final ValueSerializer<T> serializer;
+
+    public BinaryValueCodec(Class<T> type, ValueSerializer<T> serializer) {
+        this.type = type;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return type;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        try {
+            writer.writeBinaryData(new BsonBinary(serializer.serialize(value)));
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize value of "+type.getName(), e);
+        }
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        try {
+            return type.cast(serializer.deserialize(reader.readBinaryData().getData()));
+        } catch (IOException e) {
+            throw new IllegalStateException("can't deserialize value of "+type.getName(), e);
+        }
+    }
+}
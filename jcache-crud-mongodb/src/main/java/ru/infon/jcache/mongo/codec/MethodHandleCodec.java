@@ -0,0 +1,525 @@
+package ru.infon.jcache.mongo.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.types.ObjectId;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Codec of plain java objects built once per class. Fields are accessed with
+ * {@link MethodHandle}s, document layout is the same as Morphia default mapping:
+ * field name is document key, null fields are not written, enums are stored by name.
+ * Supported field types: primitives and their wrappers, String, Date, ObjectId,
+ * byte[], enums and nested classes satisfying the same rules.
+ * <p>
+ * Layout is built for declared classes only. If fallback codec is given, values
+ * of subclasses (at top level or in nested fields) are encoded with fallback, and
+ * documents carrying Morphia {@code className} are decoded with it; otherwise
+ * subclass values are written as their declared class.
+ *
+ * 18.10.2026
+ */
+public final class MethodHandleCodec<T> implements Codec<T> {
+
+    private static final String MORPHIA_ANNOTATIONS = "org.mongodb.morphia.annotations.";
+    private static final String MORPHIA_CLASS_NAME = "className";
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    /**
+     * reads and writes single field value, value is never null
+     */
+    private interface FieldCodec {
+        void write(BsonWriter writer, Object value, EncoderContext context);
+        Object read(BsonReader reader, DecoderContext context);
+    }
+
+    /**
+     * field holding nested object
+     */
+    private static final class NestedCodec implements FieldCodec {
+        private final MethodHandleCodec<Object> codec;
+
+        private NestedCodec(MethodHandleCodec<Object> codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public void write(BsonWriter writer, Object value, EncoderContext context) {
+            context.encodeWithChildContext(codec, writer, value);
+        }
+
+        @Override
+        public Object read(BsonReader reader, DecoderContext context) {
+            return codec.decodeDocument(reader, context);
+        }
+    }
+
+    private static final class Property {
+        private final String name;
+        private final boolean primitive;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final FieldCodec codec;
+
+        private Property(Field field, MethodHandle getter, MethodHandle setter, FieldCodec codec) {
+            this.name = field.getName();
+            this.primitive = field.getType().isPrimitive();
+            this.getter = getter;
+            this.setter = setter;
+            this.codec = codec;
+        }
+    }
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Property[] properties;
+    private final Map<String,Property> propertiesByName;
+    private final Property[] nestedProperties;
+    private final Supplier<? extends Codec<T>> fallbackFactory;
+    private volatile Codec<T> fallback;
+
+    private MethodHandleCodec(Class<T> type, MethodHandle constructor, List<Property> properties,
+                              Supplier<? extends Codec<T>> fallbackFactory) {
+        this.type = type;
+        this.constructor = constructor;
+        this.properties = properties.toArray(new Property[properties.size()]);
+        this.propertiesByName = new HashMap<>();
+        List<Property> nested = new ArrayList<>();
+        for (Property property : properties) {
+            propertiesByName.put(property.name, property);
+            if(property.codec instanceof NestedCodec) {
+                nested.add(property);
+            }
+        }
+        this.nestedProperties = nested.toArray(new Property[nested.size()]);
+        this.fallbackFactory = fallbackFactory;
+    }
+
+    /**
+     * @return codec of type or null if type is not supported
+     */
+    public static <T> MethodHandleCodec<T> create(Class<T> type) {
+        return create(type, null, new HashSet<Class<?>>());
+    }
+
+    /**
+     * @param fallbackFactory creates codec for subclass values and documents with
+     *                        class name, called once on first such value
+     * @return codec of type or null if type is not supported
+     */
+    public static <T> MethodHandleCodec<T> create(Class<T> type, Supplier<? extends Codec<T>> fallbackFactory) {
+        return create(type, fallbackFactory, new HashSet<Class<?>>());
+    }
+
+    private static <T> MethodHandleCodec<T> create(Class<T> type, Supplier<? extends Codec<T>> fallbackFactory,
+                                                   Set<Class<?>> inProgress) {
+        if(type.isInterface() || type.isArray() || type.isPrimitive() || type.isEnum()
+                || Modifier.isAbstract(type.getModifiers()) || hasMorphiaAnnotation(type.getAnnotations())
+                || !inProgress.add(type)) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            MethodHandle constructorHandle = lookup.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+
+            List<Property> properties = new ArrayList<>();
+            for (Class<?> current = type; current!=Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    if(Modifier.isFinal(modifiers) || hasMorphiaAnnotation(field.getAnnotations())) {
+                        return null;
+                    }
+                    FieldCodec codec = fieldCodec(field.getType(), inProgress);
+                    if(codec==null) {
+                        return null;
+                    }
+                    field.setAccessible(true);
+                    properties.add(new Property(
+                            field,
+                            lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                            lookup.unreflectSetter(field).asType(SETTER_TYPE),
+                            codec
+                    ));
+                }
+            }
+            return new MethodHandleCodec<>(type, constructorHandle, properties, fallbackFactory);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            // no default constructor or class is not accessible
+            return null;
+        } finally {
+            inProgress.remove(type);
+        }
+    }
+
+    private static boolean hasMorphiaAnnotation(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if(annotation.annotationType().getName().startsWith(MORPHIA_ANNOTATIONS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return type;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        if(fallbackFactory!=null && !hasDeclaredLayout(value)) {
+            getFallback().encode(writer, value, encoderContext);
+            return;
+        }
+        writer.writeStartDocument();
+        try {
+            for (Property property : properties) {
+                Object fieldValue = property.getter.invokeExact((Object) value);
+                if(fieldValue==null) {
+                    continue;
+                }
+                writer.writeName(property.name);
+                property.codec.write(writer, fieldValue, encoderContext);
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("can't read field of "+type.getName(), e);
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        if(fallbackFactory!=null && startsWithClassName(reader)) {
+            return getFallback().decode(reader, decoderContext);
+        }
+        return decodeDocument(reader, decoderContext);
+    }
+
+    private Codec<T> getFallback() {
+        Codec<T> codec = fallback;
+        if(codec==null) {
+            synchronized (this) {
+                codec = fallback;
+                if(codec==null) {
+                    codec = fallbackFactory.get();
+                    fallback = codec;
+                }
+            }
+        }
+        return codec;
+    }
+
+    /**
+     * @return true if value and all its nested values are instances of declared classes
+     */
+    private boolean hasDeclaredLayout(Object value) {
+        if(value.getClass()!=type) {
+            return false;
+        }
+        try {
+            for (Property property : nestedProperties) {
+                Object fieldValue = property.getter.invokeExact(value);
+                if(fieldValue!=null && !((NestedCodec) property.codec).codec.hasDeclaredLayout(fieldValue)) {
+                    return false;
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("can't read field of "+type.getName(), e);
+        }
+        return true;
+    }
+
+    /**
+     * Morphia writes class name as the first field of document, this codec never writes it
+     */
+    private static boolean startsWithClassName(BsonReader reader) {
+        reader.mark();
+        try {
+            reader.readStartDocument();
+            return reader.readBsonType()!=BsonType.END_OF_DOCUMENT
+                    && MORPHIA_CLASS_NAME.equals(reader.readName());
+        } finally {
+            reader.reset();
+        }
+    }
+
+    private T decodeDocument(BsonReader reader, DecoderContext decoderContext) {
+        try {
+            Object value = constructor.invokeExact();
+            reader.readStartDocument();
+            while (reader.readBsonType()!=BsonType.END_OF_DOCUMENT) {
+                Property property = propertiesByName.get(reader.readName());
+                if(property==null) {
+                    // unknown fields
+                    reader.skipValue();
+                    continue;
+                }
+                if(reader.getCurrentBsonType()==BsonType.NULL) {
+                    reader.readNull();
+                    if(!property.primitive) {
+                        property.setter.invokeExact(value, (Object) null);
+                    }
+                    continue;
+                }
+                property.setter.invokeExact(value, property.codec.read(reader, decoderContext));
+            }
+            reader.readEndDocument();
+            return type.cast(value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("can't create instance of "+type.getName(), e);
+        }
+    }
+
+    /*===========================================[ FIELD CODECS ]==============*/
+
+    @SuppressWarnings("unchecked")
+    private static FieldCodec fieldCodec(Class<?> fieldType, Set<Class<?>> inProgress) {
+        if(fieldType==String.class) {
+            return Scalar.STRING;
+        }
+        if(fieldType==int.class || fieldType==Integer.class) {
+            return Scalar.INT;
+        }
+        if(fieldType==long.class || fieldType==Long.class) {
+            return Scalar.LONG;
+        }
+        if(fieldType==double.class || fieldType==Double.class) {
+            return Scalar.DOUBLE;
+        }
+        if(fieldType==float.class || fieldType==Float.class) {
+            return Scalar.FLOAT;
+        }
+        if(fieldType==short.class || fieldType==Short.class) {
+            return Scalar.SHORT;
+        }
+        if(fieldType==byte.class || fieldType==Byte.class) {
+            return Scalar.BYTE;
+        }
+        if(fieldType==boolean.class || fieldType==Boolean.class) {
+            return Scalar.BOOLEAN;
+        }
+        if(fieldType==char.class || fieldType==Character.class) {
+            return Scalar.CHAR;
+        }
+        if(fieldType==Date.class) {
+            return Scalar.DATE;
+        }
+        if(fieldType==ObjectId.class) {
+            return Scalar.OBJECT_ID;
+        }
+        if(fieldType==byte[].class) {
+            return Scalar.BINARY;
+        }
+        if(fieldType.isEnum()) {
+            return new EnumCodec(fieldType.asSubclass(Enum.class));
+        }
+        MethodHandleCodec<Object> nested = (MethodHandleCodec<Object>) create(fieldType, null, inProgress);
+        if(nested==null) {
+            return null;
+        }
+        return new NestedCodec(nested);
+    }
+
+    private static final class EnumCodec implements FieldCodec {
+        @SuppressWarnings("rawtypes")
+        private final Class<? extends Enum> type;
+
+        @SuppressWarnings("rawtypes")
+        private EnumCodec(Class<? extends Enum> type) {
+            this.type = type;
+        }
+
+        @Override
+        public void write(BsonWriter writer, Object value, EncoderContext context) {
+            writer.writeString(((Enum<?>) value).name());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object read(BsonReader reader, DecoderContext context) {
+            return Enum.valueOf(type, reader.readString());
+        }
+    }
+
+    private enum Scalar implements FieldCodec {
+        STRING {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeString((String) value);
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                if(reader.getCurrentBsonType()==BsonType.SYMBOL) {
+                    return reader.readSymbol();
+                }
+                return reader.readString();
+            }
+        },
+        INT {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeInt32((Integer) value);
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                return readNumber(reader).intValue();
+            }
+        },
+        LONG {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeInt64((Long) value);
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                return readNumber(reader).longValue();
+            }
+        },
+        DOUBLE {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeDouble((Double) value);
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                return readNumber(reader).doubleValue();
+            }
+        },
+        FLOAT {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeDouble((Float) value);
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                return readNumber(reader).floatValue();
+            }
+        },
+        SHORT {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeInt32((Short) value);
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                return readNumber(reader).shortValue();
+            }
+        },
+        BYTE {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeInt32((Byte) value);
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                return readNumber(reader).byteValue();
+            }
+        },
+        BOOLEAN {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeBoolean((Boolean) value);
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                return reader.readBoolean();
+            }
+        },
+        CHAR {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeString(value.toString());
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                String value = reader.readString();
+                return value.isEmpty() ? '\0' : value.charAt(0);
+            }
+        },
+        DATE {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeDateTime(((Date) value).getTime());
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                return new Date(reader.readDateTime());
+            }
+        },
+        OBJECT_ID {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeObjectId((ObjectId) value);
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                return reader.readObjectId();
+            }
+        },
+        BINARY {
+            @Override
+            public void write(BsonWriter writer, Object value, EncoderContext context) {
+                writer.writeBinaryData(new org.bson.BsonBinary((byte[]) value));
+            }
+
+            @Override
+            public Object read(BsonReader reader, DecoderContext context) {
+                return reader.readBinaryData().getData();
+            }
+        };
+
+        private static Number readNumber(BsonReader reader) {
+            switch (reader.getCurrentBsonType()) {
+                case INT32:
+                    return reader.readInt32();
+                case INT64:
+                    return reader.readInt64();
+                case DOUBLE:
+                    return reader.readDouble();
+                default:
+                    throw new CodecConfigurationException(
+                            "number expected, found "+reader.getCurrentBsonType()
+                    );
+            }
+        }
+    }
+}
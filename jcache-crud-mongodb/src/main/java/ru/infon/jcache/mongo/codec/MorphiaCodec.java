@@ -0,0 +1,47 @@
+package ru.infon.jcache.mongo.codec;
+
+import com.mongodb.DBObject;
+import com.mongodb.DBObjectCodec;
+import com.mongodb.MongoClient;
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+
+/**
+ * Codec mapping values with Morphia, used for types {@link MethodHandleCodec} can't handle.
+ *
+ * 18.10.2026
+ */
+public class MorphiaCodec<T> implements Codec<T> {
+
+    private final Class<T> type;
+    private final Morphia morphia;
+    private final Datastore datastore;
+    private final DBObjectCodec dbObjectCodec = new DBObjectCodec(MongoClient.getDefaultCodecRegistry());
+
+    public MorphiaCodec(Class<T> type, Morphia morphia, Datastore datastore) {
+        this.type = type;
+        this.morphia = morphia;
+        this.datastore = datastore;
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return type;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        dbObjectCodec.encode(writer, morphia.toDBObject(value), encoderContext);
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        DBObject object = dbObjectCodec.decode(reader, decoderContext);
+        return morphia.fromDBObject(datastore, type, object);
+    }
+}
@@ -0,0 +1,123 @@
+package ru.infon.jcache.mongo.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.BsonValueCodec;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import ru.infon.jcache.core.EntryFactory;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.mongo.MongoQueryHelper;
+
+import java.util.Date;
+
+import static ru.infon.jcache.mongo.MongoCacheEntity.*;
+
+/**
+ * Codec of cache document, reads {@link StorableEntry} straight from BSON stream.
+ * Value is encoded with value type codec, document id is neither written nor read.
+ * Expire timestamp of legacy documents is read if document has no expire date.
+ *
+ * 18.10.2026
+ */
+public class StorableEntryCodec<K,V> implements Codec<StorableEntry<K,V>> {
+
+    private final EntryFactory<K,V> entryFactory;
+    private final Codec<V> valueCodec;
+    private final BsonValueCodec keyCodec = new BsonValueCodec();
+
+    public StorableEntryCodec(EntryFactory<K,V> entryFactory, Codec<V> valueCodec) {
+        this.entryFactory = entryFactory;
+        this.valueCodec = valueCodec;
+    }
+
+    public Codec<V> getValueCodec() {
+        return valueCodec;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<StorableEntry<K, V>> getEncoderClass() {
+        return (Class<StorableEntry<K, V>>) (Class<?>) StorableEntry.class;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, StorableEntry<K, V> entry, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeName(FIELD_KEY);
+        keyCodec.encode(writer, MongoQueryHelper.getKeyBson(entry.getKey()), encoderContext);
+        writer.writeName(FIELD_VALUE);
+        if(entry.getValue()==null) {
+            writer.writeNull();
+        } else {
+            encoderContext.encodeWithChildContext(valueCodec, writer, entry.getValue());
+        }
+        writeDate(writer, FIELD_SAVE_DATE, entry.getSaveDate()==null?null:entry.getSaveDate().getTime());
+        writeDate(writer, FIELD_EXPIRE_DATE, entry.getExpireTimestamp());
+        writer.writeEndDocument();
+    }
+
+    private static void writeDate(BsonWriter writer, String name, Long timestamp) {
+        writer.writeName(name);
+        if(timestamp==null) {
+            writer.writeNull();
+        } else {
+            writer.writeDateTime(timestamp);
+        }
+    }
+
+    @Override
+    public StorableEntry<K, V> decode(BsonReader reader, DecoderContext decoderContext) {
+        K key = null;
+        V value = null;
+        Date saveDate = null;
+        Long expireTimestamp = null;
+        Long legacyExpireTimestamp = null;
+        reader.readStartDocument();
+        while (reader.readBsonType()!=BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if(reader.getCurrentBsonType()==BsonType.NULL) {
+                reader.readNull();
+            } else if(FIELD_KEY.equals(name)) {
+                key = readKey(reader, decoderContext);
+            } else if(FIELD_VALUE.equals(name)) {
+                value = valueCodec.decode(reader, decoderContext);
+            } else if(FIELD_SAVE_DATE.equals(name)) {
+                saveDate = new Date(reader.readDateTime());
+            } else if(FIELD_EXPIRE_DATE.equals(name)) {
+                expireTimestamp = reader.readDateTime();
+            } else if(FIELD_LEGACY_EXPIRE_TIMESTAMP.equals(name)) {
+                legacyExpireTimestamp = readTimestamp(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        StorableEntry<K,V> entry = entryFactory.create(key, value);
+        entry.setSaveDate(saveDate);
+        entry.setExpireTimestamp(expireTimestamp==null?legacyExpireTimestamp:expireTimestamp);
+        return entry;
+    }
+
+    private static Long readTimestamp(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case INT64:
+                return reader.readInt64();
+            case INT32:
+                return (long) reader.readInt32();
+            case DOUBLE:
+                return (long) reader.readDouble();
+            case DATE_TIME:
+                return reader.readDateTime();
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    private K readKey(BsonReader reader, DecoderContext decoderContext) {
+        return MongoQueryHelper.getKey(keyCodec.decode(reader, decoderContext), entryFactory.getKeyType());
+    }
+}
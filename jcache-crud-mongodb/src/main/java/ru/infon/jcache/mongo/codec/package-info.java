@@ -0,0 +1,5 @@
+/**
+ * BSON codecs of cache documents. Values are encoded and decoded directly
+ * from BSON stream, Morphia mapping is used only as fallback.
+ */
+package ru.infon.jcache.mongo.codec;
@@ -1,5 +1,6 @@
 package ru.infon.jcache.mongo;
 
+import org.bson.Document;
 import ru.infon.jcache.core.CacheStorage;
 import ru.infon.jcache.core.CacheStorageSession;
 import ru.infon.jcache.core.StorableEntry;
@@ -124,4 +125,147 @@ public class BasicMongoStorageTest extends MongoTests {
                 session.containsKey(pojo.value)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPutUpsertsOneDocument() {
+        JustPojo pojo = generatePojo();
+        session.put(entry(pojo));
+        StorableEntry<String, JustPojo> replaced = session.getEntryFactory().create(
+                pojo.value, new JustPojo(pojo.value, "replaced")
+        );
+        session.put(replaced);
+        Assert.assertEquals(1, session.getAll().size());
+        Assert.assertEquals("replaced", session.get(pojo.value).getValue().description);
+    }
+
+    @Test
+    public void testUpdateExistingOnly() {
+        JustPojo pojo = generatePojo();
+        Assert.assertFalse(session.update(entry(pojo)));
+        Assert.assertFalse(session.containsKey(pojo.value));
+
+        session.put(entry(pojo));
+        StorableEntry<String, JustPojo> updated = session.getEntryFactory().create(
+                pojo.value, new JustPojo(pojo.value, "updated")
+        );
+        updated.setExpireTimestamp(System.currentTimeMillis()+60000);
+        Assert.assertTrue(session.update(updated));
+        StorableEntry<String, JustPojo> loaded = session.get(pojo.value);
+        Assert.assertEquals("updated", loaded.getValue().description);
+        Assert.assertEquals(updated.getExpireTimestamp(), loaded.getExpireTimestamp());
+    }
+
+    @Test
+    public void testWriteBatch() {
+        JustPojo removed = generatePojo();
+        session.put(entry(removed));
+        List<StorableEntry<String, JustPojo>> written = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            JustPojo pojo = generatePojo();
+            keys.add(pojo.value);
+            written.add(entry(pojo));
+        }
+        session.writeBatch(written, Collections.singleton(removed.value));
+        Assert.assertFalse(session.containsKey(removed.value));
+        Assert.assertEquals(5, session.getAll(keys).size());
+        Assert.assertEquals(5, session.getAll().size());
+    }
+
+    @Test
+    public void testPutAllCollapsesDuplicateKeys() {
+        JustPojo pojo = generatePojo();
+        List<StorableEntry<String, JustPojo>> written = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            written.add(session.getEntryFactory().create(pojo.value, new JustPojo(pojo.value, "version"+i)));
+        }
+        session.putAll(written);
+        Assert.assertEquals(1, session.getAll().size());
+        Assert.assertEquals("version4", session.get(pojo.value).getValue().description);
+    }
+
+    @Test
+    public void testKeyIndexIsUnique() {
+        MongoConnection connection = new MongoConnection(new MongoURIWrapper(connectionURI), new Properties());
+        try {
+            boolean found = false;
+            for (Document index : connection.getMongoDB().getCollection(COLLECTION).listIndexes()) {
+                Document key = (Document) index.get("key");
+                if(key.containsKey(MongoCacheEntity.FIELD_KEY)) {
+                    found = true;
+                    Assert.assertEquals(Boolean.TRUE, index.get("unique"));
+                }
+            }
+            Assert.assertTrue(found);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testLegacyExpireTimestampMigrated() {
+        MongoConnection connection = new MongoConnection(new MongoURIWrapper(connectionURI), new Properties());
+        try {
+            JustPojo pojo = generatePojo();
+            session.put(entry(pojo));
+            long expireTimestamp = System.currentTimeMillis()+60000;
+            // document written before expiry was stored as date
+            connection.getMongoDB().getCollection(COLLECTION).updateOne(
+                    new Document(MongoCacheEntity.FIELD_KEY, pojo.value),
+                    new Document("$set", new Document(MongoCacheEntity.FIELD_LEGACY_EXPIRE_TIMESTAMP, expireTimestamp))
+            );
+            Assert.assertEquals(Long.valueOf(expireTimestamp), session.get(pojo.value).getExpireTimestamp());
+
+            CacheStorage storage = new MongoCacheStorage(connectionURI, new Properties());
+            CacheStorageSession<String, JustPojo> reopened = storage.openSession(COLLECTION, keyType, valueType);
+            Document migrated = connection.getMongoDB().getCollection(COLLECTION)
+                    .find(new Document(MongoCacheEntity.FIELD_KEY, pojo.value)).first();
+            Assert.assertFalse(migrated.containsKey(MongoCacheEntity.FIELD_LEGACY_EXPIRE_TIMESTAMP));
+            Assert.assertEquals(new Date(expireTimestamp), migrated.getDate(MongoCacheEntity.FIELD_EXPIRE_DATE));
+            Assert.assertEquals(Long.valueOf(expireTimestamp), reopened.get(pojo.value).getExpireTimestamp());
+            storage.close();
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testFloatingPointAndUuidKeys() {
+        CacheStorage storage = new MongoCacheStorage(connectionURI, new Properties());
+        CacheStorageSession<Double, JustPojo> doubles = storage.openSession(COLLECTION+"_double", Double.class, valueType);
+        doubles.removeAll();
+        doubles.put(doubles.getEntryFactory().create(1.5, new JustPojo("a", "1.5")));
+        doubles.put(doubles.getEntryFactory().create(1.9, new JustPojo("b", "1.9")));
+        Assert.assertEquals(2, doubles.getAll().size());
+        Assert.assertEquals("1.5", doubles.get(1.5).getValue().description);
+        Assert.assertTrue(doubles.containsKey(1.9));
+        Assert.assertTrue(doubles.remove(1.5));
+        Assert.assertNull(doubles.get(1.5));
+
+        CacheStorageSession<UUID, JustPojo> uuids = storage.openSession(COLLECTION+"_uuid", UUID.class, valueType);
+        uuids.removeAll();
+        UUID key = UUID.randomUUID();
+        uuids.put(uuids.getEntryFactory().create(key, new JustPojo("a", "uuid")));
+        Assert.assertEquals(key, uuids.get(key).getKey());
+        Assert.assertEquals(key, uuids.getAll(Collections.singleton(key)).iterator().next().getKey());
+        Assert.assertEquals(key, uuids.keys().iterator().next());
+        storage.close();
+    }
+
+    @Test
+    public void testCloseKillsAbandonedCursors() {
+        for (int i = 0; i < 3; i++) {
+            session.put(entry(generatePojo()));
+        }
+        Iterator<StorableEntry<String, JustPojo>> iterator = session.iterator(1);
+        Assert.assertTrue(iterator.hasNext());
+        iterator.next();
+        session.close();
+        try {
+            iterator.hasNext();
+            Assert.fail("cursor is not closed with session");
+        } catch (IllegalStateException e) {
+            // cursor killed
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package ru.infon.jcache.mongo.codec;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.Test;
+import ru.infon.jcache.core.EntryFactory;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.serialization.CompactValueSerializer;
+import ru.infon.jcache.mongo.JustPojo;
+import ru.infon.jcache.mongo.MongoCacheEntity;
+import ru.infon.jcache.mongo.MongoQueryHelper;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * 18.10.2026
+ */
+public class StorableEntryCodecTest {
+
+    public static class ExtendedPojo extends JustPojo {
+        public String extra;
+    }
+
+    public static class PojoHolder {
+        public JustPojo pojo;
+    }
+
+    /**
+     * stands for Morphia codec: writes class name only
+     */
+    private static class ClassNameCodec<T> implements Codec<T> {
+        private final Class<T> type;
+        private int encoded;
+        private int decoded;
+
+        private ClassNameCodec(Class<T> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Class<T> getEncoderClass() {
+            return type;
+        }
+
+        @Override
+        public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+            encoded++;
+            writer.writeStartDocument();
+            writer.writeString("className", value.getClass().getName());
+            writer.writeEndDocument();
+        }
+
+        @Override
+        public T decode(BsonReader reader, DecoderContext decoderContext) {
+            decoded++;
+            reader.readStartDocument();
+            String className = reader.readString("className");
+            reader.readEndDocument();
+            try {
+                return type.cast(Class.forName(className).newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static <T> T valueRoundTrip(Codec<T> codec, T value) {
+        BsonDocument document = new BsonDocument();
+        BsonDocumentWriter writer = new BsonDocumentWriter(document);
+        writer.writeStartDocument();
+        writer.writeName(MongoCacheEntity.FIELD_VALUE);
+        codec.encode(writer, value, EncoderContext.builder().build());
+        writer.writeEndDocument();
+
+        BsonDocumentReader reader = new BsonDocumentReader(document);
+        reader.readStartDocument();
+        reader.readName(MongoCacheEntity.FIELD_VALUE);
+        T decoded = codec.decode(reader, DecoderContext.builder().build());
+        reader.readEndDocument();
+        return decoded;
+    }
+
+    private static <K,V> StorableEntry<K,V> roundTrip(StorableEntryCodec<K,V> codec, StorableEntry<K,V> entry) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), entry, EncoderContext.builder().build());
+        assertTrue(document.containsKey(MongoCacheEntity.FIELD_KEY));
+        assertTrue(document.containsKey(MongoCacheEntity.FIELD_EXPIRE_DATE));
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    @Test
+    public void testPojoValue() {
+        MethodHandleCodec<JustPojo> valueCodec = MethodHandleCodec.create(JustPojo.class);
+        assertNotNull(valueCodec);
+        EntryFactory<String,JustPojo> factory = new EntryFactory<>(String.class, JustPojo.class);
+        StorableEntryCodec<String,JustPojo> codec = new StorableEntryCodec<>(factory, valueCodec);
+
+        StorableEntry<String,JustPojo> entry = factory.create("key", new JustPojo("value", "description"));
+        entry.setExpireTimestamp(System.currentTimeMillis()+1000);
+        StorableEntry<String,JustPojo> decoded = roundTrip(codec, entry);
+
+        assertEquals("key", decoded.getKey());
+        assertEquals(entry.getValue(), decoded.getValue());
+        assertEquals(entry.getExpireTimestamp(), decoded.getExpireTimestamp());
+        assertEquals(entry.getSaveDate(), decoded.getSaveDate());
+    }
+
+    @Test
+    public void testNumericKey() {
+        MethodHandleCodec<JustPojo> valueCodec = MethodHandleCodec.create(JustPojo.class);
+        EntryFactory<Integer,JustPojo> factory = new EntryFactory<>(Integer.class, JustPojo.class);
+        StorableEntryCodec<Integer,JustPojo> codec = new StorableEntryCodec<>(factory, valueCodec);
+
+        StorableEntry<Integer,JustPojo> decoded = roundTrip(codec, factory.create(42, new JustPojo("v", "d")));
+
+        assertEquals(Integer.valueOf(42), decoded.getKey());
+        assertNull(decoded.getExpireTimestamp());
+    }
+
+    @Test
+    public void testBinaryValue() {
+        EntryFactory<String,Date> factory = new EntryFactory<>(String.class, Date.class);
+        StorableEntryCodec<String,Date> codec = new StorableEntryCodec<>(
+                factory, new BinaryValueCodec<>(Date.class, new CompactValueSerializer<Date>())
+        );
+        StorableEntry<String,Date> entry = factory.create("key", new Date());
+
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), entry, EncoderContext.builder().build());
+        assertTrue(document.get(MongoCacheEntity.FIELD_VALUE).isBinary());
+
+        StorableEntry<String,Date> decoded = roundTrip(codec, entry);
+        assertEquals(entry.getValue(), decoded.getValue());
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        assertNull(MethodHandleCodec.create(Runnable.class));
+    }
+
+    @Test
+    public void testLegacyExpireTimestamp() {
+        EntryFactory<String,Date> factory = new EntryFactory<>(String.class, Date.class);
+        StorableEntryCodec<String,Date> codec = new StorableEntryCodec<>(
+                factory, new BinaryValueCodec<>(Date.class, new CompactValueSerializer<Date>())
+        );
+        long expireTimestamp = System.currentTimeMillis()+1000;
+        BsonDocument document = new BsonDocument(MongoCacheEntity.FIELD_KEY, new BsonString("key"))
+                .append(MongoCacheEntity.FIELD_VALUE, new BsonNull())
+                .append(MongoCacheEntity.FIELD_LEGACY_EXPIRE_TIMESTAMP, new BsonInt64(expireTimestamp));
+        StorableEntry<String,Date> decoded = codec.decode(
+                new BsonDocumentReader(document), DecoderContext.builder().build()
+        );
+        assertEquals(Long.valueOf(expireTimestamp), decoded.getExpireTimestamp());
+
+        // expire date written after migration wins
+        document.append(MongoCacheEntity.FIELD_EXPIRE_DATE, new BsonDateTime(expireTimestamp+1));
+        decoded = codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+        assertEquals(Long.valueOf(expireTimestamp+1), decoded.getExpireTimestamp());
+    }
+
+    @Test
+    public void testFloatingPointKeys() {
+        MethodHandleCodec<JustPojo> valueCodec = MethodHandleCodec.create(JustPojo.class);
+        EntryFactory<Double,JustPojo> factory = new EntryFactory<>(Double.class, JustPojo.class);
+        StorableEntryCodec<Double,JustPojo> codec = new StorableEntryCodec<>(factory, valueCodec);
+
+        assertTrue(MongoQueryHelper.getKeyBson(1.5).isDouble());
+        assertNotEquals(MongoQueryHelper.getKeyBson(1.5), MongoQueryHelper.getKeyBson(1.9));
+        assertEquals(Double.valueOf(1.5), roundTrip(codec, factory.create(1.5, new JustPojo("v", "d"))).getKey());
+        assertEquals(Float.valueOf(2.5f), MongoQueryHelper.getKey(MongoQueryHelper.getKeyBson(2.5f), Float.class));
+        // integral keys stay int64, as written before
+        assertTrue(MongoQueryHelper.getKeyBson(42).isInt64());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedNumericKey() {
+        MongoQueryHelper.getKeyBson(new BigDecimal("1.5"));
+    }
+
+    @Test
+    public void testSubclassValueUsesFallback() {
+        final ClassNameCodec<JustPojo> fallback = new ClassNameCodec<>(JustPojo.class);
+        MethodHandleCodec<JustPojo> codec = MethodHandleCodec.create(JustPojo.class, () -> fallback);
+
+        JustPojo plain = new JustPojo("v", "d");
+        assertEquals(plain, valueRoundTrip(codec, plain));
+        assertEquals(0, fallback.encoded);
+        assertEquals(0, fallback.decoded);
+
+        assertEquals(ExtendedPojo.class, valueRoundTrip(codec, new ExtendedPojo()).getClass());
+        assertEquals(1, fallback.encoded);
+        assertEquals(1, fallback.decoded);
+    }
+
+    @Test
+    public void testNestedSubclassValueUsesFallback() {
+        final ClassNameCodec<PojoHolder> fallback = new ClassNameCodec<>(PojoHolder.class);
+        MethodHandleCodec<PojoHolder> codec = MethodHandleCodec.create(PojoHolder.class, () -> fallback);
+
+        PojoHolder holder = new PojoHolder();
+        holder.pojo = new JustPojo("v", "d");
+        assertEquals(holder.pojo, valueRoundTrip(codec, holder).pojo);
+        assertEquals(0, fallback.encoded);
+
+        holder.pojo = new ExtendedPojo();
+        valueRoundTrip(codec, holder);
+        assertEquals(1, fallback.encoded);
+        assertEquals(1, fallback.decoded);
+    }
+}
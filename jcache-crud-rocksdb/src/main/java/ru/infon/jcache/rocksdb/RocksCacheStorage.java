@@ -0,0 +1,87 @@
+package ru.infon.jcache.rocksdb;
+
+import org.rocksdb.RocksDBException;
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.serialization.CompactValueSerializer;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Storage of caches in embedded RocksDB database, one column family per cache name and types.
+ * Directory of database is URI path or {@value #DIRECTORY_PROPERTY} property. Keys and values
+ * are serialized with {@link CompactValueSerializer} if cache has no value serializer configured.
+ * <p>
+ * Properties:
+ * {@value #SYNC_PROPERTY} - writes return after write-ahead log is synced,
+ * {@value #PERIODIC_COMPACTION_PROPERTY} - seconds after which files are compacted
+ * to drop expired entries, 0 disables periodic compaction.
+ * </p>
+ *
+ * 18.10.2026
+ */
+public class RocksCacheStorage extends CacheStorage {
+
+    public static final String DIRECTORY_PROPERTY = "directory";
+    public static final String SYNC_PROPERTY = "sync";
+    public static final String PERIODIC_COMPACTION_PROPERTY = "periodic-compaction";
+
+    private final RocksStore store;
+
+    public RocksCacheStorage(URI uri, Properties properties) {
+        super(uri, properties);
+        String directory = properties.getProperty(DIRECTORY_PROPERTY, uri.getPath());
+        if(directory==null || directory.isEmpty()) {
+            throw new IllegalArgumentException("storage directory is not set: "+uri);
+        }
+        boolean sync = Boolean.parseBoolean(properties.getProperty(SYNC_PROPERTY, "false"));
+        long periodicCompaction = Long.parseLong(properties.getProperty(PERIODIC_COMPACTION_PROPERTY, "86400"));
+        if(periodicCompaction<0) {
+            throw new IllegalArgumentException("periodic compaction can't be negative: "+periodicCompaction);
+        }
+        this.store = new RocksStore(Paths.get(directory), sync, periodicCompaction);
+    }
+
+    public Path getDirectory() {
+        return store.getDirectory();
+    }
+
+    @Override
+    public <K, V> CacheStorageSession<K, V> openSession(String cacheName, Class<K> keyType, Class<V> valueType) {
+        return openSession(cacheName, keyType, valueType, null);
+    }
+
+    @Override
+    public <K, V> CacheStorageSession<K, V> openSession(
+            String cacheName, Class<K> keyType, Class<V> valueType,
+            ValueSerializer<V> valueSerializer
+    ) {
+        String storeName = String.format("%s:%s:%s", cacheName, keyType.getName(), valueType.getName());
+        RocksStore.Family family;
+        try {
+            store.acquire();
+        } catch (IOException | RocksDBException e) {
+            throw new IllegalStateException("can't open database of cache "+cacheName, e);
+        }
+        try {
+            family = store.family(storeName);
+        } catch (RocksDBException e) {
+            store.release();
+            throw new IllegalStateException("can't open column family of cache "+cacheName, e);
+        }
+        return new RocksStorageSession<>(
+                this, cacheName, store, family, keyType, valueType, new CompactValueSerializer<K>(),
+                valueSerializer==null?new CompactValueSerializer<V>():valueSerializer
+        );
+    }
+
+    @Override
+    public boolean isFixedTypes() {
+        return false;
+    }
+}
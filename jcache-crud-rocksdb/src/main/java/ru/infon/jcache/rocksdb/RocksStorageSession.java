@@ -0,0 +1,411 @@
+package ru.infon.jcache.rocksdb;
+
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.CacheStorageSession;
+import ru.infon.jcache.core.StorableEntry;
+import ru.infon.jcache.core.serialization.ValueSerializer;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Storage session over column family of cache in {@link RocksStore}. Key lookups of
+ * {@link #getAll(Set)} and {@link #removeExpired(Set, long)} are sent as one multiGet,
+ * bulk writes are applied as one write batch. Iteration runs native iterator over snapshot
+ * of column family, iterator is closed when it is exhausted.
+ *
+ * 18.10.2026
+ */
+public class RocksStorageSession<K,V> extends CacheStorageSession<K,V> {
+
+    private interface RecordMapper<T> {
+        T map(byte[] key, byte[] record);
+    }
+
+    private final String name;
+    private final RocksStore store;
+    private final RocksStore.Family family;
+    private final ValueSerializer<K> keySerializer;
+    private final ValueSerializer<V> serializer;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    RocksStorageSession(
+            CacheStorage storage, String name, RocksStore store, RocksStore.Family family,
+            Class<K> keyType, Class<V> valueType,
+            ValueSerializer<K> keySerializer, ValueSerializer<V> serializer
+    ) {
+        super(storage, keyType, valueType);
+        this.name = name;
+        this.store = store;
+        this.family = family;
+        this.keySerializer = keySerializer;
+        this.serializer = serializer;
+    }
+
+    /*===========================================[ MAPPING ]==============*/
+
+    private byte[] serializeKey(K key) {
+        try {
+            return keySerializer.serialize(key);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize key "+key, e);
+        }
+    }
+
+    private List<byte[]> serializeKeys(Collection<? extends K> keys) {
+        List<byte[]> serialized = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            serialized.add(serializeKey(key));
+        }
+        return serialized;
+    }
+
+    private K deserializeKey(byte[] key) {
+        try {
+            return keySerializer.deserialize(key);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't deserialize key of cache "+name, e);
+        }
+    }
+
+    private byte[] encode(StorableEntry<K,V> entry) {
+        byte[] value;
+        try {
+            value = serializer.serialize(entry.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException("can't serialize value of "+entry.getValueType().getName(), e);
+        }
+        Date saveDate = entry.getSaveDate();
+        return RocksStore.encode(
+                value, saveDate==null?System.currentTimeMillis():saveDate.getTime(), entry.getExpireTimestamp()
+        );
+    }
+
+    private StorableEntry<K,V> entry(K key, byte[] record) {
+        V value;
+        try {
+            value = serializer.deserialize(RocksStore.value(record));
+        } catch (IOException e) {
+            throw new IllegalStateException("can't deserialize value of key "+key, e);
+        }
+        StorableEntry<K,V> entry = getEntryFactory().create(key, value);
+        entry.setSaveDate(new Date(RocksStore.saveDate(record)));
+        entry.setExpireTimestamp(RocksStore.expireTimestamp(record));
+        return entry;
+    }
+
+    private IllegalStateException failure(String operation, RocksDBException e) {
+        return new IllegalStateException(String.format("can't %s cache %s", operation, name), e);
+    }
+
+    private List<byte[]> multiGet(List<byte[]> keys) {
+        try {
+            return store.db().multiGetAsList(Collections.nCopies(keys.size(), family.handle), keys);
+        } catch (RocksDBException e) {
+            throw failure("read", e);
+        }
+    }
+
+    private void write(WriteBatch batch) {
+        try {
+            store.db().write(store.writeOptions(), batch);
+        } catch (RocksDBException e) {
+            throw failure("write", e);
+        }
+    }
+
+    /*===========================================[ READS ]==============*/
+
+    @Override
+    public boolean containsKey(K key) {
+        try {
+            return store.db().get(family.handle, serializeKey(key))!=null;
+        } catch (RocksDBException e) {
+            throw failure("read", e);
+        }
+    }
+
+    @Override
+    public StorableEntry<K, V> get(K key) {
+        byte[] record;
+        try {
+            record = store.db().get(family.handle, serializeKey(key));
+        } catch (RocksDBException e) {
+            throw failure("read", e);
+        }
+        return record==null?null:entry(key, record);
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll(Set<? extends K> keys) {
+        List<K> keyList = new ArrayList<>(keys);
+        List<byte[]> records = multiGet(serializeKeys(keyList));
+        List<StorableEntry<K,V>> entries = new ArrayList<>(keyList.size());
+        for (int i = 0; i < keyList.size(); i++) {
+            byte[] record = records.get(i);
+            if(record!=null) {
+                entries.add(entry(keyList.get(i), record));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public Collection<StorableEntry<K, V>> getAll() {
+        List<StorableEntry<K,V>> entries = new ArrayList<>();
+        Iterator<StorableEntry<K,V>> iterator = iterator(0);
+        while (iterator.hasNext()) {
+            entries.add(iterator.next());
+        }
+        return entries;
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return () -> new NativeIterator<>((key, record) -> deserializeKey(key));
+    }
+
+    /**
+     * @param batchSize - ignored, native iterator reads blocks of column family
+     */
+    @Override
+    public Iterator<StorableEntry<K, V>> iterator(int batchSize) {
+        return new NativeIterator<>((key, record) -> entry(deserializeKey(key), record));
+    }
+
+    /**
+     * Iterates implicit snapshot of column family taken on creation.
+     */
+    private class NativeIterator<T> implements Iterator<T> {
+
+        private final RecordMapper<T> mapper;
+        private ReadOptions options;
+        private RocksIterator iterator;
+
+        NativeIterator(RecordMapper<T> mapper) {
+            this.mapper = mapper;
+            this.options = new ReadOptions().setFillCache(false);
+            this.iterator = store.db().newIterator(family.handle, options);
+            iterator.seekToFirst();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if(iterator==null) {
+                return false;
+            }
+            if(iterator.isValid()) {
+                return true;
+            }
+            try {
+                iterator.status();
+            } catch (RocksDBException e) {
+                throw failure("iterate", e);
+            } finally {
+                iterator.close();
+                options.close();
+                iterator = null;
+                options = null;
+            }
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = mapper.map(iterator.key(), iterator.value());
+            iterator.next();
+            return result;
+        }
+    }
+
+    /*===========================================[ WRITES ]==============*/
+
+    @Override
+    public void put(StorableEntry<K, V> entry) {
+        try {
+            store.db().put(family.handle, store.writeOptions(), serializeKey(entry.getKey()), encode(entry));
+        } catch (RocksDBException e) {
+            throw failure("write", e);
+        }
+    }
+
+    @Override
+    public void putAll(Collection<StorableEntry<K, V>> entries) {
+        writeBatch(entries, Collections.<K>emptySet());
+    }
+
+    @Override
+    public void writeBatch(Collection<StorableEntry<K, V>> entries, Set<? extends K> removedKeys) {
+        if(entries.isEmpty() && removedKeys.isEmpty()) {
+            return;
+        }
+        try (WriteBatch batch = new WriteBatch()) {
+            for (StorableEntry<K, V> entry : entries) {
+                batch.put(family.handle, serializeKey(entry.getKey()), encode(entry));
+            }
+            for (K key : removedKeys) {
+                batch.delete(family.handle, serializeKey(key));
+            }
+            write(batch);
+        } catch (RocksDBException e) {
+            throw failure("write", e);
+        }
+    }
+
+    @Override
+    public boolean update(StorableEntry<K, V> entry) {
+        byte[] key = serializeKey(entry.getKey());
+        byte[] record = encode(entry);
+        Lock lock = family.locks.lock(entry.getKey());
+        try {
+            if(store.db().get(family.handle, key)==null) {
+                return false;
+            }
+            store.db().put(family.handle, store.writeOptions(), key, record);
+            return true;
+        } catch (RocksDBException e) {
+            throw failure("update", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void updateExpireTime(StorableEntry<K, V> entry) {
+        byte[] key = serializeKey(entry.getKey());
+        Lock lock = family.locks.lock(entry.getKey());
+        try {
+            byte[] record = store.db().get(family.handle, key);
+            if(record!=null) {
+                store.db().put(
+                        family.handle, store.writeOptions(), key,
+                        RocksStore.withExpireTimestamp(record, entry.getExpireTimestamp())
+                );
+            }
+        } catch (RocksDBException e) {
+            throw failure("update", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Expired entries not requested here are dropped by compaction filter.
+     */
+    @Override
+    public Collection<StorableEntry<K, V>> removeExpired(Set<? extends K> keys, long now) {
+        List<K> keyList = new ArrayList<>(keys);
+        List<byte[]> serialized = serializeKeys(keyList);
+        List<byte[]> records = multiGet(serialized);
+        List<StorableEntry<K,V>> expired = new ArrayList<>();
+        try (WriteBatch batch = new WriteBatch()) {
+            for (int i = 0; i < keyList.size(); i++) {
+                byte[] record = records.get(i);
+                Long expireTimestamp = record==null?null:RocksStore.expireTimestamp(record);
+                if(expireTimestamp!=null && expireTimestamp<=now) {
+                    expired.add(entry(keyList.get(i), record));
+                    batch.delete(family.handle, serialized.get(i));
+                }
+            }
+            if(!expired.isEmpty()) {
+                write(batch);
+            }
+        } catch (RocksDBException e) {
+            throw failure("remove expired entries of", e);
+        }
+        return expired;
+    }
+
+    @Override
+    public boolean remove(K key) {
+        byte[] serialized = serializeKey(key);
+        Lock lock = family.locks.lock(key);
+        try {
+            if(store.db().get(family.handle, serialized)==null) {
+                return false;
+            }
+            store.db().delete(family.handle, store.writeOptions(), serialized);
+            return true;
+        } catch (RocksDBException e) {
+            throw failure("remove", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(Set<? extends K> keys) {
+        writeBatch(Collections.<StorableEntry<K,V>>emptyList(), keys);
+    }
+
+    /**
+     * Deletes key range of column family with one range tombstone.
+     */
+    @Override
+    public void removeAll() {
+        byte[] first;
+        byte[] last;
+        try (RocksIterator iterator = store.db().newIterator(family.handle)) {
+            iterator.seekToFirst();
+            if(!iterator.isValid()) {
+                return;
+            }
+            first = iterator.key();
+            iterator.seekToLast();
+            last = iterator.key();
+        }
+        try (WriteBatch batch = new WriteBatch()) {
+            // end of range is exclusive
+            batch.deleteRange(family.handle, first, last);
+            batch.delete(family.handle, last);
+            write(batch);
+        } catch (RocksDBException e) {
+            throw failure("clear", e);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        try (RocksIterator iterator = store.db().newIterator(family.handle)) {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Compacts column family at once, expired entries are dropped by compaction filter.
+     */
+    void compact() {
+        try {
+            store.db().compactRange(family.handle);
+        } catch (RocksDBException e) {
+            throw failure("compact", e);
+        }
+    }
+
+    /**
+     * Database is closed with last session of storage.
+     */
+    @Override
+    public void close() {
+        if(closed.compareAndSet(false, true)) {
+            store.release();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+}
@@ -0,0 +1,227 @@
+package ru.infon.jcache.rocksdb;
+
+import org.rocksdb.*;
+import ru.infon.jcache.core.lock.StripedKeyLock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * RocksDB database of storage, every cache is kept in its own column family.
+ * Database is opened with first session and closed with last one.
+ * <p>
+ * Record is single column row of Cassandra format, so native Cassandra compaction filter
+ * of RocksDB drops expired entries during compaction, without delete tombstones:
+ * local deletion time, marked for delete timestamp, column mask, column index,
+ * column timestamp, column value length, save date, expire timestamp, value bytes and TTL
+ * of expiring column. Column of entry with expire timestamp is expiring column with expire
+ * timestamp as column timestamp and zero TTL, column of eternal entry is regular column.
+ * </p>
+ *
+ * 18.10.2026
+ */
+final class RocksStore {
+
+    private static final int LOCAL_DELETION_TIME_OFFSET = 0;
+    private static final int MARKED_FOR_DELETE_OFFSET = LOCAL_DELETION_TIME_OFFSET + 4;
+    private static final int MASK_OFFSET = MARKED_FOR_DELETE_OFFSET + 8;
+    private static final int INDEX_OFFSET = MASK_OFFSET + 1;
+    private static final int TIMESTAMP_OFFSET = INDEX_OFFSET + 1;
+    private static final int COLUMN_LENGTH_OFFSET = TIMESTAMP_OFFSET + 8;
+    private static final int SAVE_DATE_OFFSET = COLUMN_LENGTH_OFFSET + 4;
+    private static final int EXPIRE_OFFSET = SAVE_DATE_OFFSET + 8;
+    private static final int VALUE_OFFSET = EXPIRE_OFFSET + 8;
+    private static final int TTL_SIZE = 4;
+
+    private static final int NOT_DELETED = Integer.MAX_VALUE;
+    private static final long NOT_MARKED_FOR_DELETE = Long.MIN_VALUE;
+    private static final byte REGULAR_COLUMN = 0;
+    private static final byte EXPIRING_COLUMN = 2;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    // later timestamps, like one of eternal entries, don't fit column timestamp
+    private static final long MAX_EXPIRING_TIMESTAMP = Long.MAX_VALUE/1000;
+
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    /**
+     * Column family of cache.
+     */
+    static final class Family {
+        final ColumnFamilyHandle handle;
+        // read-modify-write of entry is done under lock of its key
+        final StripedKeyLock locks = new StripedKeyLock(64);
+
+        private Family(ColumnFamilyHandle handle) {
+            this.handle = handle;
+        }
+    }
+
+    private final Path directory;
+    private final boolean sync;
+    private final long periodicCompaction;
+
+    private final Map<String,Family> families = new HashMap<>();
+    private int sessions;
+    private volatile RocksDB db;
+    private DBOptions dbOptions;
+    private ColumnFamilyOptions familyOptions;
+    private CassandraCompactionFilter compactionFilter;
+    private WriteOptions writeOptions;
+
+    /**
+     * @param periodicCompaction - seconds after which files are compacted even without new writes,
+     *                           so expired entries of idle caches are dropped
+     */
+    RocksStore(Path directory, boolean sync, long periodicCompaction) {
+        this.directory = directory;
+        this.sync = sync;
+        this.periodicCompaction = periodicCompaction;
+    }
+
+    /*===========================================[ LIFECYCLE ]==============*/
+
+    synchronized void acquire() throws IOException, RocksDBException {
+        if(sessions==0) {
+            open();
+        }
+        sessions++;
+    }
+
+    private void open() throws IOException, RocksDBException {
+        Files.createDirectories(directory);
+        dbOptions = new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true);
+        // purge expired columns at once, no grace period for tombstones
+        compactionFilter = new CassandraCompactionFilter(true, 0);
+        familyOptions = new ColumnFamilyOptions()
+                .setCompactionFilter(compactionFilter)
+                .setPeriodicCompactionSeconds(periodicCompaction);
+        writeOptions = new WriteOptions().setSync(sync);
+
+        List<byte[]> names = new ArrayList<>();
+        names.add(RocksDB.DEFAULT_COLUMN_FAMILY);
+        if(Files.exists(directory.resolve("CURRENT"))) {
+            try (Options options = new Options()) {
+                for (byte[] name : RocksDB.listColumnFamilies(options, directory.toString())) {
+                    if(!Arrays.equals(name, RocksDB.DEFAULT_COLUMN_FAMILY)) {
+                        names.add(name);
+                    }
+                }
+            }
+        }
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>(names.size());
+        for (byte[] name : names) {
+            descriptors.add(new ColumnFamilyDescriptor(name, familyOptions));
+        }
+        List<ColumnFamilyHandle> handles = new ArrayList<>(names.size());
+        db = RocksDB.open(dbOptions, directory.toString(), descriptors, handles);
+        for (int i = 1; i < names.size(); i++) {
+            families.put(new String(names.get(i), StandardCharsets.UTF_8), new Family(handles.get(i)));
+        }
+        // default column family is not used, handle is owned by database
+    }
+
+    /**
+     * Closes database when last session is closed.
+     */
+    synchronized void release() {
+        if(--sessions>0) {
+            return;
+        }
+        for (Family family : families.values()) {
+            family.handle.close();
+        }
+        families.clear();
+        db.close();
+        db = null;
+        writeOptions.close();
+        familyOptions.close();
+        compactionFilter.close();
+        dbOptions.close();
+    }
+
+    /**
+     * @return column family of cache, created on first use
+     */
+    synchronized Family family(String name) throws RocksDBException {
+        Family family = families.get(name);
+        if(family==null) {
+            family = new Family(db.createColumnFamily(
+                    new ColumnFamilyDescriptor(name.getBytes(StandardCharsets.UTF_8), familyOptions)
+            ));
+            families.put(name, family);
+        }
+        return family;
+    }
+
+    RocksDB db() {
+        return db;
+    }
+
+    WriteOptions writeOptions() {
+        return writeOptions;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    /*===========================================[ RECORDS ]==============*/
+
+    static byte[] encode(byte[] value, long saveDate, Long expireTimestamp) {
+        boolean expiring = expireTimestamp!=null && expireTimestamp<=MAX_EXPIRING_TIMESTAMP;
+        ByteBuffer record = ByteBuffer.allocate(VALUE_OFFSET+value.length+(expiring?TTL_SIZE:0));
+        record.putInt(NOT_DELETED);
+        record.putLong(NOT_MARKED_FOR_DELETE);
+        record.put(expiring?EXPIRING_COLUMN:REGULAR_COLUMN);
+        record.put((byte) 0);
+        // column timestamps are microseconds
+        record.putLong((expiring?expireTimestamp:saveDate)*1000);
+        record.putInt(VALUE_OFFSET-SAVE_DATE_OFFSET+value.length);
+        record.putLong(saveDate);
+        record.putLong(expireTimestamp==null?NO_TIMESTAMP:expireTimestamp);
+        record.put(value);
+        if(expiring) {
+            record.putInt(0);
+        }
+        return record.array();
+    }
+
+    /**
+     * @return record with same value and save date
+     */
+    static byte[] withExpireTimestamp(byte[] record, Long expireTimestamp) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        byte[] value = new byte[valueLength(buffer)];
+        System.arraycopy(record, VALUE_OFFSET, value, 0, value.length);
+        return encode(value, buffer.getLong(SAVE_DATE_OFFSET), expireTimestamp);
+    }
+
+    private static int valueLength(ByteBuffer record) {
+        return record.getInt(COLUMN_LENGTH_OFFSET)-(VALUE_OFFSET-SAVE_DATE_OFFSET);
+    }
+
+    static long saveDate(byte[] record) {
+        return ByteBuffer.wrap(record).getLong(SAVE_DATE_OFFSET);
+    }
+
+    static Long expireTimestamp(byte[] record) {
+        long expireTimestamp = ByteBuffer.wrap(record).getLong(EXPIRE_OFFSET);
+        return expireTimestamp==NO_TIMESTAMP?null:expireTimestamp;
+    }
+
+    /**
+     * @return value bytes of record, not copied
+     */
+    static ByteBuffer value(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        int length = valueLength(buffer);
+        buffer.position(VALUE_OFFSET).limit(VALUE_OFFSET+length);
+        return buffer.slice();
+    }
+}
@@ -0,0 +1,39 @@
+package ru.infon.jcache.rocksdb.spi;
+
+import ru.infon.jcache.core.CacheStorage;
+import ru.infon.jcache.core.spi.StoredCachingProvider;
+import ru.infon.jcache.rocksdb.RocksCacheStorage;
+
+import javax.cache.configuration.OptionalFeature;
+import java.io.File;
+import java.net.URI;
+import java.util.Properties;
+
+/**
+ * Caching provider keeping caches in embedded RocksDB database, see {@link RocksCacheStorage}.
+ *
+ * 18.10.2026
+ */
+public class RocksCachingProvider extends StoredCachingProvider {
+
+    @Override
+    public CacheStorage createStorageObject(URI uri, Properties properties) {
+        return new RocksCacheStorage(uri, properties);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public URI getDefaultURI() {
+        return new File(System.getProperty("java.io.tmpdir"), "jcache-rocksdb").toURI();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSupported(OptionalFeature optionalFeature) {
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.infon.jcache.rocksdb;
+
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import ru.infon.jcache.core.AbstractStoredCacheTest;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.io.IOException;
+
+/**
+ * 18.10.2026
+ */
+public class RocksCacheTest extends AbstractStoredCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Override
+    protected CacheManager getCacheManager(CachingProvider provider) throws IOException {
+        return provider.getCacheManager(folder.newFolder().toURI(), getClass().getClassLoader());
+    }
+}
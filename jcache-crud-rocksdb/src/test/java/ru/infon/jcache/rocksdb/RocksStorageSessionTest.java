@@ -0,0 +1,126 @@
+package ru.infon.jcache.rocksdb;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import ru.infon.jcache.core.AbstractStorageSessionTest;
+import ru.infon.jcache.core.StorableEntry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.*;
+
+/**
+ * 18.10.2026
+ */
+public class RocksStorageSessionTest extends AbstractStorageSessionTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private RocksCacheStorage storage;
+
+    @Before
+    public void setUp() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(RocksCacheStorage.DIRECTORY_PROPERTY, folder.newFolder().getPath());
+        storage = new RocksCacheStorage(URI.create("rocksdb://localhost/test"), properties);
+    }
+
+    private RocksStorageSession<String,String> open(String cacheName) {
+        return (RocksStorageSession<String, String>) storage.openSession(cacheName, String.class, String.class);
+    }
+
+    @Test
+    public void testCrudAndReopen() {
+        RocksStorageSession<String,String> session = open("test");
+        RocksStorageSession<String,String> other = open("other");
+        StorableEntry<String,String> entry = entry(session, "key", "value");
+        entry.setExpireTimestamp(System.currentTimeMillis()+60_000);
+        session.put(entry);
+        other.put(entry(other, "key", "other"));
+        Assert.assertEquals("value", session.get("key").getValue());
+        Assert.assertEquals(entry.getSaveDate(), session.get("key").getSaveDate());
+        Assert.assertEquals(entry.getExpireTimestamp(), session.get("key").getExpireTimestamp());
+        Assert.assertTrue(session.update(entry(session, "key", "updated")));
+        Assert.assertNull(session.get("key").getExpireTimestamp());
+        Assert.assertFalse(session.update(entry(session, "missing", "updated")));
+
+        session.writeBatch(
+                Arrays.asList(entry(session, "a", "1"), entry(session, "b", "2")), Collections.singleton("key")
+        );
+        StorableEntry<String,String> touched = entry(session, "a", "1");
+        touched.setExpireTimestamp(System.currentTimeMillis()+120_000);
+        session.updateExpireTime(touched);
+        Assert.assertTrue(session.remove("b"));
+        Assert.assertFalse(session.remove("b"));
+        session.close();
+        other.close();
+
+        RocksStorageSession<String,String> reopened = open("test");
+        Assert.assertFalse(reopened.containsKey("key"));
+        Assert.assertEquals("1", reopened.get("a").getValue());
+        Assert.assertEquals(touched.getExpireTimestamp(), reopened.get("a").getExpireTimestamp());
+        Assert.assertEquals("other", open("other").get("key").getValue());
+        reopened.close();
+    }
+
+    @Test
+    public void testBulkOperations() {
+        RocksStorageSession<String,String> session = open("test");
+        List<StorableEntry<String,String>> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            StorableEntry<String,String> entry = entry(session, "key-"+i, "value-"+i);
+            entry.setExpireTimestamp(i%2==0?1000L:null);
+            entries.add(entry);
+        }
+        session.putAll(entries);
+        Assert.assertEquals(100, session.size());
+        Set<String> keys = new HashSet<>(Arrays.asList("key-1", "key-2", "key-3", "key-4", "missing"));
+        Assert.assertEquals(4, session.getAll(keys).size());
+
+        Collection<StorableEntry<String,String>> expired = session.removeExpired(keys, 1000L);
+        Assert.assertEquals(2, expired.size());
+        Assert.assertEquals(98, session.size());
+        session.removeAll(new HashSet<>(Arrays.asList("key-1", "key-3")));
+
+        int count = 0;
+        Iterator<StorableEntry<String,String>> iterator = session.iterator(10);
+        while (iterator.hasNext()) {
+            Assert.assertNotNull(iterator.next().getValue());
+            count++;
+        }
+        Assert.assertEquals(96, count);
+        Assert.assertEquals(96, session.getAll().size());
+        Set<String> allKeys = new HashSet<>();
+        for (String key : session.keys()) {
+            allKeys.add(key);
+        }
+        Assert.assertEquals(96, allKeys.size());
+        session.removeAll();
+        Assert.assertEquals(0, session.size());
+        session.close();
+    }
+
+    @Test
+    public void testExpiredEntriesDroppedByCompaction() {
+        RocksStorageSession<String,String> session = open("test");
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            StorableEntry<String,String> entry = entry(session, "key-"+i, "value-"+i);
+            entry.setExpireTimestamp(i<50?now-1000:now+60_000);
+            session.put(entry);
+        }
+        session.put(entry(session, "eternal", "value"));
+        Assert.assertEquals(101, session.size());
+        session.compact();
+        // no removes were written
+        Assert.assertEquals(51, session.size());
+        Assert.assertFalse(session.containsKey("key-0"));
+        Assert.assertEquals("value-50", session.get("key-50").getValue());
+        Assert.assertEquals("value", session.get("eternal").getValue());
+        session.close();
+    }
+}